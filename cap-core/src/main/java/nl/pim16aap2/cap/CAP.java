@@ -28,27 +28,50 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
+import nl.pim16aap2.cap.argument.Argument;
+import nl.pim16aap2.cap.argument.parser.AsyncArgumentParser;
 import nl.pim16aap2.cap.command.Command;
+import nl.pim16aap2.cap.command.CommandIndex;
 import nl.pim16aap2.cap.command.CommandMap;
 import nl.pim16aap2.cap.command.CommandResult;
+import nl.pim16aap2.cap.command.CommandVisibilityCache;
+import nl.pim16aap2.cap.command.PreparedCommand;
 import nl.pim16aap2.cap.commandparser.CommandParser;
 import nl.pim16aap2.cap.commandparser.TabCompletionSuggester;
+import nl.pim16aap2.cap.commandsender.BufferedCommandSender;
 import nl.pim16aap2.cap.commandsender.ICommandSender;
 import nl.pim16aap2.cap.exception.CAPException;
+import nl.pim16aap2.cap.exception.DeferredArgumentException;
 import nl.pim16aap2.cap.exception.ExceptionHandler;
 import nl.pim16aap2.cap.localization.Localizer;
+import nl.pim16aap2.cap.metrics.FlightRecorderEventType;
+import nl.pim16aap2.cap.metrics.FlightRecorderEvents;
+import nl.pim16aap2.cap.metrics.IFlightRecorderEvent;
+import nl.pim16aap2.cap.metrics.IMetricsRecorder;
 import nl.pim16aap2.cap.renderer.DefaultHelpCommandRenderer;
+import nl.pim16aap2.cap.renderer.HelpWarmUp;
+import nl.pim16aap2.cap.text.ColorScheme;
+import nl.pim16aap2.cap.text.PreparedMessage;
+import nl.pim16aap2.cap.text.Text;
+import nl.pim16aap2.cap.util.BKTree;
 import nl.pim16aap2.cap.util.Pair;
 import nl.pim16aap2.cap.util.TabCompletionCache;
+import nl.pim16aap2.cap.util.TabCompletionCacheStatistics;
 import nl.pim16aap2.cap.util.Util;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -60,6 +83,13 @@ public class CAP
 {
     private final @NonNull TabCompletionCache tabCompletionCache = new TabCompletionCache();
 
+    /**
+     * The {@link CommandVisibilityCache} that caches which {@link Command}s every {@link ICommandSender} has access
+     * to.
+     */
+    @Getter
+    private final @NonNull CommandVisibilityCache commandVisibilityCache = new CommandVisibilityCache(this);
+
     /**
      * The map containing all registered commands, with their names as key.
      */
@@ -120,13 +150,53 @@ public class CAP
     @Getter
     protected final @NonNull Localizer localizer;
 
+    /**
+     * The {@link IMetricsRecorder} that is used to record how long the different phases of processing commands take.
+     * <p>
+     * Defaults to {@link IMetricsRecorder#disabled()}.
+     */
+    @Getter
+    protected final @NonNull IMetricsRecorder metrics;
+
+    /**
+     * The maximum edit distance between the name of a {@link Command} that could not be found and the names that are
+     * suggested instead. See {@link #getCommandSuggestions(ICommandSender, Command, String)}. Default: 2.
+     * <p>
+     * Set this to 0 to disable suggestions.
+     */
+    @Getter
+    protected final int suggestionDistance;
+
+    /**
+     * The maximum number of names to suggest when a {@link Command} could not be found. See {@link
+     * #getCommandSuggestions(ICommandSender, Command, String)}. Default: 3.
+     * <p>
+     * Set this to 0 to disable suggestions.
+     */
+    @Getter
+    protected final int suggestionLimit;
+
+    /**
+     * Whether to parse and validate the values of {@link Argument}s lazily. Default: False.
+     * <p>
+     * When enabled, the raw values are only parsed and validated the first time they are retrieved using {@link
+     * CommandResult#getParsedArgument(String)}, so values the {@link Command} never uses are never parsed. Any
+     * exception that would otherwise have been thrown while parsing the input is then thrown as a {@link
+     * DeferredArgumentException} instead, which is handled by {@link CommandResult#run()}.
+     * <p>
+     * Note that this means that invalid values for {@link Argument}s that are never retrieved do not cause an error.
+     */
+    @Getter
+    protected final boolean lazyArgumentParsing;
 
     @Builder(toBuilder = true)
     protected CAP(final @Nullable DefaultHelpCommandRenderer helpCommandRenderer,
                   final @Nullable Boolean cacheTabCompletionSuggestions,
                   final @Nullable ExceptionHandler exceptionHandler, final @Nullable Character separator,
                   final boolean debug, final boolean caseSensitive,
-                  final @Nullable Localizer localizer)
+                  final @Nullable Localizer localizer, final @Nullable IMetricsRecorder metrics,
+                  final @Nullable Integer suggestionDistance, final @Nullable Integer suggestionLimit,
+                  final boolean lazyArgumentParsing)
     {
         this.helpCommandRenderer = Util.valOrDefault(helpCommandRenderer, DefaultHelpCommandRenderer.getDefault());
         this.cacheTabCompletionSuggestions = Util.valOrDefault(cacheTabCompletionSuggestions, true);
@@ -135,6 +205,10 @@ public class CAP
         this.debug = debug;
         this.caseSensitive = caseSensitive;
         this.localizer = Util.valOrDefault(localizer, new Localizer.Disabled());
+        this.metrics = Util.valOrDefault(metrics, IMetricsRecorder.disabled());
+        this.suggestionDistance = Util.valOrDefault(suggestionDistance, 2);
+        this.suggestionLimit = Util.valOrDefault(suggestionLimit, 3);
+        this.lazyArgumentParsing = lazyArgumentParsing;
 
         commandMap = new CommandMap(this);
         topLevelCommandMap = new CommandMap(this);
@@ -172,27 +246,110 @@ public class CAP
     public @NonNull Optional<CommandResult> parseInput(final @NonNull ICommandSender commandSender,
                                                        final @NonNull String input)
     {
+        final @Nullable IFlightRecorderEvent event = FlightRecorderEvents.begin(FlightRecorderEventType.PARSE);
+        @Nullable CommandResult result = null;
+        @Nullable Throwable failure = null;
         try
         {
-            return Optional.of(new CommandParser(this, commandSender, input, separator).parse());
+            result = new CommandParser(this, commandSender, input, separator).parse();
+            return Optional.of(result);
         }
         catch (CAPException exception)
         {
+            failure = exception;
             if (exceptionHandler == null)
                 throw new RuntimeException(exception);
             exceptionHandler.handleException(commandSender, exception);
         }
         catch (Throwable t)
         {
+            failure = t;
             if (exceptionHandler != null)
                 exceptionHandler.handleException(
                     commandSender, new CAPException(localizer.getMessage("error.exception.generic", commandSender),
                                                     debug));
             throw new RuntimeException("An error occurred parsing input: '" + input + "'", t);
         }
+        finally
+        {
+            BufferedCommandSender.flush(commandSender);
+            if (event != null)
+                event.commit(result == null ? null : result.getCommand().getIdentifier(), commandSender,
+                             input.length(), FlightRecorderEvents.getOutcome(failure));
+        }
         return Optional.empty();
     }
 
+    /**
+     * Sends a message to a number of {@link ICommandSender}s.
+     * <p>
+     * The recipients are grouped by their {@link ColorScheme} and {@link Locale}, so the message is rendered only once
+     * for every group. See {@link PreparedMessage}.
+     *
+     * @param commandSenders The {@link ICommandSender}s to send the message to.
+     * @param renderer       The function that renders the message for an {@link ICommandSender}. The result must
+     *                       only depend on the {@link ColorScheme} and {@link Locale} of the {@link ICommandSender}.
+     * @return The {@link PreparedMessage} that was sent, so it can be sent to other {@link ICommandSender}s as well.
+     */
+    public @NonNull PreparedMessage broadcast(final @NonNull Collection<? extends ICommandSender> commandSenders,
+                                              final @NonNull Function<ICommandSender, Text> renderer)
+    {
+        final @NonNull PreparedMessage message = PreparedMessage.of(renderer);
+        message.send(commandSenders);
+        return message;
+    }
+
+    /**
+     * Renders the help menus of all registered {@link Command}s for every registered {@link Locale} and every provided
+     * {@link ColorScheme} on the {@link ForkJoinPool#commonPool()}.
+     * <p>
+     * See {@link #warmUp(Collection, ForkJoinPool)}.
+     *
+     * @param colorSchemes The {@link ColorScheme}s to render the help menus in.
+     * @return The {@link CompletableFuture} that is completed once all help menus have been rendered.
+     */
+    public @NonNull CompletableFuture<Void> warmUp(final @NonNull Collection<@NonNull ColorScheme> colorSchemes)
+    {
+        return warmUp(colorSchemes, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Renders the help menus of all registered {@link Command}s for every registered {@link Locale} and every provided
+     * {@link ColorScheme}, so the caches of the {@link #helpCommandRenderer} are filled before the first {@link
+     * ICommandSender} requests a help menu.
+     * <p>
+     * This is entirely optional and should be called after all {@link Command}s have been registered. Registering new
+     * {@link Command}s afterwards invalidates the cached pages. See {@link HelpWarmUp}.
+     * <p>
+     * Only the pages of {@link ICommandSender}s without restricted permissions are warmed up. See {@link
+     * #warmUpFor(Collection, ForkJoinPool)} for other sets of permissions.
+     *
+     * @param colorSchemes The {@link ColorScheme}s to render the help menus in.
+     * @param pool         The {@link ForkJoinPool} to render the help menus on.
+     * @return The {@link CompletableFuture} that is completed once all help menus have been rendered.
+     */
+    public @NonNull CompletableFuture<Void> warmUp(final @NonNull Collection<@NonNull ColorScheme> colorSchemes,
+                                                   final @NonNull ForkJoinPool pool)
+    {
+        return HelpWarmUp.warmUp(this, colorSchemes, pool);
+    }
+
+    /**
+     * Renders the help menus of all registered {@link Command}s for every provided {@link ICommandSender}, so the
+     * caches of the {@link #helpCommandRenderer} are filled for their sets of permissions before they are requested.
+     * <p>
+     * See {@link HelpWarmUp#warmUpFor(CAP, Collection, ForkJoinPool)}.
+     *
+     * @param commandSenders The {@link ICommandSender}s to render the help menus for.
+     * @param pool           The {@link ForkJoinPool} to render the help menus on.
+     * @return The {@link CompletableFuture} that is completed once all help menus have been rendered.
+     */
+    public @NonNull CompletableFuture<Void> warmUpFor(
+        final @NonNull Collection<@NonNull ICommandSender> commandSenders, final @NonNull ForkJoinPool pool)
+    {
+        return HelpWarmUp.warmUpFor(this, commandSenders, pool);
+    }
+
     /**
      * Registers a {@link Command} with this {@link CAP}.
      *
@@ -204,9 +361,33 @@ public class CAP
     {
         commandMap.addCommand(command);
         resetTopLevelCommands();
+        commandVisibilityCache.invalidateIndex();
         return this;
     }
 
+    /**
+     * Invalidates the cached permissions of an {@link ICommandSender}. This should be called whenever their
+     * permissions change.
+     * <p>
+     * See {@link CommandVisibilityCache#invalidate(ICommandSender)}.
+     *
+     * @param commandSender The {@link ICommandSender} whose cached permissions to invalidate.
+     */
+    public void invalidatePermissions(final @NonNull ICommandSender commandSender)
+    {
+        commandVisibilityCache.invalidate(commandSender);
+    }
+
+    /**
+     * Invalidates the cached permissions of all {@link ICommandSender}s.
+     * <p>
+     * See {@link CommandVisibilityCache#invalidate()}.
+     */
+    public void invalidatePermissions()
+    {
+        commandVisibilityCache.invalidate();
+    }
+
     /**
      * Resets the {@link #topLevelCommandMap} to make sure that it only contains top-level commands.
      */
@@ -249,6 +430,48 @@ public class CAP
         return commandMap.getCommand(name, locale);
     }
 
+    /**
+     * Gets the names of the {@link Command}s that are closest to a name that could not be found, e.g. because it was
+     * misspelled.
+     * <p>
+     * The names are looked up in the {@link BKTree} of the {@link CommandIndex} (see {@link
+     * CommandIndex#getNameTree(CAP, Command, Locale)}), so the search does not have to compare the name to every
+     * registered name. Only {@link Command}s that the {@link ICommandSender} has access to are suggested.
+     *
+     * @param commandSender The {@link ICommandSender} whose {@link Locale} to use and who has to have access to the
+     *                      suggested {@link Command}s.
+     * @param superCommand  The {@link Command} whose sub{@link Command}s to suggest. When this is null, top-level
+     *                      {@link Command}s are suggested instead.
+     * @param name          The name that could not be found.
+     * @return Up to {@link #suggestionLimit} names within {@link #suggestionDistance} of the provided name, ordered from
+     * closest to furthest.
+     */
+    public @NonNull List<@NonNull String> getCommandSuggestions(final @NonNull ICommandSender commandSender,
+                                                                final @Nullable Command superCommand,
+                                                                final @NonNull String name)
+    {
+        if (suggestionDistance < 1 || suggestionLimit < 1)
+            return new ArrayList<>(0);
+
+        final @Nullable Locale locale = commandSender.getLocale();
+        final @NonNull List<@NonNull String> candidates = commandVisibilityCache
+            .getCommandIndex().getNameTree(this, superCommand, locale).search(name, suggestionDistance);
+
+        final @NonNull List<@NonNull String> suggestions = new ArrayList<>(Math.min(suggestionLimit, candidates.size()));
+        for (final @NonNull String candidate : candidates)
+        {
+            final @NonNull Optional<Command> command = superCommand == null ?
+                                                       getTopLevelCommand(candidate, locale) :
+                                                       superCommand.getSubCommand(candidate, locale);
+            if (!command.isPresent() || !commandVisibilityCache.hasPermission(commandSender, command.get()))
+                continue;
+            suggestions.add(candidate);
+            if (suggestions.size() >= suggestionLimit)
+                break;
+        }
+        return suggestions;
+    }
+
     /**
      * Gets a super{@link Command} from its name (i.e. a {@link Command} without any supers of its own).
      *
@@ -261,6 +484,122 @@ public class CAP
         return topLevelCommandMap.getCommand(name, locale);
     }
 
+    /**
+     * Resolves a {@link Command} from its path and creates a new builder for a {@link PreparedCommand} for it.
+     * <p>
+     * See {@link #prepare(String, Locale)}.
+     */
+    public @NonNull PreparedCommand.PreparedCommandBuilder prepare(final @NonNull String path)
+    {
+        return prepare(path, null);
+    }
+
+    /**
+     * Resolves a {@link Command} from its path and creates a new builder for a {@link PreparedCommand} for it.
+     * <p>
+     * The {@link Command} is resolved only once, so the {@link PreparedCommand} can be executed repeatedly without
+     * having to look it up again.
+     *
+     * @param path   The names of the top-level {@link Command} and its sub{@link Command}s, separated by spaces. E.g.
+     *               "bigdoors addowner".
+     * @param locale The {@link Locale} of the names in the path.
+     * @return A new builder for a {@link PreparedCommand} for the {@link Command} at the provided path.
+     *
+     * @throws IllegalArgumentException If there is no {@link Command} at the provided path.
+     */
+    public @NonNull PreparedCommand.PreparedCommandBuilder prepare(final @NonNull String path,
+                                                                   final @Nullable Locale locale)
+    {
+        final @NonNull String[] names = path.trim().split("\\s+");
+        @Nullable Command command = getTopLevelCommand(names[0], locale).orElse(null);
+        for (int idx = 1; idx < names.length && command != null; ++idx)
+            command = command.getSubCommand(names[idx], locale).orElse(null);
+
+        if (command == null)
+            throw new IllegalArgumentException("Could not find command: \"" + path + "\"!");
+        return PreparedCommand.builder().command(command);
+    }
+
+    /**
+     * Asynchronously parses a string containing multiple arguments delimited by spaces. See {@link
+     * CommandParser#parseAsync()}.
+     * <p>
+     * The returned {@link CompletableFuture} is completed on the thread that finished parsing the last value. Use
+     * {@link #parseInputAsync(ICommandSender, String, Executor)} to complete it on another thread (e.g. the main
+     * thread).
+     *
+     * @param commandSender The {@link ICommandSender} that issued a command.
+     * @param input         The string that may contain a set of commands and arguments.
+     * @return The {@link CompletableFuture} that will be completed with the {@link CommandResult} once all values have
+     * been parsed.
+     */
+    public @NonNull CompletableFuture<CommandResult> parseInputAsync(final @NonNull ICommandSender commandSender,
+                                                                     final @NonNull String input)
+    {
+        return parseInputAsync(commandSender, input, Runnable::run);
+    }
+
+    /**
+     * Asynchronously parses a string containing multiple arguments delimited by spaces. See {@link
+     * CommandParser#parseAsync()}.
+     * <p>
+     * The values of all {@link Argument}s that use an {@link AsyncArgumentParser} are looked up concurrently. Once all
+     * of them are done, the result is completed using the provided {@link Executor}, so that the {@link CommandResult}
+     * can be used on the thread that is required to run the {@link Command} (e.g. the main thread).
+     * <p>
+     * Any exceptions are handled by the {@link #exceptionHandler} on the provided {@link Executor}, just like they are
+     * for {@link #parseInput(ICommandSender, String)}, after which the returned {@link CompletableFuture} is completed
+     * exceptionally.
+     *
+     * @param commandSender The {@link ICommandSender} that issued a command.
+     * @param input         The string that may contain a set of commands and arguments.
+     * @param executor      The {@link Executor} to use to complete the returned {@link CompletableFuture}.
+     * @return The {@link CompletableFuture} that will be completed with the {@link CommandResult} once all values have
+     * been parsed.
+     */
+    public @NonNull CompletableFuture<CommandResult> parseInputAsync(final @NonNull ICommandSender commandSender,
+                                                                     final @NonNull String input,
+                                                                     final @NonNull Executor executor)
+    {
+        final @Nullable IFlightRecorderEvent event = FlightRecorderEvents.begin(FlightRecorderEventType.PARSE);
+        @NonNull CompletableFuture<CommandResult> parsed;
+        try
+        {
+            parsed = new CommandParser(this, commandSender, input, separator).parseAsync();
+        }
+        catch (Throwable t)
+        {
+            parsed = new CompletableFuture<>();
+            parsed.completeExceptionally(t);
+        }
+
+        return parsed.handleAsync(
+            (result, throwable) ->
+            {
+                final @Nullable Throwable failure =
+                    throwable instanceof CompletionException ? throwable.getCause() : throwable;
+                try
+                {
+                    if (failure == null)
+                        return result;
+
+                    if (exceptionHandler != null)
+                        exceptionHandler.handleException(
+                            commandSender, failure instanceof CAPException ? (CAPException) failure :
+                                           new CAPException(localizer.getMessage("error.exception.generic",
+                                                                                 commandSender), debug));
+                    throw new CompletionException(failure);
+                }
+                finally
+                {
+                    BufferedCommandSender.flush(commandSender);
+                    if (event != null)
+                        event.commit(result == null ? null : result.getCommand().getIdentifier(), commandSender,
+                                     input.length(), FlightRecorderEvents.getOutcome(failure));
+                }
+            }, executor);
+    }
+
     /**
      * Gets a list of suggestions for tab complete based on the current set of arguments.
      *
@@ -271,18 +610,34 @@ public class CAP
     public @NonNull List<String> getTabCompleteOptions(final @NonNull ICommandSender commandSender,
                                                        final @NonNull String input)
     {
+        final @Nullable IFlightRecorderEvent event = FlightRecorderEvents.begin(FlightRecorderEventType.TAB_COMPLETE);
         final @NonNull TabCompletionSuggester suggester =
             new TabCompletionSuggester(this, commandSender, input, separator);
-        final @NonNull Supplier<List<String>> supplier = () -> suggester.getTabCompleteOptions(false);
+        @Nullable Throwable failure = null;
+        try
+        {
+            final @NonNull Supplier<List<String>> supplier = () -> suggester.getTabCompleteOptions(false);
 
-        if (!cacheTabCompletionSuggestions)
-            return supplier.get();
+            if (!cacheTabCompletionSuggestions)
+                return supplier.get();
 
-        final @NonNull Pair<@NonNull String, @NonNull String> lastArgument = suggester.getLastArgumentData();
+            final @NonNull Pair<@NonNull String, @NonNull String> lastArgument = suggester.getLastArgumentData();
 
-        return tabCompletionCache.getTabCompleteOptions(commandSender, suggester.getArgs(),
-                                                        lastArgument.first + lastArgument.second, supplier,
-                                                        suggester.isOpenEnded());
+            return tabCompletionCache.getTabCompleteOptions(commandSender, suggester.getArgs(),
+                                                            lastArgument.first + lastArgument.second, supplier,
+                                                            suggester.isOpenEnded());
+        }
+        catch (Throwable t)
+        {
+            failure = t;
+            throw t;
+        }
+        finally
+        {
+            if (event != null)
+                commitTabCompleteEvent(event, suggester.getResolvedCommand().orElse(null), commandSender, input,
+                                       failure);
+        }
     }
 
     /**
@@ -304,15 +659,31 @@ public class CAP
         if (!cacheTabCompletionSuggestions)
             return Optional.empty();
 
+        final @Nullable IFlightRecorderEvent event = FlightRecorderEvents.begin(FlightRecorderEventType.TAB_COMPLETE);
         final @NonNull TabCompletionSuggester suggester =
             new TabCompletionSuggester(this, commandSender, input, separator);
-        final @NonNull Supplier<List<String>> supplier = () -> suggester.getTabCompleteOptions(false);
+        @Nullable Throwable failure = null;
+        try
+        {
+            final @NonNull Supplier<List<String>> supplier = () -> suggester.getTabCompleteOptions(false);
 
-        final @NonNull Pair<@NonNull String, @NonNull String> lastArgument = suggester.getLastArgumentData();
+            final @NonNull Pair<@NonNull String, @NonNull String> lastArgument = suggester.getLastArgumentData();
 
-        return tabCompletionCache.getDelayedTabCompleteOptions(commandSender, suggester.getArgs(),
-                                                               lastArgument.first + lastArgument.second, supplier,
-                                                               suggester.isOpenEnded());
+            return tabCompletionCache.getDelayedTabCompleteOptions(commandSender, suggester.getArgs(),
+                                                                   lastArgument.first + lastArgument.second, supplier,
+                                                                   suggester.isOpenEnded());
+        }
+        catch (Throwable t)
+        {
+            failure = t;
+            throw t;
+        }
+        finally
+        {
+            if (event != null)
+                commitTabCompleteEvent(event, suggester.getResolvedCommand().orElse(null), commandSender, input,
+                                       failure);
+        }
     }
 
     /**
@@ -325,18 +696,66 @@ public class CAP
     public @NonNull CompletableFuture<List<String>> getTabCompleteOptionsAsync(
         final @NonNull ICommandSender commandSender, final @NonNull String input)
     {
+        final @Nullable IFlightRecorderEvent event = FlightRecorderEvents.begin(FlightRecorderEventType.TAB_COMPLETE);
         final @NonNull TabCompletionSuggester suggester =
             new TabCompletionSuggester(this, commandSender, input, separator);
         final @NonNull Supplier<List<String>> supplier = () -> suggester.getTabCompleteOptions(true);
 
+        final @NonNull CompletableFuture<List<String>> result;
         if (!cacheTabCompletionSuggestions)
-            return CompletableFuture.supplyAsync(supplier);
+            result = CompletableFuture.supplyAsync(supplier);
+        else
+        {
+            final @NonNull Pair<@NonNull String, @NonNull String> lastArgument = suggester.getLastArgumentData();
+            result = tabCompletionCache.getTabCompleteOptionsAsync(commandSender, suggester.getArgs(),
+                                                                   lastArgument.first + lastArgument.second,
+                                                                   supplier, suggester.isOpenEnded());
+        }
 
-        final @NonNull Pair<@NonNull String, @NonNull String> lastArgument = suggester.getLastArgumentData();
+        if (event != null)
+            result.whenComplete(
+                (suggestions, throwable) -> commitTabCompleteEvent(event, suggester.getResolvedCommand().orElse(null),
+                                                                   commandSender, input, throwable));
+        return result;
+    }
+
+    /**
+     * Commits an {@link IFlightRecorderEvent} for a tab-completion request.
+     *
+     * @param event         The {@link IFlightRecorderEvent} to commit.
+     * @param command       The {@link Command} the suggestions were generated for, if it could be found. See {@link
+     *                      TabCompletionSuggester#getResolvedCommand()}.
+     * @param commandSender The {@link ICommandSender} that requested the suggestions.
+     * @param input         The input the suggestions were generated for.
+     * @param failure       The {@link Throwable} that was thrown while generating the suggestions, if any.
+     */
+    private static void commitTabCompleteEvent(final @NonNull IFlightRecorderEvent event,
+                                               final @Nullable Command command,
+                                               final @NonNull ICommandSender commandSender,
+                                               final @NonNull String input, final @Nullable Throwable failure)
+    {
+        event.commit(command == null ? null : command.getIdentifier(), commandSender, input.length(),
+                     FlightRecorderEvents.getOutcome(failure));
+    }
 
-        return tabCompletionCache.getTabCompleteOptionsAsync(commandSender, suggester.getArgs(),
-                                                             lastArgument.first + lastArgument.second, supplier,
-                                                             suggester.isOpenEnded());
+    /**
+     * Gets a snapshot of the statistics of the {@link TabCompletionCache}.
+     * <p>
+     * This can be used to find out if {@link #cacheTabCompletionSuggestions} is beneficial for the current setup.
+     *
+     * @return The current {@link TabCompletionCacheStatistics}.
+     */
+    public @NonNull TabCompletionCacheStatistics getTabCompletionCacheStatistics()
+    {
+        return tabCompletionCache.getStatistics();
+    }
+
+    /**
+     * Resets the counters of the {@link TabCompletionCache}. See {@link #getTabCompletionCacheStatistics()}.
+     */
+    public void resetTabCompletionCacheStatistics()
+    {
+        tabCompletionCache.resetStatistics();
     }
 
     /**
@@ -370,5 +789,9 @@ public class CAP
         private boolean debug;
         private boolean caseSensitive;
         private Localizer localizer;
+        private IMetricsRecorder metrics;
+        private Integer suggestionDistance;
+        private Integer suggestionLimit;
+        private boolean lazyArgumentParsing;
     }
 }
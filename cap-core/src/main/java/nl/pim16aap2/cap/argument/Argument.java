@@ -32,6 +32,7 @@ import lombok.NonNull;
 import lombok.experimental.Delegate;
 import nl.pim16aap2.cap.CAP;
 import nl.pim16aap2.cap.argument.parser.ArgumentParser;
+import nl.pim16aap2.cap.argument.parser.AsyncArgumentParser;
 import nl.pim16aap2.cap.argument.parser.ValuelessParser;
 import nl.pim16aap2.cap.argument.validator.IArgumentValidator;
 import nl.pim16aap2.cap.argument.validator.number.RangeValidator;
@@ -40,11 +41,15 @@ import nl.pim16aap2.cap.commandsender.ICommandSender;
 import nl.pim16aap2.cap.exception.IllegalValueException;
 import nl.pim16aap2.cap.exception.ValidationFailureException;
 import nl.pim16aap2.cap.localization.ArgumentNamingSpec;
+import nl.pim16aap2.cap.metrics.IMetricsRecorder;
+import nl.pim16aap2.cap.metrics.MetricsPhase;
 import nl.pim16aap2.cap.util.TabCompletionRequest;
 import nl.pim16aap2.cap.util.Util;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -263,6 +268,8 @@ public class Argument<T>
      * @param value         The value to parse and validate.
      * @param cap           The {@link CAP} that requested the argument to be parsed.
      * @param commandSender The {@link ICommandSender} for which to parse validate the argument.
+     * @param command       The {@link Command} the value is parsed for. This is only used to record the time spent
+     *                      validating the value (see {@link MetricsPhase#VALIDATE}) and may be null.
      * @return The parsed value.
      *
      * @throws ValidationFailureException If the value was not valid. See {@link IArgumentValidator#validate(CAP,
@@ -270,24 +277,150 @@ public class Argument<T>
      * @throws IllegalValueException      If the value could not be parsed into the desired type.
      */
     protected @NonNull T parseArgument(final @NonNull String value, final @NonNull CAP cap,
-                                       final @NonNull ICommandSender commandSender)
+                                       final @NonNull ICommandSender commandSender, final @Nullable Command command)
         throws ValidationFailureException, IllegalValueException
     {
-        final @NonNull T parsed = parser.parseArgument(cap, commandSender, this, value);
+        return validate(parser.parseArgument(cap, commandSender, this, value), cap, commandSender, command);
+    }
 
+    /**
+     * Validates a parsed value using the {@link #argumentValidator} if it is provided.
+     *
+     * @param parsed        The parsed value to validate.
+     * @param cap           The {@link CAP} that requested the argument to be parsed.
+     * @param commandSender The {@link ICommandSender} for which to validate the argument.
+     * @param command       The {@link Command} the value is parsed for. May be null.
+     * @return The validated value.
+     *
+     * @throws ValidationFailureException If the value was not valid. See {@link IArgumentValidator#validate(CAP,
+     *                                    ICommandSender, Argument, Object)}.
+     */
+    protected @NonNull T validate(final @NonNull T parsed, final @NonNull CAP cap,
+                                  final @NonNull ICommandSender commandSender, final @Nullable Command command)
+        throws ValidationFailureException
+    {
         if (argumentValidator != null)
+        {
+            final @NonNull IMetricsRecorder metrics = cap.getMetrics();
+            final long start = metrics.start();
             argumentValidator.validate(cap, commandSender, this, parsed);
-
+            metrics.stop(MetricsPhase.VALIDATE, command == null ? null : command.getIdentifier(), start);
+        }
         return parsed;
     }
 
+    /**
+     * Validates multiple parsed values using the {@link #argumentValidator} if it is provided. See {@link
+     * IArgumentValidator#validateAll(CAP, ICommandSender, Argument, List)}.
+     *
+     * @param parsed        The parsed values to validate.
+     * @param cap           The {@link CAP} that requested the argument to be parsed.
+     * @param commandSender The {@link ICommandSender} for which to validate the argument.
+     * @param command       The {@link Command} the values are parsed for. May be null.
+     *
+     * @throws ValidationFailureException If any of the values was not valid.
+     */
+    protected void validateAll(final @NonNull List<T> parsed, final @NonNull CAP cap,
+                               final @NonNull ICommandSender commandSender, final @Nullable Command command)
+        throws ValidationFailureException
+    {
+        if (argumentValidator == null)
+            return;
+
+        final @NonNull IMetricsRecorder metrics = cap.getMetrics();
+        final long start = metrics.start();
+        argumentValidator.validateAll(cap, commandSender, this, parsed);
+        metrics.stop(MetricsPhase.VALIDATE, command == null ? null : command.getIdentifier(), start);
+    }
+
+    /**
+     * Checks if the {@link #parser} of this {@link Argument} parses values asynchronously. See {@link
+     * AsyncArgumentParser}.
+     *
+     * @return True if the {@link #parser} is an {@link AsyncArgumentParser}.
+     */
+    public boolean isAsync()
+    {
+        return parser instanceof AsyncArgumentParser;
+    }
+
+    /**
+     * Checks if this {@link Argument} consumes the remainder of the input. See {@link GreedyArgument}.
+     *
+     * @return True if this {@link Argument} consumes the remainder of the input.
+     */
+    public boolean isGreedy()
+    {
+        return false;
+    }
+
+    /**
+     * Asynchronously parses the input using {@link #parser} and validates it using the {@link #argumentValidator} if it
+     * is provided.
+     * <p>
+     * When the {@link #parser} is not an {@link AsyncArgumentParser}, the value is parsed and validated on the current
+     * thread.
+     *
+     * @param value         The value to parse and validate.
+     * @param cap           The {@link CAP} that requested the argument to be parsed.
+     * @param commandSender The {@link ICommandSender} for which to parse validate the argument.
+     * @param command       The {@link Command} the value is parsed for. May be null.
+     * @return The {@link CompletableFuture} that will be completed with the parsed value. When the value could not be
+     * parsed or validated, it is completed exceptionally with an {@link IllegalValueException} or a {@link
+     * ValidationFailureException} respectively.
+     */
+    protected @NonNull CompletableFuture<T> parseArgumentAsync(final @NonNull String value, final @NonNull CAP cap,
+                                                               final @NonNull ICommandSender commandSender,
+                                                               final @Nullable Command command)
+    {
+        if (!isAsync())
+        {
+            final @NonNull CompletableFuture<T> result = new CompletableFuture<>();
+            try
+            {
+                result.complete(parseArgument(value, cap, commandSender, command));
+            }
+            catch (ValidationFailureException | IllegalValueException e)
+            {
+                result.completeExceptionally(e);
+            }
+            return result;
+        }
+
+        return ((AsyncArgumentParser<T>) parser)
+            .parseArgumentAsync(cap, commandSender, this, value)
+            .thenApply(
+                parsed ->
+                {
+                    try
+                    {
+                        return validate(parsed, cap, commandSender, command);
+                    }
+                    catch (ValidationFailureException e)
+                    {
+                        throw new CompletionException(e);
+                    }
+                });
+    }
+
+    /**
+     * See {@link #getParsedArgument(String, CAP, ICommandSender, Command)}.
+     */
+    public @NonNull IParsedArgument<?> getParsedArgument(final @Nullable String value, final @NonNull CAP cap,
+                                                         final @NonNull ICommandSender commandSender)
+        throws ValidationFailureException, IllegalValueException
+    {
+        return getParsedArgument(value, cap, commandSender, null);
+    }
+
     /**
      * Parses the input and stores the result in an {@link IParsedArgument}. See {@link #parseArgument(String, CAP,
-     * ICommandSender)}
+     * ICommandSender, Command)}
      *
      * @param value         The value to parse and validate.
      * @param cap           The {@link CAP} that requested the argument to be parsed.
      * @param commandSender The {@link ICommandSender} for which to parse validate the argument.
+     * @param command       The {@link Command} the value is parsed for. May be null.
      * @return The parsed argument.
      *
      * @throws ValidationFailureException If the value was not valid. See {@link IArgumentValidator#validate(CAP,
@@ -295,12 +428,63 @@ public class Argument<T>
      * @throws IllegalValueException      If the value could not be parsed into the desired type.
      */
     public @NonNull IParsedArgument<?> getParsedArgument(final @Nullable String value, final @NonNull CAP cap,
-                                                         final @NonNull ICommandSender commandSender)
+                                                         final @NonNull ICommandSender commandSender,
+                                                         final @Nullable Command command)
         throws ValidationFailureException, IllegalValueException
     {
         if (value == null)
             return new ParsedArgument<>(defaultValue);
-        return new ParsedArgument<>(parseArgument(value, cap, commandSender));
+        return new ParsedArgument<>(parseArgument(value, cap, commandSender, command));
+    }
+
+    /**
+     * Asynchronously parses the input and stores the result in an {@link IParsedArgument}. See {@link
+     * #parseArgumentAsync(String, CAP, ICommandSender, Command)}.
+     *
+     * @param value         The value to parse and validate.
+     * @param cap           The {@link CAP} that requested the argument to be parsed.
+     * @param commandSender The {@link ICommandSender} for which to parse validate the argument.
+     * @param command       The {@link Command} the value is parsed for. May be null.
+     * @return The {@link CompletableFuture} that will be completed with the parsed argument.
+     */
+    public @NonNull CompletableFuture<IParsedArgument<?>> getParsedArgumentAsync(
+        final @Nullable String value, final @NonNull CAP cap, final @NonNull ICommandSender commandSender,
+        final @Nullable Command command)
+    {
+        if (value == null)
+            return CompletableFuture.completedFuture(new ParsedArgument<>(defaultValue));
+        return parseArgumentAsync(value, cap, commandSender, command).thenApply(ParsedArgument::new);
+    }
+
+    /**
+     * Validates a value that was already parsed by the caller and stores it in an {@link IParsedArgument}.
+     * <p>
+     * Unlike {@link #getParsedArgument(String, CAP, ICommandSender, Command)}, the value is not parsed from a String.
+     * It still has to pass the {@link #argumentValidator}, if there is one.
+     * <p>
+     * The type of the value is not checked, as the type of this {@link Argument} is not known at runtime. A value of
+     * any other type is accepted here and will only fail once it is used as a value of the type of this {@link
+     * Argument}.
+     *
+     * @param value         The value to validate. This must be of the type of this {@link Argument}. When null, the
+     *                      {@link #defaultValue} is used instead.
+     * @param cap           The {@link CAP} that requested the argument to be validated.
+     * @param commandSender The {@link ICommandSender} for which to validate the argument.
+     * @param command       The {@link Command} the value is validated for. May be null.
+     * @return The parsed argument.
+     *
+     * @throws ValidationFailureException If the value was not valid. See {@link IArgumentValidator#validate(CAP,
+     *                                    ICommandSender, Argument, Object)}.
+     */
+    @SuppressWarnings("unchecked")
+    public @NonNull IParsedArgument<?> getParsedValue(final @Nullable Object value, final @NonNull CAP cap,
+                                                      final @NonNull ICommandSender commandSender,
+                                                      final @Nullable Command command)
+        throws ValidationFailureException
+    {
+        if (value == null)
+            return getDefault();
+        return new ParsedArgument<>(validate((T) value, cap, commandSender, command));
     }
 
     /**
@@ -343,7 +527,7 @@ public class Argument<T>
      * @param <T> The type of the parsed result.
      * @author Pim
      */
-    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    @AllArgsConstructor(access = AccessLevel.PROTECTED)
     public static class ParsedArgument<T> implements IParsedArgument<T>
     {
         @Getter(onMethod = @__({@Override}))
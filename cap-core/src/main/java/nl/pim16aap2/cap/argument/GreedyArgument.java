@@ -0,0 +1,111 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.argument;
+
+import lombok.Builder;
+import lombok.NonNull;
+import nl.pim16aap2.cap.CAP;
+import nl.pim16aap2.cap.argument.parser.ArgumentParser;
+import nl.pim16aap2.cap.argument.validator.IArgumentValidator;
+import nl.pim16aap2.cap.command.Command;
+import nl.pim16aap2.cap.commandsender.ICommandSender;
+import nl.pim16aap2.cap.exception.ValidationFailureException;
+import nl.pim16aap2.cap.localization.ArgumentNamingSpec;
+import nl.pim16aap2.cap.util.CharSequenceSlice;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents an {@link Argument} that consumes the remainder of the input, including any whitespace between the words.
+ * <p>
+ * For example, a greedy argument 'message' in the input "/msg pim16aap2 hello   world" has the value "hello
+ * world" with the original spacing intact.
+ * <p>
+ * The value is a {@link CharSequenceSlice} of the raw input, so no characters are copied or re-joined while parsing.
+ * Call {@link CharSequence#toString()} on the value if a String is needed. Quotation marks are not removed from the
+ * value.
+ * <p>
+ * When positional, a greedy argument has to be the last positional argument of its {@link Command}. Any input after it
+ * is considered part of its value, so free arguments have to be specified before it.
+ *
+ * @author Pim
+ */
+public class GreedyArgument extends Argument<CharSequence>
+{
+    private static final boolean VALUE_LESS = false;
+    private static final boolean REPEATABLE = false;
+
+    @Builder(builderMethodName = "greedyBuilder")
+    private GreedyArgument(final @NonNull ArgumentNamingSpec nameSpec, final @Nullable CharSequence defaultValue,
+                           final boolean positional, final boolean required,
+                           final @Nullable ITabCompleteFunction tabCompleteFunction,
+                           final @Nullable IArgumentValidator<CharSequence> argumentValidator,
+                           final @NonNull String identifier)
+    {
+        super(nameSpec, RemainderParser.INSTANCE, defaultValue, VALUE_LESS, REPEATABLE, positional, required,
+              tabCompleteFunction, argumentValidator, identifier);
+    }
+
+    @Override
+    public boolean isGreedy()
+    {
+        return true;
+    }
+
+    /**
+     * Validates the remainder of the input using the {@link #argumentValidator} if it is provided and stores it in an
+     * {@link IParsedArgument}.
+     *
+     * @param value         The remainder of the input.
+     * @param cap           The {@link CAP} that requested the argument to be parsed.
+     * @param commandSender The {@link ICommandSender} for which to validate the argument.
+     * @param command       The {@link Command} the value is parsed for. May be null.
+     * @return The parsed argument.
+     *
+     * @throws ValidationFailureException If the value was not valid. See {@link IArgumentValidator#validate(CAP,
+     *                                    ICommandSender, Argument, Object)}.
+     */
+    public @NonNull IParsedArgument<?> getParsedRemainder(final @NonNull CharSequence value, final @NonNull CAP cap,
+                                                          final @NonNull ICommandSender commandSender,
+                                                          final @Nullable Command command)
+        throws ValidationFailureException
+    {
+        return new ParsedArgument<>(validate(value, cap, commandSender, command));
+    }
+
+    /**
+     * Parser used when a {@link GreedyArgument} receives a single token instead of the remainder of the input.
+     */
+    private static final class RemainderParser extends ArgumentParser<CharSequence>
+    {
+        private static final @NonNull RemainderParser INSTANCE = new RemainderParser();
+
+        @Override
+        public @NonNull CharSequence parseArgument(final @NonNull CAP cap, final @NonNull ICommandSender commandSender,
+                                                   final @NonNull Argument<?> argument, final @NonNull String value)
+        {
+            return value;
+        }
+    }
+}
@@ -29,7 +29,9 @@ import lombok.Getter;
 import lombok.NonNull;
 import nl.pim16aap2.cap.CAP;
 import nl.pim16aap2.cap.argument.parser.ArgumentParser;
+import nl.pim16aap2.cap.argument.parser.AsyncArgumentParser;
 import nl.pim16aap2.cap.argument.validator.IArgumentValidator;
+import nl.pim16aap2.cap.command.Command;
 import nl.pim16aap2.cap.commandsender.ICommandSender;
 import nl.pim16aap2.cap.exception.IllegalValueException;
 import nl.pim16aap2.cap.exception.ValidationFailureException;
@@ -38,8 +40,11 @@ import nl.pim16aap2.cap.util.Util;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class RepeatableArgument<T> extends Argument<T>
 {
@@ -59,13 +64,139 @@ public class RepeatableArgument<T> extends Argument<T>
 
     @Override
     public @NonNull IParsedArgument<?> getParsedArgument(final @Nullable String value, final @NonNull CAP cap,
-                                                         final @NonNull ICommandSender commandSender)
+                                                         final @NonNull ICommandSender commandSender,
+                                                         final @Nullable Command command)
         throws ValidationFailureException, IllegalValueException
     {
-        final ParsedRepeatableArgument<T> ret = new ParsedRepeatableArgument<>();
-        if (value != null)
-            ret.addValue(parseArgument(value, cap, commandSender));
-        return ret;
+        if (value == null)
+            return new ParsedRepeatableArgument<T>();
+        return getParsedArguments(Collections.singletonList(value), cap, commandSender, command);
+    }
+
+    /**
+     * Parses all values of this {@link RepeatableArgument} at once and stores the results in a single {@link
+     * ParsedRepeatableArgument}.
+     * <p>
+     * The values are parsed using {@link ArgumentParser#parseArguments(CAP, ICommandSender, Argument, List, List)}
+     * and validated using {@link IArgumentValidator#validateAll(CAP, ICommandSender, Argument, List)}, so parsers and
+     * validators that support it can handle all values in a single pass.
+     *
+     * @param values        The values to parse and validate.
+     * @param cap           The {@link CAP} that requested the argument to be parsed.
+     * @param commandSender The {@link ICommandSender} for which to parse validate the argument.
+     * @param command       The {@link Command} the values are parsed for. May be null.
+     * @return The parsed argument containing all parsed values in the same order as the provided values.
+     *
+     * @throws ValidationFailureException If any of the values was not valid.
+     * @throws IllegalValueException      If any of the values could not be parsed into the desired type.
+     */
+    public @NonNull IParsedArgument<?> getParsedArguments(final @NonNull List<@NonNull String> values,
+                                                          final @NonNull CAP cap,
+                                                          final @NonNull ICommandSender commandSender,
+                                                          final @Nullable Command command)
+        throws ValidationFailureException, IllegalValueException
+    {
+        final @NonNull List<T> parsed = parser.createList(values.size());
+        parser.parseArguments(cap, commandSender, this, values, parsed);
+        validateAll(parsed, cap, commandSender, command);
+        return new ParsedRepeatableArgument<>(parsed);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The value has to be a {@link List} of values of the type of this {@link RepeatableArgument}. The values are
+     * validated all at once using {@link IArgumentValidator#validateAll(CAP, ICommandSender, Argument, List)}.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public @NonNull IParsedArgument<?> getParsedValue(final @Nullable Object value, final @NonNull CAP cap,
+                                                      final @NonNull ICommandSender commandSender,
+                                                      final @Nullable Command command)
+        throws ValidationFailureException
+    {
+        if (value == null)
+            return new ParsedRepeatableArgument<T>();
+
+        final @NonNull List<T> values = (List<T>) value;
+        // Copy the values, so the caller's list is not modified when more values are added.
+        final @NonNull List<T> parsed = parser.createList(values.size());
+        parsed.addAll(values);
+        validateAll(parsed, cap, commandSender, command);
+        return new ParsedRepeatableArgument<>(parsed);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * See {@link #getParsedArgumentsAsync(List, CAP, ICommandSender, Command)}.
+     */
+    @Override
+    public @NonNull CompletableFuture<IParsedArgument<?>> getParsedArgumentAsync(
+        final @Nullable String value, final @NonNull CAP cap, final @NonNull ICommandSender commandSender,
+        final @Nullable Command command)
+    {
+        if (value == null)
+            return CompletableFuture.completedFuture(new ParsedRepeatableArgument<T>());
+        return getParsedArgumentsAsync(Collections.singletonList(value), cap, commandSender, command);
+    }
+
+    /**
+     * Asynchronously parses all values of this {@link RepeatableArgument} and stores the results in a single {@link
+     * ParsedRepeatableArgument}.
+     * <p>
+     * When the {@link #parser} is an {@link AsyncArgumentParser}, all values are parsed at the same time (see {@link
+     * AsyncArgumentParser#parseArgumentAsync(CAP, ICommandSender, Argument, String)}). Once they have all been parsed,
+     * they are validated all at once, just like {@link #getParsedArguments(List, CAP, ICommandSender, Command)} does.
+     * Otherwise, the values are parsed and validated on the current thread.
+     *
+     * @param values        The values to parse and validate.
+     * @param cap           The {@link CAP} that requested the argument to be parsed.
+     * @param commandSender The {@link ICommandSender} for which to parse validate the argument.
+     * @param command       The {@link Command} the values are parsed for. May be null.
+     * @return The {@link CompletableFuture} that will be completed with the parsed argument. When any of the values
+     * could not be parsed or validated, it is completed exceptionally with an {@link IllegalValueException} or a {@link
+     * ValidationFailureException} respectively.
+     */
+    public @NonNull CompletableFuture<IParsedArgument<?>> getParsedArgumentsAsync(
+        final @NonNull List<@NonNull String> values, final @NonNull CAP cap,
+        final @NonNull ICommandSender commandSender, final @Nullable Command command)
+    {
+        if (!isAsync())
+        {
+            final @NonNull CompletableFuture<IParsedArgument<?>> result = new CompletableFuture<>();
+            try
+            {
+                result.complete(getParsedArguments(values, cap, commandSender, command));
+            }
+            catch (ValidationFailureException | IllegalValueException e)
+            {
+                result.completeExceptionally(e);
+            }
+            return result;
+        }
+
+        final @NonNull AsyncArgumentParser<T> asyncParser = (AsyncArgumentParser<T>) parser;
+        final @NonNull List<CompletableFuture<T>> futures = new ArrayList<>(values.size());
+        for (final @NonNull String value : values)
+            futures.add(asyncParser.parseArgumentAsync(cap, commandSender, this, value));
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(
+            ignored ->
+            {
+                final @NonNull List<T> parsed = parser.createList(futures.size());
+                for (final @NonNull CompletableFuture<T> future : futures)
+                    parsed.add(future.join());
+                try
+                {
+                    validateAll(parsed, cap, commandSender, command);
+                }
+                catch (ValidationFailureException e)
+                {
+                    throw new CompletionException(e);
+                }
+                return new ParsedRepeatableArgument<>(parsed);
+            });
     }
 
     @Override
@@ -87,7 +218,12 @@ public class RepeatableArgument<T> extends Argument<T>
 
         private ParsedRepeatableArgument()
         {
-            value = new ArrayList<>(0);
+            this(new ArrayList<>(0));
+        }
+
+        private ParsedRepeatableArgument(final @NonNull List<T> value)
+        {
+            this.value = value;
         }
 
         /**
@@ -27,9 +27,13 @@ package nl.pim16aap2.cap.argument.parser;
 import lombok.NonNull;
 import nl.pim16aap2.cap.CAP;
 import nl.pim16aap2.cap.argument.Argument;
+import nl.pim16aap2.cap.argument.RepeatableArgument;
 import nl.pim16aap2.cap.commandsender.ICommandSender;
 import nl.pim16aap2.cap.exception.IllegalValueException;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Represents an object that can parse a String into a desired type.
  *
@@ -41,4 +45,41 @@ public abstract class ArgumentParser<T>
     public abstract @NonNull T parseArgument(final @NonNull CAP cap, final @NonNull ICommandSender commandSender,
                                              final @NonNull Argument<?> argument, final @NonNull String value)
         throws IllegalValueException;
+
+    /**
+     * Parses all values of a {@link RepeatableArgument} at once.
+     * <p>
+     * By default, every value is parsed separately using {@link #parseArgument(CAP, ICommandSender, Argument, String)}.
+     * Parsers that can look up multiple values more efficiently than one at a time (e.g. in a single database query)
+     * should override this method.
+     *
+     * @param cap           The {@link CAP} that requested the argument to be parsed.
+     * @param commandSender The {@link ICommandSender} for which to parse the values.
+     * @param argument      The {@link Argument} whose values to parse.
+     * @param values        The values to parse.
+     * @param results       The list to add the parsed values to, in the same order as the values.
+     *
+     * @throws IllegalValueException If any of the values could not be parsed.
+     */
+    public void parseArguments(final @NonNull CAP cap, final @NonNull ICommandSender commandSender,
+                               final @NonNull Argument<?> argument, final @NonNull List<@NonNull String> values,
+                               final @NonNull List<T> results)
+        throws IllegalValueException
+    {
+        for (final @NonNull String value : values)
+            results.add(parseArgument(cap, commandSender, argument, value));
+    }
+
+    /**
+     * Creates a new list to store the parsed values of a {@link RepeatableArgument} in.
+     * <p>
+     * Parsers for primitive types should override this to return a list that stores the values without boxing them.
+     *
+     * @param capacity The number of values that will be stored in the list.
+     * @return The new list.
+     */
+    public @NonNull List<T> createList(final int capacity)
+    {
+        return new ArrayList<>(capacity);
+    }
 }
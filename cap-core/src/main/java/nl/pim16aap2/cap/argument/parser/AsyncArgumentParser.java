@@ -0,0 +1,122 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.argument.parser;
+
+import lombok.NonNull;
+import nl.pim16aap2.cap.CAP;
+import nl.pim16aap2.cap.argument.Argument;
+import nl.pim16aap2.cap.commandsender.ICommandSender;
+import nl.pim16aap2.cap.exception.IllegalValueException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Represents an {@link ArgumentParser} that parses values asynchronously. This is useful for parsers that have to look
+ * up values that may take a while to retrieve, e.g. from a database.
+ * <p>
+ * When the input is parsed using {@link CAP#parseInputAsync(ICommandSender, String)}, the lookups of all {@link
+ * Argument}s that use an {@link AsyncArgumentParser} are started at the same time and the result is only completed
+ * once all of them have finished. When the input is parsed synchronously, {@link #parseArgument(CAP, ICommandSender,
+ * Argument, String)} will block until the value has been parsed.
+ *
+ * @param <T> The type of the result to parse the String into.
+ * @author Pim
+ */
+public abstract class AsyncArgumentParser<T> extends ArgumentParser<T>
+{
+    /**
+     * Starts parsing a value.
+     * <p>
+     * This method should return as quickly as possible; any slow lookups should be done by the returned {@link
+     * CompletableFuture}.
+     *
+     * @param cap           The {@link CAP} that requested the argument to be parsed.
+     * @param commandSender The {@link ICommandSender} for which to parse the value.
+     * @param argument      The {@link Argument} whose value to parse.
+     * @param value         The value to parse.
+     * @return The {@link CompletableFuture} that will be completed with the parsed value. When the value could not be
+     * parsed, it should be completed exceptionally with an {@link IllegalValueException}.
+     */
+    public abstract @NonNull CompletableFuture<T> parseArgumentAsync(final @NonNull CAP cap,
+                                                                     final @NonNull ICommandSender commandSender,
+                                                                     final @NonNull Argument<?> argument,
+                                                                     final @NonNull String value);
+
+    /**
+     * Starts parsing all values at the same time and waits for the results. See {@link #parseArgumentAsync(CAP,
+     * ICommandSender, Argument, String)}.
+     */
+    @Override
+    public void parseArguments(final @NonNull CAP cap, final @NonNull ICommandSender commandSender,
+                               final @NonNull Argument<?> argument, final @NonNull List<@NonNull String> values,
+                               final @NonNull List<T> results)
+        throws IllegalValueException
+    {
+        final @NonNull List<CompletableFuture<T>> futures = new ArrayList<>(values.size());
+        for (final @NonNull String value : values)
+            futures.add(parseArgumentAsync(cap, commandSender, argument, value));
+
+        for (final @NonNull CompletableFuture<T> future : futures)
+            results.add(join(future));
+    }
+
+    /**
+     * Parses a value and waits for the result. See {@link #parseArgumentAsync(CAP, ICommandSender, Argument,
+     * String)}.
+     */
+    @Override
+    public @NonNull T parseArgument(final @NonNull CAP cap, final @NonNull ICommandSender commandSender,
+                                    final @NonNull Argument<?> argument, final @NonNull String value)
+        throws IllegalValueException
+    {
+        return join(parseArgumentAsync(cap, commandSender, argument, value));
+    }
+
+    /**
+     * Waits for a value to be parsed.
+     *
+     * @param future The {@link CompletableFuture} of the value.
+     * @return The parsed value.
+     *
+     * @throws IllegalValueException If the value could not be parsed.
+     */
+    private @NonNull T join(final @NonNull CompletableFuture<T> future)
+        throws IllegalValueException
+    {
+        try
+        {
+            return future.join();
+        }
+        catch (CompletionException e)
+        {
+            if (e.getCause() instanceof IllegalValueException)
+                throw (IllegalValueException) e.getCause();
+            throw e;
+        }
+    }
+}
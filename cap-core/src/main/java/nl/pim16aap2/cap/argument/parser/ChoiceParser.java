@@ -0,0 +1,217 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.argument.parser;
+
+import lombok.Getter;
+import lombok.NonNull;
+import nl.pim16aap2.cap.CAP;
+import nl.pim16aap2.cap.argument.Argument;
+import nl.pim16aap2.cap.commandsender.ICommandSender;
+import nl.pim16aap2.cap.exception.IllegalValueException;
+import nl.pim16aap2.cap.localization.Localizer;
+import nl.pim16aap2.cap.util.NameIndex;
+import nl.pim16aap2.cap.util.TabCompletionRequest;
+import nl.pim16aap2.cap.util.Util;
+import org.jetbrains.annotations.Nullable;
+
+import java.text.MessageFormat;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Represents an argument parser that maps input values to one of a fixed set of choices.
+ * <p>
+ * Every choice has a key that is localized using the {@link Localizer} of the {@link CAP} (when the key cannot be
+ * localized, the key itself is used as name). For every {@link Localizer} and {@link Locale}, a lookup table is built
+ * the first time it is needed. That table is then shared by all {@link ICommandSender}s using that {@link Locale}, so
+ * parsing a value is a single hash lookup and tab-completion suggestions are a range of a sorted array.
+ * <p>
+ * The tables are kept per {@link Localizer}, so a single {@link ChoiceParser} can be shared by {@link CAP}s that use
+ * different {@link Localizer}s.
+ *
+ * @param <T> The type of the choices.
+ * @author Pim
+ */
+public class ChoiceParser<T> extends ArgumentParser<T>
+{
+    /**
+     * The key to use in the table map when the {@link Localizer} does not have any {@link Locale}s.
+     */
+    private static final @NonNull Locale NO_LOCALE = Locale.ROOT;
+
+    /**
+     * The choices mapped by their (not yet localized) keys.
+     */
+    private final @NonNull Map<@NonNull String, @NonNull T> choices;
+
+    /**
+     * Whether the names of the choices are case sensitive.
+     * <p>
+     * When they are not, both the names and the input are converted to lower case.
+     */
+    @Getter
+    private final boolean caseSensitive;
+
+    /**
+     * The lookup tables for every {@link Locale} that has been used so far, per {@link Localizer}.
+     */
+    private final @NonNull Map<@NonNull Localizer, Map<@NonNull Locale, NameIndex<T>>> tables =
+        new ConcurrentHashMap<>();
+
+    protected ChoiceParser(final @NonNull Map<@NonNull String, @NonNull T> choices, final boolean caseSensitive)
+    {
+        if (choices.isEmpty())
+            throw new IllegalArgumentException("A choice parser requires at least 1 choice!");
+        this.choices = Collections.unmodifiableMap(new LinkedHashMap<>(choices));
+        this.caseSensitive = caseSensitive;
+    }
+
+    @Override
+    public @NonNull T parseArgument(final @NonNull CAP cap, final @NonNull ICommandSender commandSender,
+                                    final @NonNull Argument<?> argument, final @NonNull String value)
+        throws IllegalValueException
+    {
+        final @Nullable Locale locale = commandSender.getLocale();
+        final @Nullable T result = getTable(cap.getLocalizer(), locale).get(fold(value, locale));
+        if (result != null)
+            return result;
+
+        final @NonNull String localizedMessage =
+            MessageFormat.format(cap.getLocalizer().getMessage("error.valueParser.choice", commandSender), value);
+        throw new IllegalValueException(argument, value, localizedMessage, cap.isDebug());
+    }
+
+    /**
+     * Gets the names of all choices that start with the partial value of a {@link TabCompletionRequest}.
+     * <p>
+     * This method can be used as {@link Argument.ITabCompleteFunction}. The names keep the case of their localized
+     * messages, but start with the partial value as it was typed. See {@link NameIndex#complete(String, String)}.
+     *
+     * @param request The {@link TabCompletionRequest} to get the suggestions for.
+     * @return The names of all choices that start with the partial value, in alphabetical order.
+     */
+    public @NonNull List<@NonNull String> getSuggestions(final @NonNull TabCompletionRequest request)
+    {
+        final @Nullable Locale locale = request.getCommandSender().getLocale();
+        final @NonNull String partial = request.getPartial();
+        return getTable(request.getCap().getLocalizer(), locale).complete(partial, fold(partial, locale));
+    }
+
+    /**
+     * Builds the lookup tables for all {@link Locale}s of a {@link Localizer}, so they do not have to be built when
+     * they are first used.
+     *
+     * @param localizer The {@link Localizer} whose {@link Locale}s to build the lookup tables for.
+     */
+    public void prepare(final @NonNull Localizer localizer)
+    {
+        for (final @Nullable Locale locale : localizer.getLocales())
+            getTable(localizer, locale);
+    }
+
+    /**
+     * Gets the lookup table for a {@link Localizer} and {@link Locale}, building it if it does not exist yet.
+     *
+     * @param localizer The {@link Localizer} to use to localize the keys of the choices.
+     * @param locale    The {@link Locale} to get the lookup table for. When this is null, the default {@link Locale}
+     *                  of the {@link Localizer} is used.
+     * @return The lookup table for the {@link Locale}.
+     */
+    private @NonNull NameIndex<T> getTable(final @NonNull Localizer localizer, @Nullable Locale locale)
+    {
+        locale = Util.valOrDefault(locale, localizer.getDefaultLocale());
+        final @Nullable Locale tableLocale = locale;
+        return tables.computeIfAbsent(localizer, key -> new ConcurrentHashMap<>())
+                     .computeIfAbsent(Util.valOrDefault(locale, NO_LOCALE), key -> createTable(localizer, tableLocale));
+    }
+
+    /**
+     * Creates the lookup table for a {@link Locale}.
+     *
+     * @param localizer The {@link Localizer} to use to localize the keys of the choices.
+     * @param locale    The {@link Locale} to create the lookup table for.
+     * @return The new lookup table.
+     *
+     * @throws IllegalStateException When multiple choices have the same name in the {@link Locale}.
+     */
+    private @NonNull NameIndex<T> createTable(final @NonNull Localizer localizer, final @Nullable Locale locale)
+    {
+        final @NonNull Map<@NonNull String, @NonNull T> names = new HashMap<>(choices.size() * 4 / 3 + 1);
+        final @NonNull Map<@NonNull String, @NonNull String> displayNames = new HashMap<>(choices.size() * 4 / 3 + 1);
+        for (final @NonNull Map.Entry<@NonNull String, @NonNull T> entry : choices.entrySet())
+        {
+            final @NonNull String displayName = localizer.getMessage(entry.getKey(), locale);
+            final @NonNull String name = fold(displayName, locale);
+            if (names.put(name, entry.getValue()) != null)
+                throw new IllegalStateException(String.format("Choice name \"%s\" is not unique in locale %s!",
+                                                              name, locale));
+            displayNames.put(name, displayName);
+        }
+        return new NameIndex<>(names, displayNames);
+    }
+
+    /**
+     * Converts a value to lower case if the choices are not {@link #caseSensitive}.
+     *
+     * @param value  The value to convert.
+     * @param locale The {@link Locale} whose case rules to use.
+     * @return The value in lower case if needed, otherwise the value itself.
+     */
+    private @NonNull String fold(final @NonNull String value, final @Nullable Locale locale)
+    {
+        return caseSensitive ? value : value.toLowerCase(Util.valOrDefault(locale, NO_LOCALE));
+    }
+
+    /**
+     * Creates a new {@link ChoiceParser} whose names are not case sensitive.
+     *
+     * @param choices The choices mapped by their keys. Their iteration order does not matter.
+     * @param <T>     The type of the choices.
+     * @return The new {@link ChoiceParser}.
+     */
+    public static @NonNull <T> ChoiceParser<T> create(final @NonNull Map<@NonNull String, @NonNull T> choices)
+    {
+        return new ChoiceParser<>(choices, false);
+    }
+
+    /**
+     * Creates a new {@link ChoiceParser}.
+     *
+     * @param choices       The choices mapped by their keys. Their iteration order does not matter.
+     * @param caseSensitive Whether the names of the choices are case sensitive. See {@link #caseSensitive}.
+     * @param <T>           The type of the choices.
+     * @return The new {@link ChoiceParser}.
+     */
+    public static @NonNull <T> ChoiceParser<T> create(final @NonNull Map<@NonNull String, @NonNull T> choices,
+                                                      final boolean caseSensitive)
+    {
+        return new ChoiceParser<>(choices, caseSensitive);
+    }
+}
@@ -31,8 +31,10 @@ import nl.pim16aap2.cap.CAP;
 import nl.pim16aap2.cap.argument.Argument;
 import nl.pim16aap2.cap.commandsender.ICommandSender;
 import nl.pim16aap2.cap.exception.IllegalValueException;
+import nl.pim16aap2.cap.util.DoubleArrayList;
 
 import java.text.MessageFormat;
+import java.util.List;
 
 /**
  * Represents an argument parser for double values.
@@ -46,6 +48,47 @@ public class DoubleParser extends ArgumentParser<Double>
     public @NonNull Double parseArgument(final @NonNull CAP cap, final @NonNull ICommandSender commandSender,
                                          final @NonNull Argument<?> argument, final @NonNull String value)
         throws IllegalValueException
+    {
+        return parse(cap, commandSender, argument, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * When the results are stored in a {@link DoubleArrayList}, the parsed values are added to it without boxing them.
+     */
+    @Override
+    public void parseArguments(final @NonNull CAP cap, final @NonNull ICommandSender commandSender,
+                               final @NonNull Argument<?> argument, final @NonNull List<@NonNull String> values,
+                               final @NonNull List<Double> results)
+        throws IllegalValueException
+    {
+        if (!(results instanceof DoubleArrayList))
+        {
+            super.parseArguments(cap, commandSender, argument, values, results);
+            return;
+        }
+
+        final @NonNull DoubleArrayList list = (DoubleArrayList) results;
+        list.ensureCapacity(list.size() + values.size());
+        for (final @NonNull String value : values)
+            list.addDouble(parse(cap, commandSender, argument, value));
+    }
+
+    /**
+     * Parses a value into a double.
+     *
+     * @param cap           The {@link CAP} that requested the argument to be parsed.
+     * @param commandSender The {@link ICommandSender} for which to parse the value.
+     * @param argument      The {@link Argument} whose value to parse.
+     * @param value         The value to parse.
+     * @return The parsed value.
+     *
+     * @throws IllegalValueException If the value is not a valid double.
+     */
+    private static double parse(final @NonNull CAP cap, final @NonNull ICommandSender commandSender,
+                                final @NonNull Argument<?> argument, final @NonNull String value)
+        throws IllegalValueException
     {
         try
         {
@@ -59,6 +102,17 @@ public class DoubleParser extends ArgumentParser<Double>
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The values are stored in a {@link DoubleArrayList}, so they do not have to be boxed.
+     */
+    @Override
+    public @NonNull List<Double> createList(final int capacity)
+    {
+        return new DoubleArrayList(capacity);
+    }
+
     public static DoubleParser create()
     {
         return new DoubleParser();
@@ -31,8 +31,10 @@ import nl.pim16aap2.cap.CAP;
 import nl.pim16aap2.cap.argument.Argument;
 import nl.pim16aap2.cap.commandsender.ICommandSender;
 import nl.pim16aap2.cap.exception.IllegalValueException;
+import nl.pim16aap2.cap.util.IntArrayList;
 
 import java.text.MessageFormat;
+import java.util.List;
 
 /**
  * Represents an argument parser for integer values.
@@ -46,6 +48,47 @@ public class IntegerParser extends ArgumentParser<Integer>
     public @NonNull Integer parseArgument(final @NonNull CAP cap, final @NonNull ICommandSender commandSender,
                                           final @NonNull Argument<?> argument, final @NonNull String value)
         throws IllegalValueException
+    {
+        return parse(cap, commandSender, argument, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * When the results are stored in a {@link IntArrayList}, the parsed values are added to it without boxing them.
+     */
+    @Override
+    public void parseArguments(final @NonNull CAP cap, final @NonNull ICommandSender commandSender,
+                               final @NonNull Argument<?> argument, final @NonNull List<@NonNull String> values,
+                               final @NonNull List<Integer> results)
+        throws IllegalValueException
+    {
+        if (!(results instanceof IntArrayList))
+        {
+            super.parseArguments(cap, commandSender, argument, values, results);
+            return;
+        }
+
+        final @NonNull IntArrayList list = (IntArrayList) results;
+        list.ensureCapacity(list.size() + values.size());
+        for (final @NonNull String value : values)
+            list.addInt(parse(cap, commandSender, argument, value));
+    }
+
+    /**
+     * Parses a value into a int.
+     *
+     * @param cap           The {@link CAP} that requested the argument to be parsed.
+     * @param commandSender The {@link ICommandSender} for which to parse the value.
+     * @param argument      The {@link Argument} whose value to parse.
+     * @param value         The value to parse.
+     * @return The parsed value.
+     *
+     * @throws IllegalValueException If the value is not a valid int.
+     */
+    private static int parse(final @NonNull CAP cap, final @NonNull ICommandSender commandSender,
+                             final @NonNull Argument<?> argument, final @NonNull String value)
+        throws IllegalValueException
     {
         try
         {
@@ -59,6 +102,17 @@ public class IntegerParser extends ArgumentParser<Integer>
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The values are stored in a {@link IntArrayList}, so they do not have to be boxed.
+     */
+    @Override
+    public @NonNull List<Integer> createList(final int capacity)
+    {
+        return new IntArrayList(capacity);
+    }
+
     public static IntegerParser create()
     {
         return new IntegerParser();
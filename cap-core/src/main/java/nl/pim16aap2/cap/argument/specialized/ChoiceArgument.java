@@ -0,0 +1,98 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.argument.specialized;
+
+import lombok.NonNull;
+import nl.pim16aap2.cap.argument.Argument;
+import nl.pim16aap2.cap.argument.RepeatableArgument;
+import nl.pim16aap2.cap.argument.parser.ChoiceParser;
+
+import java.util.Map;
+
+/**
+ * Represents an argument whose value is one of a fixed set of choices.
+ * <p>
+ * All builders provided by this class use {@link ChoiceParser#getSuggestions} as tab-completion function.
+ *
+ * @param <T> The type of the choices.
+ * @author Pim
+ */
+public class ChoiceArgument<T> extends SpecializedArgument<T>
+{
+    /**
+     * The {@link ChoiceParser} that is used to parse the input value and to provide the tab-completion suggestions.
+     */
+    private final @NonNull ChoiceParser<T> choiceParser;
+
+    /**
+     * @param choiceParser The {@link ChoiceParser} to use. See {@link #choiceParser}.
+     */
+    protected ChoiceArgument(final @NonNull ChoiceParser<T> choiceParser)
+    {
+        super(choiceParser);
+        this.choiceParser = choiceParser;
+    }
+
+    /**
+     * @param choices       The choices mapped by their keys. See {@link ChoiceParser}.
+     * @param caseSensitive Whether the names of the choices are case sensitive.
+     */
+    public ChoiceArgument(final @NonNull Map<@NonNull String, @NonNull T> choices, final boolean caseSensitive)
+    {
+        this(ChoiceParser.create(choices, caseSensitive));
+    }
+
+    /**
+     * @param choices The choices mapped by their keys. See {@link ChoiceParser}. Their names are not case sensitive.
+     */
+    public ChoiceArgument(final @NonNull Map<@NonNull String, @NonNull T> choices)
+    {
+        this(choices, false);
+    }
+
+    @Override
+    public Argument.OptionalBuilder<T> getOptional()
+    {
+        return super.getOptional().tabCompleteFunction(choiceParser::getSuggestions);
+    }
+
+    @Override
+    public @NonNull Argument.RequiredBuilder<T> getRequired()
+    {
+        return super.getRequired().tabCompleteFunction(choiceParser::getSuggestions);
+    }
+
+    @Override
+    public @NonNull Argument.OptionalPositionalBuilder<T> getOptionalPositional()
+    {
+        return super.getOptionalPositional().tabCompleteFunction(choiceParser::getSuggestions);
+    }
+
+    @Override
+    public @NonNull RepeatableArgument.RepeatableArgumentBuilder<T> getRepeatable()
+    {
+        return super.getRepeatable().tabCompleteFunction(choiceParser::getSuggestions);
+    }
+}
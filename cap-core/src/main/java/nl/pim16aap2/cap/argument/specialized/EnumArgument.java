@@ -0,0 +1,72 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.argument.specialized;
+
+import lombok.NonNull;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Represents an argument whose value is one of the constants of an enum.
+ *
+ * @param <E> The type of the enum.
+ * @author Pim
+ */
+public class EnumArgument<E extends Enum<E>> extends ChoiceArgument<E>
+{
+    /**
+     * @param enumClass The class of the enum.
+     * @param keyMapper The function that maps every constant to the key of its name. These keys are localized, so
+     *                  they can either be the names themselves or keys in the resource bundle of the localizer.
+     */
+    public EnumArgument(final @NonNull Class<E> enumClass,
+                        final @NonNull Function<@NonNull E, @NonNull String> keyMapper)
+    {
+        super(getChoices(enumClass, keyMapper));
+    }
+
+    /**
+     * Creates a new {@link EnumArgument} that uses the lower case names of the constants as keys.
+     *
+     * @param enumClass The class of the enum.
+     */
+    public EnumArgument(final @NonNull Class<E> enumClass)
+    {
+        this(enumClass, constant -> constant.name().toLowerCase(Locale.ROOT));
+    }
+
+    private static @NonNull <E extends Enum<E>> Map<@NonNull String, @NonNull E> getChoices(
+        final @NonNull Class<E> enumClass, final @NonNull Function<@NonNull E, @NonNull String> keyMapper)
+    {
+        final @NonNull E[] constants = enumClass.getEnumConstants();
+        final @NonNull Map<@NonNull String, @NonNull E> choices = new LinkedHashMap<>(constants.length * 4 / 3 + 1);
+        for (final @NonNull E constant : constants)
+            choices.put(keyMapper.apply(constant), constant);
+        return choices;
+    }
+}
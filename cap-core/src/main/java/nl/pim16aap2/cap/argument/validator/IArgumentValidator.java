@@ -27,10 +27,13 @@ package nl.pim16aap2.cap.argument.validator;
 import lombok.NonNull;
 import nl.pim16aap2.cap.CAP;
 import nl.pim16aap2.cap.argument.Argument;
+import nl.pim16aap2.cap.argument.RepeatableArgument;
 import nl.pim16aap2.cap.commandsender.ICommandSender;
 import nl.pim16aap2.cap.exception.ValidationFailureException;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
+
 /**
  * Provides a way to validation arguments. For example by making sure that integer values are in a specific range.
  *
@@ -53,4 +56,25 @@ public interface IArgumentValidator<T>
     void validate(final @NonNull CAP cap, final @NonNull ICommandSender commandSender,
                   final @NonNull Argument<?> argument, final @Nullable T input)
         throws ValidationFailureException;
+
+    /**
+     * Validates all values of a {@link RepeatableArgument} at once.
+     * <p>
+     * By default, every value is validated separately using {@link #validate(CAP, ICommandSender, Argument, Object)}.
+     * Validators that can check multiple values more efficiently than one at a time should override this method.
+     *
+     * @param cap           The {@link CAP} instance for which to validate the input.
+     * @param commandSender The {@link ICommandSender} for which to validate the input.
+     * @param argument      The {@link Argument} to validate the input for.
+     * @param inputs        The inputs to validate.
+     *
+     * @throws ValidationFailureException When any of the inputs is invalid.
+     */
+    default void validateAll(final @NonNull CAP cap, final @NonNull ICommandSender commandSender,
+                             final @NonNull Argument<?> argument, final @NonNull List<T> inputs)
+        throws ValidationFailureException
+    {
+        for (final @Nullable T input : inputs)
+            validate(cap, commandSender, argument, input);
+    }
 }
@@ -0,0 +1,95 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.argument.validator;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import nl.pim16aap2.cap.CAP;
+import nl.pim16aap2.cap.argument.Argument;
+import nl.pim16aap2.cap.commandsender.ICommandSender;
+import nl.pim16aap2.cap.exception.ValidationFailureException;
+import org.jetbrains.annotations.Nullable;
+
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Represents a validator that makes sure values are one of a fixed set of allowed values.
+ *
+ * @param <T> The type of the values.
+ * @author Pim
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class SetValidator<T> implements IArgumentValidator<T>
+{
+    /**
+     * The allowed values.
+     */
+    private final @NonNull Set<T> allowedValues;
+
+    /**
+     * Gets a validator that only accepts the provided values.
+     *
+     * @param allowedValues The allowed values.
+     * @param <T>           The type of the values.
+     * @return A new {@link SetValidator}.
+     */
+    public static @NonNull <T> SetValidator<T> setValidator(final @NonNull Collection<T> allowedValues)
+    {
+        return new SetValidator<>(Collections.unmodifiableSet(new HashSet<>(allowedValues)));
+    }
+
+    /**
+     * Gets a validator that only accepts the provided values.
+     *
+     * @param allowedValues The allowed values.
+     * @param <T>           The type of the values.
+     * @return A new {@link SetValidator}.
+     */
+    @SafeVarargs
+    public static @NonNull <T> SetValidator<T> setValidator(final @NonNull T... allowedValues)
+    {
+        return setValidator(Arrays.asList(allowedValues));
+    }
+
+    @Override
+    public void validate(final @NonNull CAP cap, final @NonNull ICommandSender commandSender,
+                         final @NonNull Argument<?> argument, final @Nullable T input)
+        throws ValidationFailureException
+    {
+        if (input != null && allowedValues.contains(input))
+            return;
+
+        final @NonNull String localizedMessage = MessageFormat
+            .format(cap.getLocalizer().getMessage("error.validation.set", commandSender), input);
+        throw new ValidationFailureException(argument, input == null ? "NULL" : input.toString(), localizedMessage,
+                                             cap.isDebug());
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.argument.validator;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Singular;
+import nl.pim16aap2.cap.CAP;
+import nl.pim16aap2.cap.argument.Argument;
+import nl.pim16aap2.cap.argument.validator.number.RangeValidator;
+import nl.pim16aap2.cap.argument.validator.string.LengthValidator;
+import nl.pim16aap2.cap.argument.validator.string.PatternValidator;
+import nl.pim16aap2.cap.commandsender.ICommandSender;
+import nl.pim16aap2.cap.exception.ValidationFailureException;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Represents a chain of {@link IArgumentValidator}s that are applied one after the other. This can be used to combine
+ * multiple validators for a single {@link Argument}, e.g. a {@link LengthValidator} and a {@link PatternValidator}.
+ * <p>
+ * The validators are applied in the order they were added in and validation stops at the first validator that rejects
+ * a value. Any other {@link ValidatorPipeline}s that are added are flattened into this one when it is built, so
+ * validating a value never has to go through more than one pipeline.
+ * <p>
+ * Any {@link IArgumentValidator} can be used as a stage, including custom lambdas and the specialized validators (e.g.
+ * {@link RangeValidator} and {@link SetValidator}).
+ *
+ * @param <T> The type of the input to validate.
+ * @author Pim
+ */
+public final class ValidatorPipeline<T> implements IArgumentValidator<T>
+{
+    /**
+     * The validators to apply, in order.
+     */
+    private final @NonNull IArgumentValidator<T>[] stages;
+
+    /**
+     * @param validators The validators to apply, in the order they should be applied in.
+     */
+    @Builder
+    @SuppressWarnings("unchecked")
+    private ValidatorPipeline(final @Singular @NonNull List<@NonNull IArgumentValidator<T>> validators)
+    {
+        final @NonNull List<IArgumentValidator<T>> flattened = new ArrayList<>(validators.size());
+        for (final @NonNull IArgumentValidator<T> validator : validators)
+            if (validator instanceof ValidatorPipeline)
+                flattened.addAll(Arrays.asList(((ValidatorPipeline<T>) validator).stages));
+            else
+                flattened.add(validator);
+        stages = (IArgumentValidator<T>[]) flattened.toArray(new IArgumentValidator<?>[0]);
+    }
+
+    /**
+     * Creates a new {@link ValidatorPipeline} from a list of validators.
+     *
+     * @param validators The validators to apply, in the order they should be applied in.
+     * @param <T>        The type of the input to validate.
+     * @return The new {@link ValidatorPipeline}.
+     */
+    @SafeVarargs
+    public static @NonNull <T> ValidatorPipeline<T> of(final @NonNull IArgumentValidator<T>... validators)
+    {
+        return new ValidatorPipeline<>(Arrays.asList(validators));
+    }
+
+    /**
+     * Gets the number of validators in this pipeline.
+     *
+     * @return The number of validators in this pipeline.
+     */
+    public int size()
+    {
+        return stages.length;
+    }
+
+    @Override
+    public void validate(final @NonNull CAP cap, final @NonNull ICommandSender commandSender,
+                         final @NonNull Argument<?> argument, final @Nullable T input)
+        throws ValidationFailureException
+    {
+        for (final @NonNull IArgumentValidator<T> stage : stages)
+            stage.validate(cap, commandSender, argument, input);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Every validator validates all inputs at once before the next one is applied, so validators that can check
+     * multiple values efficiently (e.g. {@link RangeValidator}) can do so.
+     */
+    @Override
+    public void validateAll(final @NonNull CAP cap, final @NonNull ICommandSender commandSender,
+                            final @NonNull Argument<?> argument, final @NonNull List<T> inputs)
+        throws ValidationFailureException
+    {
+        for (final @NonNull IArgumentValidator<T> stage : stages)
+            stage.validateAll(cap, commandSender, argument, inputs);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.argument.validator.number;
+
+import lombok.NonNull;
+import nl.pim16aap2.cap.CAP;
+import nl.pim16aap2.cap.argument.Argument;
+import nl.pim16aap2.cap.commandsender.ICommandSender;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Represents a {@link RangeValidator.ValueRequest} that remembers the value it retrieved from another {@link
+ * RangeValidator.ValueRequest} for a configurable amount of time.
+ * <p>
+ * This is useful for limits that are expensive to retrieve, but rarely change (e.g. values from a config file). See
+ * {@link RangeValidator.ValueRequest#memoize(Duration)}.
+ *
+ * @param <T> The type of the value.
+ * @author Pim
+ */
+public final class MemoizedValueRequest<T> implements RangeValidator.ValueRequest<T>
+{
+    private final @NonNull RangeValidator.ValueRequest<T> request;
+
+    /**
+     * The amount of time (in milliseconds) the value remains valid. 0 means it never expires.
+     */
+    private final long timeToLive;
+
+    private final @NonNull Clock clock;
+
+    /**
+     * The current value and the time it expires at. This is null if no value has been retrieved yet or if it was
+     * invalidated.
+     */
+    private volatile @Nullable Entry<T> entry;
+
+    // For testing purposes.
+    MemoizedValueRequest(final @NonNull Clock clock, final @NonNull RangeValidator.ValueRequest<T> request,
+                         final @Nullable Duration timeToLive)
+    {
+        this.clock = clock;
+        this.request = request;
+        this.timeToLive = timeToLive == null ? 0 : Math.max(1, timeToLive.toMillis());
+    }
+
+    /**
+     * @param request    The {@link RangeValidator.ValueRequest} to use to retrieve the value.
+     * @param timeToLive The amount of time the value remains valid after it was retrieved. When null, it never
+     *                   expires.
+     */
+    public MemoizedValueRequest(final @NonNull RangeValidator.ValueRequest<T> request,
+                                final @Nullable Duration timeToLive)
+    {
+        this(Clock.systemUTC(), request, timeToLive);
+    }
+
+    @Override
+    public @NonNull T apply(final @NonNull CAP cap, final @NonNull ICommandSender commandSender,
+                            final @NonNull Argument<?> argument)
+    {
+        @Nullable Entry<T> current = entry;
+        if (current != null && !current.isExpired(clock))
+            return current.value;
+
+        synchronized (this)
+        {
+            current = entry;
+            if (current != null && !current.isExpired(clock))
+                return current.value;
+
+            final @NonNull T value = request.apply(cap, commandSender, argument);
+            entry = new Entry<>(value, timeToLive == 0 ? Long.MAX_VALUE : clock.millis() + timeToLive);
+            return value;
+        }
+    }
+
+    /**
+     * Invalidates the current value, so it will be retrieved again the next time it is requested.
+     */
+    public void invalidate()
+    {
+        entry = null;
+    }
+
+    private static final class Entry<T>
+    {
+        private final @NonNull T value;
+        private final long expiry;
+
+        private Entry(final @NonNull T value, final long expiry)
+        {
+            this.value = value;
+            this.expiry = expiry;
+        }
+
+        private boolean isExpired(final @NonNull Clock clock)
+        {
+            return expiry != Long.MAX_VALUE && clock.millis() >= expiry;
+        }
+    }
+}
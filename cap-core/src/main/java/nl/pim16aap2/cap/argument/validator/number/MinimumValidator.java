@@ -35,6 +35,7 @@ import nl.pim16aap2.cap.exception.ValidationFailureException;
 import org.jetbrains.annotations.Nullable;
 
 import java.text.MessageFormat;
+import java.util.List;
 
 /**
  * Represents a validator for minimum values. This can be used to set a lower limit for numerical input arguments.
@@ -107,4 +108,22 @@ public class MinimumValidator<T extends Number> implements IArgumentValidator<T>
                                                  cap.isDebug());
         }
     }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The limit is only retrieved once for all valid inputs. When the inputs are stored in an {@link
+     * nl.pim16aap2.cap.util.IntArrayList} or a {@link nl.pim16aap2.cap.util.DoubleArrayList}, they are compared to
+     * the limit without boxing them.
+     */
+    @Override
+    public void validateAll(final @NonNull CAP cap, final @NonNull ICommandSender commandSender,
+                            final @NonNull Argument<?> argument, final @NonNull List<T> inputs)
+        throws ValidationFailureException
+    {
+        final @NonNull T min = rangeValidator.getMax(cap, commandSender, argument);
+        final int idx = rangeValidator.findOutOfRange(min, null, inputs);
+        if (idx >= 0)
+            validate(cap, commandSender, argument, inputs.get(idx));
+    }
 }
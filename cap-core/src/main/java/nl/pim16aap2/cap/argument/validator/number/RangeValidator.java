@@ -32,11 +32,14 @@ import nl.pim16aap2.cap.argument.Argument;
 import nl.pim16aap2.cap.argument.validator.IArgumentValidator;
 import nl.pim16aap2.cap.commandsender.ICommandSender;
 import nl.pim16aap2.cap.exception.ValidationFailureException;
+import nl.pim16aap2.cap.util.DoubleArrayList;
 import nl.pim16aap2.cap.util.Functional.TriFunction;
+import nl.pim16aap2.cap.util.IntArrayList;
 import org.jetbrains.annotations.Nullable;
 
 import java.text.MessageFormat;
-import java.util.function.BiFunction;
+import java.time.Duration;
+import java.util.List;
 
 /**
  * Represents a validator for ranges. This can be used to set a lower and an upper limit for numerical input arguments.
@@ -48,18 +51,9 @@ import java.util.function.BiFunction;
 public class RangeValidator<T extends Number> implements IArgumentValidator<T>
 {
     /**
-     * The function to use to check if a number is higher than another value.
-     * <p>
-     * This function is used like so {@code (for BiFunction<T, U, R>): return T < U;}
+     * The primitive comparison to use for the type of number, picked at construction.
      */
-    private final @NonNull BiFunction<@NonNull T, @NonNull T, @NonNull Boolean> lessThan;
-
-    /**
-     * The function to use to check if a number is less than another value.
-     * <p>
-     * This function is used like so {@code (for BiFunction<T, U, R>): return T > U;}
-     */
-    private final @NonNull BiFunction<@NonNull T, @NonNull T, @NonNull Boolean> moreThan;
+    private final @NonNull Comparison comparison;
 
     /**
      * The lower limit.
@@ -93,10 +87,7 @@ public class RangeValidator<T extends Number> implements IArgumentValidator<T>
         if (lowerLimit > upperLimit)
             throw new IllegalArgumentException(String.format("The lower limit of %d exceeds the upper limit of %d!",
                                                              lowerLimit, upperLimit));
-        return new RangeValidator<>((t1, t2) -> t1 <= t2,
-                                    (t1, t2) -> t1 >= t2,
-                                    lowerLimit, upperLimit,
-                                    null, null);
+        return new RangeValidator<>(Comparison.INTEGER, lowerLimit, upperLimit, null, null);
     }
 
     /**
@@ -110,10 +101,7 @@ public class RangeValidator<T extends Number> implements IArgumentValidator<T>
         final @NonNull ValueRequest<Integer> lowerLimitRequester,
         final @NonNull ValueRequest<Integer> upperLimitRequester)
     {
-        return new RangeValidator<>((t1, t2) -> t1 <= t2,
-                                    (t1, t2) -> t1 >= t2,
-                                    null, null,
-                                    lowerLimitRequester, upperLimitRequester);
+        return new RangeValidator<>(Comparison.INTEGER, null, null, lowerLimitRequester, upperLimitRequester);
     }
 
     /**
@@ -128,10 +116,7 @@ public class RangeValidator<T extends Number> implements IArgumentValidator<T>
         if (lowerLimit > upperLimit)
             throw new IllegalArgumentException(String.format("The lower limit of %f exceeds the upper limit of %f!",
                                                              lowerLimit, upperLimit));
-        return new RangeValidator<>((t1, t2) -> t1 <= t2,
-                                    (t1, t2) -> t1 >= t2,
-                                    lowerLimit, upperLimit,
-                                    null, null);
+        return new RangeValidator<>(Comparison.DOUBLE, lowerLimit, upperLimit, null, null);
     }
 
     /**
@@ -145,10 +130,7 @@ public class RangeValidator<T extends Number> implements IArgumentValidator<T>
         final @NonNull ValueRequest<Double> lowerLimitRequester,
         final @NonNull ValueRequest<Double> upperLimitRequester)
     {
-        return new RangeValidator<>((t1, t2) -> t1 <= t2,
-                                    (t1, t2) -> t1 >= t2,
-                                    null, null,
-                                    lowerLimitRequester, upperLimitRequester);
+        return new RangeValidator<>(Comparison.DOUBLE, null, null, lowerLimitRequester, upperLimitRequester);
     }
 
     /**
@@ -162,7 +144,7 @@ public class RangeValidator<T extends Number> implements IArgumentValidator<T>
     protected boolean lessThanMax(final @NonNull CAP cap, final @NonNull ICommandSender commandSender,
                                   final @NonNull Argument<?> argument, final @NonNull T max, final @Nullable T input)
     {
-        return input != null && lessThan.apply(input, max);
+        return input != null && comparison.atMost(input, max);
     }
 
     /**
@@ -176,8 +158,7 @@ public class RangeValidator<T extends Number> implements IArgumentValidator<T>
     protected boolean moreThanMin(final @NonNull CAP cap, final @NonNull ICommandSender commandSender,
                                   final @NonNull Argument<?> argument, final @NonNull T min, final @Nullable T input)
     {
-
-        return input != null && moreThan.apply(input, min);
+        return input != null && comparison.atLeast(input, min);
     }
 
     /**
@@ -233,18 +214,243 @@ public class RangeValidator<T extends Number> implements IArgumentValidator<T>
         final @NonNull T min = getMin(cap, commandSender, argument);
         final @NonNull T max = getMax(cap, commandSender, argument);
 
-        if (input == null || !inRange(cap, commandSender, argument, min, max, input))
-        {
-            final @NonNull String localizedMessage = MessageFormat
-                .format(cap.getLocalizer().getMessage("error.validation.range", commandSender), input, min, max);
-            throw new ValidationFailureException(argument, input == null ? "NULL" : input.toString(), localizedMessage,
-                                                 cap.isDebug());
-        }
+        if (input == null || !comparison.inRange(min, max, input))
+            throw outOfRange(cap, commandSender, argument, min, max, input);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The limits are only retrieved once for all inputs. When the inputs are stored in an {@link IntArrayList} or a
+     * {@link DoubleArrayList}, they are compared to the limits without boxing them.
+     */
+    @Override
+    public void validateAll(final @NonNull CAP cap, final @NonNull ICommandSender commandSender,
+                            final @NonNull Argument<?> argument, final @NonNull List<T> inputs)
+        throws ValidationFailureException
+    {
+        final @NonNull T min = getMin(cap, commandSender, argument);
+        final @NonNull T max = getMax(cap, commandSender, argument);
+
+        final int idx = findOutOfRange(min, max, inputs);
+        if (idx >= 0)
+            throw outOfRange(cap, commandSender, argument, min, max, inputs.get(idx));
+    }
+
+    /**
+     * Finds the first input that is outside of a range.
+     * <p>
+     * When the inputs are stored in an {@link IntArrayList} or a {@link DoubleArrayList}, they are compared to the
+     * limits without boxing them.
+     *
+     * @param min    The lower limit (inclusive). When null, there is no lower limit.
+     * @param max    The upper limit (inclusive). When null, there is no upper limit.
+     * @param inputs The inputs to check.
+     * @return The index of the first input that is null or outside of the range, or -1 if all inputs are in range.
+     */
+    int findOutOfRange(final @Nullable T min, final @Nullable T max, final @NonNull List<T> inputs)
+    {
+        return comparison.findOutOfRange(min, max, inputs);
+    }
+
+    /**
+     * Creates a new {@link ValidationFailureException} for a value that is outside of the range.
+     *
+     * @param cap           The {@link CAP} instance for which the input was validated.
+     * @param commandSender The {@link ICommandSender} for which the input was validated.
+     * @param argument      The {@link Argument} the input was validated for.
+     * @param min           The lower limit.
+     * @param max           The upper limit.
+     * @param input         The value that is outside of the range.
+     * @return The new {@link ValidationFailureException}.
+     */
+    private static @NonNull ValidationFailureException outOfRange(final @NonNull CAP cap,
+                                                                  final @NonNull ICommandSender commandSender,
+                                                                  final @NonNull Argument<?> argument,
+                                                                  final @NonNull Object min, final @NonNull Object max,
+                                                                  final @Nullable Object input)
+    {
+        final @NonNull String localizedMessage = MessageFormat
+            .format(cap.getLocalizer().getMessage("error.validation.range", commandSender), input, min, max);
+        return new ValidationFailureException(argument, input == null ? "NULL" : input.toString(), localizedMessage,
+                                              cap.isDebug());
+    }
+
+    /**
+     * The primitive comparisons for each supported type of number.
+     */
+    private enum Comparison
+    {
+        /**
+         * Compares the numbers as ints.
+         */
+        INTEGER
+            {
+                @Override
+                boolean atMost(final @NonNull Number value, final @NonNull Number limit)
+                {
+                    return value.intValue() <= limit.intValue();
+                }
+
+                @Override
+                boolean atLeast(final @NonNull Number value, final @NonNull Number limit)
+                {
+                    return value.intValue() >= limit.intValue();
+                }
+
+                @Override
+                boolean inRange(final @NonNull Number min, final @NonNull Number max, final @NonNull Number value)
+                {
+                    final int primitive = value.intValue();
+                    return primitive >= min.intValue() && primitive <= max.intValue();
+                }
+
+                @Override
+                int findOutOfRange(final @Nullable Number min, final @Nullable Number max,
+                                   final @NonNull List<?> values)
+                {
+                    final int lower = min == null ? Integer.MIN_VALUE : min.intValue();
+                    final int upper = max == null ? Integer.MAX_VALUE : max.intValue();
+
+                    if (values instanceof IntArrayList)
+                    {
+                        final @NonNull IntArrayList ints = (IntArrayList) values;
+                        for (int idx = 0; idx < ints.size(); ++idx)
+                        {
+                            final int value = ints.getInt(idx);
+                            if (value < lower || value > upper)
+                                return idx;
+                        }
+                        return -1;
+                    }
+
+                    for (int idx = 0; idx < values.size(); ++idx)
+                    {
+                        final @Nullable Object value = values.get(idx);
+                        if (!(value instanceof Number))
+                            return idx;
+                        final int primitive = ((Number) value).intValue();
+                        if (primitive < lower || primitive > upper)
+                            return idx;
+                    }
+                    return -1;
+                }
+            },
+
+        /**
+         * Compares the numbers as doubles.
+         */
+        DOUBLE
+            {
+                @Override
+                boolean atMost(final @NonNull Number value, final @NonNull Number limit)
+                {
+                    return value.doubleValue() <= limit.doubleValue();
+                }
+
+                @Override
+                boolean atLeast(final @NonNull Number value, final @NonNull Number limit)
+                {
+                    return value.doubleValue() >= limit.doubleValue();
+                }
+
+                @Override
+                boolean inRange(final @NonNull Number min, final @NonNull Number max, final @NonNull Number value)
+                {
+                    final double primitive = value.doubleValue();
+                    return primitive >= min.doubleValue() && primitive <= max.doubleValue();
+                }
+
+                @Override
+                int findOutOfRange(final @Nullable Number min, final @Nullable Number max,
+                                   final @NonNull List<?> values)
+                {
+                    final double lower = min == null ? Double.NEGATIVE_INFINITY : min.doubleValue();
+                    final double upper = max == null ? Double.POSITIVE_INFINITY : max.doubleValue();
+
+                    // NaN is never in range, so the comparisons are negated instead of inverted.
+                    if (values instanceof DoubleArrayList)
+                    {
+                        final @NonNull DoubleArrayList doubles = (DoubleArrayList) values;
+                        for (int idx = 0; idx < doubles.size(); ++idx)
+                        {
+                            final double value = doubles.getDouble(idx);
+                            if (!(value >= lower && value <= upper))
+                                return idx;
+                        }
+                        return -1;
+                    }
+
+                    for (int idx = 0; idx < values.size(); ++idx)
+                    {
+                        final @Nullable Object value = values.get(idx);
+                        if (!(value instanceof Number))
+                            return idx;
+                        final double primitive = ((Number) value).doubleValue();
+                        if (!(primitive >= lower && primitive <= upper))
+                            return idx;
+                    }
+                    return -1;
+                }
+            };
+
+        /**
+         * Checks if a value does not exceed a limit.
+         *
+         * @param value The value to check.
+         * @param limit The upper limit (inclusive).
+         * @return True if the value is less than or equal to the limit.
+         */
+        abstract boolean atMost(@NonNull Number value, @NonNull Number limit);
+
+        /**
+         * Checks if a value is not below a limit.
+         *
+         * @param value The value to check.
+         * @param limit The lower limit (inclusive).
+         * @return True if the value is more than or equal to the limit.
+         */
+        abstract boolean atLeast(@NonNull Number value, @NonNull Number limit);
+
+        /**
+         * Checks if a value lies between two limits.
+         *
+         * @param min   The lower limit (inclusive).
+         * @param max   The upper limit (inclusive).
+         * @param value The value to check.
+         * @return True if the value is neither less than the lower limit nor more than the upper limit.
+         */
+        abstract boolean inRange(@NonNull Number min, @NonNull Number max, @NonNull Number value);
+
+        /**
+         * Finds the first value that does not lie between two limits.
+         *
+         * @param min    The lower limit (inclusive). When null, there is no lower limit.
+         * @param max    The upper limit (inclusive). When null, there is no upper limit.
+         * @param values The values to check.
+         * @return The index of the first value that is null or outside of the limits, or -1 if there is none.
+         */
+        abstract int findOutOfRange(@Nullable Number min, @Nullable Number max, @NonNull List<?> values);
     }
 
     @FunctionalInterface
     public interface ValueRequest<T>
         extends TriFunction<@NonNull CAP, @NonNull ICommandSender, @NonNull Argument<?>, @NonNull T>
     {
+        /**
+         * Wraps this {@link ValueRequest} in a {@link MemoizedValueRequest}, so the value is only requested again once
+         * it has expired.
+         * <p>
+         * Note that the value is shared between all {@link ICommandSender}s, so this should only be used for values
+         * that do not depend on the {@link ICommandSender}.
+         *
+         * @param timeToLive The amount of time the value remains valid after it was requested. When null, it is never
+         *                   requested again.
+         * @return The new {@link MemoizedValueRequest}.
+         */
+        default @NonNull MemoizedValueRequest<T> memoize(final @Nullable Duration timeToLive)
+        {
+            return new MemoizedValueRequest<>(this, timeToLive);
+        }
     }
 }
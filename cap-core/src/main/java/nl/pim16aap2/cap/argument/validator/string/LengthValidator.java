@@ -0,0 +1,96 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.argument.validator.string;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import nl.pim16aap2.cap.CAP;
+import nl.pim16aap2.cap.argument.Argument;
+import nl.pim16aap2.cap.argument.validator.IArgumentValidator;
+import nl.pim16aap2.cap.commandsender.ICommandSender;
+import nl.pim16aap2.cap.exception.ValidationFailureException;
+import org.jetbrains.annotations.Nullable;
+
+import java.text.MessageFormat;
+
+/**
+ * Represents a validator for the length of String values.
+ *
+ * @author Pim
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class LengthValidator implements IArgumentValidator<String>
+{
+    /**
+     * The minimum length (inclusive).
+     */
+    private final int minLength;
+
+    /**
+     * The maximum length (inclusive).
+     */
+    private final int maxLength;
+
+    /**
+     * Gets a length validator for String values.
+     *
+     * @param minLength The minimum length (inclusive!)
+     * @param maxLength The maximum length (inclusive!)
+     * @return A new {@link LengthValidator}.
+     */
+    public static @NonNull LengthValidator lengthValidator(final int minLength, final int maxLength)
+    {
+        if (minLength < 0 || minLength > maxLength)
+            throw new IllegalArgumentException(String.format("Invalid length range: [%d, %d]!", minLength, maxLength));
+        return new LengthValidator(minLength, maxLength);
+    }
+
+    /**
+     * Gets a length validator for String values that only limits the maximum length.
+     *
+     * @param maxLength The maximum length (inclusive!)
+     * @return A new {@link LengthValidator}.
+     */
+    public static @NonNull LengthValidator maximumLengthValidator(final int maxLength)
+    {
+        return lengthValidator(0, maxLength);
+    }
+
+    @Override
+    public void validate(final @NonNull CAP cap, final @NonNull ICommandSender commandSender,
+                         final @NonNull Argument<?> argument, final @Nullable String input)
+        throws ValidationFailureException
+    {
+        if (input != null && input.length() >= minLength && input.length() <= maxLength)
+            return;
+
+        final @NonNull String localizedMessage = MessageFormat
+            .format(cap.getLocalizer().getMessage("error.validation.length", commandSender), input, minLength,
+                    maxLength);
+        throw new ValidationFailureException(argument, input == null ? "NULL" : input, localizedMessage,
+                                             cap.isDebug());
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.argument.validator.string;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import nl.pim16aap2.cap.CAP;
+import nl.pim16aap2.cap.argument.Argument;
+import nl.pim16aap2.cap.argument.validator.IArgumentValidator;
+import nl.pim16aap2.cap.commandsender.ICommandSender;
+import nl.pim16aap2.cap.exception.ValidationFailureException;
+import org.jetbrains.annotations.Nullable;
+
+import java.text.MessageFormat;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Represents a validator that makes sure String values fully match a regular expression.
+ *
+ * @author Pim
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class PatternValidator implements IArgumentValidator<String>
+{
+    /**
+     * The compiled {@link Pattern} the values have to match.
+     */
+    private final @NonNull Pattern pattern;
+
+    /**
+     * Gets a validator that makes sure String values fully match a {@link Pattern}.
+     *
+     * @param pattern The {@link Pattern} the values have to match.
+     * @return A new {@link PatternValidator}.
+     */
+    public static @NonNull PatternValidator patternValidator(final @NonNull Pattern pattern)
+    {
+        return new PatternValidator(pattern);
+    }
+
+    /**
+     * Gets a validator that makes sure String values fully match a regular expression.
+     * <p>
+     * The regular expression is compiled only once.
+     *
+     * @param regex The regular expression the values have to match.
+     * @return A new {@link PatternValidator}.
+     */
+    public static @NonNull PatternValidator patternValidator(final @NonNull String regex)
+    {
+        return new PatternValidator(Pattern.compile(regex));
+    }
+
+    @Override
+    public void validate(final @NonNull CAP cap, final @NonNull ICommandSender commandSender,
+                         final @NonNull Argument<?> argument, final @Nullable String input)
+        throws ValidationFailureException
+    {
+        if (input != null && pattern.matcher(input).matches())
+            return;
+        throw noMatch(cap, commandSender, argument, input);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A single {@link Matcher} is reused for all inputs.
+     */
+    @Override
+    public void validateAll(final @NonNull CAP cap, final @NonNull ICommandSender commandSender,
+                            final @NonNull Argument<?> argument, final @NonNull List<String> inputs)
+        throws ValidationFailureException
+    {
+        final @NonNull Matcher matcher = pattern.matcher("");
+        for (final @Nullable String input : inputs)
+            if (input == null || !matcher.reset(input).matches())
+                throw noMatch(cap, commandSender, argument, input);
+    }
+
+    private static @NonNull ValidationFailureException noMatch(final @NonNull CAP cap,
+                                                               final @NonNull ICommandSender commandSender,
+                                                               final @NonNull Argument<?> argument,
+                                                               final @Nullable String input)
+    {
+        final @NonNull String localizedMessage = MessageFormat
+            .format(cap.getLocalizer().getMessage("error.validation.pattern", commandSender), input);
+        return new ValidationFailureException(argument, input == null ? "NULL" : input, localizedMessage,
+                                              cap.isDebug());
+    }
+}
@@ -104,6 +104,13 @@ public class ArgumentManager
 
             if (argument.isPositional())
             {
+                // Greedy arguments consume the remainder of the input, so nothing can be positioned after them.
+                if (!positionalArguments.isEmpty() &&
+                    positionalArguments.get(positionalArguments.size() - 1).isGreedy())
+                    throw new IllegalArgumentException("Trying to add a positional argument after a greedy " +
+                                                           "positional argument! This is not supported: A greedy " +
+                                                           "positional argument must be the last positional " +
+                                                           "argument!");
                 if (required && !requiredPositionalAllowed)
                     throw new IllegalArgumentException("Trying to add an optional positional argument before " +
                                                            "the last required positional argument! This is " +
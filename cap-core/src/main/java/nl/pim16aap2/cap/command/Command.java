@@ -27,7 +27,6 @@ package nl.pim16aap2.cap.command;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NonNull;
-import lombok.Setter;
 import lombok.Singular;
 import nl.pim16aap2.cap.CAP;
 import nl.pim16aap2.cap.argument.Argument;
@@ -113,6 +112,20 @@ public class Command
      */
     protected final @NonNull CommandMap subCommands;
 
+    /**
+     * The index of this {@link Command} in the {@link CommandIndex} of its {@link CAP}. This is -1 if it has not been
+     * indexed yet.
+     */
+    @Getter
+    int index = -1;
+
+    /**
+     * The index directly after the last (recursive) sub{@link Command} of this {@link Command} in the {@link
+     * CommandIndex} of its {@link CAP}. This is -1 if it has not been indexed yet.
+     */
+    @Getter
+    int subTreeEnd = -1;
+
     /**
      * The {@link ArgumentManager} that manages all the arguments this command has.
      */
@@ -130,21 +143,18 @@ public class Command
      * The supplier that is used to build the description. Note that this isn't used in case the {@link
      * CommandNamingSpec#getDescription(Localizer, Locale)} is not null.
      */
-    @Setter
     protected @Nullable Function<ICommandSender, String> descriptionSupplier;
 
     /**
      * The supplier that is used to build the summary. Note that this isn't used in case the {@link
      * CommandNamingSpec#getSummary(Localizer, Locale)} is not null.
      */
-    @Setter
     protected @Nullable Function<ICommandSender, String> summarySupplier;
 
     /**
      * The supplier that is used to build the summary. Note that this isn't used in case the {@link
      * CommandNamingSpec#getHeader(Localizer, Locale)} is not null.
      */
-    @Setter
     protected @Nullable Function<ICommandSender, String> headerSupplier;
 
     /**
@@ -338,6 +348,58 @@ public class Command
         getSuperCommand().ifPresent(Command::invalidateSubCommandCount);
     }
 
+    /**
+     * Updates the {@link #descriptionSupplier}.
+     * <p>
+     * Because this may change the text of this {@link Command} for every {@link ICommandSender}, this invalidates the
+     * {@link CommandIndex} of the {@link CAP}. See {@link CommandVisibilityCache#invalidateIndex()}.
+     *
+     * @param descriptionSupplier The new {@link #descriptionSupplier}.
+     */
+    public void setDescriptionSupplier(final @Nullable Function<ICommandSender, String> descriptionSupplier)
+    {
+        this.descriptionSupplier = descriptionSupplier;
+        cap.getCommandVisibilityCache().invalidateIndex();
+    }
+
+    /**
+     * Updates the {@link #summarySupplier}.
+     * <p>
+     * See {@link #setDescriptionSupplier(Function)}.
+     *
+     * @param summarySupplier The new {@link #summarySupplier}.
+     */
+    public void setSummarySupplier(final @Nullable Function<ICommandSender, String> summarySupplier)
+    {
+        this.summarySupplier = summarySupplier;
+        cap.getCommandVisibilityCache().invalidateIndex();
+    }
+
+    /**
+     * Updates the {@link #headerSupplier}.
+     * <p>
+     * See {@link #setDescriptionSupplier(Function)}.
+     *
+     * @param headerSupplier The new {@link #headerSupplier}.
+     */
+    public void setHeaderSupplier(final @Nullable Function<ICommandSender, String> headerSupplier)
+    {
+        this.headerSupplier = headerSupplier;
+        cap.getCommandVisibilityCache().invalidateIndex();
+    }
+
+    /**
+     * Checks if the description, summary or header of this {@link Command} is generated for every {@link
+     * ICommandSender} separately (i.e. when it uses a supplier). If so, the rendered text of this {@link Command}
+     * cannot be shared between {@link ICommandSender}s.
+     *
+     * @return True if the text of this {@link Command} depends on the {@link ICommandSender}.
+     */
+    public boolean isSenderDependent()
+    {
+        return descriptionSupplier != null || summarySupplier != null || headerSupplier != null;
+    }
+
     /**
      * Gets the identifier for this {@link Command}. For example "example.command" (when localized) or "mycommand" (when
      * using raw strings).
@@ -459,11 +521,33 @@ public class Command
      * Checks if a given {@link ICommandSender} has permission to use this command.
      * <p>
      * See {@link #permission}.
+     * <p>
+     * The result is cached by the {@link CommandVisibilityCache} of the {@link CAP}. If you need the result to reflect
+     * changed permissions right away, make sure to invalidate it. See {@link CAP#invalidatePermissions(ICommandSender)}.
+     * <p>
+     * Because the result may be outdated, this should only be used to decide what to show (e.g. help pages and
+     * tab-completion suggestions). Use {@link #checkPermission(ICommandSender)} to decide if the command may be
+     * executed.
      *
      * @param commandSender The {@link ICommandSender} whose permission status to check.
      * @return True if the {@link ICommandSender} has access to this command.
      */
     public boolean hasPermission(final @NonNull ICommandSender commandSender)
+    {
+        if (permission == null)
+            return true;
+        return cap.getCommandVisibilityCache().hasPermission(commandSender, this);
+    }
+
+    /**
+     * Checks if a given {@link ICommandSender} has permission to use this command without using any cached values.
+     * <p>
+     * This is used to decide if the command may be executed. See {@link #hasPermission(ICommandSender)}.
+     *
+     * @param commandSender The {@link ICommandSender} whose permission status to check.
+     * @return True if the {@link ICommandSender} has access to this command.
+     */
+    public boolean checkPermission(final @NonNull ICommandSender commandSender)
     {
         if (permission == null)
             return true;
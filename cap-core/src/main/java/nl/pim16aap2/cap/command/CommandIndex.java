@@ -0,0 +1,336 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.command;
+
+import lombok.NonNull;
+import nl.pim16aap2.cap.CAP;
+import nl.pim16aap2.cap.commandsender.ICommandSender;
+import nl.pim16aap2.cap.localization.Localizer;
+import nl.pim16aap2.cap.util.BKTree;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Represents a snapshot of the command tree of a {@link CAP}, flattened in pre-order.
+ * <p>
+ * Every {@link Command} in the tree is assigned a dense index (see {@link Command#getIndex()}) in the same order as it
+ * would be visited by a depth-first traversal of the tree (i.e. the order in which help menus list them). As a result,
+ * a {@link Command} and all its (recursive) sub{@link Command}s occupy the range [{@link Command#getIndex()}, {@link
+ * Command#getSubTreeEnd()}), so operations on entire subtrees can be performed using {@link BitSet}s.
+ * <p>
+ * See {@link CommandVisibilityCache}.
+ *
+ * @author Pim
+ */
+public final class CommandIndex
+{
+    /**
+     * All indexed {@link Command}s, ordered by their index.
+     */
+    private final @NonNull Command[] commands;
+
+    /**
+     * The indices of all {@link Command}s that are not {@link Command#isVirtual()}.
+     */
+    private final @NonNull BitSet nonVirtual;
+
+    /**
+     * The indices of all {@link Command}s whose description, summary or header is generated for every {@link
+     * ICommandSender} separately. See {@link Command#isSenderDependent()}.
+     */
+    private final @NonNull BitSet senderDependent;
+
+    /**
+     * The super command paths of all indexed {@link Command}s for every {@link Locale} they were requested for. See
+     * {@link #getSuperCommandPath(Command, Locale)}.
+     * <p>
+     * The paths are computed lazily for every {@link Locale}, but always for the entire tree at once.
+     */
+    private final @NonNull Map<Locale, String[]> superCommandPaths = new HashMap<>();
+
+    /**
+     * The {@link HelpSearchIndex} for every {@link Locale} it was requested for. See {@link
+     * #getSearchIndex(Localizer, Locale)}.
+     */
+    private final @NonNull Map<Locale, HelpSearchIndex> searchIndices = new HashMap<>();
+
+    /**
+     * The {@link BKTree}s with the names of the sub{@link Command}s of every {@link Command} for every {@link Locale}
+     * they were requested for. The {@link BKTree} of a {@link Command} is stored at its index, the {@link BKTree} of
+     * all top-level {@link Command}s is stored at the last position. See {@link #getNameTree(CAP, Command, Locale)}.
+     */
+    private final @NonNull Map<Locale, BKTree[]> nameTrees = new HashMap<>();
+
+    /**
+     * Creates a new {@link CommandIndex} and (re)assigns the index of every {@link Command} that can be reached from the
+     * provided top-level {@link Command}s.
+     *
+     * @param topLevelCommands The top-level {@link Command}s of the tree.
+     */
+    CommandIndex(final @NonNull Collection<@NonNull Command> topLevelCommands)
+    {
+        final @NonNull List<@NonNull Command> flattened = new ArrayList<>();
+        final @NonNull Set<@NonNull Command> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (final @NonNull Command command : topLevelCommands)
+            flatten(command, flattened, visited);
+
+        commands = flattened.toArray(new Command[0]);
+        nonVirtual = new BitSet(commands.length);
+        senderDependent = new BitSet(commands.length);
+        for (int idx = 0; idx < commands.length; ++idx)
+        {
+            if (!commands[idx].isVirtual())
+                nonVirtual.set(idx);
+            if (commands[idx].isSenderDependent())
+                senderDependent.set(idx);
+        }
+    }
+
+    private static void flatten(final @NonNull Command command, final @NonNull List<@NonNull Command> flattened,
+                                final @NonNull Set<@NonNull Command> visited)
+    {
+        // Just in case the same command was registered in multiple places.
+        if (!visited.add(command))
+            return;
+
+        command.index = flattened.size();
+        flattened.add(command);
+        for (final @NonNull Command subCommand : command.getSubCommands())
+            flatten(subCommand, flattened, visited);
+        command.subTreeEnd = flattened.size();
+    }
+
+    /**
+     * Gets the number of {@link Command}s in this index.
+     *
+     * @return The number of {@link Command}s in this index.
+     */
+    public int size()
+    {
+        return commands.length;
+    }
+
+    /**
+     * Gets the {@link Command} with a given index.
+     *
+     * @param index The index of the {@link Command}. See {@link Command#getIndex()}.
+     * @return The {@link Command} with the given index.
+     */
+    public @NonNull Command getCommand(final int index)
+    {
+        return commands[index];
+    }
+
+    /**
+     * Checks if a {@link Command} is part of this index.
+     * <p>
+     * This is not the case for {@link Command}s that were created after this index was created, for example.
+     *
+     * @param command The {@link Command} to check.
+     * @return True if the {@link Command} is part of this index.
+     */
+    public boolean contains(final @NonNull Command command)
+    {
+        return command.index >= 0 && command.index < commands.length && commands[command.index] == command;
+    }
+
+    /**
+     * Checks if the subtree of a {@link Command} (including itself) contains any {@link Command}s whose text depends
+     * on the {@link ICommandSender}. See {@link Command#isSenderDependent()}.
+     *
+     * @param command The root of the subtree. This {@link Command} must be part of this index.
+     * @return True if the subtree contains at least 1 {@link Command} whose text depends on the {@link
+     * ICommandSender}.
+     */
+    public boolean isSenderDependent(final @NonNull Command command)
+    {
+        final int idx = senderDependent.nextSetBit(command.index);
+        return idx >= 0 && idx < command.subTreeEnd;
+    }
+
+    /**
+     * Gets the names of all super {@link Command}s of a {@link Command}, ordered from the top-level {@link Command}
+     * down, with each name followed by a single space.
+     * <p>
+     * E.g. for the {@link Command} 'subcommand1' in '/mytopcommand subcommmand0 subcommand1', this would be
+     * "mytopcommand subcommand0 ".
+     * <p>
+     * The paths are computed once per {@link Locale} for the entire index. Because a new {@link CommandIndex} is
+     * created whenever the tree changes, they never have to be invalidated.
+     *
+     * @param command The {@link Command} whose super {@link Command}s to get.
+     * @param locale  The {@link Locale} to use for the names of the {@link Command}s. When this is null, the default
+     *                {@link Locale} of the {@link CAP}'s {@link nl.pim16aap2.cap.localization.Localizer} is used.
+     * @return The names of all super {@link Command}s of the {@link Command}.
+     */
+    public @NonNull String getSuperCommandPath(final @NonNull Command command, @Nullable Locale locale)
+    {
+        if (locale == null)
+            locale = command.getCap().getLocalizer().getDefaultLocale();
+
+        if (!contains(command))
+            return buildSuperCommandPath(command, locale);
+
+        final @NonNull String[] paths;
+        synchronized (superCommandPaths)
+        {
+            paths = superCommandPaths.computeIfAbsent(locale, this::computeSuperCommandPaths);
+        }
+        return paths[command.index];
+    }
+
+    /**
+     * Gets the {@link HelpSearchIndex} over all {@link Command}s in this index for a {@link Locale}.
+     * <p>
+     * The {@link HelpSearchIndex} is created the first time it is requested for a {@link Locale}. Because a new {@link
+     * CommandIndex} is created whenever the tree changes, it never has to be invalidated.
+     *
+     * @param localizer The {@link Localizer} to use for the localized names and descriptions of the {@link Command}s.
+     * @param locale    The {@link Locale} to get the {@link HelpSearchIndex} for. When this is null, the default {@link
+     *                  Locale} of the {@link Localizer} is used.
+     * @return The {@link HelpSearchIndex} for the {@link Locale}.
+     */
+    public @NonNull HelpSearchIndex getSearchIndex(final @NonNull Localizer localizer, @Nullable Locale locale)
+    {
+        if (locale == null)
+            locale = localizer.getDefaultLocale();
+
+        synchronized (searchIndices)
+        {
+            return searchIndices.computeIfAbsent(locale, key -> new HelpSearchIndex(this, localizer, key));
+        }
+    }
+
+    /**
+     * Gets the {@link BKTree} with the names of all sub{@link Command}s of a {@link Command} in a {@link Locale}, which
+     * can be used to find the names that are closest to a misspelled name.
+     * <p>
+     * The {@link BKTree} is created the first time it is requested for a {@link Command} and {@link Locale}.
+     *
+     * @param cap          The {@link CAP} that determines whether the names are case sensitive. See {@link
+     *                     CAP#isCaseSensitive()}.
+     * @param superCommand The {@link Command} whose sub{@link Command}s to get the names of. When this is null, the
+     *                     names of all top-level {@link Command}s are used instead.
+     * @param locale       The {@link Locale} of the names. When this is null, the default {@link Locale} of the {@link
+     *                     CAP}'s {@link Localizer} is used.
+     * @return The {@link BKTree} with the names of all sub{@link Command}s of the {@link Command}.
+     */
+    public @NonNull BKTree getNameTree(final @NonNull CAP cap, final @Nullable Command superCommand,
+                                       @Nullable Locale locale)
+    {
+        if (locale == null)
+            locale = cap.getLocalizer().getDefaultLocale();
+
+        if (superCommand != null && !contains(superCommand))
+            return new BKTree(superCommand.getSubCommandNames(locale), cap.isCaseSensitive());
+
+        final int slot = superCommand == null ? commands.length : superCommand.index;
+        synchronized (nameTrees)
+        {
+            final @NonNull BKTree[] trees = nameTrees.computeIfAbsent(locale, key -> new BKTree[commands.length + 1]);
+            if (trees[slot] == null)
+                trees[slot] = superCommand == null ?
+                              createTopLevelNameTree(locale, cap.isCaseSensitive()) :
+                              new BKTree(superCommand.getSubCommandNames(locale), cap.isCaseSensitive());
+            return trees[slot];
+        }
+    }
+
+    private @NonNull BKTree createTopLevelNameTree(final @Nullable Locale locale, final boolean caseSensitive)
+    {
+        final @NonNull BKTree tree = new BKTree(caseSensitive);
+        for (final @NonNull Command command : commands)
+            if (!command.getSuperCommand().isPresent())
+                tree.add(command.getName(locale));
+        return tree;
+    }
+
+    /**
+     * Computes the super command paths of all indexed {@link Command}s for a given {@link Locale}.
+     * <p>
+     * Because the {@link Command}s are ordered in pre-order, the path of a {@link Command}'s super {@link Command} is
+     * always computed before the path of the {@link Command} itself.
+     *
+     * @param locale The {@link Locale} to use for the names of the {@link Command}s.
+     * @return The super command paths of all {@link Command}s, ordered by their index.
+     */
+    private @NonNull String[] computeSuperCommandPaths(final @Nullable Locale locale)
+    {
+        final @NonNull String[] paths = new String[commands.length];
+        for (int idx = 0; idx < commands.length; ++idx)
+        {
+            final @Nullable Command superCommand = commands[idx].getSuperCommand().orElse(null);
+            if (superCommand == null)
+                paths[idx] = "";
+            else if (contains(superCommand) && superCommand.index < idx)
+                paths[idx] = paths[superCommand.index] + superCommand.getName(locale) + " ";
+            else
+                paths[idx] = buildSuperCommandPath(commands[idx], locale);
+        }
+        return paths;
+    }
+
+    /**
+     * Constructs the super command path of a {@link Command} by walking up the tree. See {@link
+     * #getSuperCommandPath(Command, Locale)}.
+     *
+     * @param command The {@link Command} whose super {@link Command}s to get.
+     * @param locale  The {@link Locale} to use for the names of the {@link Command}s.
+     * @return The names of all super {@link Command}s of the {@link Command}.
+     */
+    private static @NonNull String buildSuperCommandPath(final @NonNull Command command, final @Nullable Locale locale)
+    {
+        final @NonNull StringBuilder sb = new StringBuilder();
+        @Nullable Command superCommand = command.getSuperCommand().orElse(null);
+        while (superCommand != null)
+        {
+            sb.insert(0, superCommand.getName(locale) + " ");
+            superCommand = superCommand.getSuperCommand().orElse(null);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Gets the indices of all non-{@link Command#isVirtual()} {@link Command}s in a range.
+     *
+     * @param fromIndex The first index to include.
+     * @param toIndex   The first index after the range.
+     * @return A new {@link BitSet} with a set bit for every non-virtual {@link Command} in the range.
+     */
+    @NonNull BitSet getNonVirtual(final int fromIndex, final int toIndex)
+    {
+        return nonVirtual.get(fromIndex, toIndex);
+    }
+}
@@ -26,11 +26,19 @@ package nl.pim16aap2.cap.command;
 
 import lombok.Getter;
 import lombok.NonNull;
+import nl.pim16aap2.cap.CAP;
 import nl.pim16aap2.cap.argument.Argument;
+import nl.pim16aap2.cap.commandsender.BufferedCommandSender;
 import nl.pim16aap2.cap.commandsender.ICommandSender;
 import nl.pim16aap2.cap.exception.CAPException;
+import nl.pim16aap2.cap.exception.DeferredArgumentException;
 import nl.pim16aap2.cap.exception.ExceptionHandler;
 import nl.pim16aap2.cap.exception.ValidationFailureException;
+import nl.pim16aap2.cap.metrics.FlightRecorderEventType;
+import nl.pim16aap2.cap.metrics.FlightRecorderEvents;
+import nl.pim16aap2.cap.metrics.IFlightRecorderEvent;
+import nl.pim16aap2.cap.metrics.IMetricsRecorder;
+import nl.pim16aap2.cap.metrics.MetricsPhase;
 import nl.pim16aap2.cap.renderer.IHelpCommandRenderer;
 import nl.pim16aap2.cap.text.ColorScheme;
 import nl.pim16aap2.cap.text.Text;
@@ -144,6 +152,10 @@ public class CommandResult
      * @param identifier The label of the {@link Argument}. See {@link Argument#getIdentifier()}.
      * @param <T>        The type of the parsed value of the {@link Argument}.
      * @return The parsed value of the {@link Argument}.
+     *
+     * @throws DeferredArgumentException If {@link CAP#isLazyArgumentParsing()} is enabled and the value could not be
+     *                                   parsed or validated. When thrown from the {@link Command#commandExecutor},
+     *                                   this is handled by {@link #run()}.
      */
     @SuppressWarnings("unchecked")
     public <T> T getParsedArgument(final @NonNull String identifier)
@@ -158,9 +170,18 @@ public class CommandResult
 
     /**
      * Executes {@link Command#commandExecutor}.
+     * <p>
+     * If the {@link #commandSender} is a {@link BufferedCommandSender}, all messages sent to it are flushed afterwards.
+     * <p>
+     * Any {@link DeferredArgumentException}s are handled as if the {@link CAPException} they wrap was thrown while
+     * parsing the input.
      */
     public void run()
     {
+        final @NonNull IMetricsRecorder metrics = command.getCap().getMetrics();
+        final long start = metrics.start();
+        final @Nullable IFlightRecorderEvent event = FlightRecorderEvents.begin(FlightRecorderEventType.EXECUTE);
+        @Nullable Throwable failure = null;
         try
         {
             if (helpRequired())
@@ -168,15 +189,19 @@ public class CommandResult
             else
                 command.getCommandExecutor().accept(this);
         }
+        catch (final DeferredArgumentException exception)
+        {
+            failure = exception.getException();
+            handleException(exception.getException());
+        }
         catch (final CAPException exception)
         {
-            final @Nullable ExceptionHandler exceptionHandler = command.getCap().getExceptionHandler();
-            if (exceptionHandler == null)
-                throw new RuntimeException(exception);
-            exceptionHandler.handleException(commandSender, exception);
+            failure = exception;
+            handleException(exception);
         }
         catch (Throwable t)
         {
+            failure = t;
             if (command.getCap().getExceptionHandler() != null)
                 command.getCap().getExceptionHandler().handleException(
                     commandSender,
@@ -186,6 +211,27 @@ public class CommandResult
 
             throw new RuntimeException("An error occurred trying to execute a command!\n" + toString(), t);
         }
+        finally
+        {
+            BufferedCommandSender.flush(commandSender);
+            metrics.stop(MetricsPhase.EXECUTE, command.getIdentifier(), start);
+            if (event != null)
+                event.commit(command.getIdentifier(), commandSender, -1, FlightRecorderEvents.getOutcome(failure));
+        }
+    }
+
+    /**
+     * Handles a {@link CAPException} that was thrown while executing the {@link #command} using the {@link
+     * ExceptionHandler} of its {@link CAP}.
+     *
+     * @param exception The exception to handle.
+     */
+    private void handleException(final @NonNull CAPException exception)
+    {
+        final @Nullable ExceptionHandler exceptionHandler = command.getCap().getExceptionHandler();
+        if (exceptionHandler == null)
+            throw new RuntimeException(exception);
+        exceptionHandler.handleException(commandSender, exception);
     }
 
     @Override
@@ -0,0 +1,304 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.command;
+
+import lombok.NonNull;
+import nl.pim16aap2.cap.CAP;
+import nl.pim16aap2.cap.commandsender.ICommandSender;
+import nl.pim16aap2.cap.util.cache.TimedCache;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Represents a cache of the {@link Command}s every {@link ICommandSender} has access to. See {@link
+ * Command#hasPermission(ICommandSender)}.
+ * <p>
+ * For every {@link ICommandSender}, the result of each permission check is stored in a {@link BitSet} using the index
+ * of the {@link Command} in the {@link CommandIndex}. This means that the permission function of a {@link Command} is
+ * only evaluated once per {@link ICommandSender} and that the number of visible {@link Command}s in a subtree can be
+ * counted without traversing it.
+ * <p>
+ * Permission checks are computed lazily and are cached for 30 seconds after they were first computed. When the
+ * permissions of an {@link ICommandSender} change, use {@link #invalidate(ICommandSender)} (or {@link #invalidate()}
+ * when it affects everyone) to make sure the changes are picked up right away.
+ *
+ * @author Pim
+ */
+public class CommandVisibilityCache
+{
+    private final @NonNull CAP cap;
+
+    private final @NonNull TimedCache<ICommandSender, Visibility> visibilityCache =
+        TimedCache.<ICommandSender, Visibility>builder()
+            .duration(Duration.ofSeconds(30))
+            .cleanup(Duration.ofMinutes(5))
+            .softReference(false)
+            .refresh(false)
+            .build();
+
+    /**
+     * The current {@link CommandIndex}. When null, it has to be rebuilt before it can be used.
+     */
+    private volatile @Nullable CommandIndex commandIndex = null;
+
+    public CommandVisibilityCache(final @NonNull CAP cap)
+    {
+        this.cap = cap;
+    }
+
+    /**
+     * Gets the current {@link CommandIndex}. If the command tree has changed since it was last created, a new one will
+     * be created first.
+     *
+     * @return The current {@link CommandIndex}.
+     */
+    public @NonNull CommandIndex getCommandIndex()
+    {
+        @Nullable CommandIndex index = commandIndex;
+        if (index != null)
+            return index;
+
+        synchronized (this)
+        {
+            index = commandIndex;
+            if (index == null)
+                commandIndex = index = new CommandIndex(cap.getTopLevelCommandMap().values());
+            return index;
+        }
+    }
+
+    /**
+     * Invalidates the current {@link CommandIndex}. This should be called whenever the command tree changes.
+     * <p>
+     * The cached permissions of all {@link ICommandSender}s are discarded as well, as they rely on the indices of the
+     * {@link Command}s.
+     */
+    public void invalidateIndex()
+    {
+        commandIndex = null;
+        visibilityCache.clear();
+    }
+
+    /**
+     * Invalidates the cached permissions of an {@link ICommandSender}.
+     * <p>
+     * This should be called whenever their permissions change.
+     *
+     * @param commandSender The {@link ICommandSender} whose cached permissions to invalidate.
+     */
+    public void invalidate(final @NonNull ICommandSender commandSender)
+    {
+        visibilityCache.remove(commandSender);
+    }
+
+    /**
+     * Invalidates the cached permissions of all {@link ICommandSender}s.
+     */
+    public void invalidate()
+    {
+        visibilityCache.clear();
+    }
+
+    /**
+     * Checks if an {@link ICommandSender} has access to a {@link Command}. See {@link
+     * Command#hasPermission(ICommandSender)}.
+     *
+     * @param commandSender The {@link ICommandSender} whose permission status to check.
+     * @param command       The {@link Command} to check.
+     * @return True if the {@link ICommandSender} has access to the {@link Command}.
+     */
+    public boolean hasPermission(final @NonNull ICommandSender commandSender, final @NonNull Command command)
+    {
+        final @NonNull CommandIndex index = getCommandIndex();
+        if (!index.contains(command))
+            return command.checkPermission(commandSender);
+        return getVisibility(commandSender, index).hasPermission(commandSender, command);
+    }
+
+    /**
+     * Checks if a {@link Command} should be visible to an {@link ICommandSender} in help menus. This is the case for
+     * all {@link Command}s that are not {@link Command#isVirtual()} and that the {@link ICommandSender} has access to.
+     *
+     * @param commandSender The {@link ICommandSender} for whom to check the visibility.
+     * @param command       The {@link Command} to check.
+     * @return True if the {@link Command} is visible to the {@link ICommandSender}.
+     */
+    public boolean isVisible(final @NonNull ICommandSender commandSender, final @NonNull Command command)
+    {
+        return !command.isVirtual() && hasPermission(commandSender, command);
+    }
+
+    /**
+     * Gets the {@link Command}s in the subtree of a {@link Command} (including itself) that are visible to an {@link
+     * ICommandSender}. See {@link #isVisible(ICommandSender, Command)}.
+     * <p>
+     * The bits in the returned {@link BitSet} are relative to the {@link Command#getIndex()} of the provided {@link
+     * Command}. So bit 0 represents the provided {@link Command} itself, bit 1 its first sub{@link Command}, etc.
+     *
+     * @param commandSender The {@link ICommandSender} for whom to check the visibility.
+     * @param command       The root of the subtree.
+     * @return A new {@link BitSet} containing the visible {@link Command}s in the subtree.
+     */
+    public @NonNull BitSet getVisibleSubTree(final @NonNull ICommandSender commandSender,
+                                             final @NonNull Command command)
+    {
+        final @NonNull CommandIndex index = getCommandIndex();
+        if (!index.contains(command))
+            throw new IllegalArgumentException("Command " + command.getIdentifier() + " has not been indexed!");
+        return getVisibility(commandSender, index).getVisibleSubTree(commandSender, index, command);
+    }
+
+    /**
+     * Gets the indices (see {@link Command#getIndex()}) of all {@link Command}s in the subtree of a {@link Command}
+     * (including itself) that are visible to an {@link ICommandSender}, in pre-order. See {@link
+     * #isVisible(ICommandSender, Command)}.
+     * <p>
+     * This is the inverse of the prefix sums of the number of visible {@link Command}s in the subtree: The n-th visible
+     * {@link Command} can be looked up directly, so a page of the help menu can be found without walking the subtree.
+     * <p>
+     * The result is cached for every {@link ICommandSender} and subtree, so the returned array should not be modified.
+     *
+     * @param commandSender The {@link ICommandSender} for whom to check the visibility.
+     * @param command       The root of the subtree.
+     * @return The indices of all visible {@link Command}s in the subtree, in pre-order.
+     */
+    public @NonNull int[] getVisibleCommands(final @NonNull ICommandSender commandSender,
+                                             final @NonNull Command command)
+    {
+        final @NonNull CommandIndex index = getCommandIndex();
+        if (!index.contains(command))
+            throw new IllegalArgumentException("Command " + command.getIdentifier() + " has not been indexed!");
+        return getVisibility(commandSender, index).getVisibleCommands(commandSender, index, command);
+    }
+
+    /**
+     * Counts the number of {@link Command}s in the subtree of a {@link Command} (including itself) that are visible to
+     * an {@link ICommandSender}. See {@link #isVisible(ICommandSender, Command)}.
+     *
+     * @param commandSender The {@link ICommandSender} for whom to check the visibility.
+     * @param command       The root of the subtree.
+     * @return The number of visible {@link Command}s in the subtree.
+     */
+    public int countVisible(final @NonNull ICommandSender commandSender, final @NonNull Command command)
+    {
+        final @NonNull CommandIndex index = getCommandIndex();
+        if (index.contains(command))
+            return getVisibility(commandSender, index).getVisibleCommands(commandSender, index, command).length;
+
+        int count = isVisible(commandSender, command) ? 1 : 0;
+        for (final @NonNull Command subCommand : command.getSubCommands())
+            count += countVisible(commandSender, subCommand);
+        return count;
+    }
+
+    private @NonNull Visibility getVisibility(final @NonNull ICommandSender commandSender,
+                                              final @NonNull CommandIndex index)
+    {
+        return visibilityCache.compute(commandSender, (key, visibility) ->
+            (visibility == null || visibility.index != index) ? new Visibility(index) : visibility);
+    }
+
+    /**
+     * Represents the cached permission checks of a single {@link ICommandSender}.
+     *
+     * @author Pim
+     */
+    private static final class Visibility
+    {
+        private final @NonNull CommandIndex index;
+
+        /**
+         * The indices of all {@link Command}s whose permission function has been evaluated.
+         */
+        private final @NonNull BitSet checked;
+
+        /**
+         * The indices of all {@link Command}s the {@link ICommandSender} has access to. Only valid for the indices that
+         * are set in {@link #checked}.
+         */
+        private final @NonNull BitSet permitted;
+
+        /**
+         * The visible {@link Command}s for every subtree that was requested, with the index of the root of the subtree
+         * as key. See {@link CommandVisibilityCache#getVisibleCommands(ICommandSender, Command)}.
+         */
+        private final @NonNull Map<@NonNull Integer, int[]> visibleCommands = new HashMap<>();
+
+        private Visibility(final @NonNull CommandIndex index)
+        {
+            this.index = index;
+            checked = new BitSet(index.size());
+            permitted = new BitSet(index.size());
+        }
+
+        private synchronized @NonNull int[] getVisibleCommands(final @NonNull ICommandSender commandSender,
+                                                               final @NonNull CommandIndex index,
+                                                               final @NonNull Command command)
+        {
+            @Nullable int[] visible = visibleCommands.get(command.getIndex());
+            if (visible == null)
+            {
+                final int offset = command.getIndex();
+                visible = getVisibleSubTree(commandSender, index, command).stream().map(idx -> idx + offset).toArray();
+                visibleCommands.put(command.getIndex(), visible);
+            }
+            return visible;
+        }
+
+        private synchronized boolean hasPermission(final @NonNull ICommandSender commandSender,
+                                                   final @NonNull Command command)
+        {
+            check(commandSender, command.getIndex());
+            return permitted.get(command.getIndex());
+        }
+
+        private synchronized @NonNull BitSet getVisibleSubTree(final @NonNull ICommandSender commandSender,
+                                                               final @NonNull CommandIndex index,
+                                                               final @NonNull Command command)
+        {
+            final int from = command.getIndex();
+            final int to = command.getSubTreeEnd();
+            for (int idx = checked.nextClearBit(from); idx < to; idx = checked.nextClearBit(idx + 1))
+                check(commandSender, idx);
+
+            final @NonNull BitSet visible = permitted.get(from, to);
+            visible.and(index.getNonVirtual(from, to));
+            return visible;
+        }
+
+        private void check(final @NonNull ICommandSender commandSender, final int idx)
+        {
+            if (checked.get(idx))
+                return;
+            checked.set(idx);
+            if (index.getCommand(idx).checkPermission(commandSender))
+                permitted.set(idx);
+        }
+    }
+}
@@ -30,10 +30,12 @@ import lombok.Getter;
 import lombok.NonNull;
 import nl.pim16aap2.cap.CAP;
 import nl.pim16aap2.cap.argument.Argument;
+import nl.pim16aap2.cap.argument.specialized.IntegerArgument;
 import nl.pim16aap2.cap.argument.specialized.StringArgument;
 import nl.pim16aap2.cap.commandsender.ICommandSender;
 import nl.pim16aap2.cap.exception.CAPException;
 import nl.pim16aap2.cap.exception.CommandNotFoundException;
+import nl.pim16aap2.cap.exception.NonExistingArgumentException;
 import nl.pim16aap2.cap.exception.ValidationFailureException;
 import nl.pim16aap2.cap.localization.ArgumentNamingSpec;
 import nl.pim16aap2.cap.localization.CommandNamingSpec;
@@ -45,7 +47,9 @@ import nl.pim16aap2.cap.util.TabCompletionRequest;
 import nl.pim16aap2.cap.util.Util;
 import org.jetbrains.annotations.Nullable;
 
+import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.OptionalInt;
@@ -95,6 +99,63 @@ public class DefaultHelpCommand extends Command
             .tabCompleteFunction((DefaultHelpCommand::getSuggestions))
             .build();
 
+    /**
+     * The argument containing the search query when the {@link #DEFAULT_HELP_ARGUMENT} is the search keyword (see
+     * {@link #DEFAULT_SEARCH_KEYWORD}). This is the non-localized version. If you want to enable localization, see
+     * {@link #DEFAULT_SEARCH_QUERY_ARGUMENT_LOCALIZED}.
+     */
+    public static final @NonNull Argument<@NonNull String> DEFAULT_SEARCH_QUERY_ARGUMENT =
+        new StringArgument()
+            .getOptionalPositional()
+            .nameSpec(ArgumentNamingSpec.RawStrings.builder().shortName("terms")
+                                                   .summary("The terms to search for after 'search'.").build())
+            .identifier("helpSearchQuery")
+            .build();
+
+    /**
+     * The localized version of {@link #DEFAULT_SEARCH_QUERY_ARGUMENT}.
+     */
+    public static final @NonNull Argument<@NonNull String> DEFAULT_SEARCH_QUERY_ARGUMENT_LOCALIZED =
+        new StringArgument()
+            .getOptionalPositional()
+            .nameSpec(new ArgumentNamingSpec.Localized("default.helpCommand.searchQueryArgument"))
+            .identifier("helpSearchQuery")
+            .build();
+
+    /**
+     * The argument containing the page of search results to display. This is the non-localized version. If you want to
+     * enable localization, see {@link #DEFAULT_SEARCH_PAGE_ARGUMENT_LOCALIZED}.
+     */
+    public static final @NonNull Argument<@NonNull Integer> DEFAULT_SEARCH_PAGE_ARGUMENT =
+        new IntegerArgument()
+            .getOptionalPositional()
+            .nameSpec(ArgumentNamingSpec.RawStrings.builder().shortName("page")
+                                                   .summary("The page of search results to display.").build())
+            .identifier("helpSearchPage")
+            .build();
+
+    /**
+     * The localized version of {@link #DEFAULT_SEARCH_PAGE_ARGUMENT}.
+     */
+    public static final @NonNull Argument<@NonNull Integer> DEFAULT_SEARCH_PAGE_ARGUMENT_LOCALIZED =
+        new IntegerArgument()
+            .getOptionalPositional()
+            .nameSpec(new ArgumentNamingSpec.Localized("default.helpCommand.searchPageArgument"))
+            .identifier("helpSearchPage")
+            .build();
+
+    /**
+     * The keyword that switches the help command to search mode. E.g. '/command help search teleport'. This is the
+     * non-localized version. If you want to enable localization, see {@link #DEFAULT_SEARCH_KEYWORD_LOCALIZED}.
+     */
+    public static final @NonNull String DEFAULT_SEARCH_KEYWORD = "search";
+
+    /**
+     * The localization key of the keyword that switches the help command to search mode. See {@link
+     * #DEFAULT_SEARCH_KEYWORD}.
+     */
+    public static final @NonNull String DEFAULT_SEARCH_KEYWORD_LOCALIZED = "default.helpCommand.search.keyword";
+
     public static final @NonNull CommandNamingSpec DEFAULT_COMMAND_NAMING_SPECIFICATION_LOCALIZED =
         new CommandNamingSpec.Localized("default.helpCommand");
 
@@ -132,9 +193,11 @@ public class DefaultHelpCommand extends Command
                                                    DEFAULT_COMMAND_NAMING_SPECIFICATION_RAW),
               descriptionSupplier, summarySupplier, headerSupplier, SUB_COMMANDS, HELP_COMMAND,
               ADD_DEFAULT_HELP_ARGUMENT, HELP_ARGUMENT, ADD_DEFAULT_HELP_SUB_COMMAND, commandExecutor,
-              Collections.singletonList(Util.valOrDefault(helpArgument, localized ?
-                                                                        DEFAULT_HELP_ARGUMENT_LOCALIZED :
-                                                                        DEFAULT_HELP_ARGUMENT)),
+              Arrays.asList(Util.valOrDefault(helpArgument, localized ?
+                                                            DEFAULT_HELP_ARGUMENT_LOCALIZED :
+                                                            DEFAULT_HELP_ARGUMENT),
+                            localized ? DEFAULT_SEARCH_QUERY_ARGUMENT_LOCALIZED : DEFAULT_SEARCH_QUERY_ARGUMENT,
+                            localized ? DEFAULT_SEARCH_PAGE_ARGUMENT_LOCALIZED : DEFAULT_SEARCH_PAGE_ARGUMENT),
               VIRTUAL, cap,
               ((commandSender, command) -> true));
         this.localized = localized;
@@ -233,19 +296,43 @@ public class DefaultHelpCommand extends Command
         return helpCommandRenderer.render(commandSender, colorScheme, command, val);
     }
 
+    /**
+     * Checks if a value is the keyword that switches this help command to search mode. See {@link
+     * #DEFAULT_SEARCH_KEYWORD}.
+     *
+     * @param commandSender The {@link ICommandSender} whose {@link java.util.Locale} to use.
+     * @param val           The value to check.
+     * @return True if the value is the (localized) search keyword.
+     */
+    public boolean isSearchKeyword(final @NonNull ICommandSender commandSender, final @Nullable String val)
+    {
+        if (val == null)
+            return false;
+        final @NonNull String keyword = localized ?
+                                        cap.getLocalizer().getMessage(DEFAULT_SEARCH_KEYWORD_LOCALIZED, commandSender) :
+                                        DEFAULT_SEARCH_KEYWORD;
+        return keyword.equalsIgnoreCase(val);
+    }
+
     /**
      * Executes the default action: Print the help menu and send it to the {@link ICommandSender}.
+     * <p>
+     * When the first argument is the search keyword (see {@link #isSearchKeyword(ICommandSender, String)}) and it is
+     * followed by a query, the search results are sent instead. E.g. '/command help search "teleport home" 2'.
      *
      * @param commandResult The {@link CommandResult} to base the help menu on.
-     * @throws ValidationFailureException If the provided value for the help message is invalid. E.g. '/command help 10'
-     *                                    if there are only 8 pages available.
-     * @throws CommandNotFoundException   If the specified command could not be found. E.g. '/command help mySubCommand'
-     *                                    if the command called 'mySubCommand' does not exist or is not registered in
-     *                                    the same {@link CAP}.
+     * @throws ValidationFailureException   If the provided value for the help message is invalid. E.g. '/command help
+     *                                      10' if there are only 8 pages available.
+     * @throws CommandNotFoundException     If the specified command could not be found. E.g. '/command help
+     *                                      mySubCommand' if the command called 'mySubCommand' does not exist or is not
+     *                                      registered in the same {@link CAP}.
+     * @throws NonExistingArgumentException If any values follow the first argument while not in search mode. E.g.
+     *                                      '/command help mySubCommand 3', as the help menu of a single command does
+     *                                      not have pages.
      * @see ICommandSender#sendMessage(Text)
      */
     protected static void defaultHelpCommandExecutor(final @NonNull CommandResult commandResult)
-        throws ValidationFailureException, CommandNotFoundException
+        throws ValidationFailureException, CommandNotFoundException, NonExistingArgumentException
     {
         if (!(commandResult.getCommand() instanceof DefaultHelpCommand))
             throw new IllegalArgumentException("Command " + commandResult.getCommand().getIdentifier() +
@@ -257,9 +344,30 @@ public class DefaultHelpCommand extends Command
                 "HelpCommand " + helpCommand.getIdentifier() + " does not have a super command!"));
 
         final @NonNull ICommandSender commandSender = commandResult.getCommandSender();
+        final @Nullable String helpArg = commandResult.getParsedArgument("helpArg");
+        final @Nullable String searchQuery = commandResult.getParsedArgument("helpSearchQuery");
+        if (searchQuery != null && helpCommand.isSearchKeyword(commandSender, helpArg))
+        {
+            final @Nullable Integer page = commandResult.getParsedArgument("helpSearchPage");
+            commandSender.sendMessage(helpCommand.getCap().getHelpCommandRenderer()
+                                                 .renderSearchResults(commandSender, commandSender.getColorScheme(),
+                                                                      superCommand, searchQuery,
+                                                                      page == null ? 1 : page));
+            return;
+        }
+
+        // Outside of search mode, only the first value is used, so reject any trailing values instead of ignoring them.
+        if (searchQuery != null)
+        {
+            final @NonNull String localizedMessage = MessageFormat.format(
+                helpCommand.getCap().getLocalizer().getMessage("error.exception.nonExistingArgument", commandSender),
+                searchQuery);
+            throw new NonExistingArgumentException(helpCommand, searchQuery, localizedMessage,
+                                                   helpCommand.getCap().isDebug());
+        }
 
         commandSender.sendMessage(renderHelpText(commandSender, commandSender.getColorScheme(), superCommand,
                                                  helpCommand.getCap().getHelpCommandRenderer(),
-                                                 commandResult.getParsedArgument("helpArg")));
+                                                 helpArg));
     }
 }
@@ -0,0 +1,256 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.command;
+
+import lombok.Getter;
+import lombok.NonNull;
+import nl.pim16aap2.cap.argument.Argument;
+import nl.pim16aap2.cap.commandsender.ICommandSender;
+import nl.pim16aap2.cap.localization.Localizer;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+/**
+ * Represents an inverted index over the names, summaries and descriptions of all {@link Command}s in a {@link
+ * CommandIndex} and the names of their {@link Argument}s for a single {@link Locale}.
+ * <p>
+ * Only the values provided by the naming specifications are indexed; text generated for a specific {@link
+ * ICommandSender} (e.g. using {@link Command#setSummarySupplier(java.util.function.Function)}) is not searchable.
+ * <p>
+ * Like the {@link CommandIndex} itself, a {@link HelpSearchIndex} is immutable and is simply replaced when the command
+ * tree changes. See {@link CommandIndex#getSearchIndex(Localizer, Locale)}.
+ *
+ * @author Pim
+ */
+public final class HelpSearchIndex
+{
+    /**
+     * The weight of a term that appears in the name of a {@link Command}.
+     */
+    public static final int NAME_WEIGHT = 8;
+
+    /**
+     * The weight of a term that appears in the name of one of the {@link Argument}s of a {@link Command}.
+     */
+    public static final int ARGUMENT_WEIGHT = 4;
+
+    /**
+     * The weight of a term that appears in the summary of a {@link Command}.
+     */
+    public static final int SUMMARY_WEIGHT = 2;
+
+    /**
+     * The weight of a term that appears in the description of a {@link Command}.
+     */
+    public static final int DESCRIPTION_WEIGHT = 1;
+
+    /**
+     * The {@link Locale} of all indexed text.
+     */
+    @Getter
+    private final @Nullable Locale locale;
+
+    /**
+     * All indexed terms, sorted so that all terms starting with a given prefix are stored next to each other.
+     */
+    private final @NonNull String[] terms;
+
+    /**
+     * The indices (see {@link Command#getIndex()}) of the {@link Command}s that contain every term in {@link #terms}, in
+     * ascending order.
+     */
+    private final @NonNull int[][] postings;
+
+    /**
+     * The weight of every entry in {@link #postings}.
+     */
+    private final @NonNull int[][] weights;
+
+    /**
+     * The number of indexed {@link Command}s.
+     */
+    private final int size;
+
+    /**
+     * Creates a new {@link HelpSearchIndex} for all {@link Command}s in a {@link CommandIndex}.
+     *
+     * @param commandIndex The {@link CommandIndex} containing the {@link Command}s to index.
+     * @param localizer    The {@link Localizer} to use for the localized names and descriptions.
+     * @param locale       The {@link Locale} to index the {@link Command}s for.
+     */
+    HelpSearchIndex(final @NonNull CommandIndex commandIndex, final @NonNull Localizer localizer,
+                    final @Nullable Locale locale)
+    {
+        this.locale = locale;
+        size = commandIndex.size();
+
+        final @NonNull Map<String, Map<Integer, Integer>> postingMap = new TreeMap<>();
+        for (int idx = 0; idx < size; ++idx)
+        {
+            final @NonNull Command command = commandIndex.getCommand(idx);
+            addTerms(postingMap, idx, command.getName(locale), NAME_WEIGHT);
+            addTerms(postingMap, idx, command.nameSpec.getSummary(localizer, locale), SUMMARY_WEIGHT);
+            addTerms(postingMap, idx, command.nameSpec.getDescription(localizer, locale), DESCRIPTION_WEIGHT);
+            for (final @NonNull Argument<?> argument : command.getArgumentManager().getArguments())
+            {
+                addTerms(postingMap, idx, argument.getShortName(localizer, locale), ARGUMENT_WEIGHT);
+                addTerms(postingMap, idx, argument.getLongName(localizer, locale), ARGUMENT_WEIGHT);
+            }
+        }
+
+        terms = postingMap.keySet().toArray(new String[0]);
+        postings = new int[terms.length][];
+        weights = new int[terms.length][];
+        int termIdx = 0;
+        for (final @NonNull Map<Integer, Integer> entries : postingMap.values())
+        {
+            postings[termIdx] = entries.keySet().stream().mapToInt(Integer::intValue).toArray();
+            weights[termIdx] = entries.values().stream().mapToInt(Integer::intValue).toArray();
+            ++termIdx;
+        }
+    }
+
+    private void addTerms(final @NonNull Map<String, Map<Integer, Integer>> postingMap, final int idx,
+                          final @Nullable String text, final int weight)
+    {
+        if (text == null)
+            return;
+        for (final @NonNull String term : tokenize(text, locale))
+            postingMap.computeIfAbsent(term, key -> new TreeMap<>()).merge(idx, weight, Math::max);
+    }
+
+    /**
+     * Splits text into lower case terms on every character that is neither a letter nor a digit.
+     *
+     * @param text   The text to split.
+     * @param locale The {@link Locale} to use for converting the terms to lower case.
+     * @return The terms in the text, in the order they appear in.
+     */
+    public static @NonNull List<@NonNull String> tokenize(final @NonNull String text, final @Nullable Locale locale)
+    {
+        final @NonNull List<@NonNull String> tokens = new ArrayList<>();
+        final @NonNull String lowerCase = text.toLowerCase(locale == null ? Locale.ROOT : locale);
+        int start = -1;
+        for (int idx = 0; idx <= lowerCase.length(); ++idx)
+        {
+            final boolean partOfTerm = idx < lowerCase.length() && Character.isLetterOrDigit(lowerCase.charAt(idx));
+            if (partOfTerm && start < 0)
+                start = idx;
+            else if (!partOfTerm && start >= 0)
+            {
+                tokens.add(lowerCase.substring(start, idx));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Searches for all {@link Command}s that match every term in a query.
+     * <p>
+     * A term in the query matches an indexed term if it is either equal to it or a prefix of it. The score of a {@link
+     * Command} is the sum of the highest weight (see {@link #NAME_WEIGHT}, etc.) of every term in the query, where
+     * prefix matches only count for half their weight.
+     *
+     * @param query The query to search for. This is split into terms using {@link #tokenize(String, Locale)}.
+     * @return The indices (see {@link Command#getIndex()}) of all matching {@link Command}s, ordered from highest to
+     * lowest score and then by their index. When the query does not contain any terms, an empty array is returned.
+     */
+    public @NonNull int[] search(final @NonNull String query)
+    {
+        final @NonNull List<@NonNull String> queryTerms = tokenize(query, locale);
+        if (queryTerms.isEmpty())
+            return new int[0];
+
+        final @NonNull int[] scores = new int[size];
+        final @NonNull int[] matchedTerms = new int[size];
+        final @NonNull int[] termScores = new int[size];
+        final @NonNull int[] touched = new int[size];
+        for (final @NonNull String queryTerm : queryTerms)
+        {
+            int touchedCount = 0;
+            final int from = lowerBound(queryTerm);
+            for (int termIdx = from; termIdx < terms.length && terms[termIdx].startsWith(queryTerm); ++termIdx)
+            {
+                final boolean exact = terms[termIdx].length() == queryTerm.length();
+                final @NonNull int[] posting = postings[termIdx];
+                for (int entry = 0; entry < posting.length; ++entry)
+                {
+                    final int weight = exact ? weights[termIdx][entry] : Math.max(1, weights[termIdx][entry] / 2);
+                    final int commandIdx = posting[entry];
+                    if (termScores[commandIdx] == 0)
+                        touched[touchedCount++] = commandIdx;
+                    termScores[commandIdx] = Math.max(termScores[commandIdx], weight);
+                }
+            }
+
+            for (int idx = 0; idx < touchedCount; ++idx)
+            {
+                final int commandIdx = touched[idx];
+                scores[commandIdx] += termScores[commandIdx];
+                ++matchedTerms[commandIdx];
+                termScores[commandIdx] = 0;
+            }
+        }
+
+        return IntStream.range(0, size)
+                        .filter(idx -> matchedTerms[idx] == queryTerms.size())
+                        .boxed()
+                        .sorted((first, second) -> scores[first] == scores[second] ?
+                                                   Integer.compare(first, second) :
+                                                   Integer.compare(scores[second], scores[first]))
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+    }
+
+    /**
+     * Finds the index of the first term in {@link #terms} that is not smaller than the provided term.
+     *
+     * @param term The term to look for.
+     * @return The index of the first term that is equal to or larger than the provided term.
+     */
+    private int lowerBound(final @NonNull String term)
+    {
+        final int idx = Arrays.binarySearch(terms, term);
+        return idx < 0 ? -(idx + 1) : idx;
+    }
+
+    /**
+     * Gets the number of distinct terms in this index.
+     *
+     * @return The number of distinct terms in this index.
+     */
+    public int getTermCount()
+    {
+        return terms.length;
+    }
+}
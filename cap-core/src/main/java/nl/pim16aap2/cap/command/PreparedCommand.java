@@ -0,0 +1,376 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.command;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Singular;
+import nl.pim16aap2.cap.CAP;
+import nl.pim16aap2.cap.argument.Argument;
+import nl.pim16aap2.cap.commandsender.BufferedCommandSender;
+import nl.pim16aap2.cap.commandsender.ICommandSender;
+import nl.pim16aap2.cap.exception.CAPException;
+import nl.pim16aap2.cap.exception.ExceptionHandler;
+import nl.pim16aap2.cap.exception.IllegalValueException;
+import nl.pim16aap2.cap.exception.MissingArgumentException;
+import nl.pim16aap2.cap.exception.NoPermissionException;
+import nl.pim16aap2.cap.exception.ValidationFailureException;
+import org.jetbrains.annotations.Nullable;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents a {@link Command} with a set of {@link Argument} bindings that can be executed repeatedly without parsing
+ * any input.
+ * <p>
+ * The {@link Command} and all its {@link Argument}s are resolved once when the {@link PreparedCommand} is created. The
+ * values of the {@link #variables} are then provided for every execution, either as values of the types of their
+ * {@link Argument}s (see {@link #getResult(ICommandSender, Object...)}) or as tokens that still need to be parsed (see
+ * {@link #getResultFromTokens(ICommandSender, String...)}). Either way, the input is never tokenized and no {@link
+ * Command}s or {@link Argument}s have to be looked up.
+ * <p>
+ * The permission of the {@link ICommandSender} is checked and all values are validated for every execution, just like
+ * when parsing input using {@link CAP#parseInput(ICommandSender, String)}.
+ * <p>
+ * For example, '/bigdoors addowner mydoor --player pim16aap2' could be prepared like so:
+ * <pre>{@code
+ * PreparedCommand addOwner = cap.prepare("bigdoors addowner").value("door", "mydoor").variable("player").build();
+ * addOwner.run(commandSender, "pim16aap2");
+ * }</pre>
+ *
+ * @author Pim
+ */
+public class PreparedCommand
+{
+    /**
+     * The {@link Command} to execute.
+     */
+    @Getter
+    private final @NonNull Command command;
+
+    /**
+     * The {@link Argument}s whose values are the same for every execution, mapped to those values.
+     */
+    private final @NonNull Map<@NonNull Argument<?>, Object> fixedValues;
+
+    /**
+     * The {@link Argument}s whose values are provided for every execution, in the order in which the values are
+     * provided.
+     */
+    private final @NonNull List<@NonNull Argument<?>> variables;
+
+    /**
+     * The {@link Argument}s that are not bound at all, so their default values are used. See {@link
+     * Argument#getDefault()}.
+     */
+    private final @NonNull List<@NonNull Argument<?>> unbound;
+
+    /**
+     * @param command   The {@link Command} to execute.
+     * @param values    The identifiers of the {@link Argument}s whose values are the same for every execution, mapped
+     *                  to those values. See {@link Argument#getIdentifier()}. The values have to be of the types of
+     *                  their {@link Argument}s.
+     * @param variables The identifiers of the {@link Argument}s whose values are provided for every execution, in the
+     *                  order in which the values will be provided. See {@link Argument#getIdentifier()}.
+     * @throws IllegalArgumentException If any of the identifiers does not belong to an {@link Argument} of the {@link
+     *                                  Command}, if an {@link Argument} is bound more than once, or if a required
+     *                                  {@link Argument} is not bound.
+     */
+    @Builder
+    private PreparedCommand(final @NonNull Command command, final @NonNull Map<@NonNull String, Object> values,
+                            final @Singular List<@NonNull String> variables)
+    {
+        this.command = command;
+
+        final @NonNull Map<@NonNull String, Argument<?>> arguments = new HashMap<>();
+        command.getArgumentManager().getArguments()
+               .forEach(argument -> arguments.put(argument.getIdentifier(), argument));
+
+        fixedValues = new HashMap<>(values.size());
+        values.forEach((identifier, value) -> fixedValues.put(getArgument(arguments, identifier), value));
+
+        this.variables = new ArrayList<>(variables.size());
+        for (final @NonNull String identifier : variables)
+        {
+            final @NonNull Argument<?> argument = getArgument(arguments, identifier);
+            if (fixedValues.containsKey(argument) || this.variables.contains(argument))
+                throw new IllegalArgumentException("Argument \"" + identifier + "\" was bound more than once!");
+            this.variables.add(argument);
+        }
+
+        unbound = new ArrayList<>(arguments.values());
+        unbound.removeAll(fixedValues.keySet());
+        unbound.removeAll(this.variables);
+        for (final @NonNull Argument<?> argument : unbound)
+            if (argument.isRequired())
+                throw new IllegalArgumentException("Required argument \"" + argument.getIdentifier() +
+                                                       "\" of command \"" + command.getIdentifier() +
+                                                       "\" was not bound!");
+    }
+
+    private @NonNull Argument<?> getArgument(final @NonNull Map<@NonNull String, Argument<?>> arguments,
+                                             final @NonNull String identifier)
+    {
+        final @Nullable Argument<?> argument = arguments.get(identifier);
+        if (argument == null)
+            throw new IllegalArgumentException("Command \"" + command.getIdentifier() +
+                                                   "\" does not have an argument \"" + identifier + "\"!");
+        return argument;
+    }
+
+    /**
+     * Gets the identifiers of the {@link Argument}s whose values have to be provided for every execution, in the order
+     * in which they have to be provided.
+     *
+     * @return The identifiers of the variable {@link Argument}s.
+     */
+    public @NonNull List<@NonNull String> getVariables()
+    {
+        final @NonNull List<@NonNull String> ret = new ArrayList<>(variables.size());
+        variables.forEach(argument -> ret.add(argument.getIdentifier()));
+        return Collections.unmodifiableList(ret);
+    }
+
+    /**
+     * Creates a {@link CommandResult} from values of the types of the variable {@link Argument}s. See {@link
+     * Argument#getParsedValue(Object, CAP, ICommandSender, Command)}.
+     *
+     * @param commandSender The {@link ICommandSender} that executes the {@link Command}.
+     * @param values        The values of the variable {@link Argument}s in the order of {@link #getVariables()}. A null
+     *                      value means that the default value of the {@link Argument} is used.
+     * @return The {@link CommandResult} that can be used to execute the {@link Command}.
+     *
+     * @throws NoPermissionException      If the {@link ICommandSender} does not have permission to use the {@link
+     *                                    Command}. See {@link Command#checkPermission(ICommandSender)}.
+     * @throws ValidationFailureException If any of the values was not valid.
+     * @throws MissingArgumentException   If the value of a required {@link Argument} is null.
+     * @throws IllegalArgumentException   If the number of values does not match the number of variables.
+     */
+    public @NonNull CommandResult getResult(final @NonNull ICommandSender commandSender, final Object... values)
+        throws NoPermissionException, ValidationFailureException, MissingArgumentException
+    {
+        verifyCount(values.length);
+        final @NonNull Map<@NonNull String, Argument.IParsedArgument<?>> results = prepareResults(commandSender);
+        for (int idx = 0; idx < values.length; ++idx)
+            putValue(results, commandSender, variables.get(idx), values[idx]);
+        return new CommandResult(commandSender, command, results);
+    }
+
+    /**
+     * Creates a {@link CommandResult} from the tokens of the variable {@link Argument}s. Only these tokens are parsed.
+     * See {@link Argument#getParsedArgument(String, CAP, ICommandSender, Command)}.
+     *
+     * @param commandSender The {@link ICommandSender} that executes the {@link Command}.
+     * @param tokens        The tokens of the variable {@link Argument}s in the order of {@link #getVariables()}. A
+     *                      null token means that the default value of the {@link Argument} is used.
+     * @return The {@link CommandResult} that can be used to execute the {@link Command}.
+     *
+     * @throws NoPermissionException      If the {@link ICommandSender} does not have permission to use the {@link
+     *                                    Command}. See {@link Command#checkPermission(ICommandSender)}.
+     * @throws ValidationFailureException If any of the values was not valid.
+     * @throws IllegalValueException      If any of the tokens could not be parsed.
+     * @throws MissingArgumentException   If the token of a required {@link Argument} is null.
+     * @throws IllegalArgumentException   If the number of tokens does not match the number of variables.
+     */
+    public @NonNull CommandResult getResultFromTokens(final @NonNull ICommandSender commandSender,
+                                                      final @Nullable String... tokens)
+        throws NoPermissionException, ValidationFailureException, IllegalValueException, MissingArgumentException
+    {
+        verifyCount(tokens.length);
+        final @NonNull Map<@NonNull String, Argument.IParsedArgument<?>> results = prepareResults(commandSender);
+        for (int idx = 0; idx < tokens.length; ++idx)
+        {
+            final @NonNull Argument<?> argument = variables.get(idx);
+            final @Nullable String token = tokens[idx];
+            if (token == null)
+                putValue(results, commandSender, argument, null);
+            else
+                results.put(argument.getIdentifier(),
+                            argument.getParsedArgument(token, command.getCap(), commandSender, command));
+        }
+        return new CommandResult(commandSender, command, results);
+    }
+
+    /**
+     * Executes the {@link Command} with values of the types of the variable {@link Argument}s. See {@link
+     * #getResult(ICommandSender, Object...)}.
+     * <p>
+     * Any {@link CAPException}s are handled by the {@link CAP#getExceptionHandler()}, just like when executing input
+     * parsed by {@link CAP#parseInput(ICommandSender, String)}.
+     *
+     * @param commandSender The {@link ICommandSender} that executes the {@link Command}.
+     * @param values        The values of the variable {@link Argument}s in the order of {@link #getVariables()}.
+     * @return True if the {@link Command} was executed.
+     */
+    public boolean run(final @NonNull ICommandSender commandSender, final Object... values)
+    {
+        final @NonNull CommandResult result;
+        try
+        {
+            result = getResult(commandSender, values);
+        }
+        catch (CAPException exception)
+        {
+            handleException(commandSender, exception);
+            return false;
+        }
+        result.run();
+        return true;
+    }
+
+    /**
+     * Executes the {@link Command} with the tokens of the variable {@link Argument}s. See {@link
+     * #getResultFromTokens(ICommandSender, String...)}.
+     * <p>
+     * Any {@link CAPException}s are handled by the {@link CAP#getExceptionHandler()}, just like when executing input
+     * parsed by {@link CAP#parseInput(ICommandSender, String)}.
+     *
+     * @param commandSender The {@link ICommandSender} that executes the {@link Command}.
+     * @param tokens        The tokens of the variable {@link Argument}s in the order of {@link #getVariables()}.
+     * @return True if the {@link Command} was executed.
+     */
+    public boolean runTokens(final @NonNull ICommandSender commandSender, final @Nullable String... tokens)
+    {
+        final @NonNull CommandResult result;
+        try
+        {
+            result = getResultFromTokens(commandSender, tokens);
+        }
+        catch (CAPException exception)
+        {
+            handleException(commandSender, exception);
+            return false;
+        }
+        result.run();
+        return true;
+    }
+
+    private void verifyCount(final int count)
+    {
+        if (count != variables.size())
+            throw new IllegalArgumentException("Expected " + variables.size() + " values for command \"" +
+                                                   command.getIdentifier() + "\", but received " + count + "!");
+    }
+
+    /**
+     * Checks the permission of the {@link ICommandSender} and creates the map of parsed {@link Argument}s with the
+     * {@link #fixedValues} and the default values of the {@link #unbound} {@link Argument}s.
+     *
+     * @param commandSender The {@link ICommandSender} that executes the {@link Command}.
+     * @return The map of parsed {@link Argument}s without any of the {@link #variables}.
+     *
+     * @throws NoPermissionException      If the {@link ICommandSender} does not have permission to use the {@link
+     *                                    Command}.
+     * @throws ValidationFailureException If any of the {@link #fixedValues} was not valid.
+     * @throws MissingArgumentException   If the value of a required {@link Argument} is null.
+     */
+    private @NonNull Map<@NonNull String, Argument.IParsedArgument<?>> prepareResults(
+        final @NonNull ICommandSender commandSender)
+        throws NoPermissionException, ValidationFailureException, MissingArgumentException
+    {
+        final @NonNull CAP cap = command.getCap();
+        if (!command.checkPermission(commandSender))
+            throw new NoPermissionException(commandSender, command,
+                                            cap.getLocalizer().getMessage("error.exception.noPermission",
+                                                                          commandSender), cap.isDebug());
+
+        final @NonNull Map<@NonNull String, Argument.IParsedArgument<?>> results =
+            new HashMap<>(fixedValues.size() + variables.size() + unbound.size());
+        for (final @NonNull Map.Entry<@NonNull Argument<?>, Object> entry : fixedValues.entrySet())
+            putValue(results, commandSender, entry.getKey(), entry.getValue());
+        for (final @NonNull Argument<?> argument : unbound)
+            results.put(argument.getIdentifier(), argument.getDefault());
+        return results;
+    }
+
+    private void putValue(final @NonNull Map<@NonNull String, Argument.IParsedArgument<?>> results,
+                          final @NonNull ICommandSender commandSender, final @NonNull Argument<?> argument,
+                          final @Nullable Object value)
+        throws ValidationFailureException, MissingArgumentException
+    {
+        final @NonNull CAP cap = command.getCap();
+        if (value == null && argument.isRequired())
+        {
+            final @NonNull String localizedMessage =
+                MessageFormat.format(cap.getLocalizer().getMessage("error.exception.missingArgument", commandSender),
+                                     argument.getLongName(cap.getLocalizer(), commandSender.getLocale()));
+            throw new MissingArgumentException(command, argument, localizedMessage, cap.isDebug());
+        }
+        results.put(argument.getIdentifier(), argument.getParsedValue(value, cap, commandSender, command));
+    }
+
+    private void handleException(final @NonNull ICommandSender commandSender, final @NonNull CAPException exception)
+    {
+        final @Nullable ExceptionHandler exceptionHandler = command.getCap().getExceptionHandler();
+        try
+        {
+            if (exceptionHandler == null)
+                throw new RuntimeException(exception);
+            exceptionHandler.handleException(commandSender, exception);
+        }
+        finally
+        {
+            BufferedCommandSender.flush(commandSender);
+        }
+    }
+
+    public static class PreparedCommandBuilder
+    {
+        private final @NonNull Map<@NonNull String, Object> values = new LinkedHashMap<>();
+
+        /**
+         * Binds a value to an {@link Argument}. The value is the same for every execution of the {@link
+         * PreparedCommand}.
+         *
+         * @param identifier The identifier of the {@link Argument}. See {@link Argument#getIdentifier()}.
+         * @param value      The value of the {@link Argument}. This has to be of the type of the {@link Argument}.
+         * @return This {@link PreparedCommandBuilder} instance.
+         */
+        public @NonNull PreparedCommandBuilder value(final @NonNull String identifier, final @Nullable Object value)
+        {
+            values.put(identifier, value);
+            return this;
+        }
+
+        /**
+         * Binds values to a number of {@link Argument}s. See {@link #value(String, Object)}.
+         *
+         * @param values The identifiers of the {@link Argument}s mapped to their values.
+         * @return This {@link PreparedCommandBuilder} instance.
+         */
+        public @NonNull PreparedCommandBuilder values(final @NonNull Map<@NonNull String, ?> values)
+        {
+            this.values.putAll(values);
+            return this;
+        }
+    }
+}
@@ -28,6 +28,10 @@ import lombok.Getter;
 import lombok.NonNull;
 import nl.pim16aap2.cap.argument.Argument;
 import nl.pim16aap2.cap.command.Command;
+import nl.pim16aap2.cap.metrics.IMetricsRecorder;
+import nl.pim16aap2.cap.metrics.MetricsPhase;
+import nl.pim16aap2.cap.util.CharSequenceSlice;
+import nl.pim16aap2.cap.util.IntArrayList;
 import nl.pim16aap2.cap.util.Util;
 import org.jetbrains.annotations.Nullable;
 
@@ -54,6 +58,11 @@ class CommandLineInput
     @Getter
     private final @NonNull List<@NonNull String> args;
 
+    /**
+     * The index in the {@link #rawInput} at which each entry in {@link #args} starts.
+     */
+    private final @NonNull int[] offsets;
+
     /**
      * The raw input.
      */
@@ -70,10 +79,34 @@ class CommandLineInput
     @Getter
     private boolean completeQuotationMarks = true;
 
+    /**
+     * The amount of time (in nanoseconds) it took to tokenize the {@link #rawInput}. This is -1 when it was not
+     * measured.
+     * <p>
+     * See {@link MetricsPhase#TOKENIZE}.
+     */
+    @Getter
+    private final long tokenizeDuration;
+
     public CommandLineInput(final @NonNull String rawInput)
     {
+        this(rawInput, IMetricsRecorder.disabled());
+    }
+
+    /**
+     * @param rawInput The raw input.
+     * @param metrics  The {@link IMetricsRecorder} that determines whether to measure the {@link
+     *                 #tokenizeDuration}.
+     */
+    public CommandLineInput(final @NonNull String rawInput, final @NonNull IMetricsRecorder metrics)
+    {
+        final long start = metrics.start();
         this.rawInput = rawInput;
-        args = preprocess(split(rawInput));
+        final @NonNull IntArrayList rawOffsets = new IntArrayList(16);
+        final @NonNull IntArrayList argOffsets = new IntArrayList(16);
+        args = preprocess(split(rawInput, rawOffsets), rawOffsets, argOffsets);
+        offsets = argOffsets.toIntArray();
+        tokenizeDuration = metrics.isEnabled() ? System.nanoTime() - start : -1;
     }
 
     /**
@@ -86,16 +119,46 @@ class CommandLineInput
         return args.size();
     }
 
+    /**
+     * Gets the index in the {@link #rawInput} at which an entry in {@link #args} starts.
+     *
+     * @param idx The index of the entry in {@link #args}.
+     * @return The index in the {@link #rawInput} at which the entry starts.
+     */
+    public int getOffset(final int idx)
+    {
+        return offsets[idx];
+    }
+
+    /**
+     * Gets the remainder of the {@link #rawInput} from a specific index onwards as a view, without any leading or
+     * trailing whitespace.
+     * <p>
+     * Unlike the entries in {@link #args}, the remainder is exactly as it was typed, so quotation marks are not
+     * removed.
+     *
+     * @param start The index in the {@link #rawInput} at which the remainder starts.
+     * @return The remainder of the {@link #rawInput}.
+     */
+    public @NonNull CharSequenceSlice getRemainder(final int start)
+    {
+        return CharSequenceSlice.trimmed(rawInput, start, rawInput.length());
+    }
+
     /**
      * Preprocesses the arguments.
      * <p>
      * Any arguments that are split by spaces (and therefore in different entries) while they should be in a single
      * entry (because of quotation marks, e.g. 'name="my name"') will be merged into single entries.
      *
-     * @param rawArgs The raw array of arguments split by spaces.
+     * @param rawArgs    The raw array of arguments split by spaces.
+     * @param rawOffsets The index in the raw input at which each of the raw arguments starts.
+     * @param offsets    The list to store the index in the raw input at which each preprocessed argument starts in.
      * @return The list of preprocessed arguments.
      */
-    protected @NonNull List<@NonNull String> preprocess(final @NonNull List<@NonNull String> rawArgs)
+    protected @NonNull List<@NonNull String> preprocess(final @NonNull List<@NonNull String> rawArgs,
+                                                        final @NonNull IntArrayList rawOffsets,
+                                                        final @NonNull IntArrayList offsets)
     {
         final @NonNull ArrayList<@NonNull String> argsList = new ArrayList<>(rawArgs.size());
 
@@ -121,14 +184,20 @@ class CommandLineInput
                 // As such, we can add it to the list directly. Otherwise, we can add it to the arg and look for the
                 // termination quotation mark in the next string.
                 if (arg == null)
+                {
                     argsList.add(entry);
+                    offsets.add(rawOffsets.getInt(idx));
+                }
                 else
                     arg += entry;
             }
             else
             {
                 if (arg == null)
+                {
                     arg = entry;
+                    offsets.add(rawOffsets.getInt(idx));
+                }
                 else
                 {
                     argsList.add(arg + entry);
@@ -157,6 +226,20 @@ class CommandLineInput
      * @return The input split on spaces.
      */
     public static @NonNull List<@NonNull String> split(final @NonNull String input)
+    {
+        return split(input, new IntArrayList(16));
+    }
+
+    /**
+     * Splits a string containing a input on spaces while preserving whitespace as trailing whitespace. See {@link
+     * #split(String)}.
+     *
+     * @param input   The string to split.
+     * @param offsets The list to store the index in the input at which each entry starts in.
+     * @return The input split on spaces.
+     */
+    private static @NonNull List<@NonNull String> split(final @NonNull String input,
+                                                        final @NonNull IntArrayList offsets)
     {
         final @NonNull List<@NonNull String> args = new ArrayList<>();
         int startIdx = 0;
@@ -171,13 +254,17 @@ class CommandLineInput
                 if (lastWhiteSpace)
                 {
                     args.add(input.substring(startIdx, idx));
+                    offsets.add(startIdx);
                     startIdx = idx;
                 }
                 lastWhiteSpace = false;
             }
         }
         if (startIdx < input.length())
+        {
             args.add(input.substring(startIdx));
+            offsets.add(startIdx);
+        }
         return args;
     }
 
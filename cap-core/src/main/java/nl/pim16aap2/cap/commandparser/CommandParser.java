@@ -29,11 +29,15 @@ import lombok.NonNull;
 import lombok.Value;
 import nl.pim16aap2.cap.CAP;
 import nl.pim16aap2.cap.argument.Argument;
+import nl.pim16aap2.cap.argument.GreedyArgument;
+import nl.pim16aap2.cap.argument.parser.AsyncArgumentParser;
 import nl.pim16aap2.cap.argument.validator.IArgumentValidator;
 import nl.pim16aap2.cap.command.Command;
 import nl.pim16aap2.cap.command.CommandResult;
 import nl.pim16aap2.cap.commandsender.ICommandSender;
+import nl.pim16aap2.cap.exception.CAPException;
 import nl.pim16aap2.cap.exception.CommandNotFoundException;
+import nl.pim16aap2.cap.exception.DeferredArgumentException;
 import nl.pim16aap2.cap.exception.IllegalValueException;
 import nl.pim16aap2.cap.exception.MissingArgumentException;
 import nl.pim16aap2.cap.exception.MissingValueException;
@@ -41,15 +45,22 @@ import nl.pim16aap2.cap.exception.NoPermissionException;
 import nl.pim16aap2.cap.exception.NonExistingArgumentException;
 import nl.pim16aap2.cap.exception.UnmatchedQuoteException;
 import nl.pim16aap2.cap.exception.ValidationFailureException;
+import nl.pim16aap2.cap.metrics.IMetricsRecorder;
+import nl.pim16aap2.cap.metrics.MetricsPhase;
 import nl.pim16aap2.cap.util.Pair;
 import nl.pim16aap2.cap.util.Util;
 import org.jetbrains.annotations.Nullable;
 
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.regex.Pattern;
 
 /**
@@ -131,7 +142,7 @@ public class CommandParser
                          final @NonNull String input, final char separator)
         throws UnmatchedQuoteException
     {
-        this(cap, commandSender, new CommandLineInput(input), separator);
+        this(cap, commandSender, new CommandLineInput(input, cap.getMetrics()), separator);
 
         if (!this.input.isCompleteQuotationMarks())
             throw new UnmatchedQuoteException(input, cap.getLocalizer()
@@ -191,7 +202,7 @@ public class CommandParser
      * @throws NonExistingArgumentException If one of the specified arguments does not exist.
      * @throws MissingArgumentException     If a required argument was not specified.
      * @throws NoPermissionException        If the {@link ICommandSender} does not have permission to use this command.
-     *                                      See {@link Command#hasPermission(ICommandSender)}.
+     *                                      See {@link Command#checkPermission(ICommandSender)}.
      * @throws ValidationFailureException   If the value of an {@link Argument} could not be validated. See {@link
      *                                      IArgumentValidator#validate(CAP, ICommandSender, Argument, Object)}.
      * @throws IllegalValueException        If the specified value of an {@link Argument} is illegal.
@@ -201,14 +212,100 @@ public class CommandParser
         throws CommandNotFoundException, NonExistingArgumentException, MissingArgumentException, NoPermissionException,
                ValidationFailureException, IllegalValueException, MissingValueException
     {
+        return parse(cap.isLazyArgumentParsing());
+    }
+
+    /**
+     * Parses the arguments asynchronously.
+     * <p>
+     * The input is checked for missing or non-existing (sub){@link Command}s and {@link Argument}s on the current
+     * thread. After that, all values are parsed and validated at the same time (see {@link
+     * Argument#getParsedArgumentAsync(String, CAP, ICommandSender, Command)}), so that the lookups of {@link
+     * AsyncArgumentParser}s can run concurrently.
+     * <p>
+     * Note that all values are always parsed, even when {@link CAP#isLazyArgumentParsing()} is enabled.
+     *
+     * @return The {@link CompletableFuture} that will be completed with the result of parsing the arguments once all
+     * values have been parsed. When the input is not valid, it is completed exceptionally with the {@link CAPException}
+     * that {@link #parse()} would have thrown.
+     */
+    public @NonNull CompletableFuture<CommandResult> parseAsync()
+    {
+        final @NonNull CommandResult commandResult;
+        try
+        {
+            commandResult = parse(true);
+        }
+        catch (CAPException e)
+        {
+            final @NonNull CompletableFuture<CommandResult> result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        if (commandResult.getParsedArguments() == null)
+            return CompletableFuture.completedFuture(commandResult);
+
+        final @NonNull List<@NonNull LazyParsedArgument<?>> deferred = new ArrayList<>();
+        for (final Argument.IParsedArgument<?> parsedArgument : commandResult.getParsedArguments().values())
+            if (parsedArgument instanceof LazyParsedArgument)
+                deferred.add((LazyParsedArgument<?>) parsedArgument);
+
+        final @NonNull CompletableFuture<?>[] futures = new CompletableFuture<?>[deferred.size()];
+        for (int idx = 0; idx < futures.length; ++idx)
+            futures[idx] = deferred.get(idx).resolveAsync();
+
+        return CompletableFuture.allOf(futures).thenApply(
+            ignored ->
+            {
+                // The parsed arguments are in the order they were specified in, so the exception for the first
+                // illegal value is used, just like when parsing the values synchronously.
+                for (final @NonNull LazyParsedArgument<?> parsedArgument : deferred)
+                {
+                    final @Nullable DeferredArgumentException failure = parsedArgument.getFailure();
+                    if (failure != null)
+                        throw new CompletionException(failure.getException());
+                }
+                return commandResult;
+            });
+    }
+
+    /**
+     * Parses the arguments.
+     *
+     * @param deferParsing Whether to defer parsing the values of the {@link Argument}s. See {@link
+     *                     LazyParsedArgument}.
+     * @return The result of parsing the argument.
+     *
+     * @see #parse()
+     */
+    private @NonNull CommandResult parse(final boolean deferParsing)
+        throws CommandNotFoundException, NonExistingArgumentException, MissingArgumentException, NoPermissionException,
+               ValidationFailureException, IllegalValueException, MissingValueException
+    {
+        final @NonNull IMetricsRecorder metrics = cap.getMetrics();
+        final long getLastCommandStart = metrics.start();
         final @NonNull ParsedCommand parsedCommand = getLastCommand();
-        if (!parsedCommand.getCommand().hasPermission(commandSender))
+        if (metrics.isEnabled())
+        {
+            final @NonNull String identifier = parsedCommand.getCommand().getIdentifier();
+            metrics.stop(MetricsPhase.GET_LAST_COMMAND, identifier, getLastCommandStart);
+            if (input.getTokenizeDuration() >= 0)
+                metrics.record(MetricsPhase.TOKENIZE, identifier, input.getTokenizeDuration());
+        }
+
+        // The result of the visibility cache may be outdated, so always check the permission when executing.
+        if (!parsedCommand.getCommand().checkPermission(commandSender))
         {
             final @NonNull String localizedMessage = cap.getLocalizer()
                                                         .getMessage("error.exception.noPermission", commandSender);
             throw new NoPermissionException(commandSender, parsedCommand.getCommand(), localizedMessage, cap.isDebug());
         }
 
+        // If the help argument was specified, none of the other arguments matter, so don't bother parsing them.
+        if (isHelpRequested(parsedCommand.getCommand(), parsedCommand.getIndex()))
+            return new CommandResult(commandSender, parsedCommand.getCommand(), null);
+
         final int argCount = input.size() - 1 - parsedCommand.index;
         final int requiredArgCount = parsedCommand.getCommand().getArgumentManager().getRequiredArguments().size();
         if (argCount == 0 && requiredArgCount == 0)
@@ -232,9 +329,12 @@ public class CommandParser
                                             localizedMessage, cap.isDebug());
         }
 
-        return new CommandResult(commandSender, parsedCommand.getCommand(),
-                                 parseArguments(parsedCommand.getCommand(),
-                                                parsedCommand.getIndex()));
+        final long parseArgumentsStart = metrics.start();
+        final @NonNull Map<@NonNull String, Argument.IParsedArgument<?>> parsedArguments =
+            parseArguments(parsedCommand.getCommand(), parsedCommand.getIndex(), deferParsing);
+        metrics.stop(MetricsPhase.PARSE_ARGUMENTS, parsedCommand.getCommand().getIdentifier(), parseArgumentsStart);
+
+        return new CommandResult(commandSender, parsedCommand.getCommand(), parsedArguments);
     }
 
     /**
@@ -288,12 +388,97 @@ public class CommandParser
             .orElse(false);
     }
 
+    /**
+     * Checks if the help {@link Argument} of a {@link Command} was specified in the {@link #input} without parsing any
+     * of the other {@link Argument}s. See {@link Command#helpArgument}.
+     * <p>
+     * Because values of free {@link Argument}s cannot be the name of another free {@link Argument} (see {@link
+     * #isFreeArgumentName(ICommandSender, Command, String)}), every entry that starts with the {@link #ARGUMENT_PREFIX}
+     * is the name of a free {@link Argument}.
+     *
+     * Entries that are part of the value of a greedy {@link Argument} are not checked, as the greedy {@link Argument}
+     * consumes them (see {@link #findGreedyArgument(Command, int, int)}).
+     *
+     * @param command The {@link Command} whose help {@link Argument} to look for.
+     * @param idx     The index of the {@link Command} in {@link #input}. Only values with a higher index than this will
+     *                be checked.
+     * @return True if the help {@link Argument} of the {@link Command} was specified.
+     */
+    protected boolean isHelpRequested(final @NonNull Command command, final int idx)
+    {
+        final @Nullable Argument<?> helpArgument = command.getHelpArgument();
+        if (helpArgument == null)
+            return false;
+
+        final @Nullable Pair<Argument<?>, Integer> greedyArgument = findGreedyArgument(command, idx, input.size());
+        final int end = greedyArgument == null ? input.size() : greedyArgument.second;
+        for (int pos = idx + 1; pos < end; ++pos)
+        {
+            final @NonNull String nextArg = input.getArgs().get(pos);
+            if (nextArg.isEmpty() || nextArg.charAt(0) != ARGUMENT_PREFIX)
+                continue;
+
+            final @NonNull String argumentName = separatorPattern.split(nextArg, 2)[0].trim();
+            final boolean isHelpArgument = lStripArgumentPrefix(argumentName)
+                .flatMap(stripped -> command.getArgumentManager().getArgument(stripped, commandSender))
+                .map(argument -> argument.getIdentifier().equals(helpArgument.getIdentifier()))
+                .orElse(false);
+            if (isHelpArgument)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Finds the first greedy {@link Argument} in the {@link #input} (see {@link Argument#isGreedy()}).
+     * <p>
+     * The entries are walked in the same way as when parsing them: Entries that start with the {@link #ARGUMENT_PREFIX}
+     * are free {@link Argument}s (followed by their values when space separated) and all other entries are the values
+     * of the positional {@link Argument}s, in order.
+     *
+     * @param command The {@link Command} whose {@link Argument}s to look for.
+     * @param idx     The index of the {@link Command} in {@link #input}. Only values with a higher index than this will
+     *                be checked.
+     * @param end     The index of the first entry in {@link #input} that will not be checked.
+     * @return The first greedy {@link Argument} and the index of the entry in {@link #input} where it starts, if any.
+     */
+    protected @Nullable Pair<Argument<?>, Integer> findGreedyArgument(final @NonNull Command command, final int idx,
+                                                                      final int end)
+    {
+        int positionalArgumentIdx = 0;
+        for (int pos = idx + 1; pos < end; ++pos)
+        {
+            final @NonNull String entry = input.getArgs().get(pos);
+            final @NonNull Optional<String> freeArgumentName = lStripArgumentPrefix(entry);
+            final @Nullable Argument<?> argument;
+            if (freeArgumentName.isPresent())
+            {
+                final @NonNull String argumentName = separatorPattern.split(freeArgumentName.get(), 2)[0].trim();
+                argument = command.getArgumentManager().getArgument(argumentName, commandSender).orElse(null);
+                if (argument != null && argument.isGreedy())
+                    return new Pair<>(argument, pos);
+                // When space separated, the value of a free argument is stored in the next entry.
+                if (argument != null && spaceSeparated && !argument.isValuesLess())
+                    ++pos;
+            }
+            else
+            {
+                argument = command.getArgumentManager().getPositionalArgumentAtIdx(positionalArgumentIdx++)
+                                  .orElse(null);
+                if (argument != null && argument.isGreedy())
+                    return new Pair<>(argument, pos);
+            }
+        }
+        return null;
+    }
+
     /**
      * Parses all the {@link Argument}s for a given {@link Command}.
      *
-     * @param command The {@link Command} to parse the {@link Argument}s for.
-     * @param idx     The index of the {@link Command} in {@link #input}. All values with a higher index than this will
-     *                be processed as {@link Argument}s.
+     * @param command      The {@link Command} to parse the {@link Argument}s for.
+     * @param idx          The index of the {@link Command} in {@link #input}. All values with a higher index than this
+     *                     will be processed as {@link Argument}s.
+     * @param deferParsing Whether to store the raw values in {@link LazyParsedArgument}s instead of parsing them.
      * @return The map of {@link Argument.IParsedArgument}s resulting from parsing the input. Any missing optional
      * {@link Argument}s with default values will be assigned their default value. {@link Argument#getIdentifier()} is
      * used for the keys in the map.
@@ -303,13 +488,20 @@ public class CommandParser
      * @throws ValidationFailureException   If the value of an {@link Argument} could not be validated. See {@link
      *                                      IArgumentValidator#validate(CAP, ICommandSender, Argument, Object)}
      * @throws IllegalValueException        If the specified value of an {@link Argument} is illegal.
+     * @throws CommandNotFoundException     If the first value after a {@link Command} with sub{@link Command}s is
+     *                                      neither a sub{@link Command} nor a valid value for a positional {@link
+     *                                      Argument}. See {@link #commandNotFound(Command, String)}.
      */
-    private @Nullable Map<@NonNull String, Argument.IParsedArgument<?>> parseArguments(final @NonNull Command command,
-                                                                                       final int idx)
+    private @NonNull Map<@NonNull String, Argument.IParsedArgument<?>> parseArguments(final @NonNull Command command,
+                                                                                      final int idx,
+                                                                                      final boolean deferParsing)
         throws NonExistingArgumentException, MissingArgumentException, ValidationFailureException,
-               IllegalValueException, MissingValueException
+               IllegalValueException, MissingValueException, CommandNotFoundException
     {
-        final @NonNull Map<@NonNull String, Argument.IParsedArgument<?>> results = new HashMap<>();
+        // Keep the parsed arguments in the order they were specified in, so deferred values can be parsed in order.
+        final @NonNull Map<@NonNull String, Argument.IParsedArgument<?>> results = new LinkedHashMap<>();
+        // When not deferring, the values of repeatable arguments are collected until another value has to be parsed.
+        final @NonNull Map<@NonNull String, LazyParsedArgument<?>> pending = new LinkedHashMap<>();
 
         int requiredArgumentIdx = 0;
         for (int pos = idx + 1; pos < input.size(); ++pos)
@@ -317,6 +509,9 @@ public class CommandParser
             final String nextArg = input.getArgs().get(pos);
             final @NonNull Argument<?> argument;
             @NonNull String value;
+            // The index in the raw input where the value starts. Used by greedy arguments.
+            int valueStart = -1;
+            boolean possibleSubCommand = false;
             if (nextArg.charAt(0) == ARGUMENT_PREFIX)
             {
                 // If the second character is also an ARGUMENT_PREFIX, then the long name is used
@@ -356,7 +551,10 @@ public class CommandParser
                         // If the next value is another argument, then we can conclude that the
                         // value we found is not a value (it's an argument).
                         if (foundValue != null)
+                        {
                             foundValue = isFreeArgumentName(commandSender, command, foundValue) ? null : foundValue;
+                            valueStart = input.getOffset(nextPos);
+                        }
                         pos += 1;
                     }
                     else
@@ -364,6 +562,7 @@ public class CommandParser
                         foundValue = parts.length == 1 ? null : parts[1].trim();
                         // If the value is empty, there was no value, so set it to null.
                         foundValue = (foundValue != null && foundValue.isEmpty()) ? null : foundValue;
+                        valueStart = input.getRawInput().indexOf(separator, input.getOffset(pos)) + 1;
                     }
 
                     // If no value is found, or if the value is another argument specification,
@@ -380,24 +579,86 @@ public class CommandParser
             }
             else
             {
+                // The first value after a command with subcommands that cannot be parsed is most likely a
+                // misspelled subcommand, so suggest the subcommands that were probably meant.
+                possibleSubCommand = pos == idx + 1 && !command.getSubCommands().isEmpty();
                 final int currentRequiredArgumentIdx = requiredArgumentIdx;
-                argument = command.getArgumentManager().getPositionalArgumentAtIdx(currentRequiredArgumentIdx)
-                                  .orElseThrow(
-                                      () ->
-                                      {
-                                          final @NonNull String localizedMessage =
-                                              MessageFormat.format(cap.getLocalizer()
-                                                                      .getMessage("error.exception.nonExistingArgument",
-                                                                                  commandSender), nextArg);
-                                          return new NonExistingArgumentException(command, nextArg,
-                                                                                  localizedMessage, cap.isDebug());
-                                      });
+                final @Nullable Argument<?> positionalArgument =
+                    command.getArgumentManager().getPositionalArgumentAtIdx(currentRequiredArgumentIdx).orElse(null);
+                if (positionalArgument == null)
+                {
+                    if (possibleSubCommand)
+                    {
+                        final @NonNull CommandNotFoundException notFound = commandNotFound(command, nextArg.trim());
+                        if (!notFound.getSuggestions().isEmpty())
+                            throw notFound;
+                    }
+
+                    final @NonNull String localizedMessage =
+                        MessageFormat.format(cap.getLocalizer()
+                                                .getMessage("error.exception.nonExistingArgument",
+                                                            commandSender), nextArg);
+                    throw new NonExistingArgumentException(command, nextArg, localizedMessage, cap.isDebug());
+                }
+                argument = positionalArgument;
                 ++requiredArgumentIdx;
                 value = nextArg;
+                valueStart = input.getOffset(pos);
+            }
+
+            // Greedy arguments consume the remainder of the raw input, so there is nothing left to parse after them.
+            if (argument.isGreedy())
+            {
+                parsePending(pending, results);
+                results.put(argument.getIdentifier(),
+                            ((GreedyArgument) argument).getParsedRemainder(input.getRemainder(valueStart), cap,
+                                                                           commandSender, command));
+                break;
+            }
+
+            // The values of repeatable arguments are collected first, so they can be parsed all at once.
+            // They are parsed before any other value is, so the values are still validated in order.
+            if (argument.isRepeatable() && !deferParsing)
+            {
+                pending.computeIfAbsent(argument.getIdentifier(),
+                                        key -> new LazyParsedArgument<>(argument, cap, commandSender, command))
+                       .addRawValue(value.trim());
+                continue;
             }
 
-            final @NonNull Argument.IParsedArgument<?> parsedArgument =
-                argument.getParsedArgument(value.trim(), cap, commandSender);
+            // The first value after a command with subcommands is parsed directly when possible, so that it can
+            // be reported as a misspelled subcommand if it cannot be parsed.
+            if (deferParsing && (argument.isRepeatable() || !possibleSubCommand || argument.isAsync()))
+            {
+                final @Nullable Argument.IParsedArgument<?> previous = results.get(argument.getIdentifier());
+                if (previous == null || previous instanceof LazyParsedArgument)
+                {
+                    final @NonNull LazyParsedArgument<?> lazyParsedArgument =
+                        previous == null ? new LazyParsedArgument<>(argument, cap, commandSender, command) :
+                        (LazyParsedArgument<?>) previous;
+                    lazyParsedArgument.addRawValue(value.trim());
+                    results.putIfAbsent(argument.getIdentifier(), lazyParsedArgument);
+                    continue;
+                }
+            }
+
+            parsePending(pending, results);
+
+            final @NonNull Argument.IParsedArgument<?> parsedArgument;
+            try
+            {
+                parsedArgument = argument.getParsedArgument(value.trim(), cap, commandSender, command);
+            }
+            catch (IllegalValueException | ValidationFailureException e)
+            {
+                if (possibleSubCommand)
+                {
+                    final @NonNull CommandNotFoundException notFound = commandNotFound(command, value.trim());
+                    if (!notFound.getSuggestions().isEmpty())
+                        throw notFound;
+                }
+                throw e;
+            }
 
             // If the argument was already parsed before, update the value (in case of a repeatable argument,
             // the value is added to the list).
@@ -408,10 +669,7 @@ public class CommandParser
                 result.updateValue(parsedArgument.getValue());
         }
 
-        // If the help argument was specified, simply return null, because none of the other arguments matter.
-        if (command.getHelpArgument() != null)
-            if (results.containsKey(command.getHelpArgument().getIdentifier()))
-                return null;
+        parsePending(pending, results);
 
         for (final @NonNull Argument<?> argument : command.getArgumentManager().getArguments())
         {
@@ -433,6 +691,80 @@ public class CommandParser
         return results;
     }
 
+    /**
+     * Parses the values of {@link Argument}s that were collected so they could be parsed all at once. See {@link
+     * LazyParsedArgument#parse()}.
+     * <p>
+     * The results are added to the results that were already parsed for the same {@link Argument}, if any.
+     *
+     * @param pending The {@link LazyParsedArgument}s to parse. This map is cleared afterwards.
+     * @param results The map to add the parsed arguments to.
+     *
+     * @throws ValidationFailureException If any of the values was not valid.
+     * @throws IllegalValueException      If any of the values could not be parsed.
+     */
+    private static void parsePending(final @NonNull Map<@NonNull String, LazyParsedArgument<?>> pending,
+                                     final @NonNull Map<@NonNull String, Argument.IParsedArgument<?>> results)
+        throws ValidationFailureException, IllegalValueException
+    {
+        if (pending.isEmpty())
+            return;
+
+        for (final @NonNull Map.Entry<@NonNull String, LazyParsedArgument<?>> entry : pending.entrySet())
+        {
+            final @NonNull Argument.IParsedArgument<?> parsed = entry.getValue().parse();
+            final @Nullable Argument.IParsedArgument<?> previous = results.putIfAbsent(entry.getKey(), parsed);
+            if (previous != null)
+                previous.updateValue(parsed.getValue());
+        }
+        pending.clear();
+    }
+
+    /**
+     * Creates a new {@link CommandNotFoundException} for a name that could not be found, with the names of the closest
+     * {@link Command}s as suggestions. See {@link CAP#getCommandSuggestions(ICommandSender, Command, String)}.
+     *
+     * @param superCommand The {@link Command} whose sub{@link Command} could not be found. When this is null, no
+     *                     top-level {@link Command} could be found.
+     * @param commandName  The name that could not be found.
+     * @return The new {@link CommandNotFoundException}.
+     */
+    protected @NonNull CommandNotFoundException commandNotFound(final @Nullable Command superCommand,
+                                                                final @Nullable String commandName)
+    {
+        final @NonNull List<@NonNull String> suggestions =
+            commandName == null ? Collections.emptyList() :
+            cap.getCommandSuggestions(commandSender, superCommand, commandName);
+
+        @NonNull String localizedMessage =
+            MessageFormat.format(cap.getLocalizer().getMessage("error.exception.commandNotFound", commandSender),
+                                 commandName);
+        if (!suggestions.isEmpty())
+            localizedMessage += " " + MessageFormat.format(
+                cap.getLocalizer().getMessage("error.exception.commandNotFound.suggestions", commandSender),
+                String.join(", ", suggestions));
+
+        return new CommandNotFoundException(Util.valOrDefault(commandName, "NULL"), localizedMessage, suggestions,
+                                            cap.isDebug());
+    }
+
+    /**
+     * Finds the last {@link Command} in the {@link #input}. See {@link #getLastCommand()}.
+     *
+     * @return The last {@link Command} in the {@link #input}, if the top-level {@link Command} could be found.
+     */
+    public @NonNull Optional<Command> findLastCommand()
+    {
+        try
+        {
+            return Optional.of(getLastCommand().getCommand());
+        }
+        catch (CommandNotFoundException e)
+        {
+            return Optional.empty();
+        }
+    }
+
     /**
      * See {@link #getLastCommand(Command, int)}.
      */
@@ -474,15 +806,7 @@ public class CommandParser
             // Gets the first argument in the arguments list.
             final Command baseCommand =
                 cap.getTopLevelCommand(commandName, commandSender.getLocale())
-                   .orElseThrow(() ->
-                                {
-                                    final @NonNull String localizedMessage =
-                                        MessageFormat.format(cap.getLocalizer()
-                                                                .getMessage("error.exception.commandNotFound",
-                                                                            commandSender), commandName);
-                                    return new CommandNotFoundException(Util.valOrDefault(commandName, "NULL"),
-                                                                        localizedMessage, cap.isDebug());
-                                });
+                   .orElseThrow(() -> commandNotFound(null, commandName));
 
             return getLastCommand(baseCommand, 0);
         }
@@ -0,0 +1,289 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.commandparser;
+
+import lombok.NonNull;
+import nl.pim16aap2.cap.CAP;
+import nl.pim16aap2.cap.argument.Argument;
+import nl.pim16aap2.cap.argument.RepeatableArgument;
+import nl.pim16aap2.cap.command.Command;
+import nl.pim16aap2.cap.command.CommandResult;
+import nl.pim16aap2.cap.commandsender.ICommandSender;
+import nl.pim16aap2.cap.exception.CAPException;
+import nl.pim16aap2.cap.exception.DeferredArgumentException;
+import nl.pim16aap2.cap.exception.IllegalValueException;
+import nl.pim16aap2.cap.exception.ValidationFailureException;
+import nl.pim16aap2.cap.util.Util;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Represents an {@link Argument.IParsedArgument} that stores the raw values of an {@link Argument} and only parses
+ * and validates them the first time its value is requested. See {@link CAP#isLazyArgumentParsing()}.
+ * <p>
+ * The result of parsing the values (or the exception that was thrown while doing so) is stored, so the values are
+ * parsed at most once.
+ *
+ * @param <T> The type of the parsed result.
+ * @author Pim
+ */
+public class LazyParsedArgument<T> implements Argument.IParsedArgument<T>
+{
+    private final @NonNull Argument<?> argument;
+    private final @NonNull CAP cap;
+    private final @NonNull ICommandSender commandSender;
+    private final @Nullable Command command;
+
+    /**
+     * The raw values in the order they were provided. For {@link Argument}s that are not repeatable, the last value
+     * overrides all previous ones, just like it would when parsing the values directly.
+     */
+    private final @NonNull List<@NonNull String> rawValues = new ArrayList<>(1);
+
+    private boolean resolved = false;
+    private @Nullable Argument.IParsedArgument<?> parsedArgument;
+    private @Nullable DeferredArgumentException failure;
+
+    /**
+     * @param argument      The {@link Argument} whose values to parse.
+     * @param cap           The {@link CAP} that requested the {@link Argument} to be parsed.
+     * @param commandSender The {@link ICommandSender} for which to parse and validate the values.
+     * @param command       The {@link Command} the values are parsed for.
+     */
+    LazyParsedArgument(final @NonNull Argument<?> argument, final @NonNull CAP cap,
+                       final @NonNull ICommandSender commandSender, final @Nullable Command command)
+    {
+        this.argument = argument;
+        this.cap = cap;
+        this.commandSender = commandSender;
+        this.command = command;
+    }
+
+    /**
+     * Adds another raw value to parse.
+     *
+     * @param rawValue The raw value.
+     */
+    synchronized void addRawValue(final @NonNull String rawValue)
+    {
+        rawValues.add(rawValue);
+    }
+
+    /**
+     * Checks if the raw values have been parsed already.
+     *
+     * @return True if the raw values have been parsed (successfully or not).
+     */
+    public synchronized boolean isResolved()
+    {
+        return resolved;
+    }
+
+    /**
+     * Parses the raw values if that has not happened yet.
+     *
+     * @return The parsed argument.
+     *
+     * @throws DeferredArgumentException If the values could not be parsed or validated.
+     */
+    private synchronized @NonNull Argument.IParsedArgument<?> resolve()
+    {
+        if (!resolved)
+        {
+            resolved = true;
+            try
+            {
+                parsedArgument = parse();
+            }
+            catch (IllegalValueException | ValidationFailureException e)
+            {
+                failure = new DeferredArgumentException(e);
+            }
+        }
+
+        if (failure != null)
+            throw failure;
+        return Util.valOrDefault(parsedArgument, argument::getDefault);
+    }
+
+    /**
+     * Parses all raw values without storing the result.
+     * <p>
+     * The values of {@link RepeatableArgument}s are parsed all at once. See {@link
+     * RepeatableArgument#getParsedArguments(List, CAP, ICommandSender, Command)}.
+     *
+     * @return The parsed argument.
+     *
+     * @throws ValidationFailureException If any of the values was not valid.
+     * @throws IllegalValueException      If any of the values could not be parsed.
+     */
+    synchronized @NonNull Argument.IParsedArgument<?> parse()
+        throws IllegalValueException, ValidationFailureException
+    {
+        if (argument instanceof RepeatableArgument)
+            return ((RepeatableArgument<?>) argument).getParsedArguments(rawValues, cap, commandSender, command);
+
+        @Nullable Argument.IParsedArgument<?> result = null;
+        for (final @NonNull String rawValue : rawValues)
+        {
+            final @NonNull Argument.IParsedArgument<?> parsed =
+                argument.getParsedArgument(rawValue, cap, commandSender, command);
+            if (result == null)
+                result = parsed;
+            else
+                result.updateValue(parsed.getValue());
+        }
+        return Util.valOrDefault(result, argument::getDefault);
+    }
+
+    /**
+     * Parses all raw values asynchronously if that has not happened yet. See {@link
+     * Argument#getParsedArgumentAsync(String, CAP, ICommandSender, Command)}.
+     * <p>
+     * The values of {@link RepeatableArgument}s are parsed all at once. See {@link
+     * RepeatableArgument#getParsedArgumentsAsync(List, CAP, ICommandSender, Command)}.
+     * <p>
+     * Any {@link CAPException}s thrown while parsing the values are stored and can be retrieved using {@link
+     * #getFailure()}.
+     *
+     * @return The {@link CompletableFuture} that will be completed once all values have been parsed.
+     */
+    synchronized @NonNull CompletableFuture<Void> resolveAsync()
+    {
+        if (resolved)
+            return CompletableFuture.completedFuture(null);
+
+        // There is nothing to wait for, so just parse all values at once.
+        if (!argument.isAsync())
+        {
+            try
+            {
+                resolve();
+            }
+            catch (DeferredArgumentException e)
+            {
+                // The failure is stored and can be retrieved using getFailure().
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final @NonNull List<CompletableFuture<Argument.IParsedArgument<?>>> futures = new ArrayList<>(rawValues.size());
+        // The values of repeatable arguments are parsed and validated as a single batch.
+        if (argument instanceof RepeatableArgument)
+            futures.add(((RepeatableArgument<?>) argument).getParsedArgumentsAsync(rawValues, cap, commandSender,
+                                                                                 command));
+        else
+            for (final @NonNull String rawValue : rawValues)
+                futures.add(argument.getParsedArgumentAsync(rawValue, cap, commandSender, command));
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                                .handle((ignored, throwable) -> complete(futures));
+    }
+
+    /**
+     * Combines the results of parsing all raw values in the order the raw values were provided in.
+     *
+     * @param futures The completed {@link CompletableFuture}s of all raw values.
+     * @return Null.
+     *
+     * @throws CompletionException When one of the values could not be parsed because of an exception other than a
+     *                             {@link CAPException}.
+     */
+    private synchronized @Nullable Void complete(
+        final @NonNull List<CompletableFuture<Argument.IParsedArgument<?>>> futures)
+    {
+        // The value may have been requested (and parsed) synchronously in the meantime.
+        if (resolved)
+            return null;
+
+        @Nullable Argument.IParsedArgument<?> result = null;
+        for (final @NonNull CompletableFuture<Argument.IParsedArgument<?>> future : futures)
+        {
+            final @NonNull Argument.IParsedArgument<?> parsed;
+            try
+            {
+                parsed = future.join();
+            }
+            catch (CompletionException e)
+            {
+                if (!(e.getCause() instanceof CAPException))
+                    throw e;
+                resolved = true;
+                failure = new DeferredArgumentException((CAPException) e.getCause());
+                return null;
+            }
+
+            if (result == null)
+                result = parsed;
+            else
+                result.updateValue(parsed.getValue());
+        }
+        resolved = true;
+        parsedArgument = result;
+        return null;
+    }
+
+    /**
+     * Gets the exception that was thrown while parsing the raw values, if any.
+     *
+     * @return The exception that was thrown while parsing the raw values or null if the values have not been parsed yet
+     * or if they were parsed successfully.
+     */
+    synchronized @Nullable DeferredArgumentException getFailure()
+    {
+        return failure;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws DeferredArgumentException If the values could not be parsed or validated. This is handled by {@link
+     *                                   CommandResult#run()}.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public @Nullable T getValue()
+    {
+        return (T) resolve().getValue();
+    }
+
+    @Override
+    public synchronized <U> void updateValue(final @Nullable U value)
+    {
+        resolve().updateValue(value);
+    }
+
+    @Override
+    public synchronized String toString()
+    {
+        if (resolved && failure == null)
+            return String.valueOf(parsedArgument);
+        return "Unparsed: " + Util.listToString(rawValues);
+    }
+}
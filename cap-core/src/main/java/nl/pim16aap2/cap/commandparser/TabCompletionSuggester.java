@@ -32,6 +32,9 @@ import nl.pim16aap2.cap.command.Command;
 import nl.pim16aap2.cap.commandsender.ICommandSender;
 import nl.pim16aap2.cap.exception.CommandNotFoundException;
 import nl.pim16aap2.cap.localization.Localizer;
+import nl.pim16aap2.cap.metrics.IMetricsRecorder;
+import nl.pim16aap2.cap.metrics.MetricsPhase;
+import nl.pim16aap2.cap.util.Pair;
 import nl.pim16aap2.cap.util.TabCompletionRequest;
 import org.jetbrains.annotations.Nullable;
 
@@ -67,6 +70,12 @@ public class TabCompletionSuggester extends CommandParser
     @Getter
     protected final @Nullable Locale locale;
 
+    /**
+     * The last {@link Command} in the {@link #input}, once it has been resolved by {@link
+     * #getTabCompleteOptions(boolean)}.
+     */
+    private volatile @Nullable Command resolvedCommand;
+
     /**
      * @param cap           The {@link CAP} instance that owns this object..
      * @param commandSender The {@link ICommandSender} that issued the command.
@@ -90,64 +99,128 @@ public class TabCompletionSuggester extends CommandParser
      */
     public @NonNull List<@NonNull String> getTabCompleteOptions(final boolean async)
     {
-        final @NonNull List<@NonNull String> ret = new ArrayList<>(0);
-        final @NonNull String lastVal = input.getArgs().get(input.getArgs().size() - 1);
+        final @NonNull IMetricsRecorder metrics = cap.getMetrics();
+        final long start = metrics.start();
+        @Nullable String commandIdentifier = null;
         try
         {
             final @NonNull CommandParser.ParsedCommand parsedCommand = getLastCommand();
-            // The index after the last argument.
-            // E.g., when no arguments are provided (i.e. the last value is a (sub)command), this will be 0.
-            final int argumentIndex = input.size() - parsedCommand.getIndex() - 1;
-            final int positionalArgCount = parsedCommand.getCommand().getArgumentManager()
-                                                        .getPositionalArguments().size();
-
-            // If the argumentIndex is 0 or 1, we also have to look at subcommands of the current command
-            // Or siblings of the current command (if it has a super command).
-            if (argumentIndex == 0)
-            {
-                // If the command is not open ended, it means that the user typing the input is still working on the
-                // last (sub)command. As such, we return the names of all sibling commands.
-                if (!openEnded)
-                {
-                    // If the command we found has a super command, its siblings are that super command's other
-                    // subcommands. If it does not have a super command, it means that it is a top-level command,
-                    // in which case, its siblings are the other top-level commands.
-                    return parsedCommand.getCommand().getSuperCommand()
-                                        .map(command -> getSubCommandSuggestions(command, lastVal))
-                                        .orElseGet(() -> getTopLevelCommandSuggestions(lastVal));
-                }
+            resolvedCommand = parsedCommand.getCommand();
+            commandIdentifier = parsedCommand.getCommand().getIdentifier();
+            return getTabCompleteOptions(parsedCommand, async);
+        }
+        catch (CommandNotFoundException e)
+        {
+            return getTopLevelCommandSuggestions(input.getArgs().get(input.getArgs().size() - 1));
+        }
+        finally
+        {
+            metrics.stop(MetricsPhase.TAB_COMPLETE, commandIdentifier, start);
+        }
+    }
 
-                // When the input is not open ended, we know the user is working on the next input, so we can get
-                // all the current command's subcommands.
-                ret.addAll(getSubCommandSuggestions(parsedCommand.getCommand(), ""));
-            }
-            else if (argumentIndex == 1 && !openEnded)
-                ret.addAll(getSubCommandSuggestions(parsedCommand.getCommand(), lastVal));
+    /**
+     * Gets the last {@link Command} in the {@link #input}.
+     * <p>
+     * If {@link #getTabCompleteOptions(boolean)} already resolved it, that {@link Command} is reused. Otherwise (e.g.
+     * when the suggestions were retrieved from a cache), it is resolved now. See {@link #findLastCommand()}.
+     *
+     * @return The last {@link Command} in the {@link #input}, if the top-level {@link Command} could be found.
+     */
+    public @NonNull Optional<Command> getResolvedCommand()
+    {
+        final @Nullable Command command = resolvedCommand;
+        return command == null ? findLastCommand() : Optional.of(command);
+    }
 
-            // If there are any positional arguments that haven't been processed yet, just add those.
-            if (argumentIndex < positionalArgCount || (!openEnded && argumentIndex == positionalArgCount))
+    /**
+     * Gets a list of suggestions for tab complete based on the current {@link #input} for a parsed {@link Command}.
+     *
+     * @param parsedCommand The {@link ParsedCommand} containing the last {@link Command} in the {@link #input}.
+     * @param async         Whether or not this method was called asynchronously or not.
+     * @return A list of tab completion suggestions.
+     */
+    private @NonNull List<@NonNull String> getTabCompleteOptions(final @NonNull ParsedCommand parsedCommand,
+                                                                 final boolean async)
+    {
+        final @NonNull List<@NonNull String> ret = new ArrayList<>(0);
+        final @NonNull String lastVal = input.getArgs().get(input.getArgs().size() - 1);
+
+        // The index after the last argument.
+        // E.g., when no arguments are provided (i.e. the last value is a (sub)command), this will be 0.
+        final int argumentIndex = input.size() - parsedCommand.getIndex() - 1;
+        final int positionalArgCount = parsedCommand.getCommand().getArgumentManager()
+                                                    .getPositionalArguments().size();
+
+        // Once a greedy argument has started, everything after it is part of its value.
+        final @Nullable Argument<?> greedyArgument = getActiveGreedyArgument(parsedCommand);
+        if (greedyArgument != null)
+            return getTabArgumentFunctionSuggestions(parsedCommand.getCommand(), greedyArgument,
+                                                     openEnded ? "" : lastVal, "", async);
+
+        // If the argumentIndex is 0 or 1, we also have to look at subcommands of the current command
+        // Or siblings of the current command (if it has a super command).
+        if (argumentIndex == 0)
+        {
+            // If the command is not open ended, it means that the user typing the input is still working on the
+            // last (sub)command. As such, we return the names of all sibling commands.
+            if (!openEnded)
             {
-                // First get the real index of the positional input argument.
-                // When the command is open ended, we're looking at the current index.
-                // When it isn't, we're still working on the previous one.
-                final int positionalArgumentIndex = argumentIndex - (openEnded ? 0 : 1);
-                ret.addAll(getPositionalArgumentSuggestions(parsedCommand.getCommand(),
-                                                            positionalArgumentIndex, openEnded ? "" : lastVal, async));
+                // If the command we found has a super command, its siblings are that super command's other
+                // subcommands. If it does not have a super command, it means that it is a top-level command,
+                // in which case, its siblings are the other top-level commands.
+                return parsedCommand.getCommand().getSuperCommand()
+                                    .map(command -> getSubCommandSuggestions(command, lastVal))
+                                    .orElseGet(() -> getTopLevelCommandSuggestions(lastVal));
             }
-            else
-                ret.addAll(getFreeArgumentSuggestions(parsedCommand.getCommand(), lastVal, async));
 
+            // When the input is not open ended, we know the user is working on the next input, so we can get
+            // all the current command's subcommands.
+            ret.addAll(getSubCommandSuggestions(parsedCommand.getCommand(), ""));
         }
-        catch (CommandNotFoundException e)
+        else if (argumentIndex == 1 && !openEnded)
+            ret.addAll(getSubCommandSuggestions(parsedCommand.getCommand(), lastVal));
+
+        // If there are any positional arguments that haven't been processed yet, just add those.
+        if (argumentIndex < positionalArgCount || (!openEnded && argumentIndex == positionalArgCount))
         {
-            return getTopLevelCommandSuggestions(lastVal);
+            // First get the real index of the positional input argument.
+            // When the command is open ended, we're looking at the current index.
+            // When it isn't, we're still working on the previous one.
+            final int positionalArgumentIndex = argumentIndex - (openEnded ? 0 : 1);
+            ret.addAll(getPositionalArgumentSuggestions(parsedCommand.getCommand(),
+                                                        positionalArgumentIndex, openEnded ? "" : lastVal, async));
         }
+        else
+            ret.addAll(getFreeArgumentSuggestions(parsedCommand.getCommand(), lastVal, async));
         return ret;
     }
 
+    /**
+     * Finds the greedy {@link Argument} whose value is currently being typed, if any. See {@link Argument#isGreedy()}.
+     * <p>
+     * A greedy {@link Argument} is active once the entry before its value has been completed. From that point on, the
+     * suggestions for the last entry are those of the greedy {@link Argument} and no other {@link Argument}s are
+     * suggested.
+     *
+     * @param parsedCommand The {@link ParsedCommand} whose {@link Argument}s to check.
+     * @return The greedy {@link Argument} whose value is currently being typed, if any.
+     */
+    protected @Nullable Argument<?> getActiveGreedyArgument(final @NonNull ParsedCommand parsedCommand)
+    {
+        // Only look at completed entries; the last one is still being typed if the input is not open ended.
+        final @Nullable Pair<Argument<?>, Integer> greedyArgument =
+            findGreedyArgument(parsedCommand.getCommand(), parsedCommand.getIndex(),
+                               input.size() - (openEnded ? 0 : 1));
+        return greedyArgument == null ? null : greedyArgument.first;
+    }
+
     /**
      * Gets a list of names of all sub{@link Command}s of the provided {@link Command} that start with a specific
      * partial name.
+     * <p>
+     * Only sub{@link Command}s the {@link #commandSender} has access to are included. See {@link
+     * Command#hasPermission(ICommandSender)}.
      *
      * @param command     The {@link Command} for which to analyze all the sub{@link Command}s.
      * @param partialName The partial name that all subcommands must start with for them to be added to the list.
@@ -159,7 +232,8 @@ public class TabCompletionSuggester extends CommandParser
         final @NonNull List<@NonNull String> ret = new ArrayList<>();
         command.getSubCommands().forEach(subCommand ->
                                          {
-                                             if (subCommand.getName(commandSender.getLocale()).startsWith(partialName))
+                                             if (subCommand.getName(commandSender.getLocale()).startsWith(partialName)
+                                                 && subCommand.hasPermission(commandSender))
                                                  ret.add(subCommand.getName(commandSender.getLocale()));
                                          });
         return ret;
@@ -167,7 +241,7 @@ public class TabCompletionSuggester extends CommandParser
 
     /**
      * Gets the suggestions for all top-level {@link Command} (i.e. {@link Command}s that do not have their own
-     * super{@link Command}) that start with a specific partial name.
+     * super{@link Command}) that start with a specific partial name and that the {@link #commandSender} has access to.
      *
      * @param partialName The name a top-level {@link Command} has to start with for it to be added to the list.
      * @return A list containing the names of all top-level {@link Command}s that start with the provided partial name.
@@ -177,7 +251,7 @@ public class TabCompletionSuggester extends CommandParser
         final @NonNull List<@NonNull String> ret = new ArrayList<>();
         cap.getTopLevelCommandMap().forEach((name, cmd) ->
                                             {
-                                                if (name.startsWith(partialName))
+                                                if (name.startsWith(partialName) && cmd.hasPermission(commandSender))
                                                     ret.add(name);
                                             });
         return ret;
@@ -0,0 +1,214 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.commandsender;
+
+import lombok.Getter;
+import lombok.NonNull;
+import nl.pim16aap2.cap.command.CommandResult;
+import nl.pim16aap2.cap.text.ColorScheme;
+import nl.pim16aap2.cap.text.PreparedMessage;
+import nl.pim16aap2.cap.text.Text;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+
+/**
+ * Represents an {@link ICommandSender} that collects all messages sent to it and sends them to the wrapped {@link
+ * ICommandSender} as a single message.
+ * <p>
+ * The collected messages are separated by newlines and sent when {@link #flush()} is called. This happens
+ * automatically at the end of {@link CommandResult#run()} and {@link nl.pim16aap2.cap.CAP#parseInput(ICommandSender,
+ * String)}, as well as whenever the {@link IFlushScheduler} decides to.
+ * <p>
+ * Code that checks the type of an {@link ICommandSender} should use {@link #unwrap(ICommandSender)} first.
+ *
+ * @author Pim
+ */
+public class BufferedCommandSender implements ICommandSender
+{
+    /**
+     * The wrapped {@link ICommandSender} that will receive the collected messages.
+     */
+    @Getter
+    private final @NonNull ICommandSender commandSender;
+
+    /**
+     * The {@link IFlushScheduler} that is notified when the first message is added to an empty buffer. When null, the
+     * buffer is only flushed explicitly.
+     */
+    private final @Nullable IFlushScheduler flushScheduler;
+
+    /**
+     * The messages that have not been sent yet. This is null when there aren't any.
+     */
+    private @Nullable Text buffer = null;
+
+    /**
+     * @param commandSender  See {@link #commandSender}.
+     * @param flushScheduler See {@link #flushScheduler}.
+     */
+    public BufferedCommandSender(final @NonNull ICommandSender commandSender,
+                                 final @Nullable IFlushScheduler flushScheduler)
+    {
+        this.commandSender = commandSender;
+        this.flushScheduler = flushScheduler;
+    }
+
+    /**
+     * @param commandSender See {@link #commandSender}.
+     */
+    public BufferedCommandSender(final @NonNull ICommandSender commandSender)
+    {
+        this(commandSender, null);
+    }
+
+    /**
+     * Gets the {@link ICommandSender} wrapped by an {@link ICommandSender} if it is a {@link BufferedCommandSender}.
+     *
+     * @param commandSender The (possibly) wrapped {@link ICommandSender}.
+     * @return The wrapped {@link ICommandSender} if the provided one is a {@link BufferedCommandSender}, otherwise the
+     * provided {@link ICommandSender} itself.
+     */
+    public static @NonNull ICommandSender unwrap(final @NonNull ICommandSender commandSender)
+    {
+        return commandSender instanceof BufferedCommandSender ?
+               ((BufferedCommandSender) commandSender).commandSender : commandSender;
+    }
+
+    /**
+     * Flushes an {@link ICommandSender} if it is a {@link BufferedCommandSender}. See {@link #flush()}.
+     *
+     * @param commandSender The {@link ICommandSender} to flush.
+     */
+    public static void flush(final @NonNull ICommandSender commandSender)
+    {
+        if (commandSender instanceof BufferedCommandSender)
+            ((BufferedCommandSender) commandSender).flush();
+    }
+
+    @Override
+    public void sendMessage(final @NonNull Text message)
+    {
+        final boolean schedule;
+        synchronized (this)
+        {
+            schedule = buffer == null;
+            if (buffer == null)
+                buffer = new Text(message);
+            else
+                buffer.add("\n").add(message);
+        }
+
+        if (schedule && flushScheduler != null)
+            flushScheduler.schedule(this::flush);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * {@link PreparedMessage}s are not buffered, so they can still share their payload with other recipients. Any
+     * buffered messages are sent first.
+     */
+    @Override
+    public void sendMessage(final @NonNull PreparedMessage message)
+    {
+        flush();
+        commandSender.sendMessage(message);
+    }
+
+    /**
+     * Sends all collected messages to the wrapped {@link ICommandSender} as a single message.
+     */
+    public void flush()
+    {
+        final @Nullable Text text;
+        synchronized (this)
+        {
+            text = buffer;
+            buffer = null;
+        }
+        if (text != null)
+            commandSender.sendMessage(text);
+    }
+
+    @Override
+    public @Nullable Locale getLocale()
+    {
+        return commandSender.getLocale();
+    }
+
+    @Override
+    public @NonNull ColorScheme getColorScheme()
+    {
+        return commandSender.getColorScheme();
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return commandSender.hashCode();
+    }
+
+    /**
+     * Checks if another object is a {@link BufferedCommandSender} that wraps the same {@link ICommandSender}.
+     * <p>
+     * A {@link BufferedCommandSender} is never equal to an unwrapped {@link ICommandSender}, as that would not be
+     * symmetric. Use {@link #unwrap(ICommandSender)} on both sides to compare the underlying {@link ICommandSender}s.
+     *
+     * @param o The object to compare to.
+     * @return True if the other object is a {@link BufferedCommandSender} that wraps an equal {@link ICommandSender}.
+     */
+    @Override
+    public boolean equals(final @Nullable Object o)
+    {
+        if (this == o)
+            return true;
+        return o instanceof BufferedCommandSender && commandSender.equals(((BufferedCommandSender) o).commandSender);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Buffered " + commandSender.toString();
+    }
+
+    /**
+     * Represents a way to schedule flushing a {@link BufferedCommandSender}, e.g. at the end of the current tick.
+     *
+     * @author Pim
+     */
+    @FunctionalInterface
+    public interface IFlushScheduler
+    {
+        /**
+         * Schedules flushing a {@link BufferedCommandSender}.
+         * <p>
+         * This is called when a message is added to an empty buffer.
+         *
+         * @param flush The task that flushes the {@link BufferedCommandSender}.
+         */
+        void schedule(@NonNull Runnable flush);
+    }
+}
@@ -26,6 +26,7 @@ package nl.pim16aap2.cap.commandsender;
 
 import lombok.NonNull;
 import nl.pim16aap2.cap.text.ColorScheme;
+import nl.pim16aap2.cap.text.PreparedMessage;
 import nl.pim16aap2.cap.text.Text;
 import org.jetbrains.annotations.Nullable;
 
@@ -55,6 +56,20 @@ public interface ICommandSender
      */
     void sendMessage(final @NonNull Text message);
 
+    /**
+     * Sends a {@link PreparedMessage} to this {@link ICommandSender}.
+     * <p>
+     * Implementations that convert {@link Text}s into another format before sending them should override this method
+     * and use {@link PreparedMessage#getPayload(ICommandSender, java.util.function.Function)}, so the conversion is
+     * shared by all recipients with the same {@link ColorScheme} and {@link Locale}.
+     *
+     * @param message The message to send.
+     */
+    default void sendMessage(final @NonNull PreparedMessage message)
+    {
+        sendMessage(message.getText(this));
+    }
+
     /**
      * Gets the {@link ColorScheme} to use for all messages send to this {@link ICommandSender}.
      *
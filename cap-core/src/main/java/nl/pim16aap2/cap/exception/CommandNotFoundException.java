@@ -26,6 +26,12 @@ package nl.pim16aap2.cap.exception;
 
 import lombok.Getter;
 import lombok.NonNull;
+import nl.pim16aap2.cap.CAP;
+import nl.pim16aap2.cap.command.Command;
+import nl.pim16aap2.cap.commandsender.ICommandSender;
+
+import java.util.Collections;
+import java.util.List;
 
 @Getter
 public class CommandNotFoundException extends CAPException
@@ -33,11 +39,26 @@ public class CommandNotFoundException extends CAPException
     private final @NonNull String missingCommand;
     private final @NonNull String localizedMessage;
 
+    /**
+     * The names of the {@link Command}s that are closest to the {@link #missingCommand}, ordered from closest to
+     * furthest. See {@link CAP#getCommandSuggestions(ICommandSender, Command, String)}.
+     * <p>
+     * This may be empty.
+     */
+    private final @NonNull List<@NonNull String> suggestions;
+
     public CommandNotFoundException(final @NonNull String commandName, final @NonNull String localizedMessage,
                                     final boolean stacktrace)
+    {
+        this(commandName, localizedMessage, Collections.emptyList(), stacktrace);
+    }
+
+    public CommandNotFoundException(final @NonNull String commandName, final @NonNull String localizedMessage,
+                                    final @NonNull List<@NonNull String> suggestions, final boolean stacktrace)
     {
         super(localizedMessage, "Could not find command: \"" + commandName + "\"", stacktrace);
         missingCommand = commandName;
         this.localizedMessage = localizedMessage;
+        this.suggestions = Collections.unmodifiableList(suggestions);
     }
 }
@@ -0,0 +1,54 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.exception;
+
+import lombok.Getter;
+import lombok.NonNull;
+import nl.pim16aap2.cap.CAP;
+import nl.pim16aap2.cap.command.CommandResult;
+
+/**
+ * Represents an unchecked wrapper around a {@link CAPException} that was thrown while parsing the value of an argument
+ * lazily. See {@link CAP#isLazyArgumentParsing()}.
+ * <p>
+ * When thrown while running a command, the wrapped exception is handled the same way as it would have been handled if
+ * it had been thrown while parsing the input. See {@link CommandResult#run()}.
+ *
+ * @author Pim
+ */
+public class DeferredArgumentException extends RuntimeException
+{
+    /**
+     * The {@link CAPException} that was thrown while parsing the value.
+     */
+    @Getter
+    private final @NonNull CAPException exception;
+
+    public DeferredArgumentException(final @NonNull CAPException exception)
+    {
+        super(exception.getMessage(), exception);
+        this.exception = exception;
+    }
+}
@@ -111,7 +111,6 @@ public abstract class ArgumentNamingSpec
 
     public @Nullable String getLabel(final @NonNull Localizer localizer, final @Nullable Locale locale)
     {
-        System.out.println("Trying to get label for argument: " + shortName);
         return NamingSpec.getMessage(localizer, locale, localized, label);
     }
 
@@ -0,0 +1,57 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.metrics;
+
+import nl.pim16aap2.cap.CAP;
+import nl.pim16aap2.cap.command.CommandResult;
+import nl.pim16aap2.cap.renderer.DefaultHelpCommandRenderer;
+
+/**
+ * Represents the different types of Java Flight Recorder events emitted by CAP. See {@link FlightRecorderEvents}.
+ *
+ * @author Pim
+ */
+public enum FlightRecorderEventType
+{
+    /**
+     * Parsing input into a {@link CommandResult}. See {@link CAP#parseInput}.
+     */
+    PARSE,
+
+    /**
+     * Executing a {@link CommandResult}. See {@link CommandResult#run()}.
+     */
+    EXECUTE,
+
+    /**
+     * Generating tab-completion suggestions. See {@link CAP#getTabCompleteOptions}.
+     */
+    TAB_COMPLETE,
+
+    /**
+     * Rendering a help message. See {@link DefaultHelpCommandRenderer}.
+     */
+    RENDER_HELP
+}
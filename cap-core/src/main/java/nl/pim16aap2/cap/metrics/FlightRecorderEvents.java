@@ -0,0 +1,105 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.metrics;
+
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents the entry point for emitting Java Flight Recorder (JFR) events.
+ * <p>
+ * The events themselves are located in the {@code nl.pim16aap2.cap.metrics.jfr} package and are only loaded if the
+ * JFR API is available on the current JVM (Java 8u262+ or Java 11+). If it is not, or if the events are not enabled
+ * in any active recording, {@link #begin(FlightRecorderEventType)} returns null, so the only overhead for callers is a
+ * single null check.
+ *
+ * @author Pim
+ */
+@UtilityClass
+public class FlightRecorderEvents
+{
+    /**
+     * The outcome used for events that completed successfully.
+     */
+    public static final @NonNull String OUTCOME_SUCCESS = "SUCCESS";
+
+    private static final @NonNull String FACTORY_CLASS = "nl.pim16aap2.cap.metrics.jfr.JfrEventFactory";
+
+    private static final @Nullable IFlightRecorderEventFactory FACTORY = loadFactory();
+
+    /**
+     * Loads the {@link IFlightRecorderEventFactory} if the JFR API is available.
+     *
+     * @return The {@link IFlightRecorderEventFactory} if the JFR API and the event classes are available, otherwise
+     * null.
+     */
+    private static @Nullable IFlightRecorderEventFactory loadFactory()
+    {
+        try
+        {
+            Class.forName("jdk.jfr.Event", false, FlightRecorderEvents.class.getClassLoader());
+            return (IFlightRecorderEventFactory) Class.forName(FACTORY_CLASS).getDeclaredConstructor().newInstance();
+        }
+        catch (Throwable t)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Checks if the JFR API is available on the current JVM.
+     *
+     * @return True if events can be emitted.
+     */
+    public boolean isAvailable()
+    {
+        return FACTORY != null;
+    }
+
+    /**
+     * Starts a new event.
+     *
+     * @param type The {@link FlightRecorderEventType} of the event to start.
+     * @return The started event. This is null if the JFR API is not available or if the event is not enabled in any
+     * active recording.
+     */
+    public @Nullable IFlightRecorderEvent begin(final @NonNull FlightRecorderEventType type)
+    {
+        return FACTORY == null ? null : FACTORY.begin(type);
+    }
+
+    /**
+     * Gets the outcome to use for an event.
+     *
+     * @param throwable The {@link Throwable} that was thrown while processing the event, if any.
+     * @return {@link #OUTCOME_SUCCESS} if the throwable is null, otherwise the simple name of the class of the
+     * throwable.
+     */
+    public @NonNull String getOutcome(final @Nullable Throwable throwable)
+    {
+        return throwable == null ? OUTCOME_SUCCESS : throwable.getClass().getSimpleName();
+    }
+}
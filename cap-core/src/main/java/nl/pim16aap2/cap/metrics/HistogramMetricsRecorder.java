@@ -0,0 +1,117 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.metrics;
+
+import lombok.NonNull;
+import nl.pim16aap2.cap.command.Command;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Represents an {@link IMetricsRecorder} that records the durations of every {@link MetricsPhase} in a {@link
+ * LatencyHistogram} per {@link Command}.
+ * <p>
+ * Histograms are only created once a phase is recorded for a command for the first time. After that, recording a
+ * value does not allocate any memory or acquire any locks.
+ *
+ * @author Pim
+ */
+public class HistogramMetricsRecorder implements IMetricsRecorder
+{
+    /**
+     * The key used for phases that could not be linked to a {@link Command}.
+     */
+    public static final @NonNull String UNKNOWN_COMMAND = "<unknown>";
+
+    private static final int PHASE_COUNT = MetricsPhase.values().length;
+
+    private final @NonNull ConcurrentHashMap<String, AtomicReferenceArray<LatencyHistogram>> histograms =
+        new ConcurrentHashMap<>();
+
+    @Override
+    public boolean isEnabled()
+    {
+        return true;
+    }
+
+    @Override
+    public void record(final @NonNull MetricsPhase phase, final @Nullable String commandIdentifier,
+                       final long duration)
+    {
+        final @NonNull String key = commandIdentifier == null ? UNKNOWN_COMMAND : commandIdentifier;
+
+        @Nullable AtomicReferenceArray<LatencyHistogram> phases = histograms.get(key);
+        if (phases == null)
+            phases = histograms.computeIfAbsent(key, k -> new AtomicReferenceArray<>(PHASE_COUNT));
+
+        final int idx = phase.ordinal();
+        @Nullable LatencyHistogram histogram = phases.get(idx);
+        if (histogram == null)
+        {
+            phases.compareAndSet(idx, null, new LatencyHistogram());
+            histogram = phases.get(idx);
+        }
+        histogram.record(duration);
+    }
+
+    /**
+     * Gets the {@link LatencyHistogram} for a {@link MetricsPhase} of a {@link Command}.
+     *
+     * @param commandIdentifier The identifier of the {@link Command}. See {@link Command#getIdentifier()}. Use null
+     *                          (or {@link #UNKNOWN_COMMAND}) for phases that could not be linked to a {@link Command}.
+     * @param phase             The {@link MetricsPhase} to get the histogram for.
+     * @return The {@link LatencyHistogram}, if anything has been recorded for this combination.
+     */
+    public @NonNull Optional<LatencyHistogram> getHistogram(final @Nullable String commandIdentifier,
+                                                            final @NonNull MetricsPhase phase)
+    {
+        final @Nullable AtomicReferenceArray<LatencyHistogram> phases =
+            histograms.get(commandIdentifier == null ? UNKNOWN_COMMAND : commandIdentifier);
+        return phases == null ? Optional.empty() : Optional.ofNullable(phases.get(phase.ordinal()));
+    }
+
+    /**
+     * Gets the identifiers of all {@link Command}s for which anything has been recorded.
+     *
+     * @return An unmodifiable view of the identifiers of all {@link Command}s with recorded values.
+     */
+    public @NonNull Set<@NonNull String> getCommandIdentifiers()
+    {
+        return Collections.unmodifiableSet(histograms.keySet());
+    }
+
+    /**
+     * Removes all histograms.
+     */
+    public void clear()
+    {
+        histograms.clear();
+    }
+}
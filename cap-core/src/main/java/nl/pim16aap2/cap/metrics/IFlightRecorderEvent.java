@@ -0,0 +1,52 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.metrics;
+
+import lombok.NonNull;
+import nl.pim16aap2.cap.command.Command;
+import nl.pim16aap2.cap.commandsender.ICommandSender;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents a Java Flight Recorder event that has been started, but not yet committed.
+ * <p>
+ * Instances are obtained from {@link FlightRecorderEvents#begin(FlightRecorderEventType)}.
+ *
+ * @author Pim
+ */
+public interface IFlightRecorderEvent
+{
+    /**
+     * Ends and commits this event.
+     *
+     * @param commandIdentifier The identifier of the {@link Command} this event belongs to, if it is known. See {@link
+     *                          Command#getIdentifier()}.
+     * @param commandSender     The {@link ICommandSender} that caused this event.
+     * @param inputLength       The length of the input that was processed. Use -1 if not applicable.
+     * @param outcome           The outcome of the event. See {@link FlightRecorderEvents#getOutcome(Throwable)}.
+     */
+    void commit(final @Nullable String commandIdentifier, final @NonNull ICommandSender commandSender,
+                final int inputLength, final @NonNull String outcome);
+}
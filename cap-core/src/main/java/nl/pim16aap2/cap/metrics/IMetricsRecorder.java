@@ -0,0 +1,93 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.metrics;
+
+import lombok.NonNull;
+import nl.pim16aap2.cap.CAP;
+import nl.pim16aap2.cap.command.Command;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents an object that records how long the different phases of processing a command take.
+ * <p>
+ * The timings are only taken when {@link #isEnabled()} returns true, so a disabled recorder (see {@link #disabled()})
+ * does not add any overhead.
+ *
+ * @author Pim
+ */
+public interface IMetricsRecorder
+{
+    /**
+     * Checks if this recorder is enabled. When it is not, no timings will be taken at all.
+     *
+     * @return True if this recorder is enabled.
+     */
+    boolean isEnabled();
+
+    /**
+     * Records the duration of a single {@link MetricsPhase}.
+     *
+     * @param phase             The {@link MetricsPhase} that was measured.
+     * @param commandIdentifier The identifier of the {@link Command} the phase was measured for. See {@link
+     *                          Command#getIdentifier()}. This is null when the {@link Command} could not be
+     *                          determined.
+     * @param duration          The duration of the phase in nanoseconds.
+     */
+    void record(final @NonNull MetricsPhase phase, final @Nullable String commandIdentifier, final long duration);
+
+    /**
+     * Gets the start time for a measurement.
+     *
+     * @return The current value of {@link System#nanoTime()} if this recorder is enabled, otherwise 0.
+     */
+    default long start()
+    {
+        return isEnabled() ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Records the time that has passed since a measurement was started. When this recorder is not enabled, nothing
+     * happens.
+     *
+     * @param phase             The {@link MetricsPhase} that was measured.
+     * @param commandIdentifier The identifier of the {@link Command} the phase was measured for.
+     * @param start             The start time of the measurement as obtained from {@link #start()}.
+     */
+    default void stop(final @NonNull MetricsPhase phase, final @Nullable String commandIdentifier, final long start)
+    {
+        if (isEnabled())
+            record(phase, commandIdentifier, System.nanoTime() - start);
+    }
+
+    /**
+     * Gets the {@link IMetricsRecorder} that does not record anything. This is the default for {@link CAP}.
+     *
+     * @return The disabled {@link IMetricsRecorder}.
+     */
+    static @NonNull IMetricsRecorder disabled()
+    {
+        return DisabledMetricsRecorder.INSTANCE;
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents a lock-free histogram of latency values with a fixed memory footprint.
+ * <p>
+ * Values are stored in buckets whose size doubles for every power of two. Every bucket is subdivided into {@link
+ * #SUB_BUCKET_COUNT} linear sub-buckets, so the relative error of any reported value is at most 1/{@link
+ * #SUB_BUCKET_COUNT}.
+ * <p>
+ * Values larger than {@link #MAX_TRACKABLE_VALUE} are stored as that value, but {@link #getMax()} will still report
+ * the real maximum.
+ *
+ * @author Pim
+ */
+public class LatencyHistogram
+{
+    /**
+     * The number of bits used for the linear sub-buckets.
+     */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /**
+     * The number of linear sub-buckets in every bucket.
+     */
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * The highest bit that can be set in a value that is tracked accurately.
+     * <p>
+     * With nanosecond values, this means that values up to about 137 seconds are tracked.
+     */
+    private static final int MAX_VALUE_BIT = 36;
+
+    /**
+     * The largest value that can be tracked accurately.
+     */
+    public static final long MAX_TRACKABLE_VALUE = (1L << (MAX_VALUE_BIT + 1)) - 1;
+
+    private static final int BUCKET_COUNT = MAX_VALUE_BIT - SUB_BUCKET_BITS + 2;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT * SUB_BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalValue = new LongAdder();
+    private final LongAccumulator maxValue = new LongAccumulator(Long::max, 0L);
+
+    /**
+     * Records a new value.
+     *
+     * @param value The value to record. Negative values are recorded as 0.
+     */
+    public void record(final long value)
+    {
+        final long clamped = Math.max(0L, value);
+        counts.incrementAndGet(getIndex(Math.min(clamped, MAX_TRACKABLE_VALUE)));
+        totalCount.increment();
+        totalValue.add(clamped);
+        maxValue.accumulate(clamped);
+    }
+
+    /**
+     * Gets the total number of recorded values.
+     *
+     * @return The total number of recorded values.
+     */
+    public long getCount()
+    {
+        return totalCount.sum();
+    }
+
+    /**
+     * Gets the sum of all recorded values.
+     *
+     * @return The sum of all recorded values.
+     */
+    public long getTotal()
+    {
+        return totalValue.sum();
+    }
+
+    /**
+     * Gets the highest recorded value.
+     *
+     * @return The highest recorded value or 0 if no values have been recorded.
+     */
+    public long getMax()
+    {
+        return maxValue.get();
+    }
+
+    /**
+     * Gets the mean of all recorded values.
+     *
+     * @return The mean of all recorded values or 0 if no values have been recorded.
+     */
+    public double getMean()
+    {
+        final long count = getCount();
+        return count == 0 ? 0.0D : (double) getTotal() / count;
+    }
+
+    /**
+     * Gets the value at a given percentile.
+     * <p>
+     * The returned value is the highest value that would be stored in the same sub-bucket as the value at the given
+     * percentile, so the real value may be slightly lower.
+     *
+     * @param percentile The percentile to look up. E.g. 99 for the 99th percentile.
+     * @return The value at the given percentile or 0 if no values have been recorded.
+     */
+    public long getValueAtPercentile(final double percentile)
+    {
+        long total = 0;
+        for (int idx = 0; idx < counts.length(); ++idx)
+            total += counts.get(idx);
+        if (total == 0)
+            return 0L;
+
+        final double clampedPercentile = Math.min(100.0D, Math.max(0.0D, percentile));
+        final long target = Math.max(1L, (long) Math.ceil(clampedPercentile / 100.0D * total));
+
+        long seen = 0;
+        for (int idx = 0; idx < counts.length(); ++idx)
+        {
+            seen += counts.get(idx);
+            if (seen >= target)
+                return Math.min(getHighestEquivalentValue(idx), getMax());
+        }
+        return getMax();
+    }
+
+    /**
+     * Removes all recorded values from this histogram.
+     * <p>
+     * Note that values recorded concurrently with this method may or may not be removed.
+     */
+    public void reset()
+    {
+        for (int idx = 0; idx < counts.length(); ++idx)
+            counts.set(idx, 0L);
+        totalCount.reset();
+        totalValue.reset();
+        maxValue.reset();
+    }
+
+    /**
+     * Gets the index of the sub-bucket a value is stored in.
+     *
+     * @param value The value. This may not be negative or larger than {@link #MAX_TRACKABLE_VALUE}.
+     * @return The index of the sub-bucket for the value.
+     */
+    static int getIndex(final long value)
+    {
+        if (value < SUB_BUCKET_COUNT)
+            return (int) value;
+
+        final int highestBit = 63 - Long.numberOfLeadingZeros(value);
+        final int shift = highestBit - SUB_BUCKET_BITS;
+        final int bucket = shift + 1;
+        final int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return bucket * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * Gets the lowest value that is stored in the sub-bucket with the given index.
+     *
+     * @param index The index of the sub-bucket.
+     * @return The lowest value that is stored in the sub-bucket.
+     */
+    static long getLowestEquivalentValue(final int index)
+    {
+        final int bucket = index / SUB_BUCKET_COUNT;
+        final int subBucket = index % SUB_BUCKET_COUNT;
+        if (bucket == 0)
+            return subBucket;
+        return ((long) (SUB_BUCKET_COUNT + subBucket)) << (bucket - 1);
+    }
+
+    /**
+     * Gets the highest value that is stored in the sub-bucket with the given index.
+     *
+     * @param index The index of the sub-bucket.
+     * @return The highest value that is stored in the sub-bucket.
+     */
+    static long getHighestEquivalentValue(final int index)
+    {
+        return getLowestEquivalentValue(index + 1) - 1;
+    }
+}
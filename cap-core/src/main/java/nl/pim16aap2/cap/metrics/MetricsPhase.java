@@ -0,0 +1,87 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.metrics;
+
+import nl.pim16aap2.cap.argument.Argument;
+import nl.pim16aap2.cap.command.Command;
+import nl.pim16aap2.cap.command.CommandResult;
+import nl.pim16aap2.cap.commandparser.CommandParser;
+import nl.pim16aap2.cap.commandparser.TabCompletionSuggester;
+import nl.pim16aap2.cap.commandsender.ICommandSender;
+import nl.pim16aap2.cap.renderer.IHelpCommandRenderer;
+import nl.pim16aap2.cap.text.Text;
+
+/**
+ * Represents the different phases of processing a command that can be measured by an {@link IMetricsRecorder}.
+ *
+ * @author Pim
+ */
+public enum MetricsPhase
+{
+    /**
+     * Splitting the raw input into separate values.
+     */
+    TOKENIZE,
+
+    /**
+     * Finding the {@link Command} to execute. See {@link CommandParser#getLastCommand()}.
+     */
+    GET_LAST_COMMAND,
+
+    /**
+     * Parsing all the {@link Argument}s of a {@link Command}.
+     * <p>
+     * Note that this includes the time spent in {@link #VALIDATE}.
+     */
+    PARSE_ARGUMENTS,
+
+    /**
+     * Validating the value of a single {@link Argument}.
+     */
+    VALIDATE,
+
+    /**
+     * Executing a {@link Command}. See {@link CommandResult#run()}.
+     */
+    EXECUTE,
+
+    /**
+     * Generating tab-completion suggestions. See {@link TabCompletionSuggester#getTabCompleteOptions(boolean)}.
+     */
+    TAB_COMPLETE,
+
+    /**
+     * Rendering a help message using an {@link IHelpCommandRenderer}.
+     */
+    RENDER_HELP,
+
+    /**
+     * Sending a message to an {@link ICommandSender}.
+     * <p>
+     * This phase is not recorded by CAP itself, as sending messages is up to the platform-specific implementations of
+     * {@link ICommandSender#sendMessage(Text)}.
+     */
+    SEND_MESSAGE
+}
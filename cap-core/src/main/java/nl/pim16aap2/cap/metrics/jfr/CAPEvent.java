@@ -0,0 +1,71 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import lombok.NonNull;
+import nl.pim16aap2.cap.commandsender.ICommandSender;
+import nl.pim16aap2.cap.metrics.IFlightRecorderEvent;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents the base class of all Java Flight Recorder events emitted by CAP.
+ *
+ * @author Pim
+ */
+@Category("CAP")
+@StackTrace(false)
+abstract class CAPEvent extends Event implements IFlightRecorderEvent
+{
+    @Label("Command Identifier")
+    String commandIdentifier;
+
+    @Label("Sender Type")
+    String senderType;
+
+    @Label("Input Length")
+    int inputLength;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Override
+    public void commit(final @Nullable String commandIdentifier, final @NonNull ICommandSender commandSender,
+                       final int inputLength, final @NonNull String outcome)
+    {
+        end();
+        if (!shouldCommit())
+            return;
+
+        this.commandIdentifier = commandIdentifier;
+        senderType = commandSender.getClass().getSimpleName();
+        this.inputLength = inputLength;
+        this.outcome = outcome;
+        commit();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.metrics.jfr;
+
+import jdk.jfr.EventType;
+import lombok.NonNull;
+import nl.pim16aap2.cap.metrics.FlightRecorderEventType;
+import nl.pim16aap2.cap.metrics.FlightRecorderEvents;
+import nl.pim16aap2.cap.metrics.IFlightRecorderEvent;
+import nl.pim16aap2.cap.metrics.IFlightRecorderEventFactory;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Represents the {@link IFlightRecorderEventFactory} that creates the actual Java Flight Recorder events.
+ * <p>
+ * This class is loaded reflectively by {@link FlightRecorderEvents}, so it is only loaded when the JFR API exists.
+ *
+ * @author Pim
+ */
+public class JfrEventFactory implements IFlightRecorderEventFactory
+{
+    /**
+     * The JFR {@link EventType}s of the events, used to check if an event is enabled before it is allocated.
+     * <p>
+     * The enabled state of an {@link EventType} follows the active recordings, so it can be cached.
+     */
+    private final @NonNull Map<@NonNull FlightRecorderEventType, @NonNull EventType> eventTypes =
+        new EnumMap<>(FlightRecorderEventType.class);
+
+    public JfrEventFactory()
+    {
+        eventTypes.put(FlightRecorderEventType.PARSE, EventType.getEventType(CommandParseEvent.class));
+        eventTypes.put(FlightRecorderEventType.EXECUTE, EventType.getEventType(CommandExecuteEvent.class));
+        eventTypes.put(FlightRecorderEventType.TAB_COMPLETE, EventType.getEventType(TabCompleteEvent.class));
+        eventTypes.put(FlightRecorderEventType.RENDER_HELP, EventType.getEventType(HelpRenderEvent.class));
+    }
+
+    @Override
+    public @Nullable IFlightRecorderEvent begin(final @NonNull FlightRecorderEventType type)
+    {
+        final @Nullable EventType eventType = eventTypes.get(type);
+        if (eventType == null)
+            throw new IllegalArgumentException("Unknown event type: " + type);
+        if (!eventType.isEnabled())
+            return null;
+
+        final @NonNull CAPEvent event;
+        switch (type)
+        {
+            case PARSE:
+                event = new CommandParseEvent();
+                break;
+            case EXECUTE:
+                event = new CommandExecuteEvent();
+                break;
+            case TAB_COMPLETE:
+                event = new TabCompleteEvent();
+                break;
+            case RENDER_HELP:
+                event = new HelpRenderEvent();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown event type: " + type);
+        }
+
+        event.begin();
+        return event;
+    }
+}
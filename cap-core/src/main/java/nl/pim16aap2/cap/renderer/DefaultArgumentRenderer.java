@@ -25,7 +25,9 @@
 package nl.pim16aap2.cap.renderer;
 
 import lombok.Builder;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.Value;
 import nl.pim16aap2.cap.argument.Argument;
 import nl.pim16aap2.cap.localization.Localizer;
 import nl.pim16aap2.cap.text.ColorScheme;
@@ -33,6 +35,7 @@ import nl.pim16aap2.cap.text.Text;
 import nl.pim16aap2.cap.text.TextType;
 import nl.pim16aap2.cap.util.Pair;
 import nl.pim16aap2.cap.util.Util;
+import nl.pim16aap2.cap.util.cache.LRUCache;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Locale;
@@ -59,15 +62,36 @@ public class DefaultArgumentRenderer implements IArgumentRenderer
     protected @NonNull Pair<@NonNull String, @NonNull String> requiredBrackets;
 
     /**
-     * @param optionalBrackets See {@link #optionalBrackets}.
-     * @param requiredBrackets See {@link #requiredBrackets}.
+     * The maximum number of rendered {@link Argument}s to keep in the {@link #fragmentCache}. Default = 512.
+     * <p>
+     * Set this to 0 to disable caching rendered {@link Argument}s.
+     */
+    @Getter
+    protected final int fragmentCacheSize;
+
+    /**
+     * The cache of rendered {@link Argument}s, so that every {@link Argument} only has to be rendered (and localized)
+     * once per {@link Locale} and {@link ColorScheme}.
+     * <p>
+     * The cached {@link Text}s are shared, so they are never handed out directly, only copied or appended to other
+     * {@link Text}s.
+     */
+    private final @NonNull LRUCache<FragmentKey, Text> fragmentCache;
+
+    /**
+     * @param optionalBrackets  See {@link #optionalBrackets}.
+     * @param requiredBrackets  See {@link #requiredBrackets}.
+     * @param fragmentCacheSize See {@link #fragmentCacheSize}.
      */
     @Builder(toBuilder = true)
     protected DefaultArgumentRenderer(final @Nullable Pair<@NonNull String, @NonNull String> optionalBrackets,
-                                      final @Nullable Pair<@NonNull String, @NonNull String> requiredBrackets)
+                                      final @Nullable Pair<@NonNull String, @NonNull String> requiredBrackets,
+                                      final @Nullable Integer fragmentCacheSize)
     {
         this.optionalBrackets = Util.valOrDefault(optionalBrackets, new Pair<>("[", "]"));
         this.requiredBrackets = Util.valOrDefault(requiredBrackets, new Pair<>("<", ">"));
+        this.fragmentCacheSize = Util.valOrDefault(fragmentCacheSize, 512);
+        fragmentCache = new LRUCache<>(this.fragmentCacheSize);
     }
 
     /**
@@ -82,11 +106,22 @@ public class DefaultArgumentRenderer implements IArgumentRenderer
         return DefaultArgumentRenderer.builder().build();
     }
 
+    /**
+     * Removes all rendered {@link Argument}s from the cache.
+     * <p>
+     * This should be called after changing the style of a {@link ColorScheme} that was used to render {@link
+     * Argument}s before.
+     */
+    public void clearFragmentCache()
+    {
+        fragmentCache.clear();
+    }
+
     @Override
     public @NonNull Text render(final @NonNull Localizer localizer, final @Nullable Locale locale,
                                 final @NonNull ColorScheme colorScheme, final @NonNull Argument<?> argument)
     {
-        return render(localizer, locale, colorScheme, argument, false);
+        return new Text(getFragment(localizer, locale, colorScheme, argument, null));
     }
 
     @Override
@@ -94,7 +129,69 @@ public class DefaultArgumentRenderer implements IArgumentRenderer
                                           final @NonNull ColorScheme colorScheme, final @NonNull Argument<?> argument,
                                           final @NonNull String summaryIndent)
     {
-        final Text text = render(localizer, locale, colorScheme, argument);
+        return new Text(getFragment(localizer, locale, colorScheme, argument, summaryIndent));
+    }
+
+    @Override
+    public @NonNull Text appendTo(final @NonNull Text text, final @NonNull Localizer localizer,
+                                  final @Nullable Locale locale, final @NonNull ColorScheme colorScheme,
+                                  final @NonNull Argument<?> argument)
+    {
+        return text.add(getFragment(localizer, locale, colorScheme, argument, null));
+    }
+
+    @Override
+    public @NonNull Text appendLongFormatTo(final @NonNull Text text, final @NonNull Localizer localizer,
+                                            final @Nullable Locale locale, final @NonNull ColorScheme colorScheme,
+                                            final @NonNull Argument<?> argument,
+                                            final @NonNull String summaryIndent)
+    {
+        return text.add(getFragment(localizer, locale, colorScheme, argument, summaryIndent));
+    }
+
+    /**
+     * Gets the (shared) rendered {@link Text} of an {@link Argument} from the {@link #fragmentCache}, rendering it if
+     * needed.
+     * <p>
+     * The returned {@link Text} must not be modified.
+     *
+     * @param summaryIndent The indentation of the summary when rendering the {@link Argument} in long format. When
+     *                      this is null, the {@link Argument} is rendered in short format instead.
+     * @return The rendered {@link Text} of the {@link Argument}.
+     */
+    private @NonNull Text getFragment(final @NonNull Localizer localizer, final @Nullable Locale locale,
+                                      final @NonNull ColorScheme colorScheme, final @NonNull Argument<?> argument,
+                                      final @Nullable String summaryIndent)
+    {
+        if (fragmentCacheSize < 1)
+            return renderFragment(localizer, locale, colorScheme, argument, summaryIndent);
+
+        // A null locale means the default locale of the localizer, which may change over time.
+        final @Nullable Locale resolvedLocale = Util.valOrDefault(locale, localizer.getDefaultLocale());
+        return fragmentCache.computeIfAbsent(
+            new FragmentKey(localizer, resolvedLocale, colorScheme, argument, summaryIndent),
+            key -> renderFragment(localizer, resolvedLocale, colorScheme, argument, summaryIndent));
+    }
+
+    private @NonNull Text renderFragment(final @NonNull Localizer localizer, final @Nullable Locale locale,
+                                         final @NonNull ColorScheme colorScheme, final @NonNull Argument<?> argument,
+                                         final @Nullable String summaryIndent)
+    {
+        return summaryIndent == null ?
+               render(localizer, locale, colorScheme, argument, false) :
+               renderLongFormatUncached(localizer, locale, colorScheme, argument, summaryIndent);
+    }
+
+    /**
+     * Renders an {@link Argument} in long format without using the {@link #fragmentCache}. See {@link
+     * #renderLongFormat(Localizer, Locale, ColorScheme, Argument, String)}.
+     */
+    protected @NonNull Text renderLongFormatUncached(final @NonNull Localizer localizer, final @Nullable Locale locale,
+                                                     final @NonNull ColorScheme colorScheme,
+                                                     final @NonNull Argument<?> argument,
+                                                     final @NonNull String summaryIndent)
+    {
+        final Text text = render(localizer, locale, colorScheme, argument, false);
         if (argument.getLongName(localizer, locale) != null)
             text.add(", ").add(render(localizer, locale, colorScheme, argument, true));
 
@@ -179,9 +276,9 @@ public class DefaultArgumentRenderer implements IArgumentRenderer
                                            final boolean useLongName)
     {
         final @NonNull Text text = new Text(colorScheme);
-        @NonNull String argLabel = argument.getLabel(localizer, locale).equals("") ?
-                                   argument.getShortName(localizer, locale) :
-                                   argument.getLabel(localizer, locale);
+        final @Nullable String argumentLabel = argument.getLabel(localizer, locale);
+        @NonNull String argLabel = (argumentLabel == null || argumentLabel.equals("")) ?
+                                   argument.getShortName(localizer, locale) : argumentLabel;
         argLabel = localizer.getMessage(argLabel, locale);
 
         if (argument.isPositional())
@@ -218,4 +315,19 @@ public class DefaultArgumentRenderer implements IArgumentRenderer
             .add("=", separator) // FIXME: This should be configurable!
             .add(argLabel, label);
     }
+
+    /**
+     * Identifies a rendered {@link Argument} in the {@link #fragmentCache}.
+     * <p>
+     * The {@link Localizer}, {@link ColorScheme} and {@link Argument} are compared by identity.
+     */
+    @Value
+    private static class FragmentKey
+    {
+        @NonNull Localizer localizer;
+        @Nullable Locale locale;
+        @NonNull ColorScheme colorScheme;
+        @NonNull Argument<?> argument;
+        @Nullable String summaryIndent;
+    }
 }
@@ -31,10 +31,18 @@ import lombok.experimental.SuperBuilder;
 import nl.pim16aap2.cap.CAP;
 import nl.pim16aap2.cap.argument.Argument;
 import nl.pim16aap2.cap.command.Command;
+import nl.pim16aap2.cap.command.CommandIndex;
+import nl.pim16aap2.cap.command.CommandVisibilityCache;
+import nl.pim16aap2.cap.command.HelpSearchIndex;
 import nl.pim16aap2.cap.commandsender.ICommandSender;
 import nl.pim16aap2.cap.exception.CommandNotFoundException;
 import nl.pim16aap2.cap.exception.ValidationFailureException;
 import nl.pim16aap2.cap.localization.Localizer;
+import nl.pim16aap2.cap.metrics.FlightRecorderEventType;
+import nl.pim16aap2.cap.metrics.FlightRecorderEvents;
+import nl.pim16aap2.cap.metrics.IFlightRecorderEvent;
+import nl.pim16aap2.cap.metrics.IMetricsRecorder;
+import nl.pim16aap2.cap.metrics.MetricsPhase;
 import nl.pim16aap2.cap.text.ColorScheme;
 import nl.pim16aap2.cap.text.Text;
 import nl.pim16aap2.cap.text.TextType;
@@ -43,9 +51,11 @@ import nl.pim16aap2.cap.util.Util;
 import org.jetbrains.annotations.Nullable;
 
 import java.text.MessageFormat;
+import java.util.Arrays;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Represents the default implementation of {@link IHelpCommandRenderer}.
@@ -58,6 +68,10 @@ public class DefaultHelpCommandRenderer implements IHelpCommandRenderer
 {
     protected static final @NonNull String DEFAULT_PAGE_NAME = "Click me for more information!";
     protected static final @NonNull String DEFAULT_PAGE_NAME_LOCALIZED = "default.helpCommand.page";
+    protected static final @NonNull String DEFAULT_SEARCH_RESULTS_NAME = "Results for ''{0}''";
+    protected static final @NonNull String DEFAULT_SEARCH_RESULTS_NAME_LOCALIZED = "default.helpCommand.search.results";
+    protected static final @NonNull String DEFAULT_NO_SEARCH_RESULTS = "No commands found matching ''{0}''!";
+    protected static final @NonNull String DEFAULT_NO_SEARCH_RESULTS_LOCALIZED = "default.helpCommand.search.noResults";
 
     protected static final @NonNull IArgumentRenderer DEFAULT_ARGUMENT_RENDERER = DefaultArgumentRenderer.getDefault();
 
@@ -110,6 +124,42 @@ public class DefaultHelpCommandRenderer implements IHelpCommandRenderer
     @Builder.Default
     protected final @Nullable String pageName = null;
 
+    /**
+     * The entry to use for the header of the search results. I.e. "--- Results for 'query' (2 / 5) ---". The query is
+     * inserted using {@link MessageFormat}.
+     * <p>
+     * When left null, this value will either be {@link #DEFAULT_SEARCH_RESULTS_NAME} or {@link
+     * #DEFAULT_SEARCH_RESULTS_NAME_LOCALIZED} depending on whether or not localization is enabled in the provided
+     * {@link CAP} instance. See {@link CAP#localizationEnabled()}.
+     */
+    @Builder.Default
+    protected final @Nullable String searchResultsName = null;
+
+    /**
+     * The message to show when a search did not yield any results. The query is inserted using {@link
+     * MessageFormat}.
+     * <p>
+     * When left null, this value will either be {@link #DEFAULT_NO_SEARCH_RESULTS} or {@link
+     * #DEFAULT_NO_SEARCH_RESULTS_LOCALIZED} depending on whether or not localization is enabled in the provided {@link
+     * CAP} instance. See {@link CAP#localizationEnabled()}.
+     */
+    @Builder.Default
+    protected final @Nullable String noSearchResultsMessage = null;
+
+    /**
+     * The maximum number of rendered pages to keep in the {@link HelpPageCache}. Default = 128.
+     * <p>
+     * Set this to 0 to disable caching rendered pages.
+     */
+    @Builder.Default
+    protected int pageCacheSize = 128;
+
+    /**
+     * The {@link HelpPageCache} used by {@link #renderOverviewPage(ICommandSender, ColorScheme, Command, int)}. This is
+     * created lazily, so that every instance (including the ones created using {@link #toBuilder()}) gets its own.
+     */
+    private final @NonNull AtomicReference<HelpPageCache> pageCache = new AtomicReference<>();
+
     /**
      * Gets a new instance of this {@link DefaultHelpCommandRenderer} using the default values.
      * <p>
@@ -122,6 +172,17 @@ public class DefaultHelpCommandRenderer implements IHelpCommandRenderer
         return DefaultHelpCommandRenderer.builder().build();
     }
 
+    /**
+     * Gets the {@link HelpPageCache} that holds the pages rendered by {@link #renderOverviewPage(ICommandSender,
+     * ColorScheme, Command, int)}.
+     *
+     * @return The {@link HelpPageCache} used by this renderer.
+     */
+    public @NonNull HelpPageCache getPageCache()
+    {
+        return pageCache.updateAndGet(cache -> cache == null ? new HelpPageCache(pageCacheSize) : cache);
+    }
+
     protected final @NonNull String getLocalizedMessage(final @NonNull CAP cap,
                                                         final @NonNull ICommandSender commandSender,
                                                         final @Nullable String key,
@@ -134,7 +195,9 @@ public class DefaultHelpCommandRenderer implements IHelpCommandRenderer
     }
 
     /**
-     * Recursively calculates the total number of (sub){@link Command}s to put on the help menu.
+     * Calculates the total number of (sub){@link Command}s to put on the help menu.
+     * <p>
+     * See {@link CommandVisibilityCache#countVisible(ICommandSender, Command)}.
      *
      * @param command       The {@link Command} for which to count the number of sub{@link Command}s (including
      *                      itself).
@@ -144,13 +207,7 @@ public class DefaultHelpCommandRenderer implements IHelpCommandRenderer
      */
     protected final int getCommandCount(final @NonNull Command command, final @NonNull ICommandSender commandSender)
     {
-        int count = 0;
-        if (!command.isVirtual() && command.hasPermission(commandSender))
-            ++count;
-
-        for (final @NonNull Command subCommand : command.getSubCommands())
-            count += getCommandCount(subCommand, commandSender);
-        return count;
+        return command.getCap().getCommandVisibilityCache().countVisible(commandSender, command);
     }
 
     /**
@@ -207,15 +264,65 @@ public class DefaultHelpCommandRenderer implements IHelpCommandRenderer
                                             final @NonNull Command command, final int page)
         throws ValidationFailureException
     {
-        final int pageCount = getPageCount(command, commandSender);
-        if (page > pageCount || page < 1)
+        final @NonNull IMetricsRecorder metrics = command.getCap().getMetrics();
+        final long start = metrics.start();
+        final @Nullable IFlightRecorderEvent event = FlightRecorderEvents.begin(FlightRecorderEventType.RENDER_HELP);
+        @Nullable Throwable failure = null;
+        try
+        {
+            final int pageCount = getPageCount(command, commandSender);
+            if (page > pageCount || page < 1)
+            {
+                final @NonNull String localizedMessage = MessageFormat
+                    .format(command.getCap().getLocalizer().getMessage("error.validation.range", commandSender),
+                            page, 1, pageCount);
+                throw new ValidationFailureException(Integer.toString(page), localizedMessage,
+                                                     command.getCap().isDebug());
+            }
+
+            final @NonNull CommandIndex index = command.getCap().getCommandVisibilityCache().getCommandIndex();
+            final @Nullable HelpPageCache.Key key = getPageCacheKey(commandSender, colorScheme, command, page, index);
+            if (key != null)
+            {
+                final @NonNull Optional<Text> cached = getPageCache().get(key, index);
+                if (cached.isPresent())
+                    return new Text(cached.get());
+            }
+
+            final @NonNull Text text = renderOverviewPage(commandSender, colorScheme, command, page, pageCount);
+            if (key != null)
+                getPageCache().put(key, index, new Text(text));
+            return text;
+        }
+        catch (Throwable t)
         {
-            final @NonNull String localizedMessage = MessageFormat
-                .format(command.getCap().getLocalizer().getMessage("error.validation.range", commandSender),
-                        page, 1, pageCount);
-            throw new ValidationFailureException(Integer.toString(page), localizedMessage, command.getCap().isDebug());
+            failure = t;
+            throw t;
         }
+        finally
+        {
+            metrics.stop(MetricsPhase.RENDER_HELP, command.getIdentifier(), start);
+            if (event != null)
+                event.commit(command.getIdentifier(), commandSender, -1, FlightRecorderEvents.getOutcome(failure));
+        }
+    }
 
+    /**
+     * Renders a page of the help overview of a {@link Command} without using the {@link HelpPageCache}.
+     * <p>
+     * See {@link #renderOverviewPage(ICommandSender, ColorScheme, Command, int)}.
+     *
+     * @param commandSender The {@link ICommandSender} that is used to check for permissions.
+     * @param colorScheme   The {@link ColorScheme} to use for rendering the help command.
+     * @param command       The {@link Command} to get the help menu for.
+     * @param page          The page number to display. This must be a valid page.
+     * @param pageCount     The total number of pages.
+     * @return The {@link Text} of the requested page.
+     */
+    protected @NonNull Text renderOverviewPage(final @NonNull ICommandSender commandSender,
+                                               final @NonNull ColorScheme colorScheme,
+                                               final @NonNull Command command, final int page, final int pageCount)
+    {
         final @NonNull Text text = new Text(colorScheme);
         renderPageCountHeader(commandSender, text, page, pageCount, command);
         if (page == 1)
@@ -229,6 +336,32 @@ public class DefaultHelpCommandRenderer implements IHelpCommandRenderer
         return text;
     }
 
+    /**
+     * Gets the {@link HelpPageCache.Key} for a rendered page.
+     *
+     * @param commandSender The {@link ICommandSender} for whom the page is rendered.
+     * @param colorScheme   The {@link ColorScheme} used to render the page.
+     * @param command       The {@link Command} whose page is rendered.
+     * @param page          The page number.
+     * @param index         The current {@link CommandIndex}.
+     * @return The {@link HelpPageCache.Key} for the page, or null if the page cannot be cached. This is the case when
+     * caching is disabled, or when the page contains text that depends on the {@link ICommandSender}. See {@link
+     * Command#isSenderDependent()}.
+     */
+    private @Nullable HelpPageCache.Key getPageCacheKey(final @NonNull ICommandSender commandSender,
+                                                        final @NonNull ColorScheme colorScheme,
+                                                        final @NonNull Command command, final int page,
+                                                        final @NonNull CommandIndex index)
+    {
+        if (pageCacheSize < 1 || !index.contains(command) || index.isSenderDependent(command))
+            return null;
+
+        final @NonNull CommandVisibilityCache visibilityCache = command.getCap().getCommandVisibilityCache();
+        return new HelpPageCache.Key(command, page, commandSender.getLocale(), colorScheme,
+                                     command.hasPermission(commandSender),
+                                     visibilityCache.getVisibleSubTree(commandSender, command));
+    }
+
     @Override
     public @NonNull Text render(final @NonNull ICommandSender commandSender, final @NonNull ColorScheme colorScheme,
                                 final @NonNull Command command, final @Nullable String val)
@@ -253,6 +386,111 @@ public class DefaultHelpCommandRenderer implements IHelpCommandRenderer
         return renderHelpMenu(commandSender, colorScheme, subCommand.get());
     }
 
+    @Override
+    public @NonNull Text renderSearchResults(final @NonNull ICommandSender commandSender,
+                                             final @NonNull ColorScheme colorScheme, final @NonNull Command command,
+                                             final @NonNull String query, final int page)
+        throws ValidationFailureException
+    {
+        final @NonNull IMetricsRecorder metrics = command.getCap().getMetrics();
+        final long start = metrics.start();
+        final @Nullable IFlightRecorderEvent event = FlightRecorderEvents.begin(FlightRecorderEventType.RENDER_HELP);
+        @Nullable Throwable failure = null;
+        try
+        {
+            final @NonNull Text text = new Text(colorScheme);
+            final @NonNull int[] results = getSearchResults(commandSender, command, query);
+            if (results.length == 0)
+            {
+                final @NonNull String message = getLocalizedMessage(command.getCap(), commandSender,
+                                                                    noSearchResultsMessage, DEFAULT_NO_SEARCH_RESULTS,
+                                                                    DEFAULT_NO_SEARCH_RESULTS_LOCALIZED);
+                return text.add(MessageFormat.format(message, query), TextType.REGULAR_TEXT);
+            }
+
+            final int pageCount = (results.length + pageSize - 1) / pageSize;
+            if (page > pageCount || page < 1)
+            {
+                final @NonNull String localizedMessage = MessageFormat
+                    .format(command.getCap().getLocalizer().getMessage("error.validation.range", commandSender),
+                            page, 1, pageCount);
+                throw new ValidationFailureException(Integer.toString(page), localizedMessage,
+                                                     command.getCap().isDebug());
+            }
+
+            renderSearchHeader(commandSender, text, query, page, pageCount, command);
+            final @NonNull CommandIndex index = command.getCap().getCommandVisibilityCache().getCommandIndex();
+            final int end = Math.min(results.length, page * pageSize);
+            for (int idx = (page - 1) * pageSize; idx < end; ++idx)
+            {
+                final @NonNull Command result = index.getCommand(results[idx]);
+                renderCommand(commandSender, colorScheme, text, result,
+                              getBaseSuperCommand(result, commandSender.getLocale()));
+                text.add("\n");
+            }
+            return text;
+        }
+        catch (Throwable t)
+        {
+            failure = t;
+            throw t;
+        }
+        finally
+        {
+            metrics.stop(MetricsPhase.RENDER_HELP, command.getIdentifier(), start);
+            if (event != null)
+                event.commit(command.getIdentifier(), commandSender, -1, FlightRecorderEvents.getOutcome(failure));
+        }
+    }
+
+    /**
+     * Searches the subtree of a {@link Command} (including itself) for all {@link Command}s matching a query that are
+     * visible to an {@link ICommandSender}. See {@link HelpSearchIndex#search(String)}.
+     *
+     * @param commandSender The {@link ICommandSender} whose {@link Locale} to search in and who has to be able to see
+     *                      the results. See {@link CommandVisibilityCache#isVisible(ICommandSender, Command)}.
+     * @param command       The root of the subtree to search in.
+     * @param query         The query to search for.
+     * @return The indices (see {@link Command#getIndex()}) of all matching {@link Command}s, ordered by their score.
+     */
+    public @NonNull int[] getSearchResults(final @NonNull ICommandSender commandSender, final @NonNull Command command,
+                                           final @NonNull String query)
+    {
+        final @NonNull CAP cap = command.getCap();
+        final @NonNull CommandVisibilityCache visibilityCache = cap.getCommandVisibilityCache();
+        final @NonNull CommandIndex index = visibilityCache.getCommandIndex();
+        if (!index.contains(command))
+            return new int[0];
+
+        return Arrays.stream(index.getSearchIndex(cap.getLocalizer(), commandSender.getLocale()).search(query))
+                     .filter(idx -> idx >= command.getIndex() && idx < command.getSubTreeEnd())
+                     .filter(idx -> visibilityCache.isVisible(commandSender, index.getCommand(idx)))
+                     .toArray();
+    }
+
+    /**
+     * Renders the header of a page of search results that shows the query, the current page and the total number of
+     * available pages.
+     *
+     * @param commandSender The {@link ICommandSender} for which to render the header.
+     * @param text          The {@link Text} instance to add the header to.
+     * @param query         The query that was searched for.
+     * @param page          The current page number.
+     * @param pageCount     The total number of available pages.
+     * @param command       The {@link Command} whose subtree was searched.
+     */
+    protected void renderSearchHeader(final @NonNull ICommandSender commandSender, final @NonNull Text text,
+                                      final @NonNull String query, final int page, final int pageCount,
+                                      final @NonNull Command command)
+    {
+        final @NonNull String localizedName = getLocalizedMessage(command.getCap(), commandSender, searchResultsName,
+                                                                  DEFAULT_SEARCH_RESULTS_NAME,
+                                                                  DEFAULT_SEARCH_RESULTS_NAME_LOCALIZED);
+        text.add(String.format("----- %s (%2d / %2d) -----", MessageFormat.format(localizedName, query),
+                               page, pageCount), TextType.REGULAR_TEXT)
+            .add("\n");
+    }
+
     /**
      * Adds the header for the long help menu of a {@link Command}.
      *
@@ -270,19 +508,38 @@ public class DefaultHelpCommandRenderer implements IHelpCommandRenderer
     public @NonNull Text renderHelpMenu(final @NonNull ICommandSender commandSender,
                                         final @NonNull ColorScheme colorScheme, final @NonNull Command command)
     {
-        if (!command.hasPermission(commandSender))
-            return new Text(colorScheme);
-
-        final @NonNull Text text = new Text(colorScheme);
-        renderHelpHeader(commandSender, command, text);
-        text.add(getBaseSuperCommand(command, commandSender.getLocale()) +
-                     command.getName(commandSender.getLocale()), TextType.COMMAND);
-        renderArgumentsShort(commandSender.getLocale(), colorScheme, text, command);
-
-        if (!command.getDescription(commandSender).equals(""))
-            text.add("\n").add(descriptionIndent).add(command.getDescription(commandSender), TextType.DESCRIPTION);
-        renderArgumentsLong(commandSender.getLocale(), colorScheme, text, command);
-        return text;
+        final @NonNull IMetricsRecorder metrics = command.getCap().getMetrics();
+        final long start = metrics.start();
+        final @Nullable IFlightRecorderEvent event = FlightRecorderEvents.begin(FlightRecorderEventType.RENDER_HELP);
+        @Nullable Throwable failure = null;
+        try
+        {
+            if (!command.hasPermission(commandSender))
+                return new Text(colorScheme);
+
+            final @NonNull Text text = new Text(colorScheme);
+            renderHelpHeader(commandSender, command, text);
+            text.add(getBaseSuperCommand(command, commandSender.getLocale()) +
+                         command.getName(commandSender.getLocale()), TextType.COMMAND);
+            renderArgumentsShort(commandSender.getLocale(), colorScheme, text, command);
+
+            if (!command.getDescription(commandSender).equals(""))
+                text.add("\n").add(descriptionIndent)
+                    .add(command.getDescription(commandSender), TextType.DESCRIPTION);
+            renderArgumentsLong(commandSender.getLocale(), colorScheme, text, command);
+            return text;
+        }
+        catch (Throwable t)
+        {
+            failure = t;
+            throw t;
+        }
+        finally
+        {
+            metrics.stop(MetricsPhase.RENDER_HELP, command.getIdentifier(), start);
+            if (event != null)
+                event.commit(command.getIdentifier(), commandSender, -1, FlightRecorderEvents.getOutcome(failure));
+        }
     }
 
     /**
@@ -306,9 +563,11 @@ public class DefaultHelpCommandRenderer implements IHelpCommandRenderer
     }
 
     /**
-     * Recursively constructs the String containing the all super {@link Command}s of a {@link Command}.
+     * Gets the String containing the all super {@link Command}s of a {@link Command}.
      * <p>
      * Note that the {@link Command} that is provided will not be included.
+     * <p>
+     * See {@link CommandIndex#getSuperCommandPath(Command, Locale)}.
      *
      * @param command The {@link Command} whose super commands to add to the text. If it has no super commands, it will
      *                only append {@link #COMMAND_PREFIX}.
@@ -317,14 +576,22 @@ public class DefaultHelpCommandRenderer implements IHelpCommandRenderer
      */
     protected @NonNull String getBaseSuperCommand(final @NonNull Command command, final @Nullable Locale locale)
     {
-        return getBaseSuperCommand(command.getSuperCommand(), locale);
+        return COMMAND_PREFIX +
+            command.getCap().getCommandVisibilityCache().getCommandIndex().getSuperCommandPath(command, locale);
     }
 
     @Override
     public @NonNull Text renderFirstPage(final @NonNull ICommandSender commandSender,
                                          final @NonNull ColorScheme colorScheme, final @NonNull Command command)
     {
-        return renderFirstPage(commandSender, colorScheme, new Text(colorScheme), command);
+        final @NonNull IMetricsRecorder metrics = command.getCap().getMetrics();
+        final long start = metrics.start();
+        final @Nullable IFlightRecorderEvent event = FlightRecorderEvents.begin(FlightRecorderEventType.RENDER_HELP);
+        final @NonNull Text text = renderFirstPage(commandSender, colorScheme, new Text(colorScheme), command);
+        metrics.stop(MetricsPhase.RENDER_HELP, command.getIdentifier(), start);
+        if (event != null)
+            event.commit(command.getIdentifier(), commandSender, -1, FlightRecorderEvents.OUTCOME_SUCCESS);
+        return text;
     }
 
     /**
@@ -348,23 +615,28 @@ public class DefaultHelpCommandRenderer implements IHelpCommandRenderer
         if (displayHeader && !command.getHeader(commandSender).equals(""))
             text.add(command.getHeader(commandSender), TextType.HEADER).add("\n");
 
-        renderCommands(commandSender, colorScheme, text, getBaseSuperCommand(command, null), command, firstPageSize, 0);
+        renderCommands(commandSender, colorScheme, text, getBaseSuperCommand(command, commandSender.getLocale()), command,
+                       firstPageSize, 0);
 
         return text;
     }
 
     /**
-     * Recursively renders the given command as well as all its subcommands.
+     * Renders the given command as well as all its subcommands.
+     * <p>
+     * The {@link Command}s are rendered in pre-order, starting at the first visible {@link Command} after skipping the
+     * provided number of visible {@link Command}s. See {@link CommandVisibilityCache#getVisibleCommands(ICommandSender,
+     * Command)}.
      *
      * @param commandSender The {@link ICommandSender} that is used to check for permissions. Any (sub){@link Command}s
      *                      they do not have access to are not included. See {@link Command#hasPermission(ICommandSender)}.
      * @param text          The {@link Text} to append the help to.
      * @param superCommands A {@link Text} with all the appended super commands of the current command. This will be
      *                      prepended to the command.
-     * @param command       The {@link Command} and {@link Command#getSubCommands()} to render (recursively).
+     * @param command       The {@link Command} and {@link Command#getSubCommands()} to render.
      * @param count         The number of {@link Command}s to render.
      * @param skip          The number of items to skip.
-     * @return The number of commands that were added to the {@link Text}.
+     * @return The number of commands that were added to the {@link Text} and the number of commands that were skipped.
      */
     protected @NonNull Pair<Integer, Integer> renderCommands(final @NonNull ICommandSender commandSender,
                                                              final @NonNull ColorScheme colorScheme,
@@ -372,6 +644,64 @@ public class DefaultHelpCommandRenderer implements IHelpCommandRenderer
                                                              final @NonNull String superCommands,
                                                              final @NonNull Command command, final int count,
                                                              final int skip)
+    {
+        if (count < 1)
+            return new Pair<>(0, 0);
+
+        final @NonNull CommandVisibilityCache visibilityCache = command.getCap().getCommandVisibilityCache();
+        final @NonNull CommandIndex index = visibilityCache.getCommandIndex();
+        if (!index.contains(command))
+            return renderCommandsRecursively(commandSender, colorScheme, text, superCommands, command, count, skip);
+
+        final @NonNull int[] visibleCommands = visibilityCache.getVisibleCommands(commandSender, command);
+        final int skipped = Math.min(skip, visibleCommands.length);
+        final int end = Math.min(visibleCommands.length, skipped + count);
+        for (int idx = skipped; idx < end; ++idx)
+        {
+            final @NonNull Command subCommand = index.getCommand(visibleCommands[idx]);
+            renderCommand(commandSender, colorScheme, text, subCommand,
+                          getSuperCommands(index, commandSender.getLocale(), superCommands, command, subCommand));
+            text.add("\n");
+        }
+        return new Pair<>(end - skipped, skipped);
+    }
+
+    /**
+     * Gets the String containing all super {@link Command}s of a {@link Command} in the subtree of another {@link
+     * Command}.
+     *
+     * @param index         The {@link CommandIndex} containing both {@link Command}s.
+     * @param locale        The {@link Locale} to use for the names of the {@link Command}s.
+     * @param superCommands The String containing all the super {@link Command}s of the root of the subtree.
+     * @param root          The root of the subtree.
+     * @param command       The {@link Command} in the subtree whose super {@link Command}s to get.
+     * @return The String containing all super {@link Command}s of the {@link Command}.
+     */
+    private static @NonNull String getSuperCommands(final @NonNull CommandIndex index, final @Nullable Locale locale,
+                                                    final @NonNull String superCommands, final @NonNull Command root,
+                                                    final @NonNull Command command)
+    {
+        if (command == root)
+            return superCommands;
+
+        // The path of the command always starts with the path of the root, as the root is one of its super commands.
+        final @NonNull String rootPath = index.getSuperCommandPath(root, locale);
+        return superCommands + index.getSuperCommandPath(command, locale).substring(rootPath.length());
+    }
+
+    /**
+     * Recursively renders the given command as well as all its subcommands.
+     * <p>
+     * This is only used for {@link Command}s that are not part of the {@link CommandIndex}.
+     *
+     * @see #renderCommands(ICommandSender, ColorScheme, Text, String, Command, int, int)
+     */
+    private @NonNull Pair<Integer, Integer> renderCommandsRecursively(final @NonNull ICommandSender commandSender,
+                                                                      final @NonNull ColorScheme colorScheme,
+                                                                      final @NonNull Text text,
+                                                                      final @NonNull String superCommands,
+                                                                      final @NonNull Command command, final int count,
+                                                                      final int skip)
     {
         // Added contains the number of commands added to the text.
         int added = 0;
@@ -382,7 +712,8 @@ public class DefaultHelpCommandRenderer implements IHelpCommandRenderer
         int skipped = 0;
 
         // Don't render hidden commands, because they're... Well... hidden.
-        if (!command.isVirtual() || !command.hasPermission(commandSender))
+        // The same goes for commands the command sender does not have access to.
+        if (command.getCap().getCommandVisibilityCache().isVisible(commandSender, command))
         {
             // Only render the command if it doesn't have to be skipped.
             if (skip > skipped)
@@ -400,13 +731,13 @@ public class DefaultHelpCommandRenderer implements IHelpCommandRenderer
 
         // The current command has to be appended to the super commands, because the
         // current command is the super command of all its sub commands (by definition).
-        final String newSuperCommands = superCommands + command.getName(null) + " ";
+        final String newSuperCommands = superCommands + command.getName(commandSender.getLocale()) + " ";
 
         for (final Command subCommand : command.getSubCommands())
         {
             final @NonNull Pair<Integer, Integer> renderResult =
-                renderCommands(commandSender, colorScheme, text, newSuperCommands, subCommand,
-                               count - added, skip - skipped);
+                renderCommandsRecursively(commandSender, colorScheme, text, newSuperCommands, subCommand,
+                                          count - added, skip - skipped);
 
             added += renderResult.first;
             skipped += renderResult.second;
@@ -452,7 +783,7 @@ public class DefaultHelpCommandRenderer implements IHelpCommandRenderer
                                         final @NonNull Text text, final @NonNull Command command)
     {
         for (final Argument<?> argument : command.getArgumentManager().getArguments())
-            text.add(" ").add(argumentRenderer.render(command.getCap().getLocalizer(), locale, colorScheme, argument));
+            argumentRenderer.appendTo(text.add(" "), command.getCap().getLocalizer(), locale, colorScheme, argument);
     }
 
     /**
@@ -470,9 +801,7 @@ public class DefaultHelpCommandRenderer implements IHelpCommandRenderer
                                        final @NonNull Text text, final @NonNull Command command)
     {
         for (final Argument<?> argument : command.getArgumentManager().getArguments())
-            text.add("\n")
-                .add(argumentRenderer
-                         .renderLongFormat(command.getCap().getLocalizer(), locale, colorScheme,
-                                           argument, descriptionIndent));
+            argumentRenderer.appendLongFormatTo(text.add("\n"), command.getCap().getLocalizer(), locale, colorScheme,
+                                                argument, descriptionIndent);
     }
 }
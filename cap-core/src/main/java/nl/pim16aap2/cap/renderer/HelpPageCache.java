@@ -0,0 +1,165 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.renderer;
+
+import lombok.NonNull;
+import lombok.Value;
+import nl.pim16aap2.cap.command.Command;
+import nl.pim16aap2.cap.command.CommandIndex;
+import nl.pim16aap2.cap.command.CommandVisibilityCache;
+import nl.pim16aap2.cap.commandsender.ICommandSender;
+import nl.pim16aap2.cap.text.ColorScheme;
+import nl.pim16aap2.cap.text.Text;
+import nl.pim16aap2.cap.util.cache.LRUCache;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.BitSet;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Represents a bounded cache of rendered help pages.
+ * <p>
+ * See {@link DefaultHelpCommandRenderer#renderOverviewPage(ICommandSender, ColorScheme, Command, int)}.
+ * <p>
+ * Pages are cached per {@link Command}, page number, {@link Locale}, {@link ColorScheme} and the set of {@link
+ * Command}s on the page that are visible to the {@link ICommandSender} (see {@link
+ * CommandVisibilityCache#getVisibleSubTree(ICommandSender, Command)}). This means that all {@link ICommandSender}s that
+ * have access to the same {@link Command}s share the same cached pages.
+ * <p>
+ * Every entry remembers the {@link CommandIndex} it was created for. Whenever the command tree changes, a new {@link
+ * CommandIndex} is created, which automatically invalidates all entries created before.
+ * <p>
+ * When the cache is full, the least-recently used entry is evicted. See {@link LRUCache}.
+ *
+ * @author Pim
+ */
+public class HelpPageCache
+{
+    private final @NonNull LRUCache<@NonNull Key, @NonNull Entry> cache;
+
+    /**
+     * @param maxSize The maximum number of entries in this cache. When this is 0 or less, nothing will be cached.
+     */
+    public HelpPageCache(final int maxSize)
+    {
+        cache = new LRUCache<>(maxSize);
+    }
+
+    /**
+     * Gets the maximum number of entries in this cache.
+     *
+     * @return The maximum number of entries in this cache.
+     */
+    public int getMaxSize()
+    {
+        return cache.getMaxSize();
+    }
+
+    /**
+     * Gets a cached page.
+     *
+     * @param key   The {@link Key} of the page.
+     * @param index The current {@link CommandIndex}. Entries that were created for another {@link CommandIndex} are
+     *              removed.
+     * @return The cached page, if it exists.
+     */
+    @NonNull Optional<Text> get(final @NonNull Key key, final @NonNull CommandIndex index)
+    {
+        final @Nullable Entry entry = cache.get(key);
+        if (entry == null)
+            return Optional.empty();
+
+        if (entry.getIndex() != index)
+        {
+            cache.remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(entry.getText());
+    }
+
+    /**
+     * Adds a page to the cache.
+     *
+     * @param key   The {@link Key} of the page.
+     * @param index The {@link CommandIndex} the page was rendered for.
+     * @param text  The rendered page. This instance should not be modified afterwards.
+     */
+    void put(final @NonNull Key key, final @NonNull CommandIndex index, final @NonNull Text text)
+    {
+        cache.put(key, new Entry(index, text));
+    }
+
+    /**
+     * Gets the number of pages currently in the cache.
+     *
+     * @return The number of pages currently in the cache.
+     */
+    public int getSize()
+    {
+        return cache.getSize();
+    }
+
+    /**
+     * Removes all cached pages.
+     */
+    public void clear()
+    {
+        cache.clear();
+    }
+
+    /**
+     * Represents the key of a cached help page.
+     *
+     * @author Pim
+     */
+    @Value
+    static class Key
+    {
+        @NonNull Command command;
+        int page;
+        @Nullable Locale locale;
+        @NonNull ColorScheme colorScheme;
+
+        /**
+         * Whether the {@link ICommandSender} has access to the {@link #command} itself. This is required because the
+         * {@link #visibleCommands} do not include virtual {@link Command}s.
+         */
+        boolean permitted;
+
+        /**
+         * The visible {@link Command}s in the subtree of the {@link #command}. See {@link
+         * CommandVisibilityCache#getVisibleSubTree(ICommandSender, Command)}.
+         */
+        @NonNull BitSet visibleCommands;
+    }
+
+    @Value
+    private static class Entry
+    {
+        @NonNull CommandIndex index;
+        @NonNull Text text;
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.renderer;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+import nl.pim16aap2.cap.CAP;
+import nl.pim16aap2.cap.command.Command;
+import nl.pim16aap2.cap.command.CommandIndex;
+import nl.pim16aap2.cap.command.CommandVisibilityCache;
+import nl.pim16aap2.cap.commandsender.ICommandSender;
+import nl.pim16aap2.cap.exception.ValidationFailureException;
+import nl.pim16aap2.cap.text.ColorScheme;
+import nl.pim16aap2.cap.text.Text;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Renders the help menus of all {@link Command}s ahead of time, so the first {@link ICommandSender}s to request them do
+ * not have to pay for loading the resource bundles, filling the caches of the {@link DefaultHelpCommandRenderer} and
+ * its {@link IArgumentRenderer} and running cold code.
+ *
+ * @author Pim
+ */
+@UtilityClass
+public class HelpWarmUp
+{
+    /**
+     * Renders the help menu, the first page and all overview pages of every {@link Command} registered in a {@link CAP}
+     * for every registered {@link Locale} (see {@link nl.pim16aap2.cap.localization.Localizer#getLocales()}) and every
+     * provided {@link ColorScheme}.
+     * <p>
+     * The {@link nl.pim16aap2.cap.command.HelpSearchIndex} of every {@link Locale} is built as well.
+     * <p>
+     * Every combination of {@link Locale} and {@link ColorScheme} uses its own synthetic {@link ICommandSender} that
+     * ignores all messages and that is passed to the permission functions of the {@link Command}s. Only the pages
+     * that do not depend on the {@link ICommandSender} (see {@link Command#isSenderDependent()}) end up in the {@link
+     * HelpPageCache}. The cached permissions of the synthetic {@link ICommandSender}s are discarded once the warm-up
+     * has finished.
+     * <p>
+     * Note that the cached pages are specific to the {@link Command}s that are visible to the {@link ICommandSender}
+     * (see {@link CommandVisibilityCache#getVisibleSubTree(ICommandSender, Command)}). Permission functions generally
+     * grant the synthetic {@link ICommandSender}s access to everything that is not restricted to a specific type of
+     * {@link ICommandSender}, so this only warms up the pages of unrestricted {@link ICommandSender}s. Use {@link
+     * #warmUpFor(CAP, Collection, ForkJoinPool)} to warm up the pages for other sets of permissions.
+     *
+     * @param cap          The {@link CAP} whose {@link Command}s to render.
+     * @param colorSchemes The {@link ColorScheme}s to render the help menus in.
+     * @param pool         The {@link ForkJoinPool} to render the help menus on. Every {@link Command} is rendered in a
+     *                     separate task for every {@link Locale} and {@link ColorScheme}.
+     * @return The {@link CompletableFuture} that is completed once all help menus have been rendered. If any of the
+     * tasks failed, it is completed exceptionally.
+     */
+    public @NonNull CompletableFuture<Void> warmUp(final @NonNull CAP cap,
+                                                   final @NonNull Collection<@NonNull ColorScheme> colorSchemes,
+                                                   final @NonNull ForkJoinPool pool)
+    {
+        final @NonNull List<ICommandSender> commandSenders = new ArrayList<>();
+        for (final @Nullable Locale locale : cap.getLocalizer().getLocales())
+            for (final @NonNull ColorScheme colorScheme : colorSchemes)
+                commandSenders.add(new WarmUpCommandSender(locale, colorScheme));
+
+        final @NonNull CommandVisibilityCache visibilityCache = cap.getCommandVisibilityCache();
+        return warmUpFor(cap, commandSenders, pool).whenComplete(
+            (result, throwable) -> commandSenders.forEach(visibilityCache::invalidate));
+    }
+
+    /**
+     * Renders the help menu, the first page and all overview pages of every {@link Command} registered in a {@link CAP}
+     * for every provided {@link ICommandSender}, using their own {@link Locale} and {@link ColorScheme}.
+     * <p>
+     * The {@link nl.pim16aap2.cap.command.HelpSearchIndex} of the {@link Locale} of every {@link ICommandSender} is
+     * built as well.
+     * <p>
+     * The pages in the {@link HelpPageCache} are shared between all {@link ICommandSender}s that can see the same
+     * {@link Command}s, so a single {@link ICommandSender} for every set of permissions (e.g. one for every permission
+     * group) is enough to warm up the pages for everyone with those permissions.
+     *
+     * @param cap            The {@link CAP} whose {@link Command}s to render.
+     * @param commandSenders The {@link ICommandSender}s whose permissions, {@link Locale} and {@link ColorScheme} to
+     *                       render the help menus for. Any messages are not sent to them.
+     * @param pool           The {@link ForkJoinPool} to render the help menus on. Every {@link Command} is rendered
+     *                       in a separate task for every {@link ICommandSender}.
+     * @return The {@link CompletableFuture} that is completed once all help menus have been rendered. If any of the
+     * tasks failed, it is completed exceptionally.
+     */
+    public @NonNull CompletableFuture<Void> warmUpFor(final @NonNull CAP cap,
+                                                      final @NonNull Collection<@NonNull ICommandSender> commandSenders,
+                                                      final @NonNull ForkJoinPool pool)
+    {
+        final @NonNull DefaultHelpCommandRenderer renderer = cap.getHelpCommandRenderer();
+        final @NonNull CommandIndex index = cap.getCommandVisibilityCache().getCommandIndex();
+
+        final @NonNull Set<Locale> locales = new HashSet<>();
+        final @NonNull List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (final @NonNull ICommandSender commandSender : commandSenders)
+        {
+            final @Nullable Locale locale = commandSender.getLocale();
+            if (locales.add(locale))
+                tasks.add(CompletableFuture.runAsync(() -> index.getSearchIndex(cap.getLocalizer(), locale), pool));
+
+            for (int idx = 0; idx < index.size(); ++idx)
+            {
+                final @NonNull Command command = index.getCommand(idx);
+                tasks.add(CompletableFuture.runAsync(() -> render(renderer, commandSender, command), pool));
+            }
+        }
+
+        return CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Renders all help pages of a single {@link Command} for an {@link ICommandSender}.
+     *
+     * @param renderer      The {@link DefaultHelpCommandRenderer} to use.
+     * @param commandSender The {@link ICommandSender} to render the help pages for.
+     * @param command       The {@link Command} whose help pages to render.
+     */
+    private void render(final @NonNull DefaultHelpCommandRenderer renderer,
+                        final @NonNull ICommandSender commandSender, final @NonNull Command command)
+    {
+        if (!command.hasPermission(commandSender))
+            return;
+
+        final @NonNull ColorScheme colorScheme = commandSender.getColorScheme();
+        renderer.renderHelpMenu(commandSender, colorScheme, command);
+        renderer.renderFirstPage(commandSender, colorScheme, command);
+
+        final int pageCount = renderer.getPageCount(command, commandSender);
+        try
+        {
+            for (int page = 1; page <= pageCount; ++page)
+                renderer.renderOverviewPage(commandSender, colorScheme, command, page);
+        }
+        catch (ValidationFailureException e)
+        {
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Represents the synthetic {@link ICommandSender} that is used to render help menus during the warm-up.
+     *
+     * @author Pim
+     */
+    private static final class WarmUpCommandSender implements ICommandSender
+    {
+        @Getter
+        private final @Nullable Locale locale;
+
+        @Getter
+        private final @NonNull ColorScheme colorScheme;
+
+        private WarmUpCommandSender(final @Nullable Locale locale, final @NonNull ColorScheme colorScheme)
+        {
+            this.locale = locale;
+            this.colorScheme = colorScheme;
+        }
+
+        @Override
+        public void sendMessage(final @NonNull Text message)
+        {
+        }
+
+        @Override
+        public String toString()
+        {
+            return "Warm-up Command Sender (" + locale + ")";
+        }
+    }
+}
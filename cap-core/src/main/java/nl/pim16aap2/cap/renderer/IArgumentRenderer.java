@@ -68,4 +68,44 @@ public interface IArgumentRenderer
     @NonNull Text renderLongFormat(final @NonNull Localizer localizer, final @Nullable Locale locale,
                                    final @NonNull ColorScheme colorScheme, final @NonNull Argument<?> argument,
                                    final @NonNull String summaryIndent);
+
+    /**
+     * Renders the given {@link Argument} and appends it to a {@link Text}. See {@link #render(Localizer, Locale,
+     * ColorScheme, Argument)}.
+     * <p>
+     * Implementations that reuse previously rendered {@link Text}s should override this method, so they can append
+     * the shared {@link Text} directly instead of creating a copy for every call.
+     *
+     * @param text        The {@link Text} to append the rendered {@link Argument} to.
+     * @param localizer   The {@link Localizer} instance to use for localization.
+     * @param locale      The {@link Locale} to use for rendering the {@link Argument}.
+     * @param colorScheme The {@link ColorScheme} to use to render the argument.
+     * @param argument    The {@link Argument} to render.
+     * @return The provided {@link Text} instance.
+     */
+    default @NonNull Text appendTo(final @NonNull Text text, final @NonNull Localizer localizer,
+                                   final @Nullable Locale locale, final @NonNull ColorScheme colorScheme,
+                                   final @NonNull Argument<?> argument)
+    {
+        return text.add(render(localizer, locale, colorScheme, argument));
+    }
+
+    /**
+     * Renders the given {@link Argument} in long format and appends it to a {@link Text}. See {@link
+     * #renderLongFormat(Localizer, Locale, ColorScheme, Argument, String)}.
+     *
+     * @param text        The {@link Text} to append the rendered {@link Argument} to.
+     * @param localizer   The {@link Localizer} instance to use for localization.
+     * @param locale      The {@link Locale} to use for rendering the {@link Argument}.
+     * @param colorScheme The {@link ColorScheme} to use to render the argument.
+     * @param argument    The {@link Argument} to render.
+     * @return The provided {@link Text} instance.
+     */
+    default @NonNull Text appendLongFormatTo(final @NonNull Text text, final @NonNull Localizer localizer,
+                                             final @Nullable Locale locale, final @NonNull ColorScheme colorScheme,
+                                             final @NonNull Argument<?> argument,
+                                             final @NonNull String summaryIndent)
+    {
+        return text.add(renderLongFormat(localizer, locale, colorScheme, argument, summaryIndent));
+    }
 }
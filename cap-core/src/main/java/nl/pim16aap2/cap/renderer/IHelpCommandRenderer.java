@@ -53,6 +53,33 @@ public interface IHelpCommandRenderer
                                      final @NonNull Command command, final int page)
         throws ValidationFailureException;
 
+    /**
+     * Renders a page of the {@link Command}s in the subtree of a {@link Command} (including itself) that match a search
+     * query, ordered from most to least relevant.
+     * <p>
+     * Renderers that do not support searching do not have to implement this method; by default, the query is ignored
+     * and the overview page of the {@link Command} is rendered instead. See {@link #renderOverviewPage(ICommandSender,
+     * ColorScheme, Command, int)}.
+     *
+     * @param commandSender The {@link ICommandSender} that is used to check for permissions. Any (sub){@link Command}s
+     *                      they do not have access to are not included. See {@link Command#hasPermission(ICommandSender)}.
+     * @param colorScheme   The {@link ColorScheme} to use for rendering the search results.
+     * @param command       The {@link Command} whose subtree to search.
+     * @param query         The terms to search for in the names, summaries and descriptions of the {@link Command}s
+     *                      and the names of their arguments.
+     * @param page          The page number to display. Note that counting starts at 1, not 0!
+     * @return The {@link Text} containing the requested page of search results.
+     *
+     * @throws ValidationFailureException If there are search results, but the page is out of bounds.
+     */
+    default @NonNull Text renderSearchResults(final @NonNull ICommandSender commandSender,
+                                              final @NonNull ColorScheme colorScheme, final @NonNull Command command,
+                                              final @NonNull String query, final int page)
+        throws ValidationFailureException
+    {
+        return renderOverviewPage(commandSender, colorScheme, command, page);
+    }
+
     /**
      * Either renders the help menu for a sub{@link Command} or a page of the help menu for the provided {@link
      * Command}, depending on the input value.
@@ -0,0 +1,216 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.text;
+
+import lombok.NonNull;
+import lombok.Value;
+import nl.pim16aap2.cap.commandsender.ICommandSender;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Represents a message that can be sent to any number of {@link ICommandSender}s, while only being rendered once for
+ * every combination of {@link ColorScheme} and {@link Locale}.
+ * <p>
+ * Platforms can also cache their own representation of the rendered {@link Text} (e.g. a serialized chat component)
+ * using {@link #getPayload(ICommandSender, Function)}, so that it only has to be created once for all {@link
+ * ICommandSender}s that share the same {@link ColorScheme} and {@link Locale}. See {@link
+ * ICommandSender#sendMessage(PreparedMessage)}.
+ *
+ * @author Pim
+ */
+public final class PreparedMessage
+{
+    /**
+     * The function that renders the {@link Text} for an {@link ICommandSender}. The result must only depend on the
+     * {@link ColorScheme} and the {@link Locale} of the {@link ICommandSender}.
+     */
+    private final @NonNull Function<ICommandSender, Text> renderer;
+
+    /**
+     * The rendered message for every combination of {@link ColorScheme} and {@link Locale}.
+     */
+    private final @NonNull Map<Key, Entry> entries = new HashMap<>();
+
+    private PreparedMessage(final @NonNull Function<ICommandSender, Text> renderer)
+    {
+        this.renderer = renderer;
+    }
+
+    /**
+     * Creates a new {@link PreparedMessage} that is rendered for every combination of {@link ColorScheme} and {@link
+     * Locale} of the {@link ICommandSender}s it is sent to.
+     *
+     * @param renderer The function that renders the {@link Text} for an {@link ICommandSender}. It will be called
+     *                 once for the first {@link ICommandSender} of every combination of {@link ColorScheme} and
+     *                 {@link Locale}, so the result must not depend on anything else.
+     * @return The new {@link PreparedMessage}.
+     */
+    public static @NonNull PreparedMessage of(final @NonNull Function<ICommandSender, Text> renderer)
+    {
+        return new PreparedMessage(renderer);
+    }
+
+    /**
+     * Creates a new {@link PreparedMessage} that sends the same {@link Text} to every {@link ICommandSender}.
+     *
+     * @param text The {@link Text} to send. This must not be modified afterwards.
+     * @return The new {@link PreparedMessage}.
+     */
+    public static @NonNull PreparedMessage of(final @NonNull Text text)
+    {
+        return new PreparedMessage(commandSender -> text);
+    }
+
+    /**
+     * Gets the {@link Text} rendered for the {@link ColorScheme} and {@link Locale} of an {@link ICommandSender}.
+     *
+     * @param commandSender The {@link ICommandSender} to get the {@link Text} for.
+     * @return The rendered {@link Text}. This is shared with other {@link ICommandSender}s, so it must not be
+     * modified.
+     */
+    public @NonNull Text getText(final @NonNull ICommandSender commandSender)
+    {
+        return getEntry(commandSender).text;
+    }
+
+    /**
+     * Gets the platform-specific representation of the {@link Text} for an {@link ICommandSender}.
+     * <p>
+     * The payload is only created once for every combination of {@link ColorScheme}, {@link Locale} and serializer.
+     *
+     * @param commandSender The {@link ICommandSender} to get the payload for.
+     * @param serializer    The function that converts the {@link Text} into the payload. This should be the same
+     *                      instance every time (e.g. a constant), as it is used to look up the cached payload.
+     * @param <P>           The type of the payload.
+     * @return The payload for the {@link ICommandSender}. This is shared with other {@link ICommandSender}s, so it
+     * must not be modified.
+     */
+    @SuppressWarnings("unchecked")
+    public <P> @NonNull P getPayload(final @NonNull ICommandSender commandSender,
+                                     final @NonNull Function<Text, P> serializer)
+    {
+        final @NonNull Entry entry = getEntry(commandSender);
+        synchronized (entry)
+        {
+            return (P) entry.payloads.computeIfAbsent(serializer, fun -> serializer.apply(entry.text));
+        }
+    }
+
+    /**
+     * Sends this message to a number of {@link ICommandSender}s.
+     * <p>
+     * The {@link ICommandSender}s are grouped by their {@link ColorScheme} and {@link Locale}, so that every group is
+     * rendered (and serialized) right before it is sent to all its members. See {@link #group(Collection)}.
+     *
+     * @param commandSenders The {@link ICommandSender}s to send this message to.
+     */
+    public void send(final @NonNull Collection<? extends ICommandSender> commandSenders)
+    {
+        for (final @NonNull List<ICommandSender> group : group(commandSenders).values())
+            for (final @NonNull ICommandSender commandSender : group)
+                commandSender.sendMessage(this);
+    }
+
+    /**
+     * Groups {@link ICommandSender}s by their {@link ColorScheme} and {@link Locale}.
+     *
+     * @param commandSenders The {@link ICommandSender}s to group.
+     * @return The groups of {@link ICommandSender}s, in the order in which their first member was encountered.
+     */
+    public static @NonNull Map<Key, List<ICommandSender>> group(
+        final @NonNull Collection<? extends ICommandSender> commandSenders)
+    {
+        final @NonNull Map<Key, List<ICommandSender>> groups = new LinkedHashMap<>();
+        for (final @NonNull ICommandSender commandSender : commandSenders)
+            groups.computeIfAbsent(Key.of(commandSender), key -> new ArrayList<>()).add(commandSender);
+        return groups;
+    }
+
+    private @NonNull Entry getEntry(final @NonNull ICommandSender commandSender)
+    {
+        final @NonNull Key key = Key.of(commandSender);
+        synchronized (entries)
+        {
+            final @Nullable Entry entry = entries.get(key);
+            if (entry != null)
+                return entry;
+        }
+
+        // Render outside of the lock; in the worst case, the same message is rendered twice.
+        final @NonNull Entry newEntry = new Entry(renderer.apply(commandSender));
+        synchronized (entries)
+        {
+            final @Nullable Entry entry = entries.putIfAbsent(key, newEntry);
+            return entry == null ? newEntry : entry;
+        }
+    }
+
+    /**
+     * Represents a combination of {@link ColorScheme} and {@link Locale} that a {@link PreparedMessage} is rendered
+     * for.
+     * <p>
+     * {@link ColorScheme}s are compared by identity.
+     *
+     * @author Pim
+     */
+    @Value
+    public static class Key
+    {
+        @NonNull ColorScheme colorScheme;
+        @Nullable Locale locale;
+
+        /**
+         * Gets the {@link Key} for an {@link ICommandSender}.
+         *
+         * @param commandSender The {@link ICommandSender} to get the {@link Key} for.
+         * @return The {@link Key} for the {@link ICommandSender}.
+         */
+        public static @NonNull Key of(final @NonNull ICommandSender commandSender)
+        {
+            return new Key(commandSender.getColorScheme(), commandSender.getLocale());
+        }
+    }
+
+    private static final class Entry
+    {
+        private final @NonNull Text text;
+        private final @NonNull Map<Function<Text, ?>, Object> payloads = new IdentityHashMap<>();
+
+        private Entry(final @NonNull Text text)
+        {
+            this.text = text;
+        }
+    }
+}
@@ -34,11 +34,16 @@ import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.function.BiFunction;
 
 /**
  * Represents a piece of text with styled sections.
+ * <p>
+ * The styles are stored as a list of consecutive {@link StyledSection}s that each know only their own length, not
+ * their position in the text. Because {@link StyledSection}s are immutable, they can be shared between {@link Text}s,
+ * so appending another {@link Text} only has to append references to its {@link StyledSection}s, regardless of how
+ * much text came before it.
  *
  * @author Pim
  */
@@ -58,16 +63,37 @@ public class Text
     private final @NonNull StringBuilder stringBuilder = new StringBuilder();
 
     /**
-     * The list of {@link StyledSection}s.
+     * The list of {@link StyledSection}s. Together, these cover the first {@link #getLength()} - {@link
+     * #unsectionedLength} characters of the {@link #stringBuilder} without gaps.
      */
     private @NonNull List<@NonNull StyledSection> styledSections = new ArrayList<>();
 
     /**
-     * The list of {@link ITextDecorator}s. By default, these are not used for anything, but this class ensures to take
+     * The number of unstyled characters at the end of the text that are not (yet) part of any {@link StyledSection}.
+     * <p>
+     * This allows appending unstyled text without creating a new {@link StyledSection} every time.
+     */
+    private int unsectionedLength = 0;
+
+    /**
+     * The list of {@link DecoratorEntry}s. By default, these are not used for anything, but this class ensures to take
      * care to copy them when needed.
+     * <p>
+     * The {@link ITextDecorator}s are only moved to their position in this {@link Text} when they are requested. See
+     * {@link #getTextDecorators()}.
      */
-    @Getter
-    private @NonNull List<@NonNull ITextDecorator> textDecorators = new ArrayList<>();
+    private @NonNull List<@NonNull DecoratorEntry> textDecorators = new ArrayList<>();
+
+    /**
+     * The {@link ITextDecorator}s as they are returned by {@link #getTextDecorators()}. This is null when they have to
+     * be recomputed.
+     */
+    private @Nullable List<@NonNull ITextDecorator> textDecoratorsView = null;
+
+    /**
+     * The styled String as returned by {@link #toString()}. This is null when it has to be recomputed.
+     */
+    private @Nullable String styledString = null;
 
     /**
      * The total size of the string held by this object. This is used by {@link #toString()} to instantiate a {@link
@@ -83,8 +109,10 @@ public class Text
     {
         colorScheme = other.colorScheme;
         stringBuilder.append(other.stringBuilder);
-        other.styledSections.forEach(section -> styledSections.add(new StyledSection(section)));
-        other.textDecorators.forEach(section -> textDecorators.add(section.duplicate()));
+        styledSections.addAll(other.styledSections);
+        unsectionedLength = other.unsectionedLength;
+        textDecorators.addAll(other.textDecorators);
+        styledString = other.styledString;
         styledSize = other.styledSize;
     }
 
@@ -110,6 +138,24 @@ public class Text
         return styledSize;
     }
 
+    /**
+     * Gets the {@link ITextDecorator}s of this {@link Text}, positioned relative to the start of this {@link Text}.
+     * <p>
+     * Note that {@link ITextDecorator}s may be shared between {@link Text}s, so they must not be modified.
+     *
+     * @return An unmodifiable list of the {@link ITextDecorator}s of this {@link Text}.
+     */
+    public @NonNull List<@NonNull ITextDecorator> getTextDecorators()
+    {
+        if (textDecoratorsView != null)
+            return textDecoratorsView;
+
+        final @NonNull List<@NonNull ITextDecorator> decorators = new ArrayList<>(textDecorators.size());
+        for (final @NonNull DecoratorEntry entry : textDecorators)
+            decorators.add(entry.offset == 0 ? entry.decorator : entry.decorator.duplicate().shift(entry.offset));
+        return textDecoratorsView = Collections.unmodifiableList(decorators);
+    }
+
     /**
      * Gets a subsection from this {@link Text}.
      * <p>
@@ -121,7 +167,7 @@ public class Text
      * @param end   The ending index, exclusive.
      * @return The {@link Text} in the given range.
      */
-    // TODO: The decorator (and styled?) list(s) should be sorted by startIdx.
+    // TODO: The decorator list should be sorted by startIdx.
     @Contract("_, _ -> this")
     public @NonNull Text subsection(final int start, final int end)
     {
@@ -136,37 +182,16 @@ public class Text
             throw new RuntimeException(String.format("Range [%d %d] out of bounds for range: [0 %d]!",
                                                      start, end, stringBuilder.length()));
 
-        final @NonNull String string = stringBuilder.substring(start, end);
         final @NonNull Text newText = new Text(colorScheme);
-        newText.add(string);
-
-        for (final @NonNull StyledSection section : styledSections)
+        forEachSection(start, end, (string, style) ->
         {
-            if (section.getStartIndex() >= end)
-                break;
-
-            if (section.getEnd() < start)
-                continue;
-
-            int length = section.getLength();
+            if (style == null)
+                newText.add(string);
+            else
+                newText.add(string, style);
+        });
 
-            int startIdx = section.getStartIndex() - start;
-            if (startIdx < 0)
-            {
-                length += startIdx;
-                startIdx = 0;
-            }
-
-            if (section.getEnd() > end)
-                length -= (section.getEnd() - end);
-
-            if (length <= 0)
-                continue;
-
-            newText.styledSections.add(new StyledSection(startIdx, length, section.getStyle()));
-        }
-
-        for (final @NonNull ITextDecorator decorator : textDecorators)
+        for (final @NonNull ITextDecorator decorator : getTextDecorators())
         {
             if (decorator.getStart() > end)
                 break;
@@ -174,7 +199,7 @@ public class Text
             final int endIdx = decorator.getEnd() - start;
             final @NonNull ITextDecorator newDecorator = decorator.duplicate().shift(-start);
             newDecorator.setEnd(endIdx);
-            newText.textDecorators.add(newDecorator);
+            newText.textDecorators.add(new DecoratorEntry(newDecorator, 0));
         }
 
         return newText;
@@ -189,7 +214,7 @@ public class Text
     @Contract("_, -> this")
     public @NonNull Text addDecorator(final @NonNull ITextDecorator newDecorator)
     {
-        for (final @NonNull ITextDecorator decorator : textDecorators)
+        for (final @NonNull ITextDecorator decorator : getTextDecorators())
         {
             if (Util.between(newDecorator.getStart(), decorator.getStart(), decorator.getEnd()) ||
                 Util.between(newDecorator.getEnd(), decorator.getStart(), decorator.getEnd()))
@@ -197,7 +222,8 @@ public class Text
                     "Failed to insert new decorator with range: [%d %d] because it overlaps with another decorator with range: [%d %d]",
                     newDecorator.getStart(), newDecorator.getEnd(), decorator.getStart(), decorator.getEnd()));
         }
-        textDecorators.add(newDecorator);
+        textDecorators.add(new DecoratorEntry(newDecorator, 0));
+        textDecoratorsView = null;
         return this;
     }
 
@@ -211,7 +237,9 @@ public class Text
     public @NonNull Text add(final @NonNull String text)
     {
         stringBuilder.append(text);
+        unsectionedLength += text.length();
         styledSize += text.length();
+        styledString = null;
         return this;
     }
 
@@ -226,13 +254,38 @@ public class Text
     @Contract("_, _ -> this")
     public @NonNull Text add(final @NonNull String text, final @Nullable TextType type)
     {
-        if (type != null)
-        {
-            final @NonNull TextComponent style = colorScheme.getStyle(type);
-            styledSections.add(new StyledSection(stringBuilder.length(), text.length(), style));
-            styledSize += style.getOn().length() + style.getOff().length();
-        }
-        return add(text);
+        if (type == null)
+            return add(text);
+        return add(text, colorScheme.getStyle(type));
+    }
+
+    /**
+     * Appends some text with a given style to the current text.
+     *
+     * @param text  The text to add.
+     * @param style The style of the text to add.
+     * @return The current {@link Text} instance.
+     */
+    private @NonNull Text add(final @NonNull String text, final @NonNull TextComponent style)
+    {
+        closeUnsectionedText();
+        styledSections.add(new StyledSection(text.length(), style));
+        stringBuilder.append(text);
+        styledSize += text.length() + style.getOn().length() + style.getOff().length();
+        styledString = null;
+        return this;
+    }
+
+    /**
+     * Moves any trailing unstyled text into its own {@link StyledSection}, so that new {@link StyledSection}s can be
+     * appended after it.
+     */
+    private void closeUnsectionedText()
+    {
+        if (unsectionedLength == 0)
+            return;
+        styledSections.add(new StyledSection(unsectionedLength, null));
+        unsectionedLength = 0;
     }
 
     /**
@@ -246,39 +299,32 @@ public class Text
     @Contract("_ -> this")
     public @NonNull Text prepend(final @NonNull Text other)
     {
-        styledSections = appendSections(other.getLength(), other.styledSections, styledSections,
-                                        (section, offset) -> new StyledSection(section.startIndex + offset,
-                                                                               section.length, section.style));
-
-        textDecorators = appendSections(other.getLength(), other.textDecorators, textDecorators,
-                                        (decorator, offset) -> decorator.duplicate().shift(offset));
+        if (other.getLength() == 0)
+            return this;
 
-        stringBuilder.insert(0, other.stringBuilder);
+        final int offset = other.getLength();
+        final @NonNull List<@NonNull StyledSection> newSections =
+            new ArrayList<>(other.styledSections.size() + styledSections.size() + 1);
+        newSections.addAll(other.styledSections);
+        if (other.unsectionedLength > 0)
+            newSections.add(new StyledSection(other.unsectionedLength, null));
+        newSections.addAll(styledSections);
+
+        final @NonNull List<@NonNull DecoratorEntry> newDecorators =
+            new ArrayList<>(other.textDecorators.size() + textDecorators.size());
+        newDecorators.addAll(other.textDecorators);
+        for (final @NonNull DecoratorEntry entry : textDecorators)
+            newDecorators.add(new DecoratorEntry(entry.decorator, entry.offset + offset));
+
+        styledSections = newSections;
+        textDecorators = newDecorators;
+        stringBuilder.insert(0, other == this ? other.toPlainString() : other.stringBuilder);
+        styledSize += other.styledSize;
+        textDecoratorsView = null;
+        styledString = null;
         return this;
     }
 
-    /**
-     * Appends the (copied) values of a list to the values of another list into a list list.
-     *
-     * @param offset The offset of the second set of values.
-     * @param first  The first set of values. All values in this list will maintain their index in the new list.
-     * @param last   The last set of values. These values will be placed after the first set of values.
-     * @param copier The function that creates a new list entry from the current entry and the offset value (this value
-     *               is 0 for the first list).
-     * @param <T>    The type of the entries in the list.
-     * @return The new list with all the values copied from the first and the last list (in taht order).
-     */
-    private static <T> @NonNull List<T> appendSections(final int offset,
-                                                       final @NonNull List<T> first,
-                                                       final @NonNull List<T> last,
-                                                       final @NonNull BiFunction<T, Integer, T> copier)
-    {
-        final @NonNull List<T> ret = new ArrayList<>(first.size() + last.size());
-        first.forEach(entry -> ret.add(copier.apply(entry, 0)));
-        last.forEach(entry -> ret.add(copier.apply(entry, offset)));
-        return ret;
-    }
-
     /**
      * Appends another {@link Text} object to this one.
      * <p>
@@ -293,43 +339,97 @@ public class Text
         if (other.stringBuilder.length() == 0)
             return this;
 
-        styledSections = appendSections(getLength(), styledSections, other.styledSections,
-                                        (section, offset) -> new StyledSection(section.startIndex + offset,
-                                                                               section.length, section.style));
+        final int offset = getLength();
+        // Take a snapshot first, in case the other text is this text.
+        final @NonNull List<@NonNull StyledSection> otherSections =
+            other == this ? new ArrayList<>(styledSections) : other.styledSections;
+        final @NonNull List<@NonNull DecoratorEntry> otherDecorators =
+            other == this ? new ArrayList<>(textDecorators) : other.textDecorators;
+        final int otherUnsectionedLength = other.unsectionedLength;
+        final int otherStyledSize = other.styledSize;
 
-        textDecorators = appendSections(getLength(), textDecorators, other.textDecorators,
-                                        (decorator, offset) -> decorator.duplicate().shift(offset));
+        if (!otherSections.isEmpty())
+        {
+            closeUnsectionedText();
+            styledSections.addAll(otherSections);
+        }
+        unsectionedLength += otherUnsectionedLength;
+
+        if (!otherDecorators.isEmpty())
+        {
+            for (final @NonNull DecoratorEntry entry : otherDecorators)
+                textDecorators.add(new DecoratorEntry(entry.decorator, entry.offset + offset));
+            textDecoratorsView = null;
+        }
 
         stringBuilder.append(other.stringBuilder);
-        styledSize += other.styledSize;
+        styledSize += otherStyledSize;
+        styledString = null;
         return this;
     }
 
     @Override
     public @NonNull String toString()
     {
+        if (styledString != null)
+            return styledString;
+
         if (stringBuilder.length() == 0)
-            return "";
+            return styledString = "";
 
         final @NonNull StringBuilder sb = new StringBuilder(styledSize);
-        int lastIdx = 0;
-        for (final StyledSection section : styledSections)
+        int sectionStart = 0;
+        for (final @NonNull StyledSection section : styledSections)
         {
-            // If there are any parts without any styles.
-            if (section.startIndex > lastIdx)
-                sb.append(stringBuilder.substring(lastIdx, section.startIndex));
-            final int end = section.getEnd();
-            sb.append(section.getStyle().getOn())
-              .append(stringBuilder.substring(section.getStartIndex(), end))
-              .append(section.getStyle().getOff());
-            lastIdx = end;
+            final int sectionEnd = sectionStart + section.length;
+            if (section.style == null)
+                sb.append(stringBuilder, sectionStart, sectionEnd);
+            else
+                sb.append(section.style.getOn())
+                  .append(stringBuilder, sectionStart, sectionEnd)
+                  .append(section.style.getOff());
+            sectionStart = sectionEnd;
         }
 
         // Add any trailing text that doesn't have any styles.
-        if (lastIdx < stringBuilder.length())
-            sb.append(stringBuilder.substring(lastIdx, stringBuilder.length()));
+        if (sectionStart < stringBuilder.length())
+            sb.append(stringBuilder, sectionStart, stringBuilder.length());
 
-        return sb.toString();
+        return styledString = sb.toString();
+    }
+
+    /**
+     * Visits all sections of the text in a given range in order, including the unstyled ones.
+     * <p>
+     * This allows converting a {@link Text} to another format without parsing the output of {@link #toString()}.
+     *
+     * @param start    The beginning index, inclusive.
+     * @param end      The ending index, exclusive.
+     * @param consumer The {@link ISectionConsumer} that will receive every non-empty section in the range.
+     */
+    public void forEachSection(final int start, final int end, final @NonNull ISectionConsumer consumer)
+    {
+        if (start < 0 || end > stringBuilder.length())
+            throw new RuntimeException(String.format("Range [%d %d] out of bounds for range: [0 %d]!",
+                                                     start, end, stringBuilder.length()));
+
+        int sectionStart = 0;
+        for (final @NonNull StyledSection section : styledSections)
+        {
+            if (sectionStart >= end)
+                return;
+
+            final int sectionEnd = sectionStart + section.length;
+            final int from = Math.max(start, sectionStart);
+            final int to = Math.min(end, sectionEnd);
+            sectionStart = sectionEnd;
+            if (to > from)
+                consumer.accept(stringBuilder.substring(from, to), section.style);
+        }
+
+        // Add any trailing text that doesn't have any styles.
+        if (sectionStart < end)
+            consumer.accept(stringBuilder.substring(Math.max(start, sectionStart), end), null);
     }
 
     /**
@@ -343,29 +443,54 @@ public class Text
     }
 
     /**
-     * Represents a section in a text that is associated with a certain style.
+     * Represents a consecutive section in a text that is associated with a certain style (or no style at all).
+     * <p>
+     * Sections are immutable, so they can be shared by any number of {@link Text}s.
      *
      * @author Pim
      */
     @AllArgsConstructor
-    @Getter
-    private static class StyledSection
+    private static final class StyledSection
     {
-        private final int startIndex;
+        /**
+         * The number of characters in this section.
+         */
         private final int length;
-        private final @NonNull TextComponent style;
 
-        // Copy constructor
-        public StyledSection(final @NonNull StyledSection other)
-        {
-            startIndex = other.startIndex;
-            length = other.length;
-            style = other.style;
-        }
+        /**
+         * The style of this section. When this is null, the section is not styled.
+         */
+        private final @Nullable TextComponent style;
+    }
 
-        int getEnd()
-        {
-            return startIndex + length;
-        }
+    /**
+     * Represents an {@link ITextDecorator} that is shared with other {@link Text}s and the distance by which it has to
+     * be shifted to be positioned correctly in this {@link Text}.
+     *
+     * @author Pim
+     */
+    @AllArgsConstructor
+    private static final class DecoratorEntry
+    {
+        private final @NonNull ITextDecorator decorator;
+        private final int offset;
+    }
+
+    /**
+     * Represents a function that receives the sections of a {@link Text}. See {@link #forEachSection(int, int,
+     * ISectionConsumer)}.
+     *
+     * @author Pim
+     */
+    @FunctionalInterface
+    public interface ISectionConsumer
+    {
+        /**
+         * Receives a section of a {@link Text}.
+         *
+         * @param text  The text of the section.
+         * @param style The style of the section. This is null for unstyled sections.
+         */
+        void accept(@NonNull String text, @Nullable TextComponent style);
     }
 }
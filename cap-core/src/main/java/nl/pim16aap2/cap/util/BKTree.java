@@ -0,0 +1,203 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.util;
+
+import lombok.Getter;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents a BK-tree of Strings using the Levenshtein distance as metric.
+ * <p>
+ * Every node stores its children by their distance to the node, so a search for all Strings within a certain distance
+ * of a query only has to visit the children whose distance is within that range of the distance between the query and
+ * the node (triangle inequality). For small distances, this visits only a fraction of the tree.
+ * <p>
+ * This class is not thread-safe while Strings are being added, but it is safe to search it from multiple threads once
+ * it has been filled.
+ *
+ * @author Pim
+ */
+public final class BKTree
+{
+    /**
+     * Whether to take the case of the characters into account when comparing Strings.
+     */
+    @Getter
+    private final boolean caseSensitive;
+
+    private @Nullable Node root = null;
+
+    /**
+     * The number of distinct Strings in this tree.
+     */
+    @Getter
+    private int size = 0;
+
+    /**
+     * @param caseSensitive See {@link #caseSensitive}.
+     */
+    public BKTree(final boolean caseSensitive)
+    {
+        this.caseSensitive = caseSensitive;
+    }
+
+    /**
+     * @param words         The Strings to add to the tree.
+     * @param caseSensitive See {@link #caseSensitive}.
+     */
+    public BKTree(final @NonNull Collection<@NonNull String> words, final boolean caseSensitive)
+    {
+        this(caseSensitive);
+        words.forEach(this::add);
+    }
+
+    /**
+     * Adds a String to this tree. Strings that are already in the tree are ignored.
+     *
+     * @param word The String to add.
+     */
+    public void add(final @NonNull String word)
+    {
+        if (root == null)
+        {
+            root = new Node(word);
+            ++size;
+            return;
+        }
+
+        @NonNull Node node = root;
+        while (true)
+        {
+            final int distance = distance(node.word, word, caseSensitive);
+            if (distance == 0)
+                return;
+
+            final @Nullable Node child = node.children.get(distance);
+            if (child == null)
+            {
+                node.children.put(distance, new Node(word));
+                ++size;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Finds all Strings in this tree within a maximum distance of a query.
+     *
+     * @param query       The String to search for.
+     * @param maxDistance The maximum (inclusive) Levenshtein distance between the query and the results.
+     * @return All Strings within the maximum distance of the query, ordered by their distance and then alphabetically.
+     */
+    public @NonNull List<@NonNull String> search(final @NonNull String query, final int maxDistance)
+    {
+        if (root == null || maxDistance < 0)
+            return new ArrayList<>(0);
+
+        final @NonNull List<Pair<String, Integer>> matches = new ArrayList<>();
+
+        final @NonNull Deque<Node> queue = new ArrayDeque<>();
+        queue.add(root);
+        while (!queue.isEmpty())
+        {
+            final @NonNull Node node = queue.poll();
+            final int distance = distance(node.word, query, caseSensitive);
+            if (distance <= maxDistance)
+                matches.add(new Pair<>(node.word, distance));
+
+            final int min = distance - maxDistance;
+            final int max = distance + maxDistance;
+            for (final @NonNull Map.Entry<Integer, Node> entry : node.children.entrySet())
+                if (entry.getKey() >= min && entry.getKey() <= max)
+                    queue.add(entry.getValue());
+        }
+
+        matches.sort(Comparator.<Pair<String, Integer>>comparingInt(pair -> pair.second)
+                         .thenComparing(pair -> pair.first));
+        final @NonNull List<@NonNull String> results = new ArrayList<>(matches.size());
+        matches.forEach(pair -> results.add(pair.first));
+        return results;
+    }
+
+    /**
+     * Calculates the Levenshtein distance between two Strings. This is the minimum number of single-character
+     * insertions, deletions and substitutions required to change one String into the other.
+     *
+     * @param first         The first String.
+     * @param second        The second String.
+     * @param caseSensitive Whether to take the case of the characters into account.
+     * @return The Levenshtein distance between the two Strings.
+     */
+    public static int distance(final @NonNull String first, final @NonNull String second,
+                               final boolean caseSensitive)
+    {
+        int[] previous = new int[second.length() + 1];
+        int[] current = new int[second.length() + 1];
+        for (int idx = 0; idx <= second.length(); ++idx)
+            previous[idx] = idx;
+
+        for (int row = 1; row <= first.length(); ++row)
+        {
+            current[0] = row;
+            final char firstChar = first.charAt(row - 1);
+            for (int col = 1; col <= second.length(); ++col)
+            {
+                final int cost = equals(firstChar, second.charAt(col - 1), caseSensitive) ? 0 : 1;
+                current[col] = Math.min(Math.min(current[col - 1] + 1, previous[col] + 1), previous[col - 1] + cost);
+            }
+            final int[] tmp = previous;
+            previous = current;
+            current = tmp;
+        }
+        return previous[second.length()];
+    }
+
+    private static boolean equals(final char first, final char second, final boolean caseSensitive)
+    {
+        return first == second || (!caseSensitive && Character.toLowerCase(first) == Character.toLowerCase(second));
+    }
+
+    private static final class Node
+    {
+        private final @NonNull String word;
+        private final @NonNull Map<Integer, Node> children = new HashMap<>(4);
+
+        private Node(final @NonNull String word)
+        {
+            this.word = word;
+        }
+    }
+}
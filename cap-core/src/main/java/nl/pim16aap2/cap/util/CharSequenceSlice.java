@@ -0,0 +1,150 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.util;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Represents a read-only view of a range of a String.
+ * <p>
+ * Unlike {@link String#substring(int, int)}, creating a slice does not copy any characters. They are only copied
+ * when {@link #toString()} is called.
+ * <p>
+ * Two slices are equal if they contain the same characters, regardless of their sources, and their hash codes are the
+ * same as those of the equivalent Strings. However, a String is never equal to a slice, so use {@link
+ * String#contentEquals(CharSequence)} or {@link #toString()} to compare a slice to a String. E.g. {@code
+ * "hello".contentEquals(slice)}.
+ *
+ * @author Pim
+ */
+public final class CharSequenceSlice implements CharSequence
+{
+    /**
+     * The String this is a view of.
+     */
+    @Getter
+    private final @NonNull String source;
+
+    /**
+     * The index of the first character of this slice in the {@link #source}.
+     */
+    @Getter
+    private final int start;
+
+    /**
+     * The index after the last character of this slice in the {@link #source}.
+     */
+    @Getter
+    private final int end;
+
+    /**
+     * @param source The String to create a view of.
+     * @param start  The index of the first character in the source (inclusive).
+     * @param end    The index after the last character in the source (exclusive).
+     * @throws IndexOutOfBoundsException If the range is not a valid range of the source.
+     */
+    public CharSequenceSlice(final @NonNull String source, final int start, final int end)
+    {
+        if (start < 0 || end > source.length() || start > end)
+            throw new IndexOutOfBoundsException(
+                String.format("Invalid range [%d, %d) for a String of length %d!", start, end, source.length()));
+        this.source = source;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Creates a slice of a String without any leading or trailing whitespace. See {@link
+     * Character#isWhitespace(char)}.
+     *
+     * @param source The String to create a view of.
+     * @param start  The index of the first character in the source (inclusive).
+     * @param end    The index after the last character in the source (exclusive).
+     * @return The slice of the range without any leading or trailing whitespace.
+     */
+    public static @NonNull CharSequenceSlice trimmed(final @NonNull String source, int start, int end)
+    {
+        while (start < end && Character.isWhitespace(source.charAt(start)))
+            ++start;
+        while (end > start && Character.isWhitespace(source.charAt(end - 1)))
+            --end;
+        return new CharSequenceSlice(source, start, end);
+    }
+
+    @Override
+    public int length()
+    {
+        return end - start;
+    }
+
+    @Override
+    public char charAt(final int index)
+    {
+        if (index < 0 || index >= length())
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for length " + length() + "!");
+        return source.charAt(start + index);
+    }
+
+    @Override
+    public @NonNull CharSequenceSlice subSequence(final int start, final int end)
+    {
+        if (start < 0 || end > length() || start > end)
+            throw new IndexOutOfBoundsException(
+                String.format("Invalid range [%d, %d) for a slice of length %d!", start, end, length()));
+        return new CharSequenceSlice(source, this.start + start, this.start + end);
+    }
+
+    @Override
+    public boolean equals(final Object other)
+    {
+        if (this == other)
+            return true;
+        if (!(other instanceof CharSequenceSlice))
+            return false;
+
+        final @NonNull CharSequenceSlice otherSlice = (CharSequenceSlice) other;
+        final int length = length();
+        if (length != otherSlice.length())
+            return false;
+        return source.regionMatches(start, otherSlice.source, otherSlice.start, length);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        // Same as String#hashCode(), so a slice has the same hash code as its String representation.
+        int hash = 0;
+        for (int idx = start; idx < end; ++idx)
+            hash = 31 * hash + source.charAt(idx);
+        return hash;
+    }
+
+    @Override
+    public @NonNull String toString()
+    {
+        return source.substring(start, end);
+    }
+}
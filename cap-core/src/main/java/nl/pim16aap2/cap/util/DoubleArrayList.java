@@ -0,0 +1,176 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.util;
+
+import lombok.NonNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Represents a {@link java.util.List} of {@link Double}s that stores its values in a double array, so the values do not
+ * have to be boxed while they are stored.
+ * <p>
+ * This list does not accept null values.
+ *
+ * @author Pim
+ */
+public final class DoubleArrayList extends PrimitiveArrayList<Double>
+{
+    private static final @NonNull double[] EMPTY = new double[0];
+
+    private @NonNull double[] values;
+
+    /**
+     * @param initialCapacity The number of values that can be stored before the backing array has to be resized.
+     */
+    public DoubleArrayList(final int initialCapacity)
+    {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        values = initialCapacity == 0 ? EMPTY : new double[initialCapacity];
+    }
+
+    public DoubleArrayList()
+    {
+        this(0);
+    }
+
+    /**
+     * Gets the value at the provided index without boxing it.
+     *
+     * @param index The index of the value.
+     * @return The value at the provided index.
+     */
+    public double getDouble(final int index)
+    {
+        checkIndex(index, size);
+        return values[index];
+    }
+
+    /**
+     * Replaces the value at the provided index without boxing it.
+     *
+     * @param index The index of the value.
+     * @param value The new value.
+     * @return The previous value at the provided index.
+     */
+    public double setDouble(final int index, final double value)
+    {
+        checkIndex(index, size);
+        final double old = values[index];
+        values[index] = value;
+        return old;
+    }
+
+    /**
+     * Appends a value to the end of this list without boxing it.
+     *
+     * @param value The value to append.
+     */
+    public void addDouble(final double value)
+    {
+        ensureCapacity(size + 1);
+        values[size++] = value;
+        ++modCount;
+    }
+
+    /**
+     * Copies the values in this list to a new array.
+     *
+     * @return The new array containing all values in this list.
+     */
+    public @NonNull double[] toDoubleArray()
+    {
+        return Arrays.copyOf(values, size);
+    }
+
+    @Override
+    public @NonNull Double get(final int index)
+    {
+        return getDouble(index);
+    }
+
+    @Override
+    public @NonNull Double set(final int index, final @NonNull Double value)
+    {
+        return setDouble(index, value);
+    }
+
+    @Override
+    public boolean add(final @NonNull Double value)
+    {
+        addDouble(value);
+        return true;
+    }
+
+    @Override
+    public void add(final int index, final @NonNull Double value)
+    {
+        openSlot(index);
+        values[index] = value;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * When the provided collection is another {@link DoubleArrayList}, the values are copied without boxing them.
+     */
+    @Override
+    public boolean addAll(final @NonNull Collection<? extends Double> collection)
+    {
+        if (!(collection instanceof DoubleArrayList))
+            return super.addAll(collection);
+        appendArray((DoubleArrayList) collection);
+        return !collection.isEmpty();
+    }
+
+    @Override
+    public @NonNull Double remove(final int index)
+    {
+        checkIndex(index, size);
+        final double old = values[index];
+        closeSlot(index);
+        return old;
+    }
+
+    @Override
+    protected @NonNull Object getArray()
+    {
+        return values;
+    }
+
+    @Override
+    protected int getCapacity()
+    {
+        return values.length;
+    }
+
+    @Override
+    protected void resize(final int capacity)
+    {
+        values = Arrays.copyOf(values, capacity);
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.util;
+
+import lombok.NonNull;
+import lombok.Value;
+import nl.pim16aap2.cap.util.Functional.CheckedConsumer;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Represents a file that is replaced by writing a new generation of it instead of overwriting it.
+ * <p>
+ * Every generation of a file 'names.idx' is written to its own file 'names.idx.&lt;generation&gt;'. This way, a
+ * generation can be replaced while it is still memory-mapped. Some platforms (e.g. Windows) do not allow replacing or
+ * deleting a file that is mapped, so the old generations are only deleted once their mappings are no longer reachable
+ * (see {@link #retire(Path, Object)}), or when the file is opened again (see {@link #open(Path)}).
+ * <p>
+ * A file without a generation suffix is treated as generation 0, so existing files can still be read.
+ *
+ * @author Pim
+ */
+public final class GenerationalFile
+{
+    private static final @NonNull String TMP_SUFFIX = ".tmp";
+
+    /**
+     * The path of the file without any generation suffix.
+     */
+    private final @NonNull Path base;
+
+    /**
+     * The generation of the {@link #current} file.
+     */
+    private long generation;
+
+    /**
+     * The file of the current generation. This is null if no generation has been written yet.
+     */
+    private @Nullable Path current;
+
+    /**
+     * The files of older generations that can be deleted once their mappings are no longer reachable.
+     */
+    private final @NonNull List<@NonNull Retired> retired = new ArrayList<>();
+
+    private GenerationalFile(final @NonNull Path base, final long generation, final @Nullable Path current)
+    {
+        this.base = base;
+        this.generation = generation;
+        this.current = current;
+    }
+
+    /**
+     * Finds the latest generation of a file and deletes all older generations and any unfinished generations.
+     * <p>
+     * Because older generations are deleted, this should only be called once for every file, before any of its
+     * generations are mapped.
+     *
+     * @param base The path of the file without any generation suffix.
+     * @return The new {@link GenerationalFile}.
+     *
+     * @throws IOException If the directory of the file could not be read.
+     */
+    public static @NonNull GenerationalFile open(final @NonNull Path base)
+        throws IOException
+    {
+        final @NonNull List<@NonNull Path> stale = new ArrayList<>();
+        final long latest = findLatest(base, stale);
+        for (final @NonNull Path file : stale)
+            tryDelete(file);
+        return new GenerationalFile(base, Math.max(0, latest), latest < 0 ? null : getFile(base, latest));
+    }
+
+    /**
+     * Checks if a newer generation was written by something else (e.g. another process) and makes it the current
+     * generation if so.
+     * <p>
+     * Unlike {@link #open(Path)}, this does not delete any files. The caller should retire the previous generation once
+     * it has mapped the new one. See {@link #retire(Path, Object)}.
+     *
+     * @return True if the current generation changed.
+     *
+     * @throws IOException If the directory of the file could not be read.
+     */
+    public synchronized boolean refresh()
+        throws IOException
+    {
+        final long latest = findLatest(base, null);
+        if (latest < 0 || (current != null && latest <= generation))
+            return false;
+        generation = latest;
+        current = getFile(base, latest);
+        return true;
+    }
+
+    /**
+     * Finds the latest generation of a file.
+     *
+     * @param base  The path of the file without any generation suffix.
+     * @param stale The list to add all older and unfinished generations to. May be null.
+     * @return The latest generation, or -1 if there are no generations.
+     *
+     * @throws IOException If the directory of the file could not be read.
+     */
+    private static long findLatest(final @NonNull Path base, final @Nullable List<@NonNull Path> stale)
+        throws IOException
+    {
+        final @NonNull Path directory = base.toAbsolutePath().getParent();
+        final @NonNull String prefix = base.getFileName() + ".";
+
+        long latest = Files.exists(base) ? 0 : -1;
+        if (!Files.isDirectory(directory))
+            return latest;
+
+        try (final @NonNull DirectoryStream<Path> stream = Files.newDirectoryStream(directory, prefix + "*"))
+        {
+            for (final @NonNull Path file : stream)
+            {
+                final long fileGeneration = getGeneration(file.getFileName().toString().substring(prefix.length()));
+                final @Nullable Path staleFile;
+                if (fileGeneration < 0)
+                    staleFile = file.getFileName().toString().endsWith(TMP_SUFFIX) ? file : null;
+                else if (fileGeneration > latest)
+                {
+                    staleFile = latest < 0 ? null : getFile(base, latest);
+                    latest = fileGeneration;
+                }
+                else
+                    staleFile = file;
+
+                if (stale != null && staleFile != null)
+                    stale.add(staleFile);
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * Gets the file of the current generation.
+     *
+     * @return The file of the current generation, or null if no generation has been written yet.
+     */
+    public synchronized @Nullable Path getCurrent()
+    {
+        return current;
+    }
+
+    /**
+     * Writes a new generation and makes it the current generation.
+     * <p>
+     * The generation is written to a temporary file first, so an unfinished generation is never used.
+     *
+     * @param writer The function that writes the contents of the new generation to the provided channel.
+     * @return The file of the new generation.
+     *
+     * @throws IOException If the new generation could not be written.
+     */
+    public synchronized @NonNull Path write(final @NonNull CheckedConsumer<@NonNull FileChannel, IOException> writer)
+        throws IOException
+    {
+        final @NonNull Path file = getFile(base, generation + 1);
+        final @NonNull Path tmpFile = file.resolveSibling(file.getFileName() + TMP_SUFFIX);
+        try (final @NonNull FileChannel channel =
+                 FileChannel.open(tmpFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                  StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            writer.accept(channel);
+            channel.force(true);
+        }
+        // The new file name is not in use yet, so nothing is replaced.
+        Files.move(tmpFile, file, StandardCopyOption.ATOMIC_MOVE);
+        ++generation;
+        current = file;
+        return file;
+    }
+
+    /**
+     * Marks the file of an old generation for deletion once its mapping is no longer reachable and deletes the files
+     * of all retired generations whose mappings are no longer reachable.
+     *
+     * @param file    The file of the old generation.
+     * @param mapping The object that keeps the file mapped (e.g. the {@link java.nio.MappedByteBuffer}).
+     */
+    public synchronized void retire(final @NonNull Path file, final @NonNull Object mapping)
+    {
+        retired.add(new Retired(file, new WeakReference<>(mapping)));
+        purge();
+    }
+
+    /**
+     * Deletes the files of all retired generations whose mappings are no longer reachable. See {@link #retire(Path,
+     * Object)}.
+     * <p>
+     * Files that cannot be deleted yet (e.g. because the mapping has not been released by the platform yet) are tried
+     * again the next time.
+     */
+    public synchronized void purge()
+    {
+        final @NonNull Iterator<Retired> it = retired.iterator();
+        while (it.hasNext())
+        {
+            final @NonNull Retired entry = it.next();
+            if (entry.getMapping().get() == null && tryDelete(entry.getFile()))
+                it.remove();
+        }
+    }
+
+    private static @NonNull Path getFile(final @NonNull Path base, final long generation)
+    {
+        return generation == 0 ? base : base.resolveSibling(base.getFileName() + "." + generation);
+    }
+
+    /**
+     * Parses the generation from the suffix of a file name.
+     *
+     * @param suffix The part of the file name after the name of the base file and the dot.
+     * @return The generation, or -1 if the suffix is not a generation. Generation 0 never has a suffix.
+     */
+    private static long getGeneration(final @NonNull String suffix)
+    {
+        if (suffix.isEmpty() || suffix.length() > 18)
+            return -1;
+        for (int idx = 0; idx < suffix.length(); ++idx)
+            if (suffix.charAt(idx) < '0' || suffix.charAt(idx) > '9')
+                return -1;
+        final long generation = Long.parseLong(suffix);
+        return generation == 0 ? -1 : generation;
+    }
+
+    private static boolean tryDelete(final @NonNull Path file)
+    {
+        try
+        {
+            Files.deleteIfExists(file);
+            return true;
+        }
+        catch (IOException e)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * Represents the file of an old generation and the mapping that has to be unreachable before it can be deleted.
+     */
+    @Value
+    private static class Retired
+    {
+        @NonNull Path file;
+        @NonNull WeakReference<Object> mapping;
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.util;
+
+import lombok.NonNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Represents a {@link java.util.List} of {@link Integer}s that stores its values in an int array, so the values do not
+ * have to be boxed while they are stored.
+ * <p>
+ * This list does not accept null values.
+ *
+ * @author Pim
+ */
+public final class IntArrayList extends PrimitiveArrayList<Integer>
+{
+    private static final @NonNull int[] EMPTY = new int[0];
+
+    private @NonNull int[] values;
+
+    /**
+     * @param initialCapacity The number of values that can be stored before the backing array has to be resized.
+     */
+    public IntArrayList(final int initialCapacity)
+    {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        values = initialCapacity == 0 ? EMPTY : new int[initialCapacity];
+    }
+
+    public IntArrayList()
+    {
+        this(0);
+    }
+
+    /**
+     * Gets the value at the provided index without boxing it.
+     *
+     * @param index The index of the value.
+     * @return The value at the provided index.
+     */
+    public int getInt(final int index)
+    {
+        checkIndex(index, size);
+        return values[index];
+    }
+
+    /**
+     * Replaces the value at the provided index without boxing it.
+     *
+     * @param index The index of the value.
+     * @param value The new value.
+     * @return The previous value at the provided index.
+     */
+    public int setInt(final int index, final int value)
+    {
+        checkIndex(index, size);
+        final int old = values[index];
+        values[index] = value;
+        return old;
+    }
+
+    /**
+     * Appends a value to the end of this list without boxing it.
+     *
+     * @param value The value to append.
+     */
+    public void addInt(final int value)
+    {
+        ensureCapacity(size + 1);
+        values[size++] = value;
+        ++modCount;
+    }
+
+    /**
+     * Copies the values in this list to a new array.
+     *
+     * @return The new array containing all values in this list.
+     */
+    public @NonNull int[] toIntArray()
+    {
+        return Arrays.copyOf(values, size);
+    }
+
+    @Override
+    public @NonNull Integer get(final int index)
+    {
+        return getInt(index);
+    }
+
+    @Override
+    public @NonNull Integer set(final int index, final @NonNull Integer value)
+    {
+        return setInt(index, value);
+    }
+
+    @Override
+    public boolean add(final @NonNull Integer value)
+    {
+        addInt(value);
+        return true;
+    }
+
+    @Override
+    public void add(final int index, final @NonNull Integer value)
+    {
+        openSlot(index);
+        values[index] = value;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * When the provided collection is another {@link IntArrayList}, the values are copied without boxing them.
+     */
+    @Override
+    public boolean addAll(final @NonNull Collection<? extends Integer> collection)
+    {
+        if (!(collection instanceof IntArrayList))
+            return super.addAll(collection);
+        appendArray((IntArrayList) collection);
+        return !collection.isEmpty();
+    }
+
+    @Override
+    public @NonNull Integer remove(final int index)
+    {
+        checkIndex(index, size);
+        final int old = values[index];
+        closeSlot(index);
+        return old;
+    }
+
+    @Override
+    protected @NonNull Object getArray()
+    {
+        return values;
+    }
+
+    @Override
+    protected int getCapacity()
+    {
+        return values.length;
+    }
+
+    @Override
+    protected void resize(final int capacity)
+    {
+        values = Arrays.copyOf(values, capacity);
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents an immutable index of values by their names.
+ * <p>
+ * Looking up a value by its name is a single hash lookup. The names are also stored in alphabetical order, so all
+ * names starting with a prefix can be found with a binary search and returned as a view without copying them.
+ * <p>
+ * Every name can have a display name (e.g. the name before it was converted to lower case). Prefix searches use the
+ * names, but return the display names.
+ * <p>
+ * Because it is immutable, an index can safely be shared between threads.
+ *
+ * @param <T> The type of the values.
+ * @author Pim
+ */
+public final class NameIndex<T>
+{
+    /**
+     * The values mapped by their names.
+     */
+    private final @NonNull Map<@NonNull String, @NonNull T> lookup;
+
+    /**
+     * The names of all values in alphabetical order.
+     */
+    private final @NonNull String[] sortedNames;
+
+    /**
+     * The display names of all values in the order of {@link #sortedNames}.
+     */
+    private final @NonNull List<@NonNull String> displayNames;
+
+    /**
+     * @param entries The values mapped by their names. The map is copied, so changes to it are not reflected in the
+     *                index.
+     */
+    public NameIndex(final @NonNull Map<@NonNull String, @NonNull T> entries)
+    {
+        this(entries, Collections.emptyMap());
+    }
+
+    /**
+     * @param entries      The values mapped by their names. The map is copied, so changes to it are not reflected in
+     *                     the index.
+     * @param displayNames The display names mapped by the names they belong to. Names that do not have a display name
+     *                     are used as their own display name.
+     */
+    public NameIndex(final @NonNull Map<@NonNull String, @NonNull T> entries,
+                     final @NonNull Map<@NonNull String, @NonNull String> displayNames)
+    {
+        lookup = new HashMap<>(entries);
+        sortedNames = entries.keySet().toArray(new String[0]);
+        Arrays.sort(sortedNames);
+
+        final @NonNull String[] display = new String[sortedNames.length];
+        for (int idx = 0; idx < sortedNames.length; ++idx)
+            display[idx] = displayNames.getOrDefault(sortedNames[idx], sortedNames[idx]);
+        this.displayNames = Collections.unmodifiableList(Arrays.asList(display));
+    }
+
+    /**
+     * Gets the value with a name.
+     *
+     * @param name The name of the value.
+     * @return The value with the name, if it exists.
+     */
+    public @Nullable T get(final @NonNull String name)
+    {
+        return lookup.get(name);
+    }
+
+    /**
+     * Gets the display names of the values whose names start with a prefix.
+     * <p>
+     * Because the names are sorted, all matches are in a single range that starts at the first name that is not
+     * smaller than the prefix.
+     *
+     * @param prefix The prefix the names have to start with.
+     * @return An unmodifiable view of the range of display names whose names start with the prefix, in the
+     * alphabetical order of their names.
+     */
+    public @NonNull List<@NonNull String> startingWith(final @NonNull String prefix)
+    {
+        if (prefix.isEmpty())
+            return displayNames;
+
+        final int start = findStart(prefix);
+        return displayNames.subList(start, findEnd(start, prefix));
+    }
+
+    /**
+     * Gets tab-completion suggestions for the values whose names start with a prefix.
+     * <p>
+     * The suggestions are the display names (see {@link #startingWith(String)}) that start with the partial value as
+     * it was typed. When the partial value was typed in another case than the display name, the beginning of the
+     * display name is replaced by the partial value, so the suggestions always extend what was typed. If the display
+     * name cannot be aligned with the partial value (e.g. because changing the case changed its length), the rest of
+     * the name is used instead.
+     *
+     * @param partial The partial value as it was typed.
+     * @param prefix  The partial value as name, e.g. converted to lower case.
+     * @return The suggestions for the values whose names start with the prefix, in the alphabetical order of their
+     * names.
+     */
+    public @NonNull List<@NonNull String> complete(final @NonNull String partial, final @NonNull String prefix)
+    {
+        if (partial.isEmpty())
+            return displayNames;
+
+        final int start = findStart(prefix);
+        final int end = findEnd(start, prefix);
+        final @NonNull List<@NonNull String> ret = new ArrayList<>(end - start);
+        for (int idx = start; idx < end; ++idx)
+        {
+            final @NonNull String displayName = displayNames.get(idx);
+            if (displayName.startsWith(partial))
+                ret.add(displayName);
+            else if (partial.length() == prefix.length() && displayName.length() == sortedNames[idx].length())
+                ret.add(partial + displayName.substring(partial.length()));
+            else
+                ret.add(partial + sortedNames[idx].substring(prefix.length()));
+        }
+        return ret;
+    }
+
+    /**
+     * Gets the display names of all values in the alphabetical order of their names.
+     *
+     * @return An unmodifiable list of the display names of all values.
+     */
+    public @NonNull List<@NonNull String> getNames()
+    {
+        return displayNames;
+    }
+
+    /**
+     * Gets the number of values in this index.
+     *
+     * @return The number of values in this index.
+     */
+    public int size()
+    {
+        return sortedNames.length;
+    }
+
+    /**
+     * Finds the index of the first name that is not smaller than a prefix.
+     *
+     * @param prefix The prefix to search for.
+     * @return The index of the first name that is not smaller than the prefix.
+     */
+    private int findStart(final @NonNull String prefix)
+    {
+        int low = 0;
+        int high = sortedNames.length;
+        while (low < high)
+        {
+            final int mid = (low + high) >>> 1;
+            if (sortedNames[mid].compareTo(prefix) < 0)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * Finds the end of the range of names that start with a prefix.
+     *
+     * @param start  The start of the range. See {@link #findStart(String)}.
+     * @param prefix The prefix the names have to start with.
+     * @return The index of the first name after the start that does not start with the prefix.
+     */
+    private int findEnd(final int start, final @NonNull String prefix)
+    {
+        int end = start;
+        while (end < sortedNames.length && sortedNames[end].startsWith(prefix))
+            ++end;
+        return end;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.util;
+
+import lombok.NonNull;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Represents the base of the {@link java.util.List}s that store their values in a primitive array. See {@link
+ * IntArrayList} and {@link DoubleArrayList}.
+ * <p>
+ * The subclasses provide accessors for the primitive values (e.g. {@link IntArrayList#getInt(int)}) that should be
+ * used instead of the methods of the {@link java.util.List} interface where possible, as those have to box the values.
+ *
+ * @param <E> The boxed type of the values.
+ * @author Pim
+ */
+public abstract class PrimitiveArrayList<E> extends AbstractList<E> implements RandomAccess
+{
+    protected int size = 0;
+
+    /**
+     * Gets the backing array.
+     *
+     * @return The backing array.
+     */
+    protected abstract @NonNull Object getArray();
+
+    /**
+     * Gets the length of the backing array.
+     *
+     * @return The number of values that can be stored before the backing array has to be resized.
+     */
+    protected abstract int getCapacity();
+
+    /**
+     * Replaces the backing array with a copy of the provided length.
+     *
+     * @param capacity The length of the new backing array.
+     */
+    protected abstract void resize(final int capacity);
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Makes sure the backing array can store at least the provided number of values.
+     *
+     * @param capacity The minimum number of values the backing array should be able to store.
+     */
+    public void ensureCapacity(final int capacity)
+    {
+        final int current = getCapacity();
+        if (capacity <= current)
+            return;
+        resize(Math.max(capacity, Math.max(4, current + (current >> 1))));
+    }
+
+    /**
+     * Makes room for a new value at the provided index by moving all values at or after it one position to the right.
+     *
+     * @param index The index of the new value.
+     */
+    protected void openSlot(final int index)
+    {
+        checkIndex(index, size + 1);
+        ensureCapacity(size + 1);
+        final @NonNull Object array = getArray();
+        System.arraycopy(array, index, array, index + 1, size - index);
+        ++size;
+        ++modCount;
+    }
+
+    /**
+     * Removes the value at the provided index by moving all values after it one position to the left.
+     *
+     * @param index The index of the value to remove.
+     */
+    protected void closeSlot(final int index)
+    {
+        final @NonNull Object array = getArray();
+        System.arraycopy(array, index + 1, array, index, size - index - 1);
+        --size;
+        ++modCount;
+    }
+
+    /**
+     * Appends all values of another list of the same type to this one without boxing them.
+     *
+     * @param other The list whose values to append.
+     */
+    protected void appendArray(final @NonNull PrimitiveArrayList<E> other)
+    {
+        final int count = other.size;
+        ensureCapacity(size + count);
+        System.arraycopy(other.getArray(), 0, getArray(), size, count);
+        size += count;
+        ++modCount;
+    }
+
+    /**
+     * Checks if an index is valid.
+     *
+     * @param index The index to check.
+     * @param size  The exclusive upper bound of the index.
+     *
+     * @throws IndexOutOfBoundsException If the index is less than 0 or not less than the size.
+     */
+    protected static void checkIndex(final int index, final int size)
+    {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+}
@@ -0,0 +1,437 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.util;
+
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents an immutable, sorted table of Strings that is stored in a memory-mapped file.
+ * <p>
+ * The Strings are stored as UTF-8 in blocks of {@link Builder#blockSize(int)} entries. The first entry of every block
+ * is stored in full and every other entry only stores the part that differs from the entry before it (front coding).
+ * A prefix query is a binary search over the first entries of the blocks followed by a scan of the matching blocks, so
+ * it only allocates the returned Strings.
+ * <p>
+ * Because it is immutable, a table can safely be shared between threads. Use {@link #builder(GenerationalFile)} to
+ * create or replace a table.
+ *
+ * @author Pim
+ */
+public final class SortedStringTable
+{
+    private static final int MAGIC = 0x43415053; // "CAPS"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 * Integer.BYTES;
+
+    private static final @NonNull SortedStringTable EMPTY = new SortedStringTable(ByteBuffer.allocate(0), 0, 1, 0);
+
+    private final @NonNull ByteBuffer buffer;
+    private final int size;
+    private final int blockSize;
+    private final int blockCount;
+
+    private SortedStringTable(final @NonNull ByteBuffer buffer, final int size, final int blockSize,
+                              final int blockCount)
+    {
+        this.buffer = buffer;
+        this.size = size;
+        this.blockSize = blockSize;
+        this.blockCount = blockCount;
+    }
+
+    /**
+     * Gets a table without any entries.
+     *
+     * @return A table without any entries.
+     */
+    public static @NonNull SortedStringTable empty()
+    {
+        return EMPTY;
+    }
+
+    /**
+     * Opens the table stored in a file.
+     *
+     * @param file The file the table is stored in.
+     * @return The opened table.
+     *
+     * @throws IOException If the file could not be read or is not a valid table.
+     */
+    public static @NonNull SortedStringTable open(final @NonNull Path file)
+        throws IOException
+    {
+        try (final @NonNull FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            final long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE || fileSize > Integer.MAX_VALUE)
+                throw new IOException("File " + file + " has an invalid size for a string table: " + fileSize + "!");
+
+            final @NonNull ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            final int magic = buffer.getInt(0);
+            final int version = buffer.getInt(Integer.BYTES);
+            final int size = buffer.getInt(2 * Integer.BYTES);
+            final int blockSize = buffer.getInt(3 * Integer.BYTES);
+            if (magic != MAGIC || version != VERSION)
+                throw new IOException("File " + file + " is not a string table of version " + VERSION + "!");
+            if (size < 0 || blockSize < 1)
+                throw new IOException("String table " + file + " is corrupted!");
+
+            final int blockCount = (int) ((size + (long) blockSize - 1) / blockSize);
+            if (HEADER_SIZE + (long) blockCount * Integer.BYTES > fileSize)
+                throw new IOException("String table " + file + " is corrupted!");
+            return new SortedStringTable(buffer, size, blockSize, blockCount);
+        }
+    }
+
+    /**
+     * Gets the number of Strings in this table.
+     *
+     * @return The number of Strings in this table.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Gets the Strings that start with a prefix.
+     *
+     * @param prefix The prefix the Strings have to start with. This is case sensitive.
+     * @param limit  The maximum number of Strings to return.
+     * @return At most limit Strings that start with the prefix, in the order of their UTF-8 bytes (which is the
+     * alphabetical order for most Strings).
+     */
+    public @NonNull List<@NonNull String> startingWith(final @NonNull String prefix, final int limit)
+    {
+        if (size == 0 || limit <= 0)
+            return Collections.emptyList();
+
+        final @NonNull byte[] key = prefix.getBytes(StandardCharsets.UTF_8);
+        final @NonNull List<@NonNull String> results = new ArrayList<>(Math.min(limit, blockSize));
+
+        // The last block whose first entry is smaller than the prefix may still contain matches after its first entry.
+        int low = 0;
+        int high = blockCount;
+        while (low < high)
+        {
+            final int mid = (low + high) >>> 1;
+            if (compareFirstEntry(mid, key) < 0)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+
+        byte[] scratch = new byte[Math.max(64, key.length)];
+        for (int block = Math.max(0, low - 1); block < blockCount; ++block)
+        {
+            int position = getBlockOffset(block);
+            int length = 0;
+            final int entries = Math.min(blockSize, size - block * blockSize);
+            for (int entry = 0; entry < entries; ++entry)
+            {
+                final int shared;
+                if (entry == 0)
+                    shared = 0;
+                else
+                {
+                    shared = readVarInt(position);
+                    position += varIntSize(shared);
+                }
+                final int suffix = readVarInt(position);
+                position += varIntSize(suffix);
+
+                length = shared + suffix;
+                if (length > scratch.length)
+                    scratch = grow(scratch, length);
+                for (int idx = 0; idx < suffix; ++idx)
+                    scratch[shared + idx] = buffer.get(position + idx);
+                position += suffix;
+
+                final int comparison = comparePrefix(scratch, length, key);
+                if (comparison < 0)
+                    continue;
+                if (comparison > 0)
+                    return results;
+
+                results.add(new String(scratch, 0, length, StandardCharsets.UTF_8));
+                if (results.size() == limit)
+                    return results;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Compares the first entry of a block to a key without copying the entry.
+     *
+     * @param block The block whose first entry to compare.
+     * @param key   The UTF-8 bytes of the key.
+     * @return A negative value, 0, or a positive value if the entry is smaller than, equal to, or larger than the key
+     * respectively.
+     */
+    private int compareFirstEntry(final int block, final @NonNull byte[] key)
+    {
+        int position = getBlockOffset(block);
+        final int length = readVarInt(position);
+        position += varIntSize(length);
+
+        final int common = Math.min(length, key.length);
+        for (int idx = 0; idx < common; ++idx)
+        {
+            final int diff = (buffer.get(position + idx) & 0xFF) - (key[idx] & 0xFF);
+            if (diff != 0)
+                return diff;
+        }
+        return length - key.length;
+    }
+
+    /**
+     * Checks how an entry relates to a prefix.
+     *
+     * @param entry  The bytes of the entry.
+     * @param length The length of the entry.
+     * @param prefix The bytes of the prefix.
+     * @return 0 if the entry starts with the prefix, a negative value if the entry is smaller than the prefix, and a
+     * positive value if the entry is larger than the prefix and does not start with it.
+     */
+    private static int comparePrefix(final @NonNull byte[] entry, final int length, final @NonNull byte[] prefix)
+    {
+        final int common = Math.min(length, prefix.length);
+        for (int idx = 0; idx < common; ++idx)
+        {
+            final int diff = (entry[idx] & 0xFF) - (prefix[idx] & 0xFF);
+            if (diff != 0)
+                return diff;
+        }
+        return length < prefix.length ? -1 : 0;
+    }
+
+    private int getBlockOffset(final int block)
+    {
+        return buffer.getInt(HEADER_SIZE + block * Integer.BYTES);
+    }
+
+    private int readVarInt(int position)
+    {
+        int value = 0;
+        int shift = 0;
+        byte current;
+        do
+        {
+            current = buffer.get(position++);
+            value |= (current & 0x7F) << shift;
+            shift += 7;
+        }
+        while (current < 0);
+        return value;
+    }
+
+    private static int varIntSize(final int value)
+    {
+        int bytes = 1;
+        for (int remaining = value >>> 7; remaining != 0; remaining >>>= 7)
+            ++bytes;
+        return bytes;
+    }
+
+    private static @NonNull byte[] grow(final @NonNull byte[] array, final int minLength)
+    {
+        final @NonNull byte[] grown = new byte[Math.max(minLength, array.length * 2)];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+
+    /**
+     * Creates a new {@link Builder} that writes a table to a new generation of a file.
+     *
+     * @param file The file to write the table to. Existing generations are never overwritten, so tables that are still
+     *             mapped stay intact. See {@link GenerationalFile}.
+     * @return The new {@link Builder}.
+     */
+    public static @NonNull Builder builder(final @NonNull GenerationalFile file)
+    {
+        return new Builder(file);
+    }
+
+    /**
+     * Represents a builder that writes a {@link SortedStringTable} to a file.
+     * <p>
+     * The Strings do not have to be added in any particular order and duplicates are ignored.
+     */
+    public static final class Builder
+    {
+        private final @NonNull GenerationalFile file;
+        private final @NonNull List<byte[]> entries = new ArrayList<>();
+        private int blockSize = 16;
+
+        private Builder(final @NonNull GenerationalFile file)
+        {
+            this.file = file;
+        }
+
+        /**
+         * Sets the number of entries per block. Larger blocks result in smaller files, but every query has to scan
+         * more entries. The default is 16.
+         *
+         * @param blockSize The number of entries per block.
+         * @return This {@link Builder}.
+         */
+        public @NonNull Builder blockSize(final int blockSize)
+        {
+            if (blockSize < 1)
+                throw new IllegalArgumentException("The block size must be at least 1, but it was " + blockSize);
+            this.blockSize = blockSize;
+            return this;
+        }
+
+        public @NonNull Builder add(final @NonNull String entry)
+        {
+            entries.add(entry.getBytes(StandardCharsets.UTF_8));
+            return this;
+        }
+
+        public @NonNull Builder addAll(final @NonNull Collection<@NonNull String> entries)
+        {
+            entries.forEach(this::add);
+            return this;
+        }
+
+        /**
+         * Writes the table to a new generation of the file. See {@link
+         * GenerationalFile#write(nl.pim16aap2.cap.util.Functional.CheckedConsumer)}.
+         * <p>
+         * The previous generation is not deleted. The owner of the table that maps it should retire it once it is
+         * replaced. See {@link GenerationalFile#retire(Path, Object)}.
+         *
+         * @return The new table, mapped from the new generation of the file.
+         *
+         * @throws IOException If the table could not be written.
+         */
+        public @NonNull SortedStringTable build()
+            throws IOException
+        {
+            entries.sort(Builder::compare);
+            final @NonNull List<byte[]> sorted = new ArrayList<>(entries.size());
+            for (final @NonNull byte[] entry : entries)
+                if (sorted.isEmpty() || compare(sorted.get(sorted.size() - 1), entry) != 0)
+                    sorted.add(entry);
+
+            final int blockCount = (sorted.size() + blockSize - 1) / blockSize;
+            final @NonNull ByteBuffer offsets = ByteBuffer.allocate(blockCount * Integer.BYTES);
+            final @NonNull ByteBuffer data = ByteBuffer.allocate(getDataSize(sorted));
+            final int dataStart = HEADER_SIZE + offsets.capacity();
+            for (int idx = 0; idx < sorted.size(); ++idx)
+            {
+                final @NonNull byte[] entry = sorted.get(idx);
+                if (idx % blockSize == 0)
+                {
+                    offsets.putInt(dataStart + data.position());
+                    putVarInt(data, entry.length);
+                    data.put(entry);
+                    continue;
+                }
+                final int shared = getSharedLength(sorted.get(idx - 1), entry);
+                putVarInt(data, shared);
+                putVarInt(data, entry.length - shared);
+                data.put(entry, shared, entry.length - shared);
+            }
+
+            final @NonNull ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putInt(sorted.size()).putInt(blockSize);
+            header.flip();
+            offsets.flip();
+            data.flip();
+
+            final @NonNull ByteBuffer[] buffers = {header, offsets, data};
+            return open(file.write(
+                channel ->
+                {
+                    while (header.hasRemaining() || offsets.hasRemaining() || data.hasRemaining())
+                        channel.write(buffers);
+                }));
+        }
+
+        private int getDataSize(final @NonNull List<byte[]> sorted)
+        {
+            long dataSize = 0;
+            for (int idx = 0; idx < sorted.size(); ++idx)
+            {
+                final @NonNull byte[] entry = sorted.get(idx);
+                if (idx % blockSize == 0)
+                    dataSize += varIntSize(entry.length) + entry.length;
+                else
+                {
+                    final int shared = getSharedLength(sorted.get(idx - 1), entry);
+                    dataSize += varIntSize(shared) + varIntSize(entry.length - shared) + entry.length - shared;
+                }
+            }
+            if (HEADER_SIZE + (long) sorted.size() / blockSize * Integer.BYTES + dataSize >= Integer.MAX_VALUE)
+                throw new IllegalStateException("Too much data for a single string table: " + dataSize + " bytes!");
+            return (int) dataSize;
+        }
+
+        private static int getSharedLength(final @NonNull byte[] first, final @NonNull byte[] second)
+        {
+            final int max = Math.min(first.length, second.length);
+            int shared = 0;
+            while (shared < max && first[shared] == second[shared])
+                ++shared;
+            return shared;
+        }
+
+        private static void putVarInt(final @NonNull ByteBuffer buffer, int value)
+        {
+            while ((value & ~0x7F) != 0)
+            {
+                buffer.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            buffer.put((byte) value);
+        }
+
+        private static int compare(final @NonNull byte[] first, final @NonNull byte[] second)
+        {
+            final int common = Math.min(first.length, second.length);
+            for (int idx = 0; idx < common; ++idx)
+            {
+                final int diff = (first[idx] & 0xFF) - (second[idx] & 0xFF);
+                if (diff != 0)
+                    return diff;
+            }
+            return first.length - second.length;
+        }
+    }
+}
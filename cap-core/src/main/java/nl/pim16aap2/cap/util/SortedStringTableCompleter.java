@@ -0,0 +1,151 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.util;
+
+import lombok.Getter;
+import lombok.NonNull;
+import nl.pim16aap2.cap.argument.Argument;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Represents an {@link Argument.ITabCompleteFunction} that suggests the entries of a {@link SortedStringTable}.
+ * <p>
+ * This is useful for large sets of values that rarely change (e.g. item IDs or region names), as the values are kept
+ * in a memory-mapped file instead of on the heap. The table can be replaced at any time using {@link
+ * #replace(Collection)}; requests that are handled at the same time keep using the old table. Every replacement is
+ * written to a new generation of the file, which is used once it has been written completely. The old generation is
+ * deleted once it is no longer in use. See {@link GenerationalFile}.
+ *
+ * @author Pim
+ */
+public class SortedStringTableCompleter implements Argument.ITabCompleteFunction
+{
+    /**
+     * The file the table is stored in, without any generation suffix.
+     */
+    @Getter
+    private final @NonNull Path file;
+
+    /**
+     * The generations of the {@link #file}.
+     */
+    private final @NonNull GenerationalFile generations;
+
+    /**
+     * The maximum number of suggestions to return for a single request.
+     */
+    @Getter
+    private final int limit;
+
+    /**
+     * The current table.
+     */
+    @Getter
+    private volatile @NonNull SortedStringTable table;
+
+    protected SortedStringTableCompleter(final @NonNull Path file, final @NonNull GenerationalFile generations,
+                                         final int limit, final @NonNull SortedStringTable table)
+    {
+        this.file = file;
+        this.generations = generations;
+        this.limit = limit;
+        this.table = table;
+    }
+
+    /**
+     * Opens the table stored in a file. If the file does not exist yet, no suggestions will be provided until the table
+     * is replaced.
+     * <p>
+     * The latest generation of the file is used and any older generations are deleted. See {@link
+     * GenerationalFile#open(Path)}.
+     *
+     * @param file  The file the table is stored in.
+     * @param limit The maximum number of suggestions to return for a single request.
+     * @return The new {@link SortedStringTableCompleter}.
+     *
+     * @throws IOException If the file exists, but could not be read or is not a valid table.
+     */
+    public static @NonNull SortedStringTableCompleter open(final @NonNull Path file, final int limit)
+        throws IOException
+    {
+        final @NonNull GenerationalFile generations = GenerationalFile.open(file);
+        final @Nullable Path current = generations.getCurrent();
+        return new SortedStringTableCompleter(
+            file, generations, limit, current == null ? SortedStringTable.empty() : SortedStringTable.open(current));
+    }
+
+    @Override
+    public @NonNull List<@NonNull String> apply(final @NonNull TabCompletionRequest request)
+    {
+        return table.startingWith(request.getPartial(), limit);
+    }
+
+    /**
+     * Writes a new table with the provided values to a new generation of the {@link #file} and starts using it.
+     *
+     * @param values The values to suggest from now on.
+     * @throws IOException If the new table could not be written.
+     */
+    public synchronized void replace(final @NonNull Collection<@NonNull String> values)
+        throws IOException
+    {
+        final @Nullable Path oldFile = generations.getCurrent();
+        publish(oldFile, SortedStringTable.builder(generations).addAll(values).build());
+    }
+
+    /**
+     * Starts using the latest generation of the {@link #file}, e.g. after a new generation was written by another
+     * process.
+     *
+     * @throws IOException If the file could not be read or is not a valid table.
+     */
+    public synchronized void reload()
+        throws IOException
+    {
+        final @Nullable Path oldFile = generations.getCurrent();
+        if (generations.refresh())
+            publish(oldFile, SortedStringTable.open(Objects.requireNonNull(generations.getCurrent())));
+    }
+
+    /**
+     * Replaces the current table and retires the generation of the {@link #file} that the old table was mapped from.
+     *
+     * @param oldFile  The generation of the {@link #file} that the current table was mapped from. May be null.
+     * @param newTable The new table.
+     */
+    private void publish(final @Nullable Path oldFile, final @NonNull SortedStringTable newTable)
+    {
+        final @NonNull SortedStringTable oldTable = table;
+        table = newTable;
+        if (oldFile != null)
+            generations.retire(oldFile, oldTable);
+    }
+}
@@ -37,6 +37,7 @@ import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
@@ -54,6 +55,8 @@ import java.util.regex.Pattern;
  * 10.
  * <p>
  * The suggestions are cached for 2 minutes using a {@link TimedCache}.
+ * <p>
+ * To find out how effective the cache is, see {@link #getStatistics()}.
  *
  * @author Pim
  */
@@ -72,6 +75,57 @@ public class TabCompletionCache
             .refresh(true)
             .build();
 
+    private final @NonNull LongAdder narrowingHitCount = new LongAdder();
+    private final @NonNull LongAdder missCount = new LongAdder();
+    private final @NonNull LongAdder asyncPendingCount = new LongAdder();
+    private final @NonNull LongAdder loadCount = new LongAdder();
+    private final @NonNull LongAdder totalLoadTime = new LongAdder();
+
+    /**
+     * Gets a snapshot of the statistics of this cache.
+     *
+     * @return A new {@link TabCompletionCacheStatistics} instance with the current values of the counters.
+     */
+    public @NonNull TabCompletionCacheStatistics getStatistics()
+    {
+        return new TabCompletionCacheStatistics(narrowingHitCount.sum(), missCount.sum(), asyncPendingCount.sum(),
+                                                loadCount.sum(), totalLoadTime.sum(),
+                                                tabCompletionCache.getStatistics());
+    }
+
+    /**
+     * Resets all the counters used for {@link #getStatistics()}.
+     */
+    public void resetStatistics()
+    {
+        narrowingHitCount.reset();
+        missCount.reset();
+        asyncPendingCount.reset();
+        loadCount.reset();
+        totalLoadTime.reset();
+        tabCompletionCache.resetStatistics();
+    }
+
+    /**
+     * Retrieves a new list of suggestions from a supplier and records the time it took to do so.
+     *
+     * @param fun The function to retrieve the list of suggestions.
+     * @return The list of suggestions provided by the supplier.
+     */
+    private @NonNull List<@NonNull String> load(final @NonNull Supplier<List<@NonNull String>> fun)
+    {
+        final long start = System.nanoTime();
+        try
+        {
+            return fun.get();
+        }
+        finally
+        {
+            loadCount.increment();
+            totalLoadTime.add(System.nanoTime() - start);
+        }
+    }
+
     /**
      * Gets the list of suggested tab complete options for an {@link ICommandSender} base on the current arguments.
      *
@@ -95,9 +149,13 @@ public class TabCompletionCache
             cacheEntry.suggestionsSubSelection(args.size(), lastArg, openEnded, commandSender.getLocale());
 
         if (suggestions.isPresent())
+        {
+            narrowingHitCount.increment();
             return suggestions.get();
+        }
 
-        final @NonNull List<@NonNull String> newSuggestions = fun.get();
+        missCount.increment();
+        final @NonNull List<@NonNull String> newSuggestions = load(fun);
         cacheEntry.reset(newSuggestions, args.size(), lastArg, openEnded, commandSender.getLocale());
         return newSuggestions;
     }
@@ -196,13 +254,22 @@ public class TabCompletionCache
                 return entry;
             });
 
+        final boolean pending = cacheEntry.entryStatus == ENTRY_STATUS.PENDING;
         final @NonNull Optional<List<@NonNull String>> suggestions =
             cacheEntry.suggestionsSubSelection(args.size(), lastArg, openEnded, commandSender.getLocale());
 
         if (suggestions.isPresent())
+        {
+            if (pending)
+                asyncPendingCount.increment();
+            else
+                narrowingHitCount.increment();
             return new Triple<>(suggestions.get(), null, cacheEntry);
+        }
 
-        final @NonNull CompletableFuture<List<@NonNull String>> newSuggestions = CompletableFuture.supplyAsync(fun);
+        missCount.increment();
+        final @NonNull CompletableFuture<List<@NonNull String>> newSuggestions =
+            CompletableFuture.supplyAsync(() -> load(fun));
         cacheEntry.prepare(newSuggestions, args.size(), lastArg, openEnded, commandSender.getLocale());
 
         return new Triple<>(null, newSuggestions, cacheEntry);
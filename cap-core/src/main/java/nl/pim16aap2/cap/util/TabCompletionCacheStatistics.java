@@ -0,0 +1,92 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.util;
+
+import lombok.NonNull;
+import lombok.Value;
+import nl.pim16aap2.cap.util.cache.CacheStatistics;
+import nl.pim16aap2.cap.util.cache.TimedCache;
+
+/**
+ * Represents an immutable snapshot of the statistics of a {@link TabCompletionCache}.
+ *
+ * @author Pim
+ */
+@Value
+public class TabCompletionCacheStatistics
+{
+    /**
+     * The number of requests for which the suggestions could be narrowed down from the cached suggestions.
+     */
+    long narrowingHitCount;
+
+    /**
+     * The number of requests for which the cached suggestions could not be used.
+     */
+    long missCount;
+
+    /**
+     * The number of requests that received an empty list because the asynchronous suggestions were still pending.
+     */
+    long asyncPendingCount;
+
+    /**
+     * The number of times a new list of suggestions was retrieved from the suggestion supplier.
+     */
+    long loadCount;
+
+    /**
+     * The total amount of time (in nanoseconds) spent in the suggestion suppliers.
+     */
+    long totalLoadTime;
+
+    /**
+     * The statistics of the underlying {@link TimedCache} that stores the entry of every sender.
+     */
+    @NonNull CacheStatistics entryCacheStatistics;
+
+    /**
+     * Gets the ratio of requests that could be served from the cached suggestions.
+     * <p>
+     * Requests that received an empty list because the asynchronous suggestions were still pending are not counted.
+     *
+     * @return The hit rate as a value between 0 and 1. When no requests have happened yet, 1 is returned.
+     */
+    public double getHitRate()
+    {
+        final long requestCount = narrowingHitCount + missCount;
+        return requestCount == 0 ? 1.0D : (double) narrowingHitCount / requestCount;
+    }
+
+    /**
+     * Gets the average amount of time (in nanoseconds) spent retrieving a new list of suggestions.
+     *
+     * @return The average load time. When no suggestions have been loaded yet, 0 is returned.
+     */
+    public double getAverageLoadTime()
+    {
+        return loadCount == 0 ? 0.0D : (double) totalLoadTime / loadCount;
+    }
+}
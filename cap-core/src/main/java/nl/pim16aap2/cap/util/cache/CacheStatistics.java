@@ -0,0 +1,103 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.util.cache;
+
+import lombok.Value;
+
+import java.lang.ref.SoftReference;
+
+/**
+ * Represents an immutable snapshot of the statistics of a {@link TimedCache}.
+ *
+ * @author Pim
+ */
+@Value
+public class CacheStatistics
+{
+    /**
+     * The number of lookups that found a valid (i.e. non-expired) entry.
+     */
+    long hitCount;
+
+    /**
+     * The number of lookups that did not find a valid entry.
+     */
+    long missCount;
+
+    /**
+     * The number of times a new value was computed by one of the mapping functions.
+     */
+    long loadCount;
+
+    /**
+     * The total amount of time (in nanoseconds) spent in the mapping functions.
+     */
+    long totalLoadTime;
+
+    /**
+     * The number of entries that were removed from the cache because they expired.
+     * <p>
+     * Note that this does not include entries that were removed explicitly.
+     */
+    long evictionCount;
+
+    /**
+     * The number of evicted entries whose {@link SoftReference} was cleared by the garbage collector.
+     * <p>
+     * These entries are included in {@link #evictionCount} as well.
+     */
+    long softReferenceClearCount;
+
+    /**
+     * Gets the total number of lookups.
+     *
+     * @return The sum of {@link #hitCount} and {@link #missCount}.
+     */
+    public long getRequestCount()
+    {
+        return hitCount + missCount;
+    }
+
+    /**
+     * Gets the ratio of lookups that resulted in a hit.
+     *
+     * @return The hit rate as a value between 0 and 1. When no lookups have happened yet, 1 is returned.
+     */
+    public double getHitRate()
+    {
+        final long requestCount = getRequestCount();
+        return requestCount == 0 ? 1.0D : (double) hitCount / requestCount;
+    }
+
+    /**
+     * Gets the average amount of time (in nanoseconds) spent computing a new value.
+     *
+     * @return The average load time. When no values have been loaded yet, 0 is returned.
+     */
+    public double getAverageLoadTime()
+    {
+        return loadCount == 0 ? 0.0D : (double) totalLoadTime / loadCount;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.util.cache;
+
+import lombok.Getter;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Represents a thread-safe cache with a maximum number of entries. When the cache is full, the least-recently used
+ * entry is evicted.
+ *
+ * @param <K> Type of the Key of the map.
+ * @param <V> Type of the value of the map.
+ * @author Pim
+ */
+public class LRUCache<K, V>
+{
+    /**
+     * The maximum number of entries in this cache. When this is 0 or less, nothing will be cached.
+     */
+    @Getter
+    private final int maxSize;
+
+    private final @NonNull Map<K, V> cache;
+
+    /**
+     * @param maxSize See {@link #maxSize}.
+     */
+    public LRUCache(final int maxSize)
+    {
+        this.maxSize = maxSize;
+        cache = new LinkedHashMap<K, V>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, V> eldest)
+            {
+                return size() > LRUCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Gets the value associated with the provided key.
+     *
+     * @param key The key of the value to look up.
+     * @return The value associated with the provided key if it exists, otherwise null.
+     */
+    public synchronized @Nullable V get(final @NonNull K key)
+    {
+        return cache.get(key);
+    }
+
+    /**
+     * Puts a new key/value pair in the cache. If this causes the cache to exceed its {@link #maxSize}, the
+     * least-recently used entry is evicted.
+     *
+     * @param key   The key of the pair to add to the cache.
+     * @param value The value of the pair to add to the cache.
+     */
+    public synchronized void put(final @NonNull K key, final @NonNull V value)
+    {
+        if (maxSize > 0)
+            cache.put(key, value);
+    }
+
+    /**
+     * Gets the value associated with the provided key. If it does not exist, it is computed using the mapping function
+     * and added to the cache.
+     * <p>
+     * Note that the mapping function is not called while holding the lock, so it may be called more than once for the
+     * same key when used concurrently.
+     *
+     * @param key             The key of the value to look up.
+     * @param mappingFunction The function to compute the value if it is not cached.
+     * @return The (new) value associated with the provided key.
+     */
+    public @NonNull V computeIfAbsent(final @NonNull K key, final @NonNull Function<K, @NonNull V> mappingFunction)
+    {
+        final @Nullable V value = get(key);
+        if (value != null)
+            return value;
+
+        final @NonNull V newValue = mappingFunction.apply(key);
+        put(key, newValue);
+        return newValue;
+    }
+
+    /**
+     * Removes the value associated with the provided key.
+     *
+     * @param key The key of the value to remove.
+     */
+    public synchronized void remove(final @NonNull K key)
+    {
+        cache.remove(key);
+    }
+
+    /**
+     * Gets the number of entries in this cache.
+     *
+     * @return The number of entries in this cache.
+     */
+    public synchronized int getSize()
+    {
+        return cache.size();
+    }
+
+    /**
+     * Removes all entries from this cache.
+     */
+    public synchronized void clear()
+    {
+        cache.clear();
+    }
+}
@@ -37,8 +37,10 @@ import java.util.Optional;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Represents a timed cached map backed by a {@link ConcurrentHashMap}. Entries will expire after a configurable amount
@@ -46,6 +48,8 @@ import java.util.function.Function;
  * <p>
  * Expired entries cannot be retrieved or used in any way, but they will still show up in the size arguments. If
  * configured, a separate thread may perform regular cleanup.
+ * <p>
+ * Some basic statistics are kept about the usage of the cache. See {@link #getStatistics()}.
  *
  * @param <K> Type of the Key of the map.
  * @param <V> Type of the value of the map.
@@ -87,6 +91,13 @@ public class TimedCache<K, V>
      */
     private final @NonNull Clock clock;
 
+    private final @NonNull LongAdder hitCount = new LongAdder();
+    private final @NonNull LongAdder missCount = new LongAdder();
+    private final @NonNull LongAdder loadCount = new LongAdder();
+    private final @NonNull LongAdder totalLoadTime = new LongAdder();
+    private final @NonNull LongAdder evictionCount = new LongAdder();
+    private final @NonNull LongAdder softReferenceClearCount = new LongAdder();
+
     // For testing purposes.
     TimedCache(final @NonNull Clock clock, final @NonNull Duration duration, final @Nullable Duration cleanup,
                final boolean softReference, final boolean refresh)
@@ -150,7 +161,10 @@ public class TimedCache<K, V>
         return Optional.ofNullable(cache.compute(key, (k, tValue) ->
         {
             if (tValue == null || tValue.timedOut())
+            {
+                recordEviction(tValue);
                 return null;
+            }
             return timedValueCreator.apply(value);
         })).map(AbstractTimedValue::getValue);
     }
@@ -163,7 +177,10 @@ public class TimedCache<K, V>
         return Optional.ofNullable(cache.compute(key, (k, tValue) ->
         {
             if (tValue == null || tValue.timedOut())
+            {
+                recordEviction(tValue);
                 return timedValueCreator.apply(value);
+            }
             return null;
         })).map(AbstractTimedValue::getValue);
     }
@@ -176,7 +193,12 @@ public class TimedCache<K, V>
         return Objects.requireNonNull(cache.compute(key, (k, value) ->
         {
             if (value == null || value.timedOut())
-                return timedValueCreator.apply(mappingFunction.apply(k));
+            {
+                missCount.increment();
+                recordEviction(value);
+                return timedValueCreator.apply(load(() -> mappingFunction.apply(k)));
+            }
+            hitCount.increment();
             if (refresh)
                 value.refresh();
             return value;
@@ -193,12 +215,15 @@ public class TimedCache<K, V>
         {
             if (timedValue != null && !timedValue.timedOut())
             {
+                hitCount.increment();
                 V value = timedValue.getValue();
                 if (refresh)
                     timedValue.refresh();
-                return timedValueCreator.apply(remappingFunction.apply(k, value));
+                return timedValueCreator.apply(load(() -> remappingFunction.apply(k, value)));
             }
 
+            missCount.increment();
+            recordEviction(timedValue);
             return null;
         })).map(AbstractTimedValue::getValue);
     }
@@ -214,15 +239,20 @@ public class TimedCache<K, V>
         {
             final @Nullable V value;
             if (timedValue == null || timedValue.timedOut())
+            {
+                missCount.increment();
+                recordEviction(timedValue);
                 value = null;
+            }
             else
             {
+                hitCount.increment();
                 value = timedValue.getValue();
                 if (refresh)
                     timedValue.refresh();
             }
 
-            return timedValueCreator.apply(mappingFunction.apply(k, value));
+            return timedValueCreator.apply(load(() -> mappingFunction.apply(k, value)));
         }).getValue());
     }
 
@@ -247,14 +277,20 @@ public class TimedCache<K, V>
     {
         final @Nullable AbstractTimedValue<V> entry = cache.get(key);
         if (entry == null)
+        {
+            missCount.increment();
             return Optional.empty();
+        }
 
         final @Nullable V value = entry.getValue();
         if (value == null)
         {
-            cache.remove(key);
+            missCount.increment();
+            if (cache.remove(key, entry))
+                recordEviction(entry);
             return Optional.empty();
         }
+        hitCount.increment();
         if (refresh)
             entry.refresh();
         return Optional.ofNullable(value);
@@ -294,6 +330,69 @@ public class TimedCache<K, V>
         cache.clear();
     }
 
+    /**
+     * Gets a snapshot of the statistics of this cache.
+     * <p>
+     * Note that the counters are not updated atomically with respect to each other, so the snapshot may be slightly
+     * inconsistent when the cache is accessed concurrently.
+     *
+     * @return A new {@link CacheStatistics} instance with the current values of the counters.
+     */
+    public @NonNull CacheStatistics getStatistics()
+    {
+        return new CacheStatistics(hitCount.sum(), missCount.sum(), loadCount.sum(), totalLoadTime.sum(),
+                                   evictionCount.sum(), softReferenceClearCount.sum());
+    }
+
+    /**
+     * Resets all the counters used for {@link #getStatistics()}.
+     */
+    public void resetStatistics()
+    {
+        hitCount.reset();
+        missCount.reset();
+        loadCount.reset();
+        totalLoadTime.reset();
+        evictionCount.reset();
+        softReferenceClearCount.reset();
+    }
+
+    /**
+     * Retrieves a new value from a supplier and records the time it took to do so.
+     *
+     * @param supplier The supplier that computes the new value.
+     * @return The value provided by the supplier.
+     */
+    private V load(final @NonNull Supplier<V> supplier)
+    {
+        final long start = System.nanoTime();
+        try
+        {
+            return supplier.get();
+        }
+        finally
+        {
+            loadCount.increment();
+            totalLoadTime.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Records the eviction of an expired entry.
+     * <p>
+     * If the entry was a {@link TimedSoftValue} whose {@link SoftReference} was cleared, this will also be recorded.
+     *
+     * @param entry The entry that was evicted. When null, nothing happens.
+     */
+    private void recordEviction(final @Nullable AbstractTimedValue<V> entry)
+    {
+        if (entry == null)
+            return;
+        evictionCount.increment();
+        if (entry instanceof TimedSoftValue && ((TimedSoftValue<V>) entry).getRawValue().get() == null)
+            softReferenceClearCount.increment();
+    }
+
     /**
      * Gets the raw {@link AbstractTimedValue} from the cache, if it exists.
      * <p>
@@ -340,8 +439,8 @@ public class TimedCache<K, V>
     {
         for (Map.Entry<K, AbstractTimedValue<V>> entry : cache.entrySet())
         {
-            if (entry.getValue().getValue() == null)
-                cache.remove(entry.getKey());
+            if (entry.getValue().getValue() == null && cache.remove(entry.getKey(), entry.getValue()))
+                recordEviction(entry.getValue());
         }
     }
 
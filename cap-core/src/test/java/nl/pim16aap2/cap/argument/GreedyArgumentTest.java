@@ -0,0 +1,185 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.argument;
+
+import lombok.NonNull;
+import nl.pim16aap2.cap.CAP;
+import nl.pim16aap2.cap.argument.parser.StringParser;
+import nl.pim16aap2.cap.argument.validator.IArgumentValidator;
+import nl.pim16aap2.cap.command.Command;
+import nl.pim16aap2.cap.command.CommandResult;
+import nl.pim16aap2.cap.commandsender.ICommandSender;
+import nl.pim16aap2.cap.exception.ValidationFailureException;
+import nl.pim16aap2.cap.localization.ArgumentNamingSpec;
+import nl.pim16aap2.cap.util.CharSequenceSlice;
+import nl.pim16aap2.cap.util.UtilsForTesting;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static nl.pim16aap2.cap.util.UtilsForTesting.DEFAULT_COMMAND_SENDER;
+
+class GreedyArgumentTest
+{
+    private final @NonNull IArgumentValidator<CharSequence> lengthValidator = new IArgumentValidator<CharSequence>()
+    {
+        @Override
+        public void validate(final @NonNull CAP cap, final @NonNull ICommandSender commandSender,
+                             final @NonNull Argument<?> argument, final @Nullable CharSequence input)
+            throws ValidationFailureException
+        {
+            if (input != null && input.length() > 32)
+                throw new ValidationFailureException(argument, input.toString(), "too long", false);
+        }
+    };
+
+    private @NonNull CAP setUp(final @Nullable Character separator, final boolean positional)
+    {
+        final @NonNull CAP cap = CAP.getDefault().toBuilder().exceptionHandler(null).separator(separator).build();
+        cap.addCommand(
+            Command.commandBuilder().cap(cap).nameSpec(UtilsForTesting.getBasicCommandName("say"))
+                   .addDefaultHelpArgument(true)
+                   .argument(Argument.valuesLessBuilder().identifier("loud")
+                                     .nameSpec(ArgumentNamingSpec.RawStrings.builder().shortName("l").build())
+                                     .build())
+                   .argument(Argument.<String>requiredBuilder().identifier("target").parser(StringParser.create())
+                                     .nameSpec(ArgumentNamingSpec.RawStrings.builder().shortName("t").build())
+                                     .build())
+                   .argument(GreedyArgument.greedyBuilder().identifier("message").positional(positional)
+                                           .argumentValidator(lengthValidator)
+                                           .tabCompleteFunction(request -> Arrays.asList("world", "wonder"))
+                                           .nameSpec(ArgumentNamingSpec.RawStrings.builder().shortName("m").build())
+                                           .build())
+                   .commandExecutor(commandResult -> {}).build());
+        return cap;
+    }
+
+    @Test
+    void positional()
+    {
+        final @NonNull CAP cap = setUp(null, true);
+        final @NonNull String input = "say -l pim   hello  \"big\" -l  world  ";
+        final @NonNull CommandResult result =
+            cap.parseInput(DEFAULT_COMMAND_SENDER, input).orElseThrow(AssertionError::new);
+
+        Assertions.assertEquals("pim", result.getParsedArgument("target"));
+        Assertions.assertTrue(result.<Boolean>getParsedArgument("loud"));
+
+        final @NonNull CharSequence message = result.getParsedArgument("message");
+        Assertions.assertTrue(message instanceof CharSequenceSlice);
+        Assertions.assertSame(input, ((CharSequenceSlice) message).getSource());
+        Assertions.assertEquals("hello  \"big\" -l  world", message.toString());
+    }
+
+    @Test
+    void free()
+    {
+        final @NonNull CAP cap = setUp(null, false);
+        final @NonNull CommandResult result =
+            cap.parseInput(DEFAULT_COMMAND_SENDER, "say pim -m hello -l  world").orElseThrow(AssertionError::new);
+
+        Assertions.assertEquals("hello -l  world", result.getParsedArgument("message").toString());
+        Assertions.assertFalse(result.<Boolean>getParsedArgument("loud"));
+    }
+
+    @Test
+    void customSeparator()
+    {
+        final @NonNull CAP cap = setUp('=', false);
+        final @NonNull CommandResult result =
+            cap.parseInput(DEFAULT_COMMAND_SENDER, "say -l pim -m=hello  a=b").orElseThrow(AssertionError::new);
+
+        Assertions.assertEquals("hello  a=b", result.getParsedArgument("message").toString());
+        Assertions.assertTrue(result.<Boolean>getParsedArgument("loud"));
+    }
+
+    @Test
+    void helpInsideValue()
+    {
+        final @NonNull CAP positionalCap = setUp(null, true);
+        final @NonNull CommandResult result = positionalCap.parseInput(DEFAULT_COMMAND_SENDER,
+                                                                       "say pim see -h for help")
+                                                           .orElseThrow(AssertionError::new);
+        Assertions.assertFalse(result.helpRequired());
+        Assertions.assertEquals("see -h for help", result.getParsedArgument("message").toString());
+        Assertions.assertTrue(positionalCap.parseInput(DEFAULT_COMMAND_SENDER, "say -h pim see")
+                                           .orElseThrow(AssertionError::new).helpRequired());
+
+        final @NonNull CAP freeCap = setUp(null, false);
+        Assertions.assertFalse(freeCap.parseInput(DEFAULT_COMMAND_SENDER, "say pim -m see --help")
+                                      .orElseThrow(AssertionError::new).helpRequired());
+        Assertions.assertTrue(freeCap.parseInput(DEFAULT_COMMAND_SENDER, "say pim -h -m see")
+                                     .orElseThrow(AssertionError::new).helpRequired());
+    }
+
+    @Test
+    void validation()
+    {
+        final @NonNull CAP cap = setUp(null, true);
+        final @NonNull RuntimeException exception = Assertions.assertThrows(
+            RuntimeException.class, () -> cap.parseInput(DEFAULT_COMMAND_SENDER,
+                                                         "say pim this message is far too long to be accepted"));
+        Assertions.assertTrue(exception.getCause() instanceof ValidationFailureException);
+    }
+
+    @Test
+    void positionalOrder()
+    {
+        final @NonNull CAP cap = CAP.getDefault();
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> Command.commandBuilder().cap(cap).nameSpec(UtilsForTesting.getBasicCommandName("say"))
+                         .argument(GreedyArgument.greedyBuilder().identifier("message").positional(true).required(true)
+                                                 .nameSpec(ArgumentNamingSpec.RawStrings.builder().shortName("m")
+                                                                                        .build())
+                                                 .build())
+                         .argument(Argument.<String>requiredBuilder().identifier("target")
+                                           .parser(StringParser.create())
+                                           .nameSpec(ArgumentNamingSpec.RawStrings.builder().shortName("t").build())
+                                           .build())
+                         .commandExecutor(commandResult -> {}).build());
+    }
+
+    @Test
+    void tabComplete()
+    {
+        final @NonNull CAP positionalCap = setUp(null, true);
+        Assertions.assertEquals(Arrays.asList("world", "wonder"),
+                                positionalCap.getTabCompleteOptions(DEFAULT_COMMAND_SENDER, "say pim hello "));
+        Assertions.assertEquals(Collections.singletonList("world"),
+                                positionalCap.getTabCompleteOptions(DEFAULT_COMMAND_SENDER, "say pim hello -l wor"));
+
+        final @NonNull CAP freeCap = setUp(null, false);
+        Assertions.assertEquals(Arrays.asList("world", "wonder"),
+                                freeCap.getTabCompleteOptions(DEFAULT_COMMAND_SENDER, "say pim -m hello w"));
+
+        final @NonNull CAP separatorCap = setUp('=', false);
+        Assertions.assertEquals(Collections.singletonList("wonder"),
+                                separatorCap.getTabCompleteOptions(DEFAULT_COMMAND_SENDER, "say pim -m=hello won"));
+    }
+}
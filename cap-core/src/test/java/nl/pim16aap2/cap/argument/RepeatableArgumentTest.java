@@ -0,0 +1,196 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.argument;
+
+import lombok.NonNull;
+import nl.pim16aap2.cap.CAP;
+import nl.pim16aap2.cap.argument.parser.ArgumentParser;
+import nl.pim16aap2.cap.argument.parser.AsyncArgumentParser;
+import nl.pim16aap2.cap.argument.parser.IntegerParser;
+import nl.pim16aap2.cap.argument.parser.StringParser;
+import nl.pim16aap2.cap.argument.validator.IArgumentValidator;
+import nl.pim16aap2.cap.command.Command;
+import nl.pim16aap2.cap.command.CommandResult;
+import nl.pim16aap2.cap.commandsender.ICommandSender;
+import nl.pim16aap2.cap.exception.IllegalValueException;
+import nl.pim16aap2.cap.exception.ValidationFailureException;
+import nl.pim16aap2.cap.localization.ArgumentNamingSpec;
+import nl.pim16aap2.cap.util.IntArrayList;
+import nl.pim16aap2.cap.util.UtilsForTesting;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static nl.pim16aap2.cap.util.UtilsForTesting.DEFAULT_COMMAND_SENDER;
+
+class RepeatableArgumentTest
+{
+    private final @NonNull AtomicInteger batches = new AtomicInteger(0);
+    private final @NonNull AtomicInteger validations = new AtomicInteger(0);
+
+    private final @NonNull ArgumentParser<String> batchParser = new ArgumentParser<String>()
+    {
+        private final @NonNull StringParser stringParser = StringParser.create();
+
+        @Override
+        public @NonNull String parseArgument(final @NonNull CAP cap, final @NonNull ICommandSender commandSender,
+                                             final @NonNull Argument<?> argument, final @NonNull String value)
+            throws IllegalValueException
+        {
+            return stringParser.parseArgument(cap, commandSender, argument, value);
+        }
+
+        @Override
+        public void parseArguments(final @NonNull CAP cap, final @NonNull ICommandSender commandSender,
+                                   final @NonNull Argument<?> argument, final @NonNull List<@NonNull String> values,
+                                   final @NonNull List<String> results)
+            throws IllegalValueException
+        {
+            batches.incrementAndGet();
+            super.parseArguments(cap, commandSender, argument, values, results);
+        }
+    };
+
+    private final @NonNull IArgumentValidator<String> batchValidator = new IArgumentValidator<String>()
+    {
+        @Override
+        public void validate(final @NonNull CAP cap, final @NonNull ICommandSender commandSender,
+                             final @NonNull Argument<?> argument, final @Nullable String input)
+            throws ValidationFailureException
+        {
+            if ("z".equals(input))
+                throw new ValidationFailureException(argument, "z", "z", false);
+        }
+
+        @Override
+        public void validateAll(final @NonNull CAP cap, final @NonNull ICommandSender commandSender,
+                                final @NonNull Argument<?> argument, final @NonNull List<String> inputs)
+            throws ValidationFailureException
+        {
+            validations.incrementAndGet();
+            IArgumentValidator.super.validateAll(cap, commandSender, argument, inputs);
+        }
+    };
+
+    private final @NonNull AsyncArgumentParser<String> asyncParser = new AsyncArgumentParser<String>()
+    {
+        @Override
+        public @NonNull CompletableFuture<String> parseArgumentAsync(final @NonNull CAP cap,
+                                                                     final @NonNull ICommandSender commandSender,
+                                                                     final @NonNull Argument<?> argument,
+                                                                     final @NonNull String value)
+        {
+            return CompletableFuture.supplyAsync(() -> value);
+        }
+    };
+
+    private @NonNull CAP setUp()
+    {
+        final @NonNull CAP cap = CAP.getDefault().toBuilder().exceptionHandler(null).build();
+        cap.addCommand(
+            Command.commandBuilder().cap(cap).nameSpec(UtilsForTesting.getBasicCommandName("team"))
+                   .argument(RepeatableArgument.<String>repeatableBuilder()
+                                               .parser(batchParser).argumentValidator(batchValidator)
+                                               .nameSpec(ArgumentNamingSpec.RawStrings.builder().shortName("p")
+                                                                                      .build())
+                                               .identifier("players").build())
+                   .argument(RepeatableArgument.<Integer>repeatableBuilder()
+                                               .parser(IntegerParser.create())
+                                               .nameSpec(ArgumentNamingSpec.RawStrings.builder().shortName("i")
+                                                                                      .build())
+                                               .identifier("ids").build())
+                   .argument(RepeatableArgument.<String>repeatableBuilder()
+                                               .parser(asyncParser).argumentValidator(batchValidator)
+                                               .nameSpec(ArgumentNamingSpec.RawStrings.builder().shortName("t")
+                                                                                      .build())
+                                               .identifier("tags").build())
+                   .argument(Argument.<Integer>optionalBuilder().parser(IntegerParser.create())
+                                     .nameSpec(ArgumentNamingSpec.RawStrings.builder().shortName("c").build())
+                                     .identifier("count").build())
+                   .commandExecutor(commandResult -> {}).build());
+        return cap;
+    }
+
+    @Test
+    void batchParsing()
+    {
+        final @NonNull CAP cap = setUp();
+        final @NonNull CommandResult result =
+            cap.parseInput(DEFAULT_COMMAND_SENDER, "team -p a -i 1 -p b -i 2 -p c").orElseThrow(AssertionError::new);
+
+        Assertions.assertEquals(Arrays.asList("a", "b", "c"), result.getParsedArgument("players"));
+        Assertions.assertEquals(1, batches.get());
+        Assertions.assertEquals(1, validations.get());
+
+        final @NonNull List<Integer> ids = result.getParsedArgument("ids");
+        Assertions.assertTrue(ids instanceof IntArrayList);
+        Assertions.assertEquals(Arrays.asList(1, 2), ids);
+    }
+
+    @Test
+    void batchValidation()
+    {
+        final @NonNull CAP cap = setUp();
+        final @NonNull RuntimeException exception = Assertions.assertThrows(
+            RuntimeException.class, () -> cap.parseInput(DEFAULT_COMMAND_SENDER, "team -p a -p z -p c"));
+        Assertions.assertTrue(exception.getCause() instanceof ValidationFailureException);
+    }
+
+    @Test
+    void errorOrder()
+    {
+        final @NonNull CAP cap = setUp();
+        final @NonNull RuntimeException exception = Assertions.assertThrows(
+            RuntimeException.class, () -> cap.parseInput(DEFAULT_COMMAND_SENDER, "team -i 1 -i x -c y -i z"));
+        Assertions.assertTrue(exception.getCause() instanceof IllegalValueException);
+        Assertions.assertEquals("x", ((IllegalValueException) exception.getCause()).getIllegalValue());
+
+        // Values after the value of another argument are still parsed as part of the same list.
+        final @NonNull CommandResult result =
+            cap.parseInput(DEFAULT_COMMAND_SENDER, "team -i 1 -c 5 -i 2").orElseThrow(AssertionError::new);
+        Assertions.assertEquals(Arrays.asList(1, 2), result.getParsedArgument("ids"));
+        Assertions.assertEquals(5, result.<Integer>getParsedArgument("count"));
+    }
+
+    @Test
+    void asyncBatch()
+    {
+        final @NonNull CAP cap = setUp();
+        final @NonNull CommandResult result =
+            cap.parseInputAsync(DEFAULT_COMMAND_SENDER, "team -t a -t b -p c").join();
+        Assertions.assertEquals(Arrays.asList("a", "b"), result.getParsedArgument("tags"));
+        Assertions.assertEquals(2, validations.get());
+
+        final @NonNull CompletionException exception = Assertions.assertThrows(
+            CompletionException.class, () -> cap.parseInputAsync(DEFAULT_COMMAND_SENDER, "team -t a -t z").join());
+        Assertions.assertTrue(exception.getCause() instanceof ValidationFailureException);
+    }
+}
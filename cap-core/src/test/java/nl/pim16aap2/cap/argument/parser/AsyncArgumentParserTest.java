@@ -0,0 +1,155 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.argument.parser;
+
+import lombok.NonNull;
+import nl.pim16aap2.cap.CAP;
+import nl.pim16aap2.cap.argument.Argument;
+import nl.pim16aap2.cap.argument.validator.number.MaximumValidator;
+import nl.pim16aap2.cap.command.Command;
+import nl.pim16aap2.cap.command.CommandResult;
+import nl.pim16aap2.cap.commandsender.ICommandSender;
+import nl.pim16aap2.cap.exception.IllegalValueException;
+import nl.pim16aap2.cap.exception.ValidationFailureException;
+import nl.pim16aap2.cap.localization.ArgumentNamingSpec;
+import nl.pim16aap2.cap.util.UtilsForTesting;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static nl.pim16aap2.cap.util.UtilsForTesting.DEFAULT_COMMAND_SENDER;
+
+class AsyncArgumentParserTest
+{
+    /**
+     * Parser whose lookups are only completed when the test completes them.
+     */
+    private static final class DelayedParser extends AsyncArgumentParser<Integer>
+    {
+        private final @NonNull Map<String, CompletableFuture<Integer>> lookups = new ConcurrentHashMap<>();
+
+        @Override
+        public @NonNull CompletableFuture<Integer> parseArgumentAsync(final @NonNull CAP cap,
+                                                                      final @NonNull ICommandSender commandSender,
+                                                                      final @NonNull Argument<?> argument,
+                                                                      final @NonNull String value)
+        {
+            return lookups.computeIfAbsent(value, key -> new CompletableFuture<>());
+        }
+
+        void complete(final @NonNull String value)
+        {
+            lookups.get(value).complete(Integer.parseInt(value));
+        }
+    }
+
+    private static @NonNull Argument<Integer> getArgument(final @NonNull DelayedParser parser,
+                                                          final @NonNull String name)
+    {
+        return Argument.<Integer>optionalBuilder().parser(parser).identifier(name)
+                       .argumentValidator(MaximumValidator.integerMaximumValidator(10))
+                       .nameSpec(ArgumentNamingSpec.RawStrings.builder().shortName(name).build()).build();
+    }
+
+    private static @NonNull CAP setUp(final @NonNull DelayedParser parser)
+    {
+        final @NonNull CAP cap = CAP.getDefault().toBuilder().exceptionHandler(null).build();
+        cap.addCommand(Command.commandBuilder().cap(cap).nameSpec(UtilsForTesting.getBasicCommandName("lookup"))
+                              .argument(getArgument(parser, "first")).argument(getArgument(parser, "second"))
+                              .commandExecutor(commandResult -> {}).build());
+        return cap;
+    }
+
+    @Test
+    void parseInputAsync()
+    {
+        final @NonNull DelayedParser parser = new DelayedParser();
+        final @NonNull CAP cap = setUp(parser);
+
+        final @NonNull AtomicInteger handOffs = new AtomicInteger(0);
+        final @NonNull Executor executor = runnable ->
+        {
+            handOffs.incrementAndGet();
+            runnable.run();
+        };
+
+        final @NonNull CompletableFuture<CommandResult> result =
+            cap.parseInputAsync(DEFAULT_COMMAND_SENDER, "lookup --first 1 --second 2", executor);
+
+        // Both lookups are started right away, without waiting for the other one.
+        Assertions.assertEquals(2, parser.lookups.size());
+        parser.complete("2");
+        Assertions.assertFalse(result.isDone());
+        parser.complete("1");
+
+        Assertions.assertTrue(result.isDone());
+        Assertions.assertEquals(1, handOffs.get());
+        Assertions.assertEquals(1, (Integer) result.join().getParsedArgument("first"));
+        Assertions.assertEquals(2, (Integer) result.join().getParsedArgument("second"));
+    }
+
+    @Test
+    void parseInputAsyncFailure()
+    {
+        final @NonNull DelayedParser parser = new DelayedParser();
+        final @NonNull CAP cap = setUp(parser);
+
+        // The maximum value is 10, so 11 will not pass validation.
+        CompletableFuture<CommandResult> result =
+            cap.parseInputAsync(DEFAULT_COMMAND_SENDER, "lookup --first 11 --second 2");
+        parser.complete("11");
+        parser.complete("2");
+        CompletionException exception = Assertions.assertThrows(CompletionException.class, result::join);
+        Assertions.assertTrue(exception.getCause() instanceof ValidationFailureException);
+
+        result = cap.parseInputAsync(DEFAULT_COMMAND_SENDER, "lookup --first 3 --second x");
+        parser.lookups.get("x").completeExceptionally(
+            new IllegalValueException(getArgument(parser, "second"), "x", "x", false));
+        parser.complete("3");
+        exception = Assertions.assertThrows(CompletionException.class, result::join);
+        Assertions.assertTrue(exception.getCause() instanceof IllegalValueException);
+    }
+
+    @Test
+    void parseInputSync()
+    {
+        final @NonNull DelayedParser parser = new DelayedParser();
+        final @NonNull CAP cap = setUp(parser);
+
+        parser.lookups.put("4", CompletableFuture.completedFuture(4));
+        parser.lookups.put("5", CompletableFuture.completedFuture(5));
+        // Synchronous parsing waits for the lookups.
+        final @NonNull CommandResult result = cap.parseInput(DEFAULT_COMMAND_SENDER, "lookup --first 4 --second 5")
+                                                 .orElseThrow(AssertionError::new);
+        Assertions.assertEquals(4, (Integer) result.getParsedArgument("first"));
+        Assertions.assertEquals(5, (Integer) result.getParsedArgument("second"));
+    }
+}
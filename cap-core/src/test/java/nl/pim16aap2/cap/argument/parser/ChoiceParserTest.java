@@ -0,0 +1,174 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.argument.parser;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import nl.pim16aap2.cap.CAP;
+import nl.pim16aap2.cap.argument.Argument;
+import nl.pim16aap2.cap.argument.specialized.EnumArgument;
+import nl.pim16aap2.cap.command.Command;
+import nl.pim16aap2.cap.exception.IllegalValueException;
+import nl.pim16aap2.cap.localization.ArgumentNamingSpec;
+import nl.pim16aap2.cap.localization.Localizer;
+import nl.pim16aap2.cap.util.TabCompletionRequest;
+import nl.pim16aap2.cap.util.UtilsForTesting;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static nl.pim16aap2.cap.util.UtilsForTesting.*;
+
+class ChoiceParserTest
+{
+    private enum DoorType
+    {
+        DOOR,
+        DRAWBRIDGE,
+        PORTCULLIS,
+        SLIDING_DOOR
+    }
+
+    @SneakyThrows
+    @Test
+    void parseArgument()
+    {
+        final @NonNull Map<String, Integer> choices = new HashMap<>();
+        choices.put("one", 1);
+        choices.put("Two", 2);
+
+        final @NonNull ChoiceParser<Integer> parser = ChoiceParser.create(choices);
+        Assertions.assertEquals(1, parser.parseArgument(LOCALIZED_CAP, DEFAULT_COMMAND_SENDER, DUMMY_ARGUMENT, "one"));
+        Assertions.assertEquals(2, parser.parseArgument(LOCALIZED_CAP, DEFAULT_COMMAND_SENDER, DUMMY_ARGUMENT, "tWO"));
+        Assertions.assertThrows(IllegalValueException.class, () ->
+            parser.parseArgument(LOCALIZED_CAP, DEFAULT_COMMAND_SENDER, DUMMY_ARGUMENT, "three"));
+
+        final @NonNull ChoiceParser<Integer> caseSensitiveParser = ChoiceParser.create(choices, true);
+        Assertions.assertEquals(2, caseSensitiveParser.parseArgument(LOCALIZED_CAP, DEFAULT_COMMAND_SENDER,
+                                                                     DUMMY_ARGUMENT, "Two"));
+        Assertions.assertThrows(IllegalValueException.class, () ->
+            caseSensitiveParser.parseArgument(LOCALIZED_CAP, DEFAULT_COMMAND_SENDER, DUMMY_ARGUMENT, "two"));
+    }
+
+    @Test
+    void duplicateNames()
+    {
+        final @NonNull Map<String, Integer> choices = new HashMap<>();
+        choices.put("one", 1);
+        choices.put("ONE", 2);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> ChoiceParser.create(choices).prepare(
+            LOCALIZED_CAP.getLocalizer()));
+        Assertions.assertDoesNotThrow(() -> ChoiceParser.create(choices, true).prepare(LOCALIZED_CAP.getLocalizer()));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ChoiceParser.create(Collections.emptyMap()));
+    }
+
+    @SneakyThrows
+    @Test
+    void enumArgument()
+    {
+        final @NonNull CAP cap = CAP.getDefault();
+        final @NonNull Argument<DoorType> argument =
+            new EnumArgument<>(DoorType.class).getRequired()
+                                              .nameSpec(ArgumentNamingSpec.RawStrings.builder().shortName("t").build())
+                                              .identifier("type").build();
+        final @NonNull Command command =
+            Command.commandBuilder().cap(cap).nameSpec(UtilsForTesting.getBasicCommandName("test"))
+                   .argument(argument).commandExecutor(commandResult -> {}).build();
+
+        Assertions.assertEquals(DoorType.SLIDING_DOOR, argument.getParsedArgument("Sliding_Door", cap,
+                                                                                  DEFAULT_COMMAND_SENDER, command)
+                                                               .getValue());
+
+        final @NonNull Argument.ITabCompleteFunction tabCompleteFunction = argument.getTabCompleteFunction();
+        Assertions.assertNotNull(tabCompleteFunction);
+        Assertions.assertEquals(Arrays.asList("door", "drawbridge"), tabCompleteFunction.apply(
+            new TabCompletionRequest(command, argument, DEFAULT_COMMAND_SENDER, "d", false, cap)));
+        Assertions.assertEquals(Collections.singletonList("Portcullis"), tabCompleteFunction.apply(
+            new TabCompletionRequest(command, argument, DEFAULT_COMMAND_SENDER, "P", false, cap)));
+        Assertions.assertEquals(4, tabCompleteFunction.apply(
+            new TabCompletionRequest(command, argument, DEFAULT_COMMAND_SENDER, "", false, cap)).size());
+        Assertions.assertTrue(tabCompleteFunction.apply(
+            new TabCompletionRequest(command, argument, DEFAULT_COMMAND_SENDER, "x", false, cap)).isEmpty());
+    }
+
+    @Test
+    void suggestionCase()
+    {
+        final @NonNull Map<String, Integer> choices = new HashMap<>();
+        choices.put("Red", 1);
+        choices.put("green", 2);
+        final @NonNull ChoiceParser<Integer> parser = ChoiceParser.create(choices);
+        final @NonNull CAP cap = CAP.getDefault();
+        final @NonNull Command command = createCommand(cap);
+
+        Assertions.assertEquals(Arrays.asList("green", "Red"), parser.getSuggestions(
+            new TabCompletionRequest(command, DUMMY_ARGUMENT, DEFAULT_COMMAND_SENDER, "", false, cap)));
+        Assertions.assertEquals(Collections.singletonList("Red"), parser.getSuggestions(
+            new TabCompletionRequest(command, DUMMY_ARGUMENT, DEFAULT_COMMAND_SENDER, "Re", false, cap)));
+        Assertions.assertEquals(Collections.singletonList("red"), parser.getSuggestions(
+            new TabCompletionRequest(command, DUMMY_ARGUMENT, DEFAULT_COMMAND_SENDER, "re", false, cap)));
+        Assertions.assertEquals(Collections.singletonList("GReen"), parser.getSuggestions(
+            new TabCompletionRequest(command, DUMMY_ARGUMENT, DEFAULT_COMMAND_SENDER, "GR", false, cap)));
+    }
+
+    @SneakyThrows
+    @Test
+    void multipleLocalizers()
+    {
+        final @NonNull Map<String, Integer> choices = new HashMap<>();
+        choices.put("red", 1);
+        final @NonNull ChoiceParser<Integer> parser = ChoiceParser.create(choices);
+
+        final @NonNull CAP cap = CAP.getDefault();
+        final @NonNull CAP frenchCap = CAP.getDefault().toBuilder().localizer(new Localizer.Disabled()
+        {
+            @Override
+            public @NonNull String getMessage(final @NonNull String key, final Locale locale)
+            {
+                return "Rouge";
+            }
+        }).build();
+
+        Assertions.assertEquals(1, parser.parseArgument(cap, DEFAULT_COMMAND_SENDER, DUMMY_ARGUMENT, "red"));
+        Assertions.assertEquals(1, parser.parseArgument(frenchCap, DEFAULT_COMMAND_SENDER, DUMMY_ARGUMENT, "rouge"));
+        Assertions.assertThrows(IllegalValueException.class, () ->
+            parser.parseArgument(cap, DEFAULT_COMMAND_SENDER, DUMMY_ARGUMENT, "rouge"));
+        Assertions.assertEquals(Collections.singletonList("Rouge"), parser.getSuggestions(
+            new TabCompletionRequest(createCommand(frenchCap), DUMMY_ARGUMENT, DEFAULT_COMMAND_SENDER, "", false,
+                                     frenchCap)));
+    }
+
+    private static @NonNull Command createCommand(final @NonNull CAP cap)
+    {
+        return Command.commandBuilder().cap(cap).nameSpec(UtilsForTesting.getBasicCommandName("test"))
+                      .commandExecutor(commandResult -> {}).build();
+    }
+}
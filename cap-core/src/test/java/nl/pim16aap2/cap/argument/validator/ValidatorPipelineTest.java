@@ -0,0 +1,96 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.argument.validator;
+
+import lombok.NonNull;
+import nl.pim16aap2.cap.argument.validator.string.LengthValidator;
+import nl.pim16aap2.cap.argument.validator.string.PatternValidator;
+import nl.pim16aap2.cap.exception.ValidationFailureException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static nl.pim16aap2.cap.util.UtilsForTesting.*;
+
+class ValidatorPipelineTest
+{
+    @Test
+    void validate()
+    {
+        final @NonNull AtomicInteger customCalls = new AtomicInteger(0);
+        final @NonNull ValidatorPipeline<String> pipeline =
+            ValidatorPipeline.<String>builder()
+                .validator(LengthValidator.lengthValidator(2, 6))
+                .validator(PatternValidator.patternValidator("[a-z]+"))
+                .validator(SetValidator.setValidator("door", "portcullis", "flag", "elevator"))
+                .validator((cap, commandSender, argument, input) -> customCalls.incrementAndGet())
+                .build();
+
+        Assertions.assertDoesNotThrow(
+            () -> pipeline.validate(LOCALIZED_CAP, DEFAULT_COMMAND_SENDER, DUMMY_ARGUMENT, "door"));
+        Assertions.assertEquals(1, customCalls.get());
+
+        // Too long, wrong format and not in the set respectively.
+        Assertions.assertThrows(ValidationFailureException.class, () ->
+            pipeline.validate(LOCALIZED_CAP, DEFAULT_COMMAND_SENDER, DUMMY_ARGUMENT, "portcullis"));
+        Assertions.assertThrows(ValidationFailureException.class, () ->
+            pipeline.validate(LOCALIZED_CAP, DEFAULT_COMMAND_SENDER, DUMMY_ARGUMENT, "Door"));
+        Assertions.assertThrows(ValidationFailureException.class, () ->
+            pipeline.validate(LOCALIZED_CAP, DEFAULT_COMMAND_SENDER, DUMMY_ARGUMENT, "drawer"));
+        Assertions.assertThrows(ValidationFailureException.class, () ->
+            pipeline.validate(LOCALIZED_CAP, DEFAULT_COMMAND_SENDER, DUMMY_ARGUMENT, null));
+
+        // The custom stage is never reached when an earlier stage rejects the value.
+        Assertions.assertEquals(1, customCalls.get());
+    }
+
+    @Test
+    void validateAll()
+    {
+        final @NonNull ValidatorPipeline<String> pipeline = ValidatorPipeline.of(
+            LengthValidator.maximumLengthValidator(4), PatternValidator.patternValidator("[a-z]+"));
+
+        Assertions.assertDoesNotThrow(() -> pipeline.validateAll(LOCALIZED_CAP, DEFAULT_COMMAND_SENDER, DUMMY_ARGUMENT,
+                                                                 Arrays.asList("a", "bc", "def")));
+        Assertions.assertThrows(ValidationFailureException.class, () ->
+            pipeline.validateAll(LOCALIZED_CAP, DEFAULT_COMMAND_SENDER, DUMMY_ARGUMENT, Arrays.asList("a", "b1")));
+    }
+
+    @Test
+    void flatten()
+    {
+        final @NonNull ValidatorPipeline<String> inner = ValidatorPipeline.of(
+            LengthValidator.maximumLengthValidator(4), PatternValidator.patternValidator("[a-z]+"));
+        final @NonNull ValidatorPipeline<String> outer =
+            ValidatorPipeline.of(inner, SetValidator.setValidator("a", "b"));
+
+        Assertions.assertEquals(3, outer.size());
+        Assertions.assertDoesNotThrow(() -> outer.validate(LOCALIZED_CAP, DEFAULT_COMMAND_SENDER, DUMMY_ARGUMENT, "a"));
+        Assertions.assertThrows(ValidationFailureException.class, () ->
+            outer.validate(LOCALIZED_CAP, DEFAULT_COMMAND_SENDER, DUMMY_ARGUMENT, "c"));
+    }
+}
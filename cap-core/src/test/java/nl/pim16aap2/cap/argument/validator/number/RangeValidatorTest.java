@@ -29,9 +29,20 @@ import nl.pim16aap2.cap.CAP;
 import nl.pim16aap2.cap.argument.Argument;
 import nl.pim16aap2.cap.commandsender.ICommandSender;
 import nl.pim16aap2.cap.exception.ValidationFailureException;
+import nl.pim16aap2.cap.util.DoubleArrayList;
+import nl.pim16aap2.cap.util.IntArrayList;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
 import static nl.pim16aap2.cap.util.UtilsForTesting.*;
 
 class RangeValidatorTest
@@ -111,4 +122,85 @@ class RangeValidatorTest
         Assertions.assertDoesNotThrow(
             () -> rangeValidator.validate(LOCALIZED_CAP, DEFAULT_COMMAND_SENDER, DUMMY_ARGUMENT, minimum));
     }
+
+    @Test
+    void validateAll()
+    {
+        final @NonNull RangeValidator<Integer> integerRangeValidator = RangeValidator.integerRangeValidator(10, 20);
+        final @NonNull IntArrayList integers = new IntArrayList(3);
+        integers.addAll(Arrays.asList(10, 15, 20));
+        Assertions.assertDoesNotThrow(
+            () -> integerRangeValidator.validateAll(LOCALIZED_CAP, DEFAULT_COMMAND_SENDER, DUMMY_ARGUMENT, integers));
+        integers.add(21);
+        Assertions.assertThrows(ValidationFailureException.class, () ->
+            integerRangeValidator.validateAll(LOCALIZED_CAP, DEFAULT_COMMAND_SENDER, DUMMY_ARGUMENT, integers));
+
+        final @NonNull RangeValidator<Double> doubleRangeValidator = RangeValidator.doubleRangeValidator(10, 20);
+        final @NonNull DoubleArrayList doubles = new DoubleArrayList(2);
+        doubles.addAll(Arrays.asList(10.0, 20.0));
+        Assertions.assertDoesNotThrow(
+            () -> doubleRangeValidator.validateAll(LOCALIZED_CAP, DEFAULT_COMMAND_SENDER, DUMMY_ARGUMENT, doubles));
+        doubles.add(9.9);
+        Assertions.assertThrows(ValidationFailureException.class, () ->
+            doubleRangeValidator.validateAll(LOCALIZED_CAP, DEFAULT_COMMAND_SENDER, DUMMY_ARGUMENT, doubles));
+
+        // Boxed lists are validated as well.
+        Assertions.assertThrows(ValidationFailureException.class, () -> integerRangeValidator
+            .validateAll(LOCALIZED_CAP, DEFAULT_COMMAND_SENDER, DUMMY_ARGUMENT, Arrays.asList(15, 9)));
+    }
+
+    @Test
+    void validateMemoized()
+    {
+        final @NonNull AtomicLong time = new AtomicLong(0);
+        final @NonNull Clock clock = new Clock()
+        {
+            @Override
+            public long millis()
+            {
+                return time.get();
+            }
+
+            @Override
+            public ZoneId getZone()
+            {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(final ZoneId zone)
+            {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Instant instant()
+            {
+                return Instant.ofEpochMilli(millis());
+            }
+        };
+
+        final @NonNull AtomicInteger requests = new AtomicInteger(0);
+        final @NonNull MemoizedValueRequest<Integer> maximum = new MemoizedValueRequest<>(
+            clock, (cap, commandSender, argument) -> 10 + requests.incrementAndGet(), Duration.ofSeconds(1));
+        final @NonNull RangeValidator<Integer> rangeValidator =
+            RangeValidator.integerRangeValidator((cap, commandSender, argument) -> 0, maximum);
+
+        Assertions.assertDoesNotThrow(
+            () -> rangeValidator.validate(LOCALIZED_CAP, DEFAULT_COMMAND_SENDER, DUMMY_ARGUMENT, 11));
+        Assertions.assertThrows(ValidationFailureException.class, () ->
+            rangeValidator.validate(LOCALIZED_CAP, DEFAULT_COMMAND_SENDER, DUMMY_ARGUMENT, 12));
+        Assertions.assertEquals(1, requests.get());
+
+        // Once the value has expired, the new maximum of 12 is retrieved.
+        time.set(1000);
+        Assertions.assertDoesNotThrow(
+            () -> rangeValidator.validate(LOCALIZED_CAP, DEFAULT_COMMAND_SENDER, DUMMY_ARGUMENT, 12));
+        Assertions.assertEquals(2, requests.get());
+
+        maximum.invalidate();
+        Assertions.assertDoesNotThrow(
+            () -> rangeValidator.validate(LOCALIZED_CAP, DEFAULT_COMMAND_SENDER, DUMMY_ARGUMENT, 13));
+        Assertions.assertEquals(3, requests.get());
+    }
 }
@@ -0,0 +1,105 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.command;
+
+import lombok.NonNull;
+import nl.pim16aap2.cap.CAP;
+import nl.pim16aap2.cap.commandsender.DefaultCommandSender;
+import nl.pim16aap2.cap.commandsender.ICommandSender;
+import nl.pim16aap2.cap.util.UtilsForTesting;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class CommandVisibilityCacheTest
+{
+    @Test
+    void visibility()
+    {
+        final @NonNull CAP cap = CAP.getDefault();
+        final @NonNull AtomicBoolean allowed = new AtomicBoolean(false);
+        final @NonNull AtomicInteger checks = new AtomicInteger(0);
+
+        final @NonNull Command subSubCommand =
+            Command.commandBuilder().cap(cap).nameSpec(UtilsForTesting.getBasicCommandName("subsubcommand"))
+                   .commandExecutor(commandResult -> {}).build();
+
+        final @NonNull Command subCommand =
+            Command.commandBuilder().cap(cap).nameSpec(UtilsForTesting.getBasicCommandName("subcommand"))
+                   .commandExecutor(commandResult -> {}).subCommand(subSubCommand)
+                   .permission((commandSender, command) ->
+                               {
+                                   checks.incrementAndGet();
+                                   return allowed.get();
+                               }).build();
+
+        final @NonNull Command topCommand =
+            Command.commandBuilder().cap(cap).nameSpec(UtilsForTesting.getBasicCommandName("topcommand"))
+                   .virtual(true).subCommand(subCommand).build();
+
+        final @NonNull CommandVisibilityCache visibilityCache = cap.getCommandVisibilityCache();
+        final @NonNull CommandIndex index = visibilityCache.getCommandIndex();
+        Assertions.assertEquals(3, index.size());
+        Assertions.assertEquals(0, topCommand.getIndex());
+        Assertions.assertEquals(3, topCommand.getSubTreeEnd());
+        Assertions.assertEquals(1, subCommand.getIndex());
+        Assertions.assertEquals(2, subSubCommand.getIndex());
+        Assertions.assertSame(subSubCommand, index.getCommand(2));
+        Assertions.assertEquals("", index.getSuperCommandPath(topCommand, null));
+        Assertions.assertEquals("topcommand subcommand ", index.getSuperCommandPath(subSubCommand, null));
+
+        final @NonNull ICommandSender commandSender = new DefaultCommandSender();
+
+        // The top-level command is virtual and the subcommand isn't allowed.
+        Assertions.assertEquals(1, visibilityCache.countVisible(commandSender, topCommand));
+        Assertions.assertFalse(subCommand.hasPermission(commandSender));
+        Assertions.assertFalse(visibilityCache.isVisible(commandSender, topCommand));
+        Assertions.assertEquals(1, checks.get());
+
+        // The result should remain cached until it is invalidated.
+        allowed.set(true);
+        Assertions.assertFalse(subCommand.hasPermission(commandSender));
+        Assertions.assertEquals(1, checks.get());
+
+        cap.invalidatePermissions(commandSender);
+        Assertions.assertTrue(subCommand.hasPermission(commandSender));
+        Assertions.assertEquals(2, visibilityCache.countVisible(commandSender, topCommand));
+        Assertions.assertArrayEquals(new int[]{1, 2}, visibilityCache.getVisibleCommands(commandSender, topCommand));
+        Assertions.assertArrayEquals(new int[]{2}, visibilityCache.getVisibleCommands(commandSender, subSubCommand));
+        Assertions.assertEquals(2, checks.get());
+
+        // Adding a new command should result in a new index.
+        final @NonNull Command otherCommand =
+            Command.commandBuilder().cap(cap).nameSpec(UtilsForTesting.getBasicCommandName("othercommand"))
+                   .commandExecutor(commandResult -> {}).build();
+        Assertions.assertNotSame(index, visibilityCache.getCommandIndex());
+        Assertions.assertEquals(4, visibilityCache.getCommandIndex().size());
+        Assertions.assertTrue(visibilityCache.getCommandIndex().contains(otherCommand));
+        Assertions.assertEquals(2, visibilityCache.countVisible(commandSender, topCommand));
+        Assertions.assertEquals(3, checks.get());
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.command;
+
+import lombok.NonNull;
+import nl.pim16aap2.cap.CAP;
+import nl.pim16aap2.cap.argument.Argument;
+import nl.pim16aap2.cap.commandsender.DefaultCommandSender;
+import nl.pim16aap2.cap.commandsender.ICommandSender;
+import nl.pim16aap2.cap.exception.CommandNotFoundException;
+import nl.pim16aap2.cap.exception.ValidationFailureException;
+import nl.pim16aap2.cap.localization.ArgumentNamingSpec;
+import nl.pim16aap2.cap.localization.CommandNamingSpec;
+import nl.pim16aap2.cap.renderer.IHelpCommandRenderer;
+import nl.pim16aap2.cap.text.ColorScheme;
+import nl.pim16aap2.cap.text.Text;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+class HelpSearchIndexTest
+{
+    private static @NonNull Command createCommand(final @NonNull CAP cap, final @NonNull String name,
+                                                  final @NonNull String summary, final @NonNull String description)
+    {
+        return Command.commandBuilder().cap(cap)
+                      .nameSpec(CommandNamingSpec.RawStrings.builder().name(name).summary(summary)
+                                                            .description(description).build())
+                      .commandExecutor(commandResult -> {}).build();
+    }
+
+    private static @NonNull CAP createCap()
+    {
+        final @NonNull CAP cap = CAP.getDefault();
+        final @NonNull Command teleport = Command
+            .commandBuilder().cap(cap)
+            .nameSpec(CommandNamingSpec.RawStrings.builder().name("teleport").summary("Moves you to a door.").build())
+            .argument(Argument.valuesLessBuilder().identifier("home").nameSpec(
+                ArgumentNamingSpec.RawStrings.builder().shortName("home").build()).build())
+            .commandExecutor(commandResult -> {}).build();
+
+        final @NonNull Command top = Command
+            .commandBuilder().cap(cap).addDefaultHelpSubCommand(true)
+            .nameSpec(CommandNamingSpec.RawStrings.builder().name("bigdoors").build())
+            .subCommand(teleport)
+            .subCommand(createCommand(cap, "opendoor", "Opens a door.", "Opens the door so you can teleport."))
+            .subCommand(createCommand(cap, "closedoor", "Closes a door.", "Closes it again."))
+            .subCommand(createCommand(cap, "listdoors", "Lists all doors.", "Shows every home and door you own."))
+            .virtual(true).build();
+        cap.addCommand(top);
+        return cap;
+    }
+
+    @Test
+    void tokenize()
+    {
+        Assertions.assertEquals(Arrays.asList("open", "the", "door", "2"),
+                                HelpSearchIndex.tokenize("Open the-door (2)!", Locale.US));
+        Assertions.assertTrue(HelpSearchIndex.tokenize(" -- ", null).isEmpty());
+    }
+
+    @Test
+    void search()
+    {
+        final @NonNull CAP cap = createCap();
+        final @NonNull CommandIndex index = cap.getCommandVisibilityCache().getCommandIndex();
+        final @NonNull HelpSearchIndex searchIndex = index.getSearchIndex(cap.getLocalizer(), null);
+        Assertions.assertSame(searchIndex, index.getSearchIndex(cap.getLocalizer(), null));
+
+        // The name outweighs the description.
+        Assertions.assertEquals(Arrays.asList("teleport", "opendoor"), getNames(index, searchIndex.search("teleport")));
+
+        // Prefixes match as well, but count for less.
+        Assertions.assertEquals(Arrays.asList("teleport", "opendoor"), getNames(index, searchIndex.search("tele")));
+
+        // Every term has to match. The argument name is weighted more than the description.
+        Assertions.assertEquals(Arrays.asList("teleport", "listdoors"), getNames(index, searchIndex.search("home")));
+        Assertions.assertEquals(Arrays.asList("opendoor"), getNames(index, searchIndex.search("OPEN door")));
+        Assertions.assertEquals(0, searchIndex.search("open nothing").length);
+        Assertions.assertEquals(0, searchIndex.search("!").length);
+
+        // A new command index gets its own search index.
+        cap.addCommand(createCommand(cap, "other", "", ""));
+        Assertions.assertNotSame(searchIndex,
+                                 cap.getCommandVisibilityCache().getCommandIndex()
+                                    .getSearchIndex(cap.getLocalizer(), null));
+    }
+
+    @Test
+    void helpCommand()
+    {
+        final @NonNull CAP cap = createCap();
+        final @NonNull List<Text> messages = new ArrayList<>();
+        final @NonNull ICommandSender commandSender = new DefaultCommandSender()
+        {
+            @Override
+            public void sendMessage(final @NonNull Text message)
+            {
+                messages.add(message);
+            }
+        };
+
+        Assertions.assertDoesNotThrow(
+            () -> cap.parseInput(commandSender, "bigdoors help search door").ifPresent(CommandResult::run));
+        Assertions.assertEquals(1, messages.size());
+        final @NonNull String results = messages.get(0).toPlainString();
+        Assertions.assertTrue(results.contains("( 1 /  1)"));
+        Assertions.assertTrue(results.contains("/bigdoors opendoor"));
+        Assertions.assertTrue(results.contains("/bigdoors closedoor"));
+        Assertions.assertFalse(results.contains("/bigdoors help"));
+
+        messages.clear();
+        Assertions.assertDoesNotThrow(
+            () -> cap.parseInput(commandSender, "bigdoors help search closes").ifPresent(CommandResult::run));
+        Assertions.assertTrue(messages.get(0).toPlainString().contains("/bigdoors closedoor"));
+        Assertions.assertFalse(messages.get(0).toPlainString().contains("/bigdoors opendoor"));
+
+        messages.clear();
+        Assertions.assertDoesNotThrow(
+            () -> cap.parseInput(commandSender, "bigdoors help search \"teleport home\"").ifPresent(CommandResult::run));
+        Assertions.assertTrue(messages.get(0).toPlainString().contains("/bigdoors teleport"));
+
+        messages.clear();
+        Assertions.assertDoesNotThrow(
+            () -> cap.parseInput(commandSender, "bigdoors help search nothing").ifPresent(CommandResult::run));
+        Assertions.assertTrue(messages.get(0).toPlainString().contains("No commands found"));
+
+        // A trailing value is not a page of the help menu of a subcommand.
+        messages.clear();
+        Assertions.assertDoesNotThrow(
+            () -> cap.parseInput(commandSender, "bigdoors help teleport 3").ifPresent(CommandResult::run));
+        Assertions.assertEquals(1, messages.size());
+        Assertions.assertTrue(messages.get(0).toPlainString().contains("error.exception.nonExistingArgument"));
+    }
+
+    @Test
+    void defaultSearchRenderer()
+        throws Exception
+    {
+        final @NonNull CAP cap = createCap();
+        final @NonNull Command top = cap.getCommand("bigdoors", null).orElseThrow(AssertionError::new);
+        final @NonNull IHelpCommandRenderer renderer = cap.getHelpCommandRenderer();
+        final @NonNull IHelpCommandRenderer fallback = new IHelpCommandRenderer()
+        {
+            @Override
+            public @NonNull Text renderOverviewPage(final @NonNull ICommandSender commandSender,
+                                                    final @NonNull ColorScheme colorScheme,
+                                                    final @NonNull Command command, final int page)
+                throws ValidationFailureException
+            {
+                return renderer.renderOverviewPage(commandSender, colorScheme, command, page);
+            }
+
+            @Override
+            public @NonNull Text render(final @NonNull ICommandSender commandSender,
+                                        final @NonNull ColorScheme colorScheme, final @NonNull Command command,
+                                        final @Nullable String val)
+                throws ValidationFailureException, CommandNotFoundException
+            {
+                return renderer.render(commandSender, colorScheme, command, val);
+            }
+
+            @Override
+            public @NonNull Text renderHelpMenu(final @NonNull ICommandSender commandSender,
+                                                final @NonNull ColorScheme colorScheme, final @NonNull Command command)
+            {
+                return renderer.renderHelpMenu(commandSender, colorScheme, command);
+            }
+
+            @Override
+            public @NonNull Text renderFirstPage(final @NonNull ICommandSender commandSender,
+                                                 final @NonNull ColorScheme colorScheme,
+                                                 final @NonNull Command command)
+            {
+                return renderer.renderFirstPage(commandSender, colorScheme, command);
+            }
+        };
+
+        final @NonNull ICommandSender commandSender = new DefaultCommandSender();
+        final @NonNull ColorScheme colorScheme = commandSender.getColorScheme();
+        Assertions.assertEquals(renderer.renderOverviewPage(commandSender, colorScheme, top, 1).toPlainString(),
+                                fallback.renderSearchResults(commandSender, colorScheme, top, "door", 1)
+                                        .toPlainString());
+    }
+
+    private static @NonNull List<String> getNames(final @NonNull CommandIndex index, final @NonNull int[] results)
+    {
+        final @NonNull List<String> names = new ArrayList<>(results.length);
+        for (final int result : results)
+            names.add(index.getCommand(result).getName(null));
+        return names;
+    }
+}
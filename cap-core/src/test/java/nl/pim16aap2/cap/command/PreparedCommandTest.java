@@ -0,0 +1,148 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.command;
+
+import lombok.NonNull;
+import nl.pim16aap2.cap.CAP;
+import nl.pim16aap2.cap.argument.Argument;
+import nl.pim16aap2.cap.argument.parser.IntegerParser;
+import nl.pim16aap2.cap.argument.parser.StringParser;
+import nl.pim16aap2.cap.argument.validator.number.RangeValidator;
+import nl.pim16aap2.cap.exception.MissingArgumentException;
+import nl.pim16aap2.cap.exception.NoPermissionException;
+import nl.pim16aap2.cap.exception.ValidationFailureException;
+import nl.pim16aap2.cap.localization.ArgumentNamingSpec;
+import nl.pim16aap2.cap.util.UtilsForTesting;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static nl.pim16aap2.cap.util.UtilsForTesting.DEFAULT_COMMAND_SENDER;
+
+class PreparedCommandTest
+{
+    private final @NonNull List<String> executed = new ArrayList<>();
+    private final @NonNull AtomicBoolean allowed = new AtomicBoolean(true);
+
+    private @NonNull CAP setUp()
+    {
+        final @NonNull CAP cap = CAP.getDefault().toBuilder().exceptionHandler(null).build();
+        final @NonNull Command give =
+            Command.commandBuilder().cap(cap).nameSpec(UtilsForTesting.getBasicCommandName("give"))
+                   .argument(Argument.<String>requiredBuilder().identifier("player").parser(StringParser.create())
+                                     .nameSpec(ArgumentNamingSpec.RawStrings.builder().shortName("p").build())
+                                     .build())
+                   .argument(Argument.<Integer>optionalBuilder().identifier("amount").parser(IntegerParser.create())
+                                     .defaultValue(1)
+                                     .argumentValidator(RangeValidator.integerRangeValidator(1, 64))
+                                     .nameSpec(ArgumentNamingSpec.RawStrings.builder().shortName("a").build())
+                                     .build())
+                   .permission((commandSender, command) -> allowed.get())
+                   .commandExecutor(commandResult -> executed.add(commandResult.<String>getParsedArgument("player") +
+                                                                      ":" + commandResult.getParsedArgument("amount")))
+                   .build();
+        Command.commandBuilder().cap(cap).nameSpec(UtilsForTesting.getBasicCommandName("items"))
+               .subCommand(give).virtual(true).build();
+        return cap;
+    }
+
+    @Test
+    void typedValues()
+        throws Exception
+    {
+        final @NonNull CAP cap = setUp();
+        final @NonNull PreparedCommand prepared = cap.prepare("items  give").variable("player").variable("amount")
+                                                     .build();
+        Assertions.assertEquals(Arrays.asList("player", "amount"), prepared.getVariables());
+
+        final @NonNull CommandResult result = prepared.getResult(DEFAULT_COMMAND_SENDER, "pim", 5);
+        Assertions.assertEquals("pim", result.getParsedArgument("player"));
+        Assertions.assertEquals(5, result.<Integer>getParsedArgument("amount"));
+
+        Assertions.assertTrue(prepared.run(DEFAULT_COMMAND_SENDER, "pim", 5));
+        Assertions.assertTrue(prepared.run(DEFAULT_COMMAND_SENDER, "pim", null));
+        Assertions.assertEquals(Arrays.asList("pim:5", "pim:1"), executed);
+
+        Assertions.assertThrows(ValidationFailureException.class,
+                                () -> prepared.getResult(DEFAULT_COMMAND_SENDER, "pim", 65));
+        Assertions.assertThrows(MissingArgumentException.class,
+                                () -> prepared.getResult(DEFAULT_COMMAND_SENDER, null, 5));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                                () -> prepared.getResult(DEFAULT_COMMAND_SENDER, "pim"));
+    }
+
+    @Test
+    void tokens()
+    {
+        final @NonNull CAP cap = setUp();
+        final @NonNull PreparedCommand prepared = cap.prepare("items give").value("amount", 3).variable("player")
+                                                     .build();
+
+        Assertions.assertTrue(prepared.runTokens(DEFAULT_COMMAND_SENDER, "pim"));
+        Assertions.assertEquals(Arrays.asList("pim:3"), executed);
+
+        final @NonNull PreparedCommand both = cap.prepare("items give").variable("player").variable("amount").build();
+        Assertions.assertTrue(both.runTokens(DEFAULT_COMMAND_SENDER, "pim", "12"));
+        Assertions.assertEquals(Arrays.asList("pim:3", "pim:12"), executed);
+
+        final @NonNull RuntimeException exception = Assertions.assertThrows(
+            RuntimeException.class, () -> both.runTokens(DEFAULT_COMMAND_SENDER, "pim", "100"));
+        Assertions.assertTrue(exception.getCause() instanceof ValidationFailureException);
+    }
+
+    @Test
+    void permission()
+    {
+        final @NonNull CAP cap = setUp();
+        final @NonNull PreparedCommand prepared = cap.prepare("items give").variable("player").build();
+        Assertions.assertTrue(prepared.getCommand().hasPermission(DEFAULT_COMMAND_SENDER));
+
+        // The permission is checked again for every execution, even if the cached result is still valid.
+        allowed.set(false);
+        Assertions.assertTrue(prepared.getCommand().hasPermission(DEFAULT_COMMAND_SENDER));
+        Assertions.assertThrows(NoPermissionException.class,
+                                () -> prepared.getResult(DEFAULT_COMMAND_SENDER, "pim"));
+        Assertions.assertThrows(NoPermissionException.class,
+                                () -> prepared.getResultFromTokens(DEFAULT_COMMAND_SENDER, "pim"));
+        Assertions.assertTrue(executed.isEmpty());
+    }
+
+    @Test
+    void invalidBindings()
+    {
+        final @NonNull CAP cap = setUp();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> cap.prepare("items take"));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                                () -> cap.prepare("items give").variable("amount").build());
+        Assertions.assertThrows(IllegalArgumentException.class,
+                                () -> cap.prepare("items give").variable("player").variable("count").build());
+        Assertions.assertThrows(IllegalArgumentException.class,
+                                () -> cap.prepare("items give").value("player", "pim").variable("player").build());
+    }
+}
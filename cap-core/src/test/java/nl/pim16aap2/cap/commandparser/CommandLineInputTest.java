@@ -24,6 +24,8 @@
 
 package nl.pim16aap2.cap.commandparser;
 
+import lombok.NonNull;
+import nl.pim16aap2.cap.util.CharSequenceSlice;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -43,4 +45,21 @@ class CommandLineInputTest
         // Check that the last entry is "a "
         Assertions.assertEquals(2, split.get(5).length());
     }
+
+    @Test
+    void offsets()
+    {
+        final @NonNull String rawInput = "bigdoors  \"my door\"  --player   pim16aap2 ";
+        final @NonNull CommandLineInput input = new CommandLineInput(rawInput);
+
+        Assertions.assertEquals(4, input.size());
+        Assertions.assertEquals(0, input.getOffset(0));
+        Assertions.assertEquals(rawInput.indexOf('"'), input.getOffset(1));
+        Assertions.assertEquals(rawInput.indexOf("--player"), input.getOffset(2));
+        Assertions.assertEquals(rawInput.indexOf("pim16aap2"), input.getOffset(3));
+
+        final @NonNull CharSequence remainder = input.getRemainder(input.getOffset(1));
+        Assertions.assertEquals("\"my door\"  --player   pim16aap2", remainder.toString());
+        Assertions.assertSame(rawInput, ((CharSequenceSlice) remainder).getSource());
+    }
 }
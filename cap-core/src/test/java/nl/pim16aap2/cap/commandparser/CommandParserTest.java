@@ -37,8 +37,12 @@ import nl.pim16aap2.cap.argument.validator.number.RangeValidator;
 import nl.pim16aap2.cap.command.Command;
 import nl.pim16aap2.cap.command.CommandResult;
 import nl.pim16aap2.cap.commandsender.DefaultCommandSender;
+import nl.pim16aap2.cap.exception.CommandNotFoundException;
+import nl.pim16aap2.cap.exception.DeferredArgumentException;
 import nl.pim16aap2.cap.exception.IllegalValueException;
 import nl.pim16aap2.cap.exception.MissingValueException;
+import nl.pim16aap2.cap.exception.NoPermissionException;
+import nl.pim16aap2.cap.exception.NonExistingArgumentException;
 import nl.pim16aap2.cap.exception.ValidationFailureException;
 import nl.pim16aap2.cap.localization.ArgumentNamingSpec;
 import nl.pim16aap2.cap.localization.CommandNamingSpec;
@@ -50,8 +54,11 @@ import org.junit.jupiter.api.function.Executable;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 class CommandParserTest
 {
@@ -409,6 +416,103 @@ class CommandParserTest
         Assertions.assertEquals("required_1", exception.getArgument().getIdentifier());
     }
 
+    @Test
+    void testSuggestions()
+    {
+        final @NonNull CAP cap = setUp(CAP.getDefault().toBuilder().exceptionHandler(null).build());
+
+        CommandNotFoundException exception = assertWrappedThrows(CommandNotFoundException.class, () ->
+            cap.parseInput(commandSender, "bigdors addowner"));
+        Assertions.assertEquals(Collections.singletonList("bigdoors"), exception.getSuggestions());
+
+        // The virtual command has a positional page argument, but 'numerica' is not a number.
+        exception = assertWrappedThrows(CommandNotFoundException.class, () ->
+            cap.parseInput(commandSender, "bigdoors numerica"));
+        Assertions.assertEquals("numerica", exception.getMissingCommand());
+        Assertions.assertEquals(Collections.singletonList("numerical"), exception.getSuggestions());
+
+        exception = assertWrappedThrows(CommandNotFoundException.class, () ->
+            cap.parseInput(commandSender, "bigdoors subcommand_44"));
+        // The closest names come first, up to the default limit of 3 suggestions.
+        Assertions.assertEquals(Arrays.asList("subcommand_14", "subcommand_4", "subcommand_0"),
+                                exception.getSuggestions());
+
+        // Without any similar subcommands, the original exception is kept.
+        assertWrappedThrows(IllegalValueException.class, () -> cap.parseInput(commandSender, "bigdoors xyzzy"));
+
+        final @NonNull CAP noSuggestions =
+            setUp(CAP.getDefault().toBuilder().exceptionHandler(null).suggestionLimit(0).build());
+        exception = assertWrappedThrows(CommandNotFoundException.class, () ->
+            noSuggestions.parseInput(commandSender, "bigdors addowner"));
+        Assertions.assertTrue(exception.getSuggestions().isEmpty());
+
+        // Without any positional arguments, an unknown value that looks nothing like a subcommand is an argument.
+        final @NonNull CAP noPositional = CAP.getDefault().toBuilder().exceptionHandler(null).build();
+        Command.commandBuilder().cap(noPositional).nameSpec(UtilsForTesting.getBasicCommandName("parent"))
+               .subCommand(Command.commandBuilder().cap(noPositional)
+                                  .nameSpec(UtilsForTesting.getBasicCommandName("child"))
+                                  .commandExecutor(commandResult -> {}).build())
+               .commandExecutor(commandResult -> {}).build();
+        exception = assertWrappedThrows(CommandNotFoundException.class, () ->
+            noPositional.parseInput(commandSender, "parent chil"));
+        Assertions.assertEquals(Collections.singletonList("child"), exception.getSuggestions());
+        assertWrappedThrows(NonExistingArgumentException.class, () ->
+            noPositional.parseInput(commandSender, "parent xyzzy"));
+    }
+
+    @Test
+    void testHelpArgument()
+    {
+        final @NonNull CAP cap = setUp(CAP.getDefault().toBuilder().exceptionHandler(null).build());
+
+        // The help argument is found before anything else is checked, so the missing doorID doesn't matter.
+        Optional<CommandResult> result = Assertions.assertDoesNotThrow(
+            () -> cap.parseInput(commandSender, "bigdoors addowner -h"));
+        Assertions.assertTrue(result.isPresent());
+        Assertions.assertTrue(result.get().helpRequired());
+
+        result = Assertions.assertDoesNotThrow(
+            () -> cap.parseInput(commandSender, "bigdoors addowner mydoor --player pim16aap2 --help"));
+        Assertions.assertTrue(result.isPresent());
+        Assertions.assertTrue(result.get().helpRequired());
+
+        result = Assertions.assertDoesNotThrow(
+            () -> cap.parseInput(commandSender, "bigdoors addowner mydoor --player pim16aap2"));
+        Assertions.assertTrue(result.isPresent());
+        Assertions.assertFalse(result.get().helpRequired());
+    }
+
+    @Test
+    void testLazyArgumentParsing()
+    {
+        final @NonNull CAP cap =
+            setUp(CAP.getDefault().toBuilder().exceptionHandler(null).lazyArgumentParsing(true).build());
+
+        // The max value is set to 10, so 11 will be illegal, but only once the value is actually used.
+        final @NonNull Optional<CommandResult> result = Assertions.assertDoesNotThrow(
+            () -> cap.parseInput(commandSender, "bigdoors numerical -max 11 -min 11"));
+        Assertions.assertTrue(result.isPresent());
+
+        final @NonNull LazyParsedArgument<?> max =
+            (LazyParsedArgument<?>) Objects.requireNonNull(result.get().getParsedArguments()).get("max");
+        Assertions.assertFalse(max.isResolved());
+
+        Assertions.assertEquals(11, (Integer) result.get().getParsedArgument("min"));
+        Assertions.assertFalse(max.isResolved());
+
+        final @NonNull DeferredArgumentException exception = Assertions
+            .assertThrows(DeferredArgumentException.class, () -> result.get().getParsedArgument("max"));
+        Assertions.assertTrue(exception.getException() instanceof ValidationFailureException);
+        Assertions.assertTrue(max.isResolved());
+        // The failure is stored, so the value is not parsed again.
+        Assertions.assertSame(exception, Assertions.assertThrows(DeferredArgumentException.class,
+                                                                 () -> result.get().getParsedArgument("max")));
+
+        // Structural errors are still found while parsing the input.
+        assertWrappedThrows(MissingValueException.class,
+                            () -> cap.parseInput(commandSender, "bigdoors numerical -max"));
+    }
+
     @Test
     void testSpaceSeparator()
     {
@@ -471,4 +575,22 @@ class CommandParserTest
         assertLastArgument(cap, "bigdoors addowner ", "addowner");
         assertLastArgument(cap, "bigdoors addowner subsubcommand subsubsubcommand aaaa ", "subsubsubcommand");
     }
+
+    @Test
+    void revokedPermission()
+    {
+        final @NonNull CAP cap = CAP.getDefault().toBuilder().exceptionHandler(null).build();
+        final @NonNull AtomicBoolean allowed = new AtomicBoolean(true);
+        final @NonNull Command command =
+            Command.commandBuilder().cap(cap).nameSpec(UtilsForTesting.getBasicCommandName("command"))
+                   .permission((sender, cmd) -> allowed.get()).commandExecutor(commandResult -> {}).build();
+
+        Assertions.assertTrue(command.hasPermission(commandSender));
+        Assertions.assertTrue(cap.parseInput(commandSender, "command").isPresent());
+
+        // The cached result is still valid, but the command should no longer be executable.
+        allowed.set(false);
+        Assertions.assertTrue(command.hasPermission(commandSender));
+        assertWrappedThrows(NoPermissionException.class, () -> cap.parseInput(commandSender, "command"));
+    }
 }
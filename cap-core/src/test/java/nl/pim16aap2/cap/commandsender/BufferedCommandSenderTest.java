@@ -0,0 +1,114 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.commandsender;
+
+import lombok.NonNull;
+import nl.pim16aap2.cap.CAP;
+import nl.pim16aap2.cap.command.Command;
+import nl.pim16aap2.cap.text.Text;
+import nl.pim16aap2.cap.util.UtilsForTesting;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+class BufferedCommandSenderTest
+{
+    @Test
+    void flushOnRun()
+    {
+        final @NonNull CAP cap = CAP.getDefault();
+        Command.commandBuilder().cap(cap).nameSpec(UtilsForTesting.getBasicCommandName("command"))
+               .commandExecutor(commandResult ->
+                                {
+                                    final @NonNull ICommandSender commandSender = commandResult.getCommandSender();
+                                    commandSender.sendMessage(new Text(commandSender.getColorScheme()).add("a"));
+                                    commandSender.sendMessage(new Text(commandSender.getColorScheme()).add("b"));
+                                }).build();
+
+        final @NonNull List<String> received = new ArrayList<>();
+        final @NonNull List<Runnable> scheduled = new ArrayList<>();
+        final @NonNull BufferedCommandSender commandSender =
+            new BufferedCommandSender(new TestCommandSender(received), scheduled::add);
+
+        cap.parseInput(commandSender, "command").orElseThrow(RuntimeException::new).run();
+        Assertions.assertEquals(Collections.singletonList("a\nb"), received);
+
+        // The flush was only scheduled once, and running it afterwards shouldn't send anything.
+        Assertions.assertEquals(1, scheduled.size());
+        scheduled.get(0).run();
+        Assertions.assertEquals(1, received.size());
+
+        Assertions.assertTrue(BufferedCommandSender.unwrap(commandSender) instanceof TestCommandSender);
+    }
+
+    @Test
+    void scheduledFlush()
+    {
+        final @NonNull List<String> received = new ArrayList<>();
+        final @NonNull List<Runnable> scheduled = new ArrayList<>();
+        final @NonNull BufferedCommandSender commandSender =
+            new BufferedCommandSender(new TestCommandSender(received), scheduled::add);
+
+        commandSender.sendMessage(new Text(commandSender.getColorScheme()).add("a"));
+        commandSender.sendMessage(new Text(commandSender.getColorScheme()).add("b"));
+        Assertions.assertTrue(received.isEmpty());
+
+        scheduled.forEach(Runnable::run);
+        Assertions.assertEquals(Collections.singletonList("a\nb"), received);
+    }
+
+    @Test
+    void equality()
+    {
+        final @NonNull ICommandSender wrapped = new TestCommandSender(new ArrayList<>());
+        final @NonNull BufferedCommandSender first = new BufferedCommandSender(wrapped);
+        final @NonNull BufferedCommandSender second = new BufferedCommandSender(wrapped);
+
+        Assertions.assertEquals(first, second);
+        Assertions.assertEquals(first.hashCode(), second.hashCode());
+        Assertions.assertNotEquals(first, wrapped);
+        Assertions.assertNotEquals(wrapped, first);
+        Assertions.assertEquals(BufferedCommandSender.unwrap(wrapped), BufferedCommandSender.unwrap(first));
+    }
+
+    private static final class TestCommandSender extends DefaultCommandSender
+    {
+        private final @NonNull List<String> received;
+
+        private TestCommandSender(final @NonNull List<String> received)
+        {
+            this.received = received;
+        }
+
+        @Override
+        public void sendMessage(final @NonNull Text message)
+        {
+            received.add(message.toString());
+        }
+    }
+}
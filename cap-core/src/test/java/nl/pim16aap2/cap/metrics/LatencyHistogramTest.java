@@ -0,0 +1,91 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.metrics;
+
+import lombok.NonNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest
+{
+    /**
+     * Make sure that every value is stored in a sub-bucket whose range contains that value and that the sub-buckets
+     * are contiguous.
+     */
+    @Test
+    void getIndex()
+    {
+        for (long value = 0; value < 10_000; ++value)
+        {
+            final int idx = LatencyHistogram.getIndex(value);
+            Assertions.assertTrue(LatencyHistogram.getLowestEquivalentValue(idx) <= value);
+            Assertions.assertTrue(LatencyHistogram.getHighestEquivalentValue(idx) >= value);
+        }
+
+        final int maxIdx = LatencyHistogram.getIndex(LatencyHistogram.MAX_TRACKABLE_VALUE);
+        Assertions.assertEquals(LatencyHistogram.MAX_TRACKABLE_VALUE,
+                                LatencyHistogram.getHighestEquivalentValue(maxIdx));
+    }
+
+    @Test
+    void percentiles()
+    {
+        final @NonNull LatencyHistogram histogram = new LatencyHistogram();
+        Assertions.assertEquals(0, histogram.getValueAtPercentile(50));
+
+        for (int idx = 1; idx <= 100; ++idx)
+            histogram.record(idx * 1_000L);
+
+        Assertions.assertEquals(100, histogram.getCount());
+        Assertions.assertEquals(100_000L, histogram.getMax());
+        Assertions.assertEquals(50_500D, histogram.getMean());
+
+        final long median = histogram.getValueAtPercentile(50);
+        Assertions.assertTrue(median >= 50_000L && median <= 50_000L * (1 + 1D / LatencyHistogram.SUB_BUCKET_COUNT));
+        Assertions.assertEquals(100_000L, histogram.getValueAtPercentile(100));
+
+        histogram.record(Long.MAX_VALUE);
+        Assertions.assertEquals(Long.MAX_VALUE, histogram.getMax());
+
+        histogram.reset();
+        Assertions.assertEquals(0, histogram.getCount());
+        Assertions.assertEquals(0, histogram.getValueAtPercentile(99));
+    }
+
+    @Test
+    void histogramMetricsRecorder()
+    {
+        final @NonNull HistogramMetricsRecorder recorder = new HistogramMetricsRecorder();
+        recorder.record(MetricsPhase.EXECUTE, "command", 100);
+        recorder.record(MetricsPhase.EXECUTE, "command", 200);
+        recorder.record(MetricsPhase.TAB_COMPLETE, null, 300);
+
+        Assertions.assertEquals(2, recorder.getHistogram("command", MetricsPhase.EXECUTE)
+                                           .map(LatencyHistogram::getCount).orElse(0L));
+        Assertions.assertFalse(recorder.getHistogram("command", MetricsPhase.VALIDATE).isPresent());
+        Assertions.assertTrue(recorder.getHistogram(null, MetricsPhase.TAB_COMPLETE).isPresent());
+        Assertions.assertTrue(recorder.getCommandIdentifiers().contains(HistogramMetricsRecorder.UNKNOWN_COMMAND));
+    }
+}
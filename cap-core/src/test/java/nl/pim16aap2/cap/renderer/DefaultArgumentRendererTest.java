@@ -0,0 +1,69 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.renderer;
+
+import lombok.NonNull;
+import nl.pim16aap2.cap.argument.Argument;
+import nl.pim16aap2.cap.argument.specialized.IntegerArgument;
+import nl.pim16aap2.cap.localization.ArgumentNamingSpec;
+import nl.pim16aap2.cap.localization.Localizer;
+import nl.pim16aap2.cap.text.ColorScheme;
+import nl.pim16aap2.cap.text.Text;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class DefaultArgumentRendererTest
+{
+    @Test
+    void cachedFragments()
+    {
+        final @NonNull Argument<?> argument =
+            new IntegerArgument().getOptional().identifier("value").nameSpec(
+                ArgumentNamingSpec.RawStrings.builder().shortName("v").longName("value").label("number")
+                                             .summary("The value.").build()).build();
+
+        final @NonNull Localizer localizer = new Localizer.Disabled();
+        final @NonNull ColorScheme colorScheme = ColorScheme.builder().build();
+        final @NonNull DefaultArgumentRenderer renderer = DefaultArgumentRenderer.getDefault();
+
+        final @NonNull Text shortFormat = renderer.render(localizer, null, colorScheme, argument);
+        Assertions.assertEquals("[-v=number]", shortFormat.toPlainString());
+
+        // Modifying the returned text should not affect the cached fragment.
+        shortFormat.add("modified");
+        Assertions.assertEquals("[-v=number]", renderer.render(localizer, null, colorScheme, argument).toPlainString());
+
+        final @NonNull Text text = new Text(colorScheme).add("/command ");
+        renderer.appendTo(text, localizer, null, colorScheme, argument);
+        renderer.appendLongFormatTo(text.add("\n"), localizer, null, colorScheme, argument, "  ");
+        Assertions.assertEquals("/command [-v=number]\n[-v=number], [--value=number]\n  The value.",
+                                text.toPlainString());
+
+        // Disabling the cache should not change the result.
+        final @NonNull DefaultArgumentRenderer uncached = renderer.toBuilder().fragmentCacheSize(0).build();
+        Assertions.assertEquals(renderer.renderLongFormat(localizer, null, colorScheme, argument, "  ").toString(),
+                                uncached.renderLongFormat(localizer, null, colorScheme, argument, "  ").toString());
+    }
+}
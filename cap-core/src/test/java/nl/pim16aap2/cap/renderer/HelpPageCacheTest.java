@@ -0,0 +1,101 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.renderer;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import nl.pim16aap2.cap.CAP;
+import nl.pim16aap2.cap.command.Command;
+import nl.pim16aap2.cap.commandsender.DefaultCommandSender;
+import nl.pim16aap2.cap.commandsender.ICommandSender;
+import nl.pim16aap2.cap.text.ColorScheme;
+import nl.pim16aap2.cap.text.Text;
+import nl.pim16aap2.cap.util.UtilsForTesting;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class HelpPageCacheTest
+{
+    @Test
+    @SneakyThrows
+    void cachedPages()
+    {
+        final @NonNull CAP cap = CAP.getDefault();
+        final @NonNull AtomicBoolean allowed = new AtomicBoolean(true);
+
+        final @NonNull List<Command> subCommands = new ArrayList<>();
+        for (int idx = 0; idx < 8; ++idx)
+            subCommands.add(Command.commandBuilder().cap(cap)
+                                   .nameSpec(UtilsForTesting.getBasicCommandName("subcommand" + idx))
+                                   .commandExecutor(commandResult -> {})
+                                   .permission((commandSender, command) -> allowed.get()).build());
+
+        final @NonNull Command command =
+            Command.commandBuilder().cap(cap).nameSpec(UtilsForTesting.getBasicCommandName("topcommand"))
+                   .virtual(true).subCommands(subCommands).build();
+
+        final @NonNull DefaultHelpCommandRenderer renderer = DefaultHelpCommandRenderer.getDefault();
+        final @NonNull ICommandSender commandSender = new DefaultCommandSender();
+        final @NonNull ColorScheme colorScheme = commandSender.getColorScheme();
+
+        final @NonNull Text page = renderer.renderOverviewPage(commandSender, colorScheme, command, 2);
+        Assertions.assertEquals(1, renderer.getPageCache().getSize());
+        Assertions.assertTrue(page.toPlainString().contains("subcommand1"));
+
+        // Modifying the returned text should not affect the cached page.
+        page.add("modified");
+        Assertions.assertEquals(page.toPlainString().replace("modified", ""),
+                                renderer.renderOverviewPage(commandSender, colorScheme, command, 2).toPlainString());
+        Assertions.assertEquals(1, renderer.getPageCache().getSize());
+
+        // Other pages are cached separately.
+        renderer.renderOverviewPage(commandSender, colorScheme, command, 1);
+        Assertions.assertEquals(2, renderer.getPageCache().getSize());
+
+        // Changing the visible commands results in a new page.
+        allowed.set(false);
+        cap.invalidatePermissions(commandSender);
+        Assertions.assertThrows(Exception.class,
+                                () -> renderer.renderOverviewPage(commandSender, colorScheme, command, 2));
+
+        // Pages containing sender-specific text should not be cached.
+        allowed.set(true);
+        cap.invalidatePermissions(commandSender);
+        renderer.getPageCache().clear();
+        subCommands.get(1).setSummarySupplier(sender -> "summary");
+        Assertions.assertTrue(renderer.renderOverviewPage(commandSender, colorScheme, command, 2)
+                                      .toPlainString().contains("summary"));
+        Assertions.assertEquals(0, renderer.getPageCache().getSize());
+
+        final @NonNull DefaultHelpCommandRenderer uncachedRenderer =
+            DefaultHelpCommandRenderer.builder().pageCacheSize(0).build();
+        uncachedRenderer.renderOverviewPage(commandSender, colorScheme, command, 2);
+        Assertions.assertEquals(0, uncachedRenderer.getPageCache().getSize());
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.renderer;
+
+import lombok.NonNull;
+import nl.pim16aap2.cap.CAP;
+import nl.pim16aap2.cap.command.Command;
+import nl.pim16aap2.cap.commandsender.DefaultCommandSender;
+import nl.pim16aap2.cap.commandsender.ICommandSender;
+import nl.pim16aap2.cap.text.ColorScheme;
+import nl.pim16aap2.cap.util.UtilsForTesting;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+class HelpWarmUpTest
+{
+    @Test
+    void warmUp()
+    {
+        final @NonNull CAP cap = CAP.getDefault();
+
+        final @NonNull List<Command> subCommands = new ArrayList<>();
+        for (int idx = 0; idx < 20; ++idx)
+            subCommands.add(Command.commandBuilder().cap(cap)
+                                   .nameSpec(UtilsForTesting.getBasicCommandName("subcommand" + idx))
+                                   .commandExecutor(commandResult -> {}).build());
+
+        final @NonNull Command command =
+            Command.commandBuilder().cap(cap).nameSpec(UtilsForTesting.getBasicCommandName("topcommand"))
+                   .virtual(true).subCommands(subCommands).build();
+        cap.addCommand(command);
+
+        final @NonNull DefaultHelpCommandRenderer renderer = cap.getHelpCommandRenderer();
+        final @NonNull ICommandSender commandSender = new DefaultCommandSender();
+        final @NonNull ColorScheme colorScheme = commandSender.getColorScheme();
+        final int pageCount = renderer.getPageCount(command, commandSender);
+        Assertions.assertTrue(pageCount > 1);
+
+        final @NonNull ForkJoinPool pool = new ForkJoinPool(4);
+        try
+        {
+            cap.warmUp(Collections.singletonList(colorScheme), pool).join();
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+        Assertions.assertEquals(pageCount, renderer.getPageCache().getSize());
+
+        // The pages rendered during the warm-up are used by other command senders with the same visibility.
+        for (int idx = 1; idx <= pageCount; ++idx)
+        {
+            final int page = idx;
+            Assertions.assertDoesNotThrow(() -> renderer.renderOverviewPage(commandSender, colorScheme, command, page));
+        }
+        Assertions.assertEquals(pageCount, renderer.getPageCache().getSize());
+    }
+
+    @Test
+    void warmUpFor()
+    {
+        final @NonNull CAP cap = CAP.getDefault();
+        final @NonNull ICommandSender admin = new DefaultCommandSender();
+        final @NonNull ICommandSender user = new DefaultCommandSender();
+
+        final @NonNull List<Command> subCommands = new ArrayList<>();
+        for (int idx = 0; idx < 20; ++idx)
+            subCommands.add(Command.commandBuilder().cap(cap)
+                                   .nameSpec(UtilsForTesting.getBasicCommandName("subcommand" + idx))
+                                   .permission(idx % 2 == 0 ? null : (commandSender, cmd) -> commandSender == admin)
+                                   .commandExecutor(commandResult -> {}).build());
+
+        final @NonNull Command command =
+            Command.commandBuilder().cap(cap).nameSpec(UtilsForTesting.getBasicCommandName("topcommand"))
+                   .virtual(true).subCommands(subCommands).build();
+        cap.addCommand(command);
+
+        final @NonNull DefaultHelpCommandRenderer renderer = cap.getHelpCommandRenderer();
+        final int adminPages = renderer.getPageCount(command, admin);
+        final int userPages = renderer.getPageCount(command, user);
+        Assertions.assertTrue(adminPages > userPages);
+
+        final @NonNull ForkJoinPool pool = new ForkJoinPool(4);
+        try
+        {
+            cap.warmUpFor(Collections.singletonList(user), pool).join();
+            Assertions.assertEquals(userPages, renderer.getPageCache().getSize());
+
+            // Every set of permissions gets its own pages.
+            final @NonNull DefaultCommandSender otherUser = new DefaultCommandSender();
+            otherUser.setColorScheme(user.getColorScheme());
+            cap.warmUpFor(Arrays.asList(admin, otherUser), pool).join();
+            Assertions.assertEquals(userPages + adminPages, renderer.getPageCache().getSize());
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.text;
+
+import lombok.NonNull;
+import nl.pim16aap2.cap.CAP;
+import nl.pim16aap2.cap.commandsender.DefaultCommandSender;
+import nl.pim16aap2.cap.commandsender.ICommandSender;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+class PreparedMessageTest
+{
+    @Test
+    void broadcast()
+    {
+        final @NonNull ColorScheme colorSchemeA = ColorScheme.builder().addStyle(TextType.COMMAND, "!", "?").build();
+        final @NonNull ColorScheme colorSchemeB = ColorScheme.builder().addStyle(TextType.COMMAND, "~", "|").build();
+
+        final @NonNull List<String> received = new ArrayList<>();
+        final @NonNull List<ICommandSender> commandSenders = Arrays.asList(
+            new TestCommandSender(colorSchemeA, received), new TestCommandSender(colorSchemeB, received),
+            new TestCommandSender(colorSchemeA, received));
+
+        final @NonNull AtomicInteger renders = new AtomicInteger(0);
+        final @NonNull PreparedMessage message = CAP.getDefault().broadcast(commandSenders, commandSender ->
+        {
+            renders.incrementAndGet();
+            return new Text(commandSender.getColorScheme()).add("abc", TextType.COMMAND);
+        });
+
+        // The senders are grouped by their color scheme.
+        Assertions.assertEquals(Arrays.asList("!abc?", "!abc?", "~abc|"), received);
+        Assertions.assertEquals(2, renders.get());
+
+        final @NonNull AtomicInteger serializations = new AtomicInteger(0);
+        final @NonNull Function<Text, String> serializer = text ->
+        {
+            serializations.incrementAndGet();
+            return text.toString();
+        };
+        for (final @NonNull ICommandSender commandSender : commandSenders)
+            message.getPayload(commandSender, serializer);
+        Assertions.assertEquals(2, serializations.get());
+        Assertions.assertEquals(2, renders.get());
+    }
+
+    private static final class TestCommandSender extends DefaultCommandSender
+    {
+        private final @NonNull List<String> received;
+
+        private TestCommandSender(final @NonNull ColorScheme colorScheme, final @NonNull List<String> received)
+        {
+            this.colorScheme = colorScheme;
+            this.received = received;
+        }
+
+        @Override
+        public void sendMessage(final @NonNull Text message)
+        {
+            received.add(message.toString());
+        }
+    }
+}
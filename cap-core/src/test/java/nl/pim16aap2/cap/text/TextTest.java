@@ -112,4 +112,45 @@ class TextTest
         final @NonNull Text textAB = new Text(textA).add(textB);
         Assertions.assertEquals("abcdef", textAB.toPlainString());
     }
+
+    @Test
+    void addMixed()
+    {
+        final @NonNull Text fragment = new Text(colorScheme).add("a").add("b", TextType.COMMAND).add("c");
+        final @NonNull Text text = new Text(colorScheme).add("0").add(fragment).add(fragment);
+
+        Assertions.assertEquals("0a~~b||ca~~b||c", text.toString());
+        Assertions.assertEquals("a~~b||ca~~b||c", text.subsection(1, 7).toString());
+        Assertions.assertEquals("~~b||ca", text.subsection(2, 5).toString());
+        Assertions.assertEquals("a~~b||c", fragment.toString());
+
+        Assertions.assertEquals("a~~b||ca~~b||c", fragment.add(fragment).toString());
+        Assertions.assertEquals(6 + 8, fragment.getStyledLength());
+    }
+
+    @Test
+    void cachedString()
+    {
+        final @NonNull Text text = new Text(colorScheme).add("abc", TextType.REGULAR_TEXT);
+        Assertions.assertEquals("!abc?", text.toString());
+
+        // Any modifications should be reflected in the String.
+        text.add("def");
+        Assertions.assertEquals("!abc?def", text.toString());
+        text.prepend(new Text(colorScheme).add("ghi", TextType.COMMAND));
+        Assertions.assertEquals("~~ghi||!abc?def", text.toString());
+        Assertions.assertEquals(text.toString().length(), text.getStyledLength());
+    }
+
+    @Test
+    void forEachSection()
+    {
+        final @NonNull Text text = new Text(colorScheme)
+            .add("123", TextType.REGULAR_TEXT).add("456").add("789", TextType.COMMAND).add("0");
+
+        final @NonNull StringBuilder sb = new StringBuilder();
+        text.forEachSection(2, 10, (string, style) ->
+            sb.append(style == null ? "" : style.getOn()).append(string).append(style == null ? "" : style.getOff()));
+        Assertions.assertEquals("!3?456~~789||0", sb.toString());
+    }
 }
@@ -0,0 +1,96 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.util;
+
+import lombok.NonNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+class BKTreeTest
+{
+    @Test
+    void distance()
+    {
+        Assertions.assertEquals(0, BKTree.distance("door", "door", true));
+        Assertions.assertEquals(3, BKTree.distance("kitten", "sitting", true));
+        Assertions.assertEquals(4, BKTree.distance("", "door", true));
+        Assertions.assertEquals(2, BKTree.distance("open", "opne", true));
+        Assertions.assertEquals(1, BKTree.distance("Door", "door", true));
+        Assertions.assertEquals(0, BKTree.distance("Door", "door", false));
+    }
+
+    @Test
+    void search()
+    {
+        final @NonNull BKTree tree = new BKTree(Arrays.asList("open", "close", "toggle", "opener", "info", "open"),
+                                                false);
+        Assertions.assertEquals(5, tree.getSize());
+
+        Assertions.assertEquals(Collections.singletonList("open"), tree.search("OPEN", 0));
+        Assertions.assertEquals(Arrays.asList("open", "opener"), tree.search("opn", 3));
+        Assertions.assertEquals(Collections.singletonList("close"), tree.search("clope", 2));
+        Assertions.assertTrue(tree.search("xyz", 1).isEmpty());
+        Assertions.assertTrue(new BKTree(true).search("xyz", 5).isEmpty());
+    }
+
+    @Test
+    void compareToLinearSearch()
+    {
+        final @NonNull Random random = new Random(42);
+        final @NonNull List<String> words = new ArrayList<>();
+        for (int idx = 0; idx < 500; ++idx)
+            words.add(randomWord(random));
+        final @NonNull BKTree tree = new BKTree(words, true);
+
+        for (int idx = 0; idx < 50; ++idx)
+        {
+            final @NonNull String query = randomWord(random);
+            final List<String> expected = new ArrayList<>();
+            words.stream().distinct().filter(word -> BKTree.distance(word, query, true) <= 2)
+                 .sorted((first, second) ->
+                         {
+                             final int diff = BKTree.distance(first, query, true) -
+                                 BKTree.distance(second, query, true);
+                             return diff == 0 ? first.compareTo(second) : diff;
+                         })
+                 .forEach(expected::add);
+            Assertions.assertEquals(expected, tree.search(query, 2));
+        }
+    }
+
+    private static @NonNull String randomWord(final @NonNull Random random)
+    {
+        final char[] chars = new char[3 + random.nextInt(4)];
+        for (int idx = 0; idx < chars.length; ++idx)
+            chars[idx] = (char) ('a' + random.nextInt(4));
+        return new String(chars);
+    }
+}
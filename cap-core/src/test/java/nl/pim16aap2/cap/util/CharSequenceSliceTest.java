@@ -0,0 +1,63 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.util;
+
+import lombok.NonNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+class CharSequenceSliceTest
+{
+    @Test
+    void slice()
+    {
+        final @NonNull CharSequenceSlice slice = CharSequenceSlice.trimmed("say   hello world  ", 3, 19);
+        Assertions.assertEquals("hello world", slice.toString());
+        Assertions.assertEquals(11, slice.length());
+        Assertions.assertEquals('w', slice.charAt(6));
+        Assertions.assertEquals("world", slice.subSequence(6, 11).toString());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> slice.charAt(11));
+    }
+
+    @Test
+    void equality()
+    {
+        final @NonNull CharSequenceSlice first = new CharSequenceSlice("say hello", 4, 9);
+        final @NonNull CharSequenceSlice second = new CharSequenceSlice("hello there", 0, 5);
+
+        Assertions.assertEquals(first, second);
+        Assertions.assertEquals("hello".hashCode(), first.hashCode());
+        Assertions.assertEquals(first.hashCode(), second.hashCode());
+        Assertions.assertNotEquals(first, new CharSequenceSlice("hello there", 0, 4));
+        Assertions.assertTrue("hello".contentEquals(first));
+
+        final @NonNull Set<CharSequenceSlice> set = new HashSet<>();
+        set.add(first);
+        Assertions.assertTrue(set.contains(second));
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.util;
+
+import lombok.NonNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class GenerationalFileTest
+{
+    @Test
+    void generations(final @TempDir Path directory)
+        throws IOException
+    {
+        final @NonNull Path base = directory.resolve("names.idx");
+        final @NonNull GenerationalFile file = GenerationalFile.open(base);
+        Assertions.assertNull(file.getCurrent());
+
+        final @NonNull Path first = file.write(channel -> channel.write(ByteBuffer.wrap(new byte[]{1})));
+        Assertions.assertEquals(directory.resolve("names.idx.1"), first);
+        final @NonNull Path second = file.write(channel -> channel.write(ByteBuffer.wrap(new byte[]{2})));
+        Assertions.assertEquals(directory.resolve("names.idx.2"), second);
+        Assertions.assertEquals(second, file.getCurrent());
+
+        // The first generation is still in use, so it must not be deleted.
+        final @NonNull Object mapping = new Object();
+        file.retire(first, mapping);
+        Assertions.assertTrue(Files.exists(first));
+        Assertions.assertNotNull(mapping);
+
+        // Reopening deletes all older and unfinished generations.
+        Files.createFile(directory.resolve("names.idx.3.tmp"));
+        final @NonNull GenerationalFile reopened = GenerationalFile.open(base);
+        Assertions.assertEquals(second, reopened.getCurrent());
+        Assertions.assertFalse(Files.exists(first));
+        Assertions.assertFalse(Files.exists(directory.resolve("names.idx.3.tmp")));
+        Assertions.assertArrayEquals(new byte[]{2}, Files.readAllBytes(second));
+    }
+
+    @Test
+    void legacyFile(final @TempDir Path directory)
+        throws IOException
+    {
+        final @NonNull Path base = directory.resolve("names.idx");
+        Files.write(base, new byte[]{0});
+
+        final @NonNull GenerationalFile file = GenerationalFile.open(base);
+        Assertions.assertEquals(base, file.getCurrent());
+        Assertions.assertEquals(directory.resolve("names.idx.1"), file.write(channel -> {}));
+
+        Assertions.assertEquals(directory.resolve("names.idx.1"), GenerationalFile.open(base).getCurrent());
+        Assertions.assertFalse(Files.exists(base));
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.util;
+
+import lombok.NonNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+class NameIndexTest
+{
+    @Test
+    void startingWith()
+    {
+        final @NonNull Map<String, Integer> entries = new HashMap<>();
+        entries.put("world", 0);
+        entries.put("world_nether", 1);
+        entries.put("world_the_end", 2);
+        entries.put("creative", 3);
+        entries.put("wool", 4);
+        final @NonNull NameIndex<Integer> index = new NameIndex<>(entries);
+
+        Assertions.assertEquals(5, index.size());
+        Assertions.assertEquals(Arrays.asList("creative", "wool", "world", "world_nether", "world_the_end"),
+                                index.startingWith(""));
+        Assertions.assertEquals(Arrays.asList("wool", "world", "world_nether", "world_the_end"),
+                                index.startingWith("w"));
+        Assertions.assertEquals(Arrays.asList("world_nether", "world_the_end"), index.startingWith("world_"));
+        Assertions.assertEquals(Collections.singletonList("creative"), index.startingWith("creative"));
+        Assertions.assertTrue(index.startingWith("x").isEmpty());
+        Assertions.assertTrue(index.startingWith("a").isEmpty());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> index.startingWith("w").clear());
+    }
+
+    @Test
+    void get()
+    {
+        final @NonNull Map<String, Integer> entries = new HashMap<>();
+        entries.put("one", 1);
+        final @NonNull NameIndex<Integer> index = new NameIndex<>(entries);
+        entries.put("two", 2);
+
+        Assertions.assertEquals(1, index.get("one"));
+        Assertions.assertNull(index.get("two"));
+        Assertions.assertNull(index.get("on"));
+    }
+
+    @Test
+    void displayNames()
+    {
+        final @NonNull Map<String, Integer> entries = new HashMap<>();
+        entries.put("world", 0);
+        entries.put("world_nether", 1);
+        final @NonNull Map<String, String> displayNames = new HashMap<>();
+        displayNames.put("world_nether", "World_Nether");
+        final @NonNull NameIndex<Integer> index = new NameIndex<>(entries, displayNames);
+
+        Assertions.assertEquals(Arrays.asList("world", "World_Nether"), index.getNames());
+        Assertions.assertEquals(Collections.singletonList("World_Nether"), index.startingWith("world_"));
+        Assertions.assertEquals(Arrays.asList("World", "World_Nether"), index.complete("W", "w"));
+        Assertions.assertEquals(Arrays.asList("world", "world_Nether"), index.complete("world", "world"));
+        Assertions.assertEquals(Collections.singletonList("WORLD_Nether"), index.complete("WORLD_", "world_"));
+        Assertions.assertTrue(index.complete("x", "x").isEmpty());
+        Assertions.assertEquals(1, index.get("world_nether"));
+        Assertions.assertNull(index.get("World_Nether"));
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.util;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+class SortedStringTableTest
+{
+    @TempDir
+    Path tempDir;
+
+    @SneakyThrows
+    @Test
+    void startingWith()
+    {
+        final @NonNull SortedStringTable table =
+            SortedStringTable.builder(GenerationalFile.open(tempDir.resolve("table"))).blockSize(3)
+                             .addAll(Arrays.asList("oak_planks", "oak_log", "birch_log", "oak_door", "stone",
+                                                   "stone_bricks", "oak_log", "acacia_log", "\u0133zer", "oak"))
+                             .build();
+
+        Assertions.assertEquals(9, table.size());
+        Assertions.assertEquals(Arrays.asList("oak", "oak_door", "oak_log", "oak_planks"),
+                                table.startingWith("oak", 10));
+        Assertions.assertEquals(Arrays.asList("oak_door", "oak_log"), table.startingWith("oak_", 2));
+        Assertions.assertEquals(Arrays.asList("stone", "stone_bricks"), table.startingWith("st", 10));
+        Assertions.assertEquals(Collections.singletonList("acacia_log"), table.startingWith("a", 10));
+        Assertions.assertEquals(Collections.singletonList("\u0133zer"), table.startingWith("\u0133", 10));
+        Assertions.assertEquals(3, table.startingWith("", 3).size());
+        Assertions.assertTrue(table.startingWith("oak_x", 10).isEmpty());
+        Assertions.assertTrue(table.startingWith("zzz", 10).isEmpty());
+        Assertions.assertTrue(table.startingWith("0", 10).isEmpty());
+    }
+
+    @SneakyThrows
+    @Test
+    void largeTable()
+    {
+        final @NonNull List<String> values = new ArrayList<>();
+        for (int idx = 0; idx < 10_000; ++idx)
+            values.add(String.format("region_%05d", idx));
+        final @NonNull SortedStringTable table =
+            SortedStringTable.builder(GenerationalFile.open(tempDir.resolve("table"))).addAll(values).build();
+
+        Assertions.assertEquals(values.size(), table.size());
+        Assertions.assertEquals(values.size(), table.startingWith("region_", Integer.MAX_VALUE).size());
+        Assertions.assertEquals(Arrays.asList("region_01230", "region_01231"), table.startingWith("region_0123", 2));
+        Assertions.assertEquals(Collections.singletonList("region_09999"), table.startingWith("region_09999", 10));
+    }
+
+    @SneakyThrows
+    @Test
+    void replace()
+    {
+        final @NonNull Path file = tempDir.resolve("table");
+        final @NonNull SortedStringTableCompleter completer = SortedStringTableCompleter.open(file, 10);
+        Assertions.assertEquals(0, completer.getTable().size());
+        Assertions.assertEquals(Collections.emptyList(), completer.getTable().startingWith("", 10));
+
+        completer.replace(Arrays.asList("spawn", "shop"));
+        final @NonNull SortedStringTable oldTable = completer.getTable();
+        completer.replace(Collections.singletonList("arena"));
+
+        // Tables that are still in use are not affected by the replacement, as their files are never overwritten.
+        Assertions.assertEquals(Arrays.asList("shop", "spawn"), oldTable.startingWith("s", 10));
+        Assertions.assertEquals(Collections.singletonList("arena"), completer.getTable().startingWith("", 10));
+        Assertions.assertTrue(Files.exists(tempDir.resolve("table.1")));
+        Assertions.assertTrue(Files.exists(tempDir.resolve("table.2")));
+        Assertions.assertFalse(Files.exists(file));
+
+        // A new generation written by someone else is picked up when reloading.
+        final @NonNull SortedStringTableCompleter other = SortedStringTableCompleter.open(file, 10);
+        Assertions.assertEquals(1, other.getTable().size());
+        other.replace(Collections.emptyList());
+        completer.reload();
+        Assertions.assertEquals(0, completer.getTable().size());
+        Assertions.assertEquals(0, SortedStringTableCompleter.open(file, 10).getTable().size());
+    }
+
+    @Test
+    void invalidFile()
+        throws IOException
+    {
+        final @NonNull Path file = tempDir.resolve("invalid");
+        Files.write(file, "Not a table!".getBytes());
+        Assertions.assertThrows(IOException.class, () -> SortedStringTable.open(file));
+    }
+}
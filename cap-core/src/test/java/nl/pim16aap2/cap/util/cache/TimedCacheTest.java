@@ -262,6 +262,46 @@ class TimedCacheTest
         Assertions.assertEquals(0, timedCache.getSize());
     }
 
+    /**
+     * Make sure that the statistics keep track of hits, misses, loads and evictions.
+     */
+    @Test
+    void statistics()
+    {
+        final @NonNull TimedCache<String, String> timedCache = new TimedCache<>(clock, Duration.ofMillis(100),
+                                                                                null, true, false);
+        Assertions.assertFalse(timedCache.get("key").isPresent());
+        timedCache.computeIfAbsent("key", (k) -> "value");
+        timedCache.computeIfAbsent("key", (k) -> "newValue");
+        Assertions.assertTrue(timedCache.get("key").isPresent());
+
+        @NonNull CacheStatistics statistics = timedCache.getStatistics();
+        Assertions.assertEquals(2, statistics.getHitCount());
+        Assertions.assertEquals(2, statistics.getMissCount());
+        Assertions.assertEquals(1, statistics.getLoadCount());
+        Assertions.assertEquals(0, statistics.getEvictionCount());
+        Assertions.assertEquals(0.5D, statistics.getHitRate());
+
+        clock.setCurrentMillis(110);
+        Assertions.assertFalse(timedCache.get("key").isPresent());
+        statistics = timedCache.getStatistics();
+        Assertions.assertEquals(3, statistics.getMissCount());
+        Assertions.assertEquals(1, statistics.getEvictionCount());
+        Assertions.assertEquals(0, statistics.getSoftReferenceClearCount());
+
+        timedCache.put("key", "value");
+        final @Nullable AbstractTimedValue<String> retrieved = timedCache.getRaw("key");
+        Assertions.assertNotNull(retrieved);
+        ((TimedSoftValue<String>) retrieved).getRawValue().clear();
+        timedCache.cleanupCache();
+        statistics = timedCache.getStatistics();
+        Assertions.assertEquals(2, statistics.getEvictionCount());
+        Assertions.assertEquals(1, statistics.getSoftReferenceClearCount());
+
+        timedCache.resetStatistics();
+        Assertions.assertEquals(0, timedCache.getStatistics().getRequestCount());
+    }
+
     /**
      * Clock that displays a determined millisecond value which can be set/updated manually.
      *
@@ -28,17 +28,22 @@ import lombok.AllArgsConstructor;
 import lombok.NonNull;
 import nl.pim16aap2.cap.command.Command;
 import nl.pim16aap2.cap.command.CommandResult;
+import nl.pim16aap2.cap.commandparser.CommandParser;
+import nl.pim16aap2.cap.commandsender.ICommandSender;
+import nl.pim16aap2.cap.exception.UnmatchedQuoteException;
 import org.bukkit.command.CommandSender;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerCommandPreprocessEvent;
 import org.bukkit.event.player.PlayerCommandSendEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.server.ServerCommandEvent;
 import org.bukkit.event.server.TabCompleteEvent;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Locale;
+import java.util.Optional;
 import java.util.regex.Pattern;
 
 @AllArgsConstructor
@@ -79,7 +84,7 @@ class CommandListener implements Listener
             return;
 
         event.setCancelled(true);
-        cap.parseInput(event.getPlayer(), message).ifPresent(CommandResult::run);
+        handleCommand(TickBudgetWatchdog.Source.PLAYER_COMMAND, event.getPlayer(), message);
     }
 
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
@@ -89,17 +94,60 @@ class CommandListener implements Listener
             return;
 
         event.setCancelled(true);
-        cap.parseInput(event.getSender(), event.getCommand()).ifPresent(CommandResult::run);
+        handleCommand(TickBudgetWatchdog.Source.SERVER_COMMAND, event.getSender(), event.getCommand());
+    }
+
+    /**
+     * Parses and runs a command.
+     * <p>
+     * When the {@link SpigotCAP} has a {@link TickBudgetWatchdog}, the time this takes is measured by it.
+     *
+     * @param source  The {@link TickBudgetWatchdog.Source} of the command.
+     * @param sender  The {@link CommandSender} that issued the command.
+     * @param message The command to parse, without the leading '/'.
+     */
+    private void handleCommand(final @NonNull TickBudgetWatchdog.Source source, final @NonNull CommandSender sender,
+                               final @NonNull String message)
+    {
+        final @Nullable TickBudgetWatchdog watchdog = cap.getWatchdog();
+        if (watchdog == null)
+        {
+            cap.parseInput(sender, message).ifPresent(CommandResult::run);
+            return;
+        }
+
+        watchdog.begin();
+        @NonNull Optional<CommandResult> result = Optional.empty();
+        try
+        {
+            result = cap.parseInput(sender, message);
+            result.ifPresent(CommandResult::run);
+        }
+        finally
+        {
+            final @NonNull Optional<CommandResult> finalResult = result;
+            watchdog.end(source, () -> finalResult.map(CommandResult::getCommand));
+        }
     }
 
     @EventHandler(ignoreCancelled = true)
     void onPlayerCommandSendEvent(final @NonNull PlayerCommandSendEvent event)
     {
+        // This event is called whenever the server (re)sends the list of available commands to a player, which
+        // usually means their permissions have changed.
+        cap.invalidatePermissions(cap.getCommandSenderFactory().wrapCommandSender(event.getPlayer()));
+
         final @Nullable Locale locale = cap.getCommandSenderFactory().getLocale(event.getPlayer());
         event.getCommands()
              .removeIf(s -> cap.isValidTopLevelCommand(s, locale) == SpigotCAP.TopLevelCommandStatus.INVALID_LOCALE);
     }
 
+    @EventHandler
+    void onPlayerQuit(final @NonNull PlayerQuitEvent event)
+    {
+        cap.invalidatePermissions(cap.getCommandSenderFactory().wrapCommandSender(event.getPlayer()));
+    }
+
     @EventHandler(ignoreCancelled = true)
     void onTabCompletion(final @NonNull TabCompleteEvent event)
     {
@@ -110,9 +158,45 @@ class CommandListener implements Listener
         if (!startsWithSuperCommand(getLocale(event.getSender()), event.getBuffer().substring(1)))
             return;
 
-        event.setCompletions(cap.getTabCompleteOptions(cap.getCommandSenderFactory()
-                                                          .wrapCommandSender(event.getSender(), cap.getColorScheme()),
-                                                       command));
+        final @NonNull ICommandSender commandSender =
+            cap.getCommandSenderFactory().wrapCommandSender(event.getSender(), cap.getColorScheme());
+
+        final @Nullable TickBudgetWatchdog watchdog = cap.getWatchdog();
+        if (watchdog == null)
+        {
+            event.setCompletions(cap.getTabCompleteOptions(commandSender, command));
+            return;
+        }
+
+        watchdog.begin();
+        try
+        {
+            event.setCompletions(cap.getTabCompleteOptions(commandSender, command));
+        }
+        finally
+        {
+            watchdog.end(TickBudgetWatchdog.Source.TAB_COMPLETION, () -> findLastCommand(commandSender, command));
+        }
+    }
+
+    /**
+     * Finds the last {@link Command} in some input. See {@link CommandParser#findLastCommand()}.
+     *
+     * @param commandSender The {@link ICommandSender} that provided the input.
+     * @param input         The input to search.
+     * @return The last {@link Command} in the input, if it could be found.
+     */
+    private @NonNull Optional<Command> findLastCommand(final @NonNull ICommandSender commandSender,
+                                                       final @NonNull String input)
+    {
+        try
+        {
+            return new CommandParser(cap, commandSender, input, cap.getSeparator()).findLastCommand();
+        }
+        catch (UnmatchedQuoteException e)
+        {
+            return Optional.empty();
+        }
     }
 
     private @Nullable Locale getLocale(final @NonNull CommandSender commandSender)
@@ -31,14 +31,17 @@ import lombok.Setter;
 import nl.pim16aap2.cap.command.Command;
 import nl.pim16aap2.cap.command.CommandResult;
 import nl.pim16aap2.cap.commandsender.AllowedCommandSenderType;
+import nl.pim16aap2.cap.commandsender.BufferedCommandSender;
 import nl.pim16aap2.cap.commandsender.ICommandSender;
 import nl.pim16aap2.cap.commandsender.ILocaleProvider;
 import nl.pim16aap2.cap.commandsender.ISpigotCommandSender;
 import nl.pim16aap2.cap.commandsender.SpigotCommandSenderFactory;
+import nl.pim16aap2.cap.commandsender.SpigotFlushScheduler;
 import nl.pim16aap2.cap.commandsender.SpigotServerCommandSender;
 import nl.pim16aap2.cap.exception.ExceptionHandler;
 import nl.pim16aap2.cap.exception.NoPermissionException;
 import nl.pim16aap2.cap.localization.Localizer;
+import nl.pim16aap2.cap.metrics.IMetricsRecorder;
 import nl.pim16aap2.cap.renderer.DefaultHelpCommandRenderer;
 import nl.pim16aap2.cap.renderer.SpigotHelpCommandRenderer;
 import nl.pim16aap2.cap.text.ColorScheme;
@@ -53,11 +56,16 @@ import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Represents a specialized class of {@link CAP} for the Spigot platform.
@@ -92,6 +100,14 @@ public class SpigotCAP extends CAP
 
     private final @NonNull CommandRegistrator commandRegistrator = new CommandRegistrator();
 
+    /**
+     * The {@link TickBudgetWatchdog} that measures how much time is spent on handling commands on the main thread.
+     * <p>
+     * When null, no such measurements are taken.
+     */
+    @Getter
+    private final @Nullable TickBudgetWatchdog watchdog;
+
     /**
      * Contains the names of all top-level-commands for every locale.
      */
@@ -111,6 +127,14 @@ public class SpigotCAP extends CAP
      *                                      Defaults to {@link SpigotCommandSenderFactory}.
      * @param localeProvider                The {@link ILocaleProvider}. When null, all {@link CommandSender}s will use
      *                                      the default locale.
+     * @param metrics                       See {@link CAP#metrics}.
+     * @param watchdog                      See {@link #watchdog}. When provided, it wraps the provided metrics.
+     * @param bufferMessages                Whether to combine all messages sent to a {@link CommandSender} during a
+     *                                      single command or tick into a single message. See {@link
+     *                                      BufferedCommandSender} and {@link SpigotFlushScheduler}.
+     * @param suggestionDistance            See {@link CAP#suggestionDistance}.
+     * @param suggestionLimit               See {@link CAP#suggestionLimit}.
+     * @param lazyArgumentParsing           See {@link CAP#lazyArgumentParsing}.
      */
     @Builder(builderMethodName = "spigotCAPBuilder")
     protected SpigotCAP(final @Nullable DefaultHelpCommandRenderer helpCommandRenderer, final boolean debug,
@@ -120,14 +144,25 @@ public class SpigotCAP extends CAP
                         final boolean caseSensitive,
                         final @Nullable Localizer localizer,
                         final @Nullable SpigotCommandSenderFactory commandSenderFactory,
-                        final @Nullable ILocaleProvider localeProvider)
+                        final @Nullable ILocaleProvider localeProvider,
+                        final @Nullable IMetricsRecorder metrics,
+                        final @Nullable TickBudgetWatchdog watchdog,
+                        final boolean bufferMessages,
+                        final @Nullable Integer suggestionDistance, final @Nullable Integer suggestionLimit,
+                        final boolean lazyArgumentParsing)
     {
         super(Util.valOrDefault(helpCommandRenderer, SpigotHelpCommandRenderer.getDefault()),
               Util.valOrDefault(cacheTabCompletionSuggestions, true),
               Util.valOrDefault(exceptionHandler, ExceptionHandler.getDefault()),
-              Util.valOrDefault(separator, ' '), debug, caseSensitive, localizer);
+              Util.valOrDefault(separator, ' '), debug, caseSensitive, localizer,
+              watchdog == null ? metrics : watchdog, suggestionDistance, suggestionLimit,
+              lazyArgumentParsing);
 
         this.plugin = plugin;
+        this.watchdog = watchdog;
+        if (watchdog != null)
+            watchdog.register(plugin, Util.valOrDefault(metrics, IMetricsRecorder.disabled()));
+
         this.colorScheme = Util.valOrDefault(colorScheme, getDefaultColorScheme());
         Bukkit.getPluginManager().registerEvents(new CommandListener(this), plugin);
 
@@ -137,6 +172,9 @@ public class SpigotCAP extends CAP
         this.commandSenderFactory = Util.valOrDefault(commandSenderFactory,
                                                       new SpigotCommandSenderFactory());
         this.commandSenderFactory.setLocaleProvider(localeProvider);
+        this.commandSenderFactory.setMetrics(getMetrics());
+        if (bufferMessages)
+            this.commandSenderFactory.setFlushScheduler(new SpigotFlushScheduler(plugin));
 
         plugin.getServer().getPluginManager();
     }
@@ -157,6 +195,25 @@ public class SpigotCAP extends CAP
         }
     }
 
+    /**
+     * Renders the help menus of all registered {@link Command}s for every registered {@link Locale} using the default
+     * {@link #colorScheme} on the {@link ForkJoinPool#commonPool()}.
+     * <p>
+     * This should be called after all {@link Command}s have been registered (e.g. right after {@link
+     * #registerTopLevelCommands()}), so the first players to request a help menu get the cached pages. See {@link
+     * CAP#warmUp(Collection, ForkJoinPool)}.
+     * <p>
+     * The pages are rendered with the permissions of the server, so only players that have access to every {@link
+     * Command} benefit from them. Use {@link CAP#warmUpFor(Collection, ForkJoinPool)} with a player of every
+     * permission group to warm up their pages as well.
+     *
+     * @return The {@link CompletableFuture} that is completed once all help menus have been rendered.
+     */
+    public @NonNull CompletableFuture<Void> warmUp()
+    {
+        return warmUp(Collections.singletonList(colorScheme));
+    }
+
     /**
      * Checks if a top-level-command with the provided name is valid in the provided {@link Locale}.
      * <p>
@@ -197,12 +254,13 @@ public class SpigotCAP extends CAP
      */
     public void updateLocale(final @NonNull ICommandSender commandSender, final @Nullable Locale locale)
     {
+        final @NonNull ICommandSender unwrapped = BufferedCommandSender.unwrap(commandSender);
         // We're on the Spigot platform, so this should never trigger, but just in case.
-        if (!(commandSender instanceof ISpigotCommandSender))
+        if (!(unwrapped instanceof ISpigotCommandSender))
             throw new IllegalArgumentException(
-                commandSender.getClass().getCanonicalName() + " is not a ISpigotCommandSender!");
+                unwrapped.getClass().getCanonicalName() + " is not a ISpigotCommandSender!");
 
-        final @NonNull CommandSender spigotCommandSender = ((ISpigotCommandSender) commandSender).getCommandSender();
+        final @NonNull CommandSender spigotCommandSender = ((ISpigotCommandSender) unwrapped).getCommandSender();
         updateLocale(spigotCommandSender, locale);
     }
 
@@ -230,6 +288,36 @@ public class SpigotCAP extends CAP
         return parseInput(commandSender, message);
     }
 
+    /**
+     * See {@link CAP#parseInputAsync(ICommandSender, String, Executor)}.
+     * <p>
+     * The returned {@link CompletableFuture} is completed on the main thread, so the {@link CommandResult} can be run
+     * right away.
+     */
+    public @NonNull CompletableFuture<CommandResult> parseInputAsync(final @NonNull CommandSender sender,
+                                                                     final @NonNull String message)
+    {
+        final @NonNull ICommandSender commandSender = commandSenderFactory.wrapCommandSender(sender, colorScheme);
+        return parseInputAsync(commandSender, message, getMainThreadExecutor());
+    }
+
+    /**
+     * Gets an {@link Executor} that runs tasks on the main thread. Tasks submitted from the main thread are run right
+     * away, other tasks are scheduled to run on the next tick.
+     *
+     * @return The {@link Executor} that runs tasks on the main thread.
+     */
+    public @NonNull Executor getMainThreadExecutor()
+    {
+        return runnable ->
+        {
+            if (Bukkit.isPrimaryThread())
+                runnable.run();
+            else
+                Bukkit.getScheduler().runTask(plugin, runnable);
+        };
+    }
+
     /**
      * Generates the default {@link SpigotColorScheme}.
      *
@@ -270,7 +358,7 @@ public class SpigotCAP extends CAP
     public static void handleNoPermissionException(final @NonNull ICommandSender commandSender,
                                                    final @NonNull NoPermissionException e)
     {
-        if (commandSender instanceof SpigotServerCommandSender)
+        if (BufferedCommandSender.unwrap(commandSender) instanceof SpigotServerCommandSender)
         {
             commandSender.sendMessage(
                 new Text(commandSender.getColorScheme()).add("Only players can use this command!", TextType.ERROR));
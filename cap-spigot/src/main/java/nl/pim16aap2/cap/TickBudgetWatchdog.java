@@ -0,0 +1,368 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import nl.pim16aap2.cap.command.Command;
+import nl.pim16aap2.cap.metrics.IMetricsRecorder;
+import nl.pim16aap2.cap.metrics.MetricsPhase;
+import nl.pim16aap2.cap.util.Util;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Measures the wall time spent on handling commands and tab-completion requests on the main thread and logs the
+ * invocations that exceed a per-tick budget.
+ * <p>
+ * Every overrun is attributed to the path of the {@link Command} that caused it (e.g. "/bigdoors toggle") and comes
+ * with a breakdown of the time spent parsing, executing, rendering help messages and sending messages. Overruns are
+ * aggregated per {@link Command} path and logged at most once every {@link #reportInterval}, so a command that is
+ * slow every time it is used cannot flood the log.
+ * <p>
+ * The breakdown is obtained by acting as the {@link IMetricsRecorder} of the {@link SpigotCAP}. All measurements are
+ * forwarded to the {@link IMetricsRecorder} that was provided to the {@link SpigotCAP} (if any), so the two can be
+ * used together.
+ * <p>
+ * This watchdog is disabled by default. It can be enabled by providing an instance of it to {@link
+ * SpigotCAP.SpigotCAPBuilder#watchdog(TickBudgetWatchdog)}.
+ *
+ * @author Pim
+ */
+public class TickBudgetWatchdog implements IMetricsRecorder
+{
+    private static final long NANOS_PER_TICK = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private static final @NonNull String UNKNOWN_COMMAND = "<unknown>";
+
+    /**
+     * The maximum amount of time (in nanoseconds) a single invocation is allowed to take before it is considered an
+     * overrun. Defaults to 10% of a tick (5ms).
+     */
+    @Getter
+    private final long budget;
+
+    /**
+     * The minimum amount of time (in nanoseconds) between two reports. Overruns that happen in between are aggregated
+     * and included in the next report. Defaults to 60 seconds.
+     */
+    @Getter
+    private final long reportInterval;
+
+    private @Nullable Logger logger;
+
+    /**
+     * The {@link IMetricsRecorder} to forward all measurements to.
+     */
+    private @NonNull IMetricsRecorder delegate = IMetricsRecorder.disabled();
+
+    /**
+     * The aggregated overruns that have not been reported yet, with the command path as key.
+     * <p>
+     * This is only accessed from the main thread.
+     */
+    private final @NonNull Map<@NonNull String, Overrun> overruns = new LinkedHashMap<>();
+
+    /**
+     * The number of nested invocations that are currently being measured. Any invocation that starts while another one
+     * is in progress (e.g. a command that dispatches another command) is considered part of the outer invocation.
+     */
+    private int depth = 0;
+
+    private long invocationStart;
+    private long parseTime;
+    private long executeTime;
+    private long renderTime;
+    private long sendTime;
+    private @Nullable String commandIdentifier;
+
+    /**
+     * @param budget         See {@link #budget}. This may not exceed the duration of a single tick.
+     * @param reportInterval See {@link #reportInterval}.
+     * @param logger         The {@link Logger} to write the reports to. Defaults to the logger of the {@link
+     *                       JavaPlugin} that manages the {@link SpigotCAP}.
+     */
+    @Builder
+    protected TickBudgetWatchdog(final @Nullable Duration budget, final @Nullable Duration reportInterval,
+                                 final @Nullable Logger logger)
+    {
+        this.budget = Util.valOrDefault(budget, Duration.ofMillis(5)).toNanos();
+        this.reportInterval = Util.valOrDefault(reportInterval, Duration.ofSeconds(60)).toNanos();
+        this.logger = logger;
+
+        if (this.budget <= 0 || this.budget > NANOS_PER_TICK)
+            throw new IllegalArgumentException("The budget must be positive and no longer than a single tick, got: " +
+                                                   this.budget + "ns");
+        if (this.reportInterval <= 0)
+            throw new IllegalArgumentException("The report interval must be positive, got: " +
+                                                   this.reportInterval + "ns");
+    }
+
+    /**
+     * Gets a new instance of this {@link TickBudgetWatchdog} using the default values.
+     *
+     * @return A new instance of this {@link TickBudgetWatchdog}.
+     */
+    public static @NonNull TickBudgetWatchdog getDefault()
+    {
+        return TickBudgetWatchdog.builder().build();
+    }
+
+    /**
+     * Registers this watchdog for a {@link JavaPlugin}. This schedules the task that writes the reports.
+     *
+     * @param plugin   The {@link JavaPlugin} that manages the {@link SpigotCAP}.
+     * @param delegate The {@link IMetricsRecorder} to forward all measurements to.
+     */
+    void register(final @NonNull JavaPlugin plugin, final @NonNull IMetricsRecorder delegate)
+    {
+        this.delegate = delegate;
+        if (logger == null)
+            logger = plugin.getLogger();
+
+        final long period = Math.max(1, reportInterval / NANOS_PER_TICK);
+        Bukkit.getScheduler().runTaskTimer(plugin, this::report, period, period);
+    }
+
+    @Override
+    public boolean isEnabled()
+    {
+        return true;
+    }
+
+    @Override
+    public void record(final @NonNull MetricsPhase phase, final @Nullable String commandIdentifier,
+                       final long duration)
+    {
+        if (delegate.isEnabled())
+            delegate.record(phase, commandIdentifier, duration);
+
+        // Tab-completion may happen asynchronously, but the budget only applies to the main thread.
+        if (depth == 0 || !Bukkit.isPrimaryThread())
+            return;
+
+        switch (phase)
+        {
+            case TOKENIZE:
+            case GET_LAST_COMMAND:
+            case PARSE_ARGUMENTS:
+                parseTime += duration;
+                break;
+            case EXECUTE:
+            case TAB_COMPLETE:
+                executeTime += duration;
+                break;
+            case RENDER_HELP:
+                renderTime += duration;
+                break;
+            case SEND_MESSAGE:
+                sendTime += duration;
+                break;
+            case VALIDATE:
+                // Already included in PARSE_ARGUMENTS.
+                break;
+        }
+
+        if (commandIdentifier != null && this.commandIdentifier == null)
+            this.commandIdentifier = commandIdentifier;
+    }
+
+    /**
+     * Starts measuring an invocation. Every call to this method must be followed by a call to {@link #end(Source,
+     * Supplier)}.
+     * <p>
+     * This may only be called from the main thread.
+     */
+    void begin()
+    {
+        if (depth++ > 0)
+            return;
+
+        parseTime = 0;
+        executeTime = 0;
+        renderTime = 0;
+        sendTime = 0;
+        commandIdentifier = null;
+        invocationStart = System.nanoTime();
+    }
+
+    /**
+     * Stops measuring an invocation that was started using {@link #begin()}.
+     * <p>
+     * If the invocation exceeded the {@link #budget}, it is added to the overruns that will be included in the next
+     * report.
+     *
+     * @param source  The {@link Source} of the invocation.
+     * @param command Supplies the {@link Command} that was handled. This is only used when the invocation exceeded
+     *                the {@link #budget}.
+     */
+    void end(final @NonNull Source source, final @NonNull Supplier<Optional<Command>> command)
+    {
+        if (--depth > 0)
+            return;
+
+        final long duration = System.nanoTime() - invocationStart;
+        if (duration <= budget)
+            return;
+
+        final @NonNull String path = getCommandPath(command);
+        overruns.computeIfAbsent(source.name() + " " + path, key -> new Overrun(source, path))
+                .add(duration, parseTime, executeTime, renderTime, sendTime);
+    }
+
+    private @NonNull String getCommandPath(final @NonNull Supplier<Optional<Command>> commandSupplier)
+    {
+        Optional<Command> command;
+        try
+        {
+            command = commandSupplier.get();
+        }
+        catch (Throwable t)
+        {
+            command = Optional.empty();
+        }
+
+        return command.map(TickBudgetWatchdog::getCommandPath)
+                      .orElse(commandIdentifier == null ? UNKNOWN_COMMAND : commandIdentifier);
+    }
+
+    /**
+     * Gets the path of a {@link Command}. For example: "/bigdoors toggle".
+     *
+     * @param command The {@link Command} whose path to get.
+     * @return The path of the {@link Command}.
+     */
+    private static @NonNull String getCommandPath(final @NonNull Command command)
+    {
+        final @NonNull StringBuilder sb = new StringBuilder(command.getName(null));
+        @Nullable Command superCommand = command.getSuperCommand().orElse(null);
+        while (superCommand != null)
+        {
+            sb.insert(0, ' ').insert(0, superCommand.getName(null));
+            superCommand = superCommand.getSuperCommand().orElse(null);
+        }
+        return sb.insert(0, '/').toString();
+    }
+
+    /**
+     * Logs all overruns that happened since the last report and clears them afterwards.
+     */
+    private void report()
+    {
+        if (overruns.isEmpty() || logger == null)
+            return;
+
+        final @NonNull StringBuilder sb = new StringBuilder("CAP exceeded its tick budget of ")
+            .append(formatMillis(budget)).append(" in the last ").append(TimeUnit.NANOSECONDS.toSeconds(reportInterval))
+            .append("s:");
+        overruns.values().forEach(overrun -> overrun.append(sb.append('\n')));
+        overruns.clear();
+        logger.log(Level.WARNING, sb.toString());
+    }
+
+    private static @NonNull String formatMillis(final long nanos)
+    {
+        return String.format(Locale.ROOT, "%.2fms", nanos / 1_000_000D);
+    }
+
+    /**
+     * Represents the different types of invocations that are measured by a {@link TickBudgetWatchdog}.
+     *
+     * @author Pim
+     */
+    enum Source
+    {
+        PLAYER_COMMAND,
+        SERVER_COMMAND,
+        TAB_COMPLETION
+    }
+
+    /**
+     * Represents the aggregated overruns of a single {@link Command} path.
+     *
+     * @author Pim
+     */
+    private static final class Overrun
+    {
+        private final @NonNull Source source;
+        private final @NonNull String path;
+        private int count = 0;
+        private long worst = 0;
+        private long total = 0;
+        private long parseTime = 0;
+        private long executeTime = 0;
+        private long renderTime = 0;
+        private long sendTime = 0;
+
+        private Overrun(final @NonNull Source source, final @NonNull String path)
+        {
+            this.source = source;
+            this.path = path;
+        }
+
+        private void add(final long duration, final long parseTime, final long executeTime, final long renderTime,
+                         final long sendTime)
+        {
+            ++count;
+            worst = Math.max(worst, duration);
+            total += duration;
+            this.parseTime += parseTime;
+            this.executeTime += executeTime;
+            this.renderTime += renderTime;
+            this.sendTime += sendTime;
+        }
+
+        /**
+         * Appends the summary of this {@link Overrun} to a {@link StringBuilder}. All times in the breakdown are
+         * averages.
+         * <p>
+         * Note that the execute time includes the time spent rendering and sending messages from within the command
+         * executor.
+         */
+        private void append(final @NonNull StringBuilder sb)
+        {
+            sb.append("  ").append(source.name()).append(" '").append(path).append("': ").append(count)
+              .append("x, worst: ").append(formatMillis(worst))
+              .append(", avg: ").append(formatMillis(total / count))
+              .append(" (parse: ").append(formatMillis(parseTime / count))
+              .append(", execute: ").append(formatMillis(executeTime / count))
+              .append(", render: ").append(formatMillis(renderTime / count))
+              .append(", send: ").append(formatMillis(sendTime / count))
+              .append(')');
+        }
+    }
+}
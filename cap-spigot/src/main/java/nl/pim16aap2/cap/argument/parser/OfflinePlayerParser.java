@@ -31,40 +31,107 @@ import nl.pim16aap2.cap.CAP;
 import nl.pim16aap2.cap.argument.Argument;
 import nl.pim16aap2.cap.commandsender.ICommandSender;
 import nl.pim16aap2.cap.exception.IllegalValueException;
+import nl.pim16aap2.cap.util.PlayerNameIndex;
+import nl.pim16aap2.cap.util.TabCompletionRequest;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.Nullable;
 
 import java.text.MessageFormat;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 
 /**
  * Represents an argument parser for {@link OfflinePlayer} values.
+ * <p>
+ * Players can always be referenced by their UUIDs. When a {@link PlayerNameIndex} is provided, they can also be
+ * referenced by their names, which are then looked up in the index instead of using any blocking Bukkit methods.
  *
  * @author Pim
  */
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 public class OfflinePlayerParser extends ArgumentParser<OfflinePlayer>
 {
+    /**
+     * The maximum number of names to suggest for tab-completion.
+     */
+    private static final int MAX_SUGGESTIONS = 100;
+
+    /**
+     * The {@link PlayerNameIndex} to use to look up the UUIDs of players by their names.
+     */
+    private final @Nullable PlayerNameIndex nameIndex;
+
     @Override
     public @NonNull OfflinePlayer parseArgument(final @NonNull CAP cap, final @NonNull ICommandSender commandSender,
                                                 final @NonNull Argument<?> argument, final @NonNull String value)
         throws IllegalValueException
     {
-        try
+        // Names cannot contain dashes, so there is no need to try to parse them as UUIDs.
+        if (nameIndex != null && value.indexOf('-') < 0)
         {
-            return Bukkit.getOfflinePlayer(UUID.fromString(value));
+            final @Nullable UUID uuid = nameIndex.getUUID(value);
+            if (uuid != null)
+                return Bukkit.getOfflinePlayer(uuid);
         }
-        catch (IllegalArgumentException e)
+        else
         {
-            // TODO: Spigot-specific error messages.
-            final @NonNull String localizedMessage =
-                MessageFormat.format(cap.getLocalizer().getMessage("error.valueParser.integer", commandSender), value);
-            throw new IllegalValueException(argument, value, localizedMessage, cap.isDebug());
+            try
+            {
+                return Bukkit.getOfflinePlayer(UUID.fromString(value));
+            }
+            catch (IllegalArgumentException e)
+            {
+                // Not a UUID.
+            }
         }
+
+        final @NonNull String localizedMessage = MessageFormat.format(
+            cap.getLocalizer().getMessage("error.valueParser.offlinePlayer", commandSender), value);
+        throw new IllegalValueException(argument, value, localizedMessage, cap.isDebug());
+    }
+
+    /**
+     * Gets the names of the players in the {@link #nameIndex} that start with the partial value of a {@link
+     * TabCompletionRequest}.
+     * <p>
+     * This method can be used as {@link Argument.ITabCompleteFunction}.
+     *
+     * @param request The {@link TabCompletionRequest} to get the suggestions for.
+     * @return The names of at most {@link #MAX_SUGGESTIONS} players whose names start with the partial value.
+     */
+    public @NonNull List<@NonNull String> getSuggestions(final @NonNull TabCompletionRequest request)
+    {
+        if (nameIndex == null)
+            return Collections.emptyList();
+        return nameIndex.getNames(request.getPartial(), MAX_SUGGESTIONS);
+    }
+
+    /**
+     * Checks if this parser can look up players by their names.
+     *
+     * @return True if this parser has a {@link PlayerNameIndex}.
+     */
+    public boolean hasNameIndex()
+    {
+        return nameIndex != null;
     }
 
     public static OfflinePlayerParser create()
     {
-        return new OfflinePlayerParser();
+        return new OfflinePlayerParser(null);
+    }
+
+    /**
+     * Creates a new {@link OfflinePlayerParser} that can look up players by their names.
+     *
+     * @param nameIndex The {@link PlayerNameIndex} to use to look up the UUIDs of players by their names. See {@link
+     *                  nl.pim16aap2.cap.util.PlayerNameIndexListener} to keep it up-to-date.
+     * @return The new {@link OfflinePlayerParser}.
+     */
+    public static OfflinePlayerParser create(final @NonNull PlayerNameIndex nameIndex)
+    {
+        return new OfflinePlayerParser(nameIndex);
     }
 }
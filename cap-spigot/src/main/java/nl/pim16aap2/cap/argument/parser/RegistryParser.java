@@ -0,0 +1,222 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.argument.parser;
+
+import lombok.NonNull;
+import nl.pim16aap2.cap.CAP;
+import nl.pim16aap2.cap.argument.Argument;
+import nl.pim16aap2.cap.commandsender.ICommandSender;
+import nl.pim16aap2.cap.exception.IllegalValueException;
+import nl.pim16aap2.cap.util.NameIndex;
+import nl.pim16aap2.cap.util.TabCompletionRequest;
+import org.jetbrains.annotations.Nullable;
+
+import java.text.MessageFormat;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Represents an argument parser for values from a registry of named objects, e.g. worlds or materials.
+ * <p>
+ * The values are looked up in an immutable snapshot of the registry, which is indexed by the lower case names of the
+ * values. Tab-completion suggestions keep the original names. Because a snapshot never changes once it has been
+ * created, it can safely be read from asynchronous tab-completion threads. Whenever the registry changes, {@link
+ * #refresh()} should be called to replace the snapshot.
+ *
+ * @param <T> The type of the values in the registry.
+ * @author Pim
+ */
+public class RegistryParser<T> extends ArgumentParser<T>
+{
+    /**
+     * Supplies the current values of the registry.
+     */
+    private final @NonNull Supplier<@NonNull Collection<? extends T>> source;
+
+    /**
+     * Maps every value to its name. The names are used for parsing as well as for tab-completion suggestions.
+     */
+    private final @NonNull Function<@NonNull T, @NonNull String> nameMapper;
+
+    /**
+     * Maps every value to an alternative name (e.g. its UUID) that can be used for parsing, but that is not suggested.
+     */
+    private final @Nullable Function<@NonNull T, @NonNull String> aliasMapper;
+
+    /**
+     * The latest snapshot of the registry.
+     */
+    private volatile @NonNull Snapshot<T> snapshot;
+
+    protected RegistryParser(final @NonNull Supplier<@NonNull Collection<? extends T>> source,
+                             final @NonNull Function<@NonNull T, @NonNull String> nameMapper,
+                             final @Nullable Function<@NonNull T, @NonNull String> aliasMapper)
+    {
+        this.source = source;
+        this.nameMapper = nameMapper;
+        this.aliasMapper = aliasMapper;
+        snapshot = createSnapshot(entry -> true);
+    }
+
+    @Override
+    public @NonNull T parseArgument(final @NonNull CAP cap, final @NonNull ICommandSender commandSender,
+                                    final @NonNull Argument<?> argument, final @NonNull String value)
+        throws IllegalValueException
+    {
+        final @Nullable T result = snapshot.get(fold(value));
+        if (result != null)
+            return result;
+
+        final @NonNull String localizedMessage =
+            MessageFormat.format(cap.getLocalizer().getMessage("error.valueParser.registry", commandSender), value);
+        throw new IllegalValueException(argument, value, localizedMessage, cap.isDebug());
+    }
+
+    /**
+     * Gets the names of all values that start with the partial value of a {@link TabCompletionRequest}.
+     * <p>
+     * This method can be used as {@link Argument.ITabCompleteFunction}. The names keep their original case, but start
+     * with the partial value as it was typed. See {@link NameIndex#complete(String, String)}.
+     *
+     * @param request The {@link TabCompletionRequest} to get the suggestions for.
+     * @return The names of all values that start with the partial value, in alphabetical order.
+     */
+    public @NonNull List<@NonNull String> getSuggestions(final @NonNull TabCompletionRequest request)
+    {
+        final @NonNull String partial = request.getPartial();
+        return snapshot.names.complete(partial, fold(partial));
+    }
+
+    /**
+     * Replaces the snapshot with the current values of the registry.
+     */
+    public void refresh()
+    {
+        refresh(entry -> true);
+    }
+
+    /**
+     * Replaces the snapshot with the current values of the registry that match a filter.
+     * <p>
+     * This can be used when the registry has not been updated yet while handling an event, e.g. to exclude a world
+     * that is being unloaded.
+     *
+     * @param filter The filter the values have to match to be included in the new snapshot.
+     */
+    public synchronized void refresh(final @NonNull Predicate<T> filter)
+    {
+        snapshot = createSnapshot(filter);
+    }
+
+    private @NonNull Snapshot<T> createSnapshot(final @NonNull Predicate<T> filter)
+    {
+        final @NonNull Collection<? extends T> values = source.get();
+        final @NonNull Map<@NonNull String, @NonNull T> names = new HashMap<>(values.size() * 4 / 3 + 1);
+        final @NonNull Map<@NonNull String, @NonNull String> displayNames = new HashMap<>(values.size() * 4 / 3 + 1);
+        final @NonNull Map<@NonNull String, @NonNull T> aliases =
+            aliasMapper == null ? Collections.emptyMap() : new HashMap<>(values.size() * 4 / 3 + 1);
+
+        for (final @NonNull T value : values)
+        {
+            if (!filter.test(value))
+                continue;
+            final @NonNull String displayName = nameMapper.apply(value);
+            final @NonNull String name = fold(displayName);
+            names.put(name, value);
+            displayNames.put(name, displayName);
+            if (aliasMapper != null)
+                aliases.put(fold(aliasMapper.apply(value)), value);
+        }
+        return new Snapshot<>(new NameIndex<>(names, displayNames), aliases);
+    }
+
+    private static @NonNull String fold(final @NonNull String value)
+    {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Creates a new {@link RegistryParser}.
+     *
+     * @param source     Supplies the current values of the registry. This is called for every {@link #refresh()}.
+     * @param nameMapper Maps every value to its name.
+     * @param <T>        The type of the values in the registry.
+     * @return The new {@link RegistryParser}.
+     */
+    public static @NonNull <T> RegistryParser<T> create(
+        final @NonNull Supplier<@NonNull Collection<? extends T>> source,
+        final @NonNull Function<@NonNull T, @NonNull String> nameMapper)
+    {
+        return new RegistryParser<>(source, nameMapper, null);
+    }
+
+    /**
+     * Creates a new {@link RegistryParser}.
+     *
+     * @param source      Supplies the current values of the registry. This is called for every {@link #refresh()}.
+     * @param nameMapper  Maps every value to its name.
+     * @param aliasMapper Maps every value to an alternative name that can be used for parsing, but that is not
+     *                    suggested.
+     * @param <T>         The type of the values in the registry.
+     * @return The new {@link RegistryParser}.
+     */
+    public static @NonNull <T> RegistryParser<T> create(
+        final @NonNull Supplier<@NonNull Collection<? extends T>> source,
+        final @NonNull Function<@NonNull T, @NonNull String> nameMapper,
+        final @NonNull Function<@NonNull T, @NonNull String> aliasMapper)
+    {
+        return new RegistryParser<>(source, nameMapper, aliasMapper);
+    }
+
+    /**
+     * Represents an immutable snapshot of the registry.
+     *
+     * @param <T> The type of the values in the registry.
+     */
+    private static final class Snapshot<T>
+    {
+        private final @NonNull NameIndex<T> names;
+        private final @NonNull Map<@NonNull String, @NonNull T> aliases;
+
+        private Snapshot(final @NonNull NameIndex<T> names, final @NonNull Map<@NonNull String, @NonNull T> aliases)
+        {
+            this.names = names;
+            this.aliases = aliases;
+        }
+
+        private @Nullable T get(final @NonNull String name)
+        {
+            final @Nullable T result = names.get(name);
+            return result == null ? aliases.get(name) : result;
+        }
+    }
+}
@@ -25,11 +25,17 @@
 package nl.pim16aap2.cap.argument.specialized;
 
 import lombok.NonNull;
+import nl.pim16aap2.cap.argument.Argument;
+import nl.pim16aap2.cap.argument.RepeatableArgument;
 import nl.pim16aap2.cap.argument.parser.OfflinePlayerParser;
+import nl.pim16aap2.cap.util.PlayerNameIndex;
 import org.bukkit.OfflinePlayer;
 
 /**
  * Represents an argument that is parsed into an {@link OfflinePlayer} object.
+ * <p>
+ * When it is created with a {@link PlayerNameIndex}, players can be referenced by their names and all builders
+ * provided by this class use {@link OfflinePlayerParser#getSuggestions} as tab-completion function.
  *
  * @author Pim
  */
@@ -37,8 +43,52 @@ public class OfflinePlayerArgument extends SpecializedArgument<OfflinePlayer>
 {
     private static final @NonNull OfflinePlayerParser offlinePlayerParser = OfflinePlayerParser.create();
 
+    private final @NonNull OfflinePlayerParser parser;
+
     public OfflinePlayerArgument()
     {
-        super(offlinePlayerParser);
+        this(offlinePlayerParser);
+    }
+
+    /**
+     * @param nameIndex The {@link PlayerNameIndex} to use to look up players by their names.
+     */
+    public OfflinePlayerArgument(final @NonNull PlayerNameIndex nameIndex)
+    {
+        this(OfflinePlayerParser.create(nameIndex));
+    }
+
+    private OfflinePlayerArgument(final @NonNull OfflinePlayerParser parser)
+    {
+        super(parser);
+        this.parser = parser;
+    }
+
+    @Override
+    public Argument.OptionalBuilder<OfflinePlayer> getOptional()
+    {
+        final Argument.OptionalBuilder<OfflinePlayer> builder = super.getOptional();
+        return parser.hasNameIndex() ? builder.tabCompleteFunction(parser::getSuggestions) : builder;
+    }
+
+    @Override
+    public @NonNull Argument.RequiredBuilder<OfflinePlayer> getRequired()
+    {
+        final @NonNull Argument.RequiredBuilder<OfflinePlayer> builder = super.getRequired();
+        return parser.hasNameIndex() ? builder.tabCompleteFunction(parser::getSuggestions) : builder;
+    }
+
+    @Override
+    public @NonNull Argument.OptionalPositionalBuilder<OfflinePlayer> getOptionalPositional()
+    {
+        final @NonNull Argument.OptionalPositionalBuilder<OfflinePlayer> builder = super.getOptionalPositional();
+        return parser.hasNameIndex() ? builder.tabCompleteFunction(parser::getSuggestions) : builder;
+    }
+
+    @Override
+    public @NonNull RepeatableArgument.RepeatableArgumentBuilder<OfflinePlayer> getRepeatable()
+    {
+        final @NonNull RepeatableArgument.RepeatableArgumentBuilder<OfflinePlayer> builder = super.getRepeatable();
+        return parser.hasNameIndex() ? builder.tabCompleteFunction(parser::getSuggestions) : builder;
     }
 }
@@ -0,0 +1,194 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.argument.specialized;
+
+import lombok.NonNull;
+import nl.pim16aap2.cap.argument.Argument;
+import nl.pim16aap2.cap.argument.RepeatableArgument;
+import nl.pim16aap2.cap.argument.parser.RegistryParser;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Biome;
+import org.bukkit.entity.EntityType;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+/**
+ * Represents an argument whose value is looked up in a registry of named objects. See {@link RegistryParser}.
+ * <p>
+ * All builders provided by this class use {@link RegistryParser#getSuggestions} as tab-completion function.
+ *
+ * @param <T> The type of the values in the registry.
+ * @author Pim
+ */
+public class RegistryArgument<T> extends SpecializedArgument<T>
+{
+    /**
+     * The {@link RegistryParser} that is used to parse the input value and to provide the tab-completion suggestions.
+     */
+    private final @NonNull RegistryParser<T> registryParser;
+
+    /**
+     * @param registryParser The {@link RegistryParser} to use. See {@link #registryParser}.
+     */
+    public RegistryArgument(final @NonNull RegistryParser<T> registryParser)
+    {
+        super(registryParser);
+        this.registryParser = registryParser;
+    }
+
+    @Override
+    public Argument.OptionalBuilder<T> getOptional()
+    {
+        return super.getOptional().tabCompleteFunction(registryParser::getSuggestions);
+    }
+
+    @Override
+    public @NonNull Argument.RequiredBuilder<T> getRequired()
+    {
+        return super.getRequired().tabCompleteFunction(registryParser::getSuggestions);
+    }
+
+    @Override
+    public @NonNull Argument.OptionalPositionalBuilder<T> getOptionalPositional()
+    {
+        return super.getOptionalPositional().tabCompleteFunction(registryParser::getSuggestions);
+    }
+
+    @Override
+    public @NonNull RepeatableArgument.RepeatableArgumentBuilder<T> getRepeatable()
+    {
+        return super.getRepeatable().tabCompleteFunction(registryParser::getSuggestions);
+    }
+
+    /**
+     * Creates a new {@link RegistryArgument} for the loaded {@link World}s.
+     * <p>
+     * Worlds can be referenced by their names as well as by their UUIDs. The snapshot is refreshed whenever a world
+     * is loaded or unloaded.
+     *
+     * @param plugin The {@link JavaPlugin} to register the listener for world (un)load events with.
+     * @return The new {@link RegistryArgument}.
+     */
+    public static @NonNull RegistryArgument<World> worlds(final @NonNull JavaPlugin plugin)
+    {
+        final @NonNull RegistryParser<World> parser =
+            RegistryParser.create(Bukkit::getWorlds, World::getName, world -> world.getUID().toString());
+        Bukkit.getPluginManager().registerEvents(new WorldListener(parser), plugin);
+        return new RegistryArgument<>(parser);
+    }
+
+    /**
+     * Creates a new {@link RegistryArgument} for all non-legacy {@link Material}s.
+     *
+     * @return The new {@link RegistryArgument}.
+     */
+    public static @NonNull RegistryArgument<Material> materials()
+    {
+        return ofEnum(Material.values(), material -> !material.isLegacy());
+    }
+
+    /**
+     * Creates a new {@link RegistryArgument} for all {@link EntityType}s.
+     *
+     * @return The new {@link RegistryArgument}.
+     */
+    public static @NonNull RegistryArgument<EntityType> entityTypes()
+    {
+        return ofEnum(EntityType.values(), entityType -> entityType != EntityType.UNKNOWN);
+    }
+
+    /**
+     * Creates a new {@link RegistryArgument} for all {@link Biome}s.
+     *
+     * @return The new {@link RegistryArgument}.
+     */
+    public static @NonNull RegistryArgument<Biome> biomes()
+    {
+        return ofEnum(Biome.values(), biome -> true);
+    }
+
+    /**
+     * Creates a new {@link RegistryArgument} for the constants of an enum. Because these never change, the snapshot
+     * does not have to be refreshed.
+     *
+     * @param constants The constants of the enum.
+     * @param filter    The filter the constants have to match to be included.
+     * @param <E>       The type of the enum.
+     * @return The new {@link RegistryArgument}.
+     */
+    private static @NonNull <E extends Enum<E>> RegistryArgument<E> ofEnum(final @NonNull E[] constants,
+                                                                           final @NonNull Predicate<E> filter)
+    {
+        final @NonNull List<E> values = new ArrayList<>(constants.length);
+        for (final @NonNull E constant : constants)
+            if (filter.test(constant))
+                values.add(constant);
+
+        final @NonNull Collection<E> registry = Collections.unmodifiableList(values);
+        final @NonNull RegistryParser<E> parser =
+            RegistryParser.create(() -> registry, constant -> constant.name().toLowerCase(Locale.ROOT));
+        return new RegistryArgument<>(parser);
+    }
+
+    /**
+     * Keeps the snapshot of a world {@link RegistryParser} up-to-date.
+     */
+    private static final class WorldListener implements Listener
+    {
+        private final @NonNull RegistryParser<World> parser;
+
+        private WorldListener(final @NonNull RegistryParser<World> parser)
+        {
+            this.parser = parser;
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        void onWorldLoad(final @NonNull WorldLoadEvent event)
+        {
+            parser.refresh();
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        void onWorldUnload(final @NonNull WorldUnloadEvent event)
+        {
+            // The world is only removed from the server after this event, so it has to be excluded explicitly.
+            final @NonNull World unloaded = event.getWorld();
+            parser.refresh(world -> !world.equals(unloaded));
+        }
+    }
+}
@@ -25,7 +25,9 @@
 package nl.pim16aap2.cap.commandsender;
 
 import lombok.NonNull;
+import lombok.Setter;
 import nl.pim16aap2.cap.SpigotCAP;
+import nl.pim16aap2.cap.metrics.IMetricsRecorder;
 import nl.pim16aap2.cap.text.ColorScheme;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
@@ -44,6 +46,19 @@ public class SpigotCommandSenderFactory
 
     private @NonNull LocaleCache localeCache = new LocaleCache();
 
+    /**
+     * The {@link IMetricsRecorder} that is passed on to the wrapped {@link ICommandSender}s.
+     */
+    @Setter
+    private @NonNull IMetricsRecorder metrics = IMetricsRecorder.disabled();
+
+    /**
+     * The {@link BufferedCommandSender.IFlushScheduler} used for buffering messages. When this is not null, all
+     * wrapped {@link ICommandSender}s are {@link BufferedCommandSender}s that use it.
+     */
+    @Setter
+    private @Nullable BufferedCommandSender.IFlushScheduler flushScheduler = null;
+
     /**
      * Updates the {@link Locale} for a given {@link CommandSender}.
      * <p>
@@ -86,6 +101,8 @@ public class SpigotCommandSenderFactory
 
     /**
      * Wraps a {@link CommandSender} with an {@link ICommandSender} as used by CAP.
+     * <p>
+     * When a {@link #flushScheduler} is set, the {@link ICommandSender} is wrapped in a {@link BufferedCommandSender}.
      *
      * @param commandSender The {@link CommandSender} to wrap.
      * @param colorScheme   The {@link ColorScheme} to use for generating messages.
@@ -98,10 +115,14 @@ public class SpigotCommandSenderFactory
     {
         colorScheme = colorScheme == null ? EMPTY_COLOR_SCHEME : colorScheme;
 
+        final @NonNull ICommandSender wrapped;
         if (commandSender instanceof Player)
-            return new SpigotPlayerCommandSender((Player) commandSender, colorScheme,
-                                                 localeCache.getLocale(commandSender));
-        return new SpigotServerCommandSender(localeCache.getLocale(commandSender));
+            wrapped = new SpigotPlayerCommandSender((Player) commandSender, colorScheme,
+                                                    localeCache.getLocale(commandSender), metrics);
+        else
+            wrapped = new SpigotServerCommandSender(localeCache.getLocale(commandSender), metrics);
+
+        return flushScheduler == null ? wrapped : new BufferedCommandSender(wrapped, flushScheduler);
     }
 
     /**
@@ -0,0 +1,58 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.commandsender;
+
+import lombok.NonNull;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Represents a {@link BufferedCommandSender.IFlushScheduler} that flushes {@link BufferedCommandSender}s on the next
+ * server tick using the Bukkit scheduler.
+ *
+ * @author Pim
+ */
+public class SpigotFlushScheduler implements BufferedCommandSender.IFlushScheduler
+{
+    private final @NonNull Plugin plugin;
+
+    /**
+     * @param plugin The {@link Plugin} that owns the scheduled tasks.
+     */
+    public SpigotFlushScheduler(final @NonNull Plugin plugin)
+    {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void schedule(final @NonNull Runnable flush)
+    {
+        // Tasks cannot be scheduled for disabled plugins, so just send the messages right away instead.
+        if (!plugin.isEnabled())
+            flush.run();
+        else
+            Bukkit.getScheduler().runTask(plugin, flush);
+    }
+}
@@ -24,10 +24,13 @@
 
 package nl.pim16aap2.cap.commandsender;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NonNull;
+import net.md_5.bungee.api.chat.BaseComponent;
+import nl.pim16aap2.cap.metrics.IMetricsRecorder;
+import nl.pim16aap2.cap.metrics.MetricsPhase;
 import nl.pim16aap2.cap.text.ColorScheme;
+import nl.pim16aap2.cap.text.PreparedMessage;
 import nl.pim16aap2.cap.text.SpigotTextUtility;
 import nl.pim16aap2.cap.text.Text;
 import org.bukkit.command.CommandSender;
@@ -36,10 +39,17 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Locale;
+import java.util.function.Function;
 
-@AllArgsConstructor
 public class SpigotPlayerCommandSender implements ISpigotCommandSender
 {
+    /**
+     * The serializer used for {@link PreparedMessage}s. This is a constant, so that the payload is shared by all
+     * players.
+     */
+    private static final @NonNull Function<Text, BaseComponent[]> PAYLOAD_SERIALIZER =
+        SpigotTextUtility::toBaseComponents;
+
     @Getter
     protected final @NonNull Player player;
 
@@ -48,10 +58,41 @@ public class SpigotPlayerCommandSender implements ISpigotCommandSender
 
     protected @Nullable Locale locale;
 
+    /**
+     * The {@link IMetricsRecorder} used to record how long it takes to send messages. See {@link
+     * MetricsPhase#SEND_MESSAGE}.
+     */
+    protected final @NonNull IMetricsRecorder metrics;
+
+    public SpigotPlayerCommandSender(final @NonNull Player player, final @NonNull ColorScheme colorScheme,
+                                     final @Nullable Locale locale)
+    {
+        this(player, colorScheme, locale, IMetricsRecorder.disabled());
+    }
+
+    public SpigotPlayerCommandSender(final @NonNull Player player, final @NonNull ColorScheme colorScheme,
+                                     final @Nullable Locale locale, final @NonNull IMetricsRecorder metrics)
+    {
+        this.player = player;
+        this.colorScheme = colorScheme;
+        this.locale = locale;
+        this.metrics = metrics;
+    }
+
     @Override
     public void sendMessage(final @NonNull Text message)
     {
-        player.spigot().sendMessage(SpigotTextUtility.toBaseComponents(message));
+        final long start = metrics.start();
+        player.spigot().sendMessage(SpigotTextUtility.getBaseComponents(message));
+        metrics.stop(MetricsPhase.SEND_MESSAGE, null, start);
+    }
+
+    @Override
+    public void sendMessage(final @NonNull PreparedMessage message)
+    {
+        final long start = metrics.start();
+        player.spigot().sendMessage(message.getPayload(this, PAYLOAD_SERIALIZER));
+        metrics.stop(MetricsPhase.SEND_MESSAGE, null, start);
     }
 
     @Override
@@ -66,6 +107,16 @@ public class SpigotPlayerCommandSender implements ISpigotCommandSender
         return player.hashCode();
     }
 
+    @Override
+    public boolean equals(final @Nullable Object o)
+    {
+        if (this == o)
+            return true;
+        if (!(o instanceof SpigotPlayerCommandSender))
+            return false;
+        return player.equals(((SpigotPlayerCommandSender) o).player);
+    }
+
     @Override
     public String toString()
     {
@@ -24,8 +24,9 @@
 
 package nl.pim16aap2.cap.commandsender;
 
-import lombok.AllArgsConstructor;
 import lombok.NonNull;
+import nl.pim16aap2.cap.metrics.IMetricsRecorder;
+import nl.pim16aap2.cap.metrics.MetricsPhase;
 import nl.pim16aap2.cap.text.ColorScheme;
 import nl.pim16aap2.cap.text.Text;
 import org.bukkit.Bukkit;
@@ -35,17 +36,35 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.Locale;
 
-@AllArgsConstructor
 public class SpigotServerCommandSender implements ISpigotCommandSender
 {
     protected static final @NonNull ColorScheme EMPTY_COLOR_SCHEME = ColorScheme.builder().build();
 
     protected @Nullable Locale locale;
 
+    /**
+     * The {@link IMetricsRecorder} used to record how long it takes to send messages. See {@link
+     * MetricsPhase#SEND_MESSAGE}.
+     */
+    protected final @NonNull IMetricsRecorder metrics;
+
+    public SpigotServerCommandSender(final @Nullable Locale locale)
+    {
+        this(locale, IMetricsRecorder.disabled());
+    }
+
+    public SpigotServerCommandSender(final @Nullable Locale locale, final @NonNull IMetricsRecorder metrics)
+    {
+        this.locale = locale;
+        this.metrics = metrics;
+    }
+
     @Override
     public void sendMessage(final @NonNull Text message)
     {
+        final long start = metrics.start();
         System.out.println(message.toPlainString());
+        metrics.stop(MetricsPhase.SEND_MESSAGE, null, start);
     }
 
     @Override
@@ -68,6 +87,12 @@ public class SpigotServerCommandSender implements ISpigotCommandSender
         return 0;
     }
 
+    @Override
+    public boolean equals(final @Nullable Object o)
+    {
+        return o instanceof SpigotServerCommandSender;
+    }
+
     @Override
     public String toString()
     {
@@ -0,0 +1,161 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.text;
+
+import lombok.NonNull;
+import net.md_5.bungee.api.ChatColor;
+import net.md_5.bungee.api.chat.BaseComponent;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+
+/**
+ * Represents the formatting of a {@link TextComponent} (i.e. a style of a {@link ColorScheme}) as it can be applied
+ * directly to a {@link BaseComponent}.
+ * <p>
+ * Templates are created once for every style, so converting a {@link Text} only requires copying their values instead
+ * of parsing legacy color codes.
+ *
+ * @author Pim
+ */
+final class ComponentTemplate
+{
+    /**
+     * The cached templates of all styles that have been converted so far. Styles that cannot be represented by a
+     * template are mapped to an empty {@link Optional}.
+     */
+    private static final @NonNull Map<TextComponent, Optional<ComponentTemplate>> TEMPLATES =
+        Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final @NonNull String RESET = ChatColor.RESET.toString();
+
+    private @Nullable ChatColor color = null;
+    private boolean bold = false;
+    private boolean italic = false;
+    private boolean underlined = false;
+    private boolean strikethrough = false;
+    private boolean obfuscated = false;
+
+    private ComponentTemplate()
+    {
+    }
+
+    /**
+     * Gets the {@link ComponentTemplate} for a style.
+     *
+     * @param style The style to get the {@link ComponentTemplate} for.
+     * @return The {@link ComponentTemplate} for the style, if the style can be represented by one. This is not the case
+     * for styles that contain anything other than legacy color/format codes or that are not disabled by a reset.
+     */
+    static @NonNull Optional<ComponentTemplate> of(final @NonNull TextComponent style)
+    {
+        return TEMPLATES.computeIfAbsent(style, ComponentTemplate::parse);
+    }
+
+    private static @NonNull Optional<ComponentTemplate> parse(final @NonNull TextComponent style)
+    {
+        final @NonNull String on = style.getOn();
+        // Without a reset, a legacy style would apply to any text following it as well.
+        if (!style.getOff().equals(RESET) && !(on.isEmpty() && style.getOff().isEmpty()))
+            return Optional.empty();
+
+        if (on.length() % 2 != 0)
+            return Optional.empty();
+
+        final @NonNull ComponentTemplate template = new ComponentTemplate();
+        for (int idx = 0; idx < on.length(); idx += 2)
+        {
+            if (on.charAt(idx) != ChatColor.COLOR_CHAR)
+                return Optional.empty();
+            final @Nullable ChatColor chatColor = ChatColor.getByChar(on.charAt(idx + 1));
+            if (chatColor == null)
+                return Optional.empty();
+            template.apply(chatColor);
+        }
+        return Optional.of(template);
+    }
+
+    /**
+     * Applies a legacy color/format code to this template the same way {@link
+     * net.md_5.bungee.api.chat.TextComponent#fromLegacyText(String)} would.
+     *
+     * @param chatColor The {@link ChatColor} to apply.
+     */
+    private void apply(final @NonNull ChatColor chatColor)
+    {
+        switch (chatColor)
+        {
+            case BOLD:
+                bold = true;
+                break;
+            case ITALIC:
+                italic = true;
+                break;
+            case UNDERLINE:
+                underlined = true;
+                break;
+            case STRIKETHROUGH:
+                strikethrough = true;
+                break;
+            case MAGIC:
+                obfuscated = true;
+                break;
+            case RESET:
+                color = null;
+                bold = italic = underlined = strikethrough = obfuscated = false;
+                break;
+            default:
+                // Colors reset any formatting.
+                color = chatColor;
+                bold = italic = underlined = strikethrough = obfuscated = false;
+        }
+    }
+
+    /**
+     * Applies the formatting of this template to a {@link BaseComponent}.
+     *
+     * @param component The {@link BaseComponent} to format.
+     * @return The same {@link BaseComponent}.
+     */
+    @NonNull BaseComponent applyTo(final @NonNull BaseComponent component)
+    {
+        if (color != null)
+            component.setColor(color);
+        if (bold)
+            component.setBold(true);
+        if (italic)
+            component.setItalic(true);
+        if (underlined)
+            component.setUnderlined(true);
+        if (strikethrough)
+            component.setStrikethrough(true);
+        if (obfuscated)
+            component.setObfuscated(true);
+        return component;
+    }
+}
@@ -25,15 +25,22 @@
 package nl.pim16aap2.cap.text;
 
 import lombok.NonNull;
+import lombok.Value;
 import lombok.experimental.UtilityClass;
+import net.md_5.bungee.api.ChatColor;
 import net.md_5.bungee.api.chat.BaseComponent;
 import net.md_5.bungee.api.chat.TextComponent;
 import nl.pim16aap2.cap.text.decorator.ClickableTextCommandDecorator;
 import nl.pim16aap2.cap.text.decorator.ISpigotTextDecorator;
 import nl.pim16aap2.cap.text.decorator.ITextDecorator;
+import nl.pim16aap2.cap.util.cache.LRUCache;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
 
 /**
  * Represents a class with several utility methods for {@link Text} for the Spigot platform.
@@ -43,6 +50,37 @@ import java.util.ArrayList;
 @UtilityClass
 public class SpigotTextUtility
 {
+    /**
+     * The maximum number of converted {@link Text}s to keep in the {@link #CONVERSION_CACHE}.
+     */
+    private static final int CONVERSION_CACHE_SIZE = 128;
+
+    /**
+     * The cache of converted {@link Text}s used by {@link #getBaseComponents(Text)}.
+     */
+    private static final @NonNull LRUCache<ConversionKey, BaseComponent[]> CONVERSION_CACHE =
+        new LRUCache<>(CONVERSION_CACHE_SIZE);
+
+    /**
+     * Matches anything that {@link TextComponent#fromLegacyText(String)} might turn into a clickable link.
+     */
+    private static final @NonNull Pattern URL_PATTERN = Pattern.compile("[-\\w_.]{2,}\\.[a-z]{2,4}");
+
+    /**
+     * Gets the {@link BaseComponent} array for a {@link Text}.
+     * <p>
+     * Unlike {@link #toBaseComponents(Text)}, the result is cached, so sending the same (or an identical) {@link Text}
+     * more than once only converts it once. As a result, the returned array is shared and must not be modified.
+     *
+     * @param text The {@link Text} to convert.
+     * @return The (shared) converted {@link Text}.
+     */
+    public @NonNull BaseComponent[] getBaseComponents(final @NonNull Text text)
+    {
+        return CONVERSION_CACHE.computeIfAbsent(new ConversionKey(text.toString(), text.getTextDecorators()),
+                                                key -> toBaseComponents(text));
+    }
+
     /**
      * Creates a {@link BaseComponent} array from a {@link Text}.
      * <p>
@@ -54,7 +92,7 @@ public class SpigotTextUtility
     public @NonNull BaseComponent[] toBaseComponents(final @NonNull Text text)
     {
         if (text.getTextDecorators().size() == 0)
-            return new TextComponent[]{new TextComponent(TextComponent.fromLegacyText(text.toString()))};
+            return new TextComponent[]{toTextComponent(text)};
 
         final @NonNull ArrayList<BaseComponent> baseComponents = new ArrayList<>();
         int lastIdx = 0;
@@ -77,10 +115,7 @@ public class SpigotTextUtility
         if (lastIdx < text.getLength())
             baseComponents.add(toTextComponent(text, lastIdx, text.getLength()));
 
-        final BaseComponent[] ret = new BaseComponent[baseComponents.size()];
-        for (int idx = 0; idx < baseComponents.size(); ++idx)
-            ret[idx] = baseComponents.get(idx);
-        return ret;
+        return baseComponents.toArray(new BaseComponent[0]);
     }
 
     /**
@@ -91,12 +126,16 @@ public class SpigotTextUtility
      */
     public @NonNull TextComponent toTextComponent(final @NonNull Text text)
     {
-        return new TextComponent(TextComponent.fromLegacyText(text.toString()));
+        return toTextComponent(text, 0, text.getLength());
     }
 
     /**
      * Directly converts a subsection of a {@link Text} to a {@link TextComponent}, ignoring any {@link
      * ITextDecorator}s.
+     * <p>
+     * Every styled section of the {@link Text} is converted into its own {@link TextComponent} using the {@link
+     * ComponentTemplate} of its style. Sections that cannot be converted directly (e.g. because they contain legacy
+     * color codes or links) are parsed using {@link TextComponent#fromLegacyText(String)} instead.
      *
      * @param text  The {@link Text} to convert literally.
      * @param start The start of the subsection of the {@link Text}.
@@ -105,7 +144,36 @@ public class SpigotTextUtility
      */
     public @NonNull TextComponent toTextComponent(final @NonNull Text text, final int start, final int end)
     {
-        return new TextComponent(TextComponent.fromLegacyText(text.subsection(start, end).toString()));
+        final @NonNull List<BaseComponent> components = new ArrayList<>();
+        text.forEachSection(start, end, (string, style) ->
+        {
+            final @NonNull Optional<ComponentTemplate> template =
+                style == null ? Optional.empty() : ComponentTemplate.of(style);
+
+            if (requiresLegacyParsing(string) || (style != null && !template.isPresent()))
+            {
+                final @NonNull String legacyText = style == null ? string : style.getOn() + string + style.getOff();
+                Collections.addAll(components, TextComponent.fromLegacyText(legacyText));
+                return;
+            }
+
+            final @NonNull TextComponent component = new TextComponent(string);
+            template.ifPresent(value -> value.applyTo(component));
+            components.add(component);
+        });
+        return new TextComponent(components.toArray(new BaseComponent[0]));
+    }
+
+    /**
+     * Checks if a String has to be parsed by {@link TextComponent#fromLegacyText(String)} to be converted correctly.
+     * This is the case when it contains legacy color codes or text that may be turned into links.
+     *
+     * @param string The String to check.
+     * @return True if the String has to be parsed as legacy text.
+     */
+    private boolean requiresLegacyParsing(final @NonNull String string)
+    {
+        return string.indexOf(ChatColor.COLOR_CHAR) >= 0 || URL_PATTERN.matcher(string).find();
     }
 
     /**
@@ -188,4 +256,14 @@ public class SpigotTextUtility
         text.addDecorator(new ClickableTextCommandDecorator(0, text.getLength(), command, hoverMessage));
         return text;
     }
+
+    /**
+     * Identifies a converted {@link Text} in the {@link #CONVERSION_CACHE}.
+     */
+    @Value
+    private static class ConversionKey
+    {
+        @NonNull String styledText;
+        @NonNull List<@NonNull ITextDecorator> decorators;
+    }
 }
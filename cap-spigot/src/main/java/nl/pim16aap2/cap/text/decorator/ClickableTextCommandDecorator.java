@@ -25,6 +25,7 @@
 package nl.pim16aap2.cap.text.decorator;
 
 import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
 import lombok.NonNull;
 import net.md_5.bungee.api.chat.ClickEvent;
 import net.md_5.bungee.api.chat.HoverEvent;
@@ -40,6 +41,7 @@ import org.jetbrains.annotations.Nullable;
  * @author Pim
  */
 @AllArgsConstructor
+@EqualsAndHashCode
 public class ClickableTextCommandDecorator implements ISpigotTextDecorator
 {
     private int start;
@@ -0,0 +1,500 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.util;
+
+import lombok.NonNull;
+import lombok.Value;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Represents a persistent index of player names and their UUIDs.
+ * <p>
+ * The index is stored in a file with fixed-size records that are sorted by the lower case names of the players. This
+ * file is memory-mapped, so it does not take up any heap space and looking up a name is a binary search without any
+ * blocking calls. Names that were added since the file was last saved (see {@link #save()}) are kept in a small
+ * in-memory overlay that takes precedence over the file.
+ * <p>
+ * Only names of at most {@link #MAX_NAME_LENGTH} ASCII characters can be stored, which covers all valid Minecraft
+ * names. Names are not case sensitive.
+ * <p>
+ * All methods can safely be called from any thread.
+ *
+ * @author Pim
+ */
+public final class PlayerNameIndex
+{
+    /**
+     * The maximum length of a name that can be stored in the index.
+     */
+    public static final int MAX_NAME_LENGTH = 16;
+
+    private static final int MAGIC = 0x4341504E; // "CAPN"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 3 * Integer.BYTES;
+    private static final int RECORD_SIZE = MAX_NAME_LENGTH + 2 * Long.BYTES;
+
+    /**
+     * The file the index is stored in. Every save writes a new generation of it. See {@link GenerationalFile}.
+     */
+    private final @NonNull GenerationalFile file;
+
+    /**
+     * The records that were read from the current generation of the {@link #file} when it was last opened or saved.
+     */
+    private volatile @NonNull Table table;
+
+    /**
+     * The entries that were added since the {@link #file} was last saved, mapped by their lower case names.
+     */
+    private final @NonNull ConcurrentNavigableMap<@NonNull String, @NonNull Entry> recent =
+        new ConcurrentSkipListMap<>();
+
+    /**
+     * The lower case names of the entries in {@link #recent} mapped by their UUIDs. This is used to hide the old names
+     * of players who have changed their names.
+     */
+    private final @NonNull Map<@NonNull UUID, @NonNull String> recentNames = new ConcurrentHashMap<>();
+
+    private PlayerNameIndex(final @NonNull GenerationalFile file, final @NonNull Table table)
+    {
+        this.file = file;
+        this.table = table;
+    }
+
+    /**
+     * Opens the index stored in a file. If the file does not exist yet, the index will be empty.
+     * <p>
+     * The latest generation of the file is used and any older generations are deleted. See {@link
+     * GenerationalFile#open(Path)}.
+     *
+     * @param file The file the index is stored in.
+     * @return The opened {@link PlayerNameIndex}.
+     *
+     * @throws IOException If the file exists, but could not be read or is not a valid index.
+     */
+    public static @NonNull PlayerNameIndex open(final @NonNull Path file)
+        throws IOException
+    {
+        final @NonNull GenerationalFile generationalFile = GenerationalFile.open(file);
+        final @Nullable Path current = generationalFile.getCurrent();
+        return new PlayerNameIndex(generationalFile, current == null ? Table.EMPTY : Table.map(current));
+    }
+
+    /**
+     * Adds a player to the index or updates their name.
+     * <p>
+     * The change is kept in memory until the index is saved (see {@link #save()}).
+     *
+     * @param name The name of the player.
+     * @param uuid The UUID of the player.
+     * @return False if the name cannot be stored in the index (see {@link #isValidName(String)}).
+     */
+    public boolean put(final @NonNull String name, final @NonNull UUID uuid)
+    {
+        if (!isValidName(name))
+            return false;
+
+        final @NonNull String lowerName = toLowerCase(name);
+        final @Nullable String previousName = recentNames.get(uuid);
+        if (previousName == null)
+        {
+            // Avoid growing the overlay for players whose name has not changed since the file was saved.
+            final @NonNull Table currentTable = table;
+            final int idx = currentTable.find(lowerName);
+            if (idx >= 0 && currentTable.getUUID(idx).equals(uuid) && currentTable.getName(idx).equals(name) &&
+                !recent.containsKey(lowerName))
+                return true;
+        }
+        else if (!previousName.equals(lowerName))
+            recent.remove(previousName);
+
+        final @Nullable Entry replaced = recent.put(lowerName, new Entry(name, uuid));
+        if (replaced != null && !replaced.getUuid().equals(uuid))
+            recentNames.remove(replaced.getUuid(), lowerName);
+        recentNames.put(uuid, lowerName);
+        return true;
+    }
+
+    /**
+     * Gets the UUID of the player with a name.
+     *
+     * @param name The name of the player. This is not case sensitive.
+     * @return The UUID of the player with the name, if it is in the index.
+     */
+    public @Nullable UUID getUUID(final @NonNull String name)
+    {
+        if (!isValidName(name))
+            return null;
+
+        final @NonNull String lowerName = toLowerCase(name);
+        final @Nullable Entry entry = recent.get(lowerName);
+        if (entry != null)
+            return entry.getUuid();
+
+        final @NonNull Table currentTable = table;
+        final int idx = currentTable.find(lowerName);
+        if (idx < 0)
+            return null;
+        final @NonNull UUID uuid = currentTable.getUUID(idx);
+        return isShadowed(uuid, lowerName) ? null : uuid;
+    }
+
+    /**
+     * Gets the names of the players whose names start with a prefix.
+     * <p>
+     * The returned names start with the prefix exactly as it was provided, followed by the remainder of the name of the
+     * player in its original case. This way, they match the prefix even though names are not case sensitive.
+     *
+     * @param prefix The prefix the names have to start with. This is not case sensitive.
+     * @param limit  The maximum number of names to return.
+     * @return The names of at most limit players whose names start with the prefix, in alphabetical order.
+     */
+    public @NonNull List<@NonNull String> getNames(final @NonNull String prefix, final int limit)
+    {
+        if (prefix.length() > MAX_NAME_LENGTH || limit <= 0)
+            return Collections.emptyList();
+
+        final @NonNull String lowerPrefix = toLowerCase(prefix);
+        final @NonNull Table currentTable = table;
+        final @NonNull Iterator<Entry> recentEntries =
+            recent.subMap(lowerPrefix, lowerPrefix + Character.MAX_VALUE).values().iterator();
+        @Nullable Entry nextRecent = recentEntries.hasNext() ? recentEntries.next() : null;
+
+        final @NonNull List<@NonNull String> names = new ArrayList<>(Math.min(limit, 16));
+        int idx = currentTable.lowerBound(lowerPrefix);
+        while (names.size() < limit)
+        {
+            @Nullable String tableName = null;
+            @Nullable String lowerTableName = null;
+            while (idx < currentTable.size)
+            {
+                final @NonNull String candidate = currentTable.getName(idx);
+                final @NonNull String lowerCandidate = toLowerCase(candidate);
+                if (!lowerCandidate.startsWith(lowerPrefix))
+                {
+                    idx = currentTable.size;
+                    break;
+                }
+                if (!recent.containsKey(lowerCandidate) && !isShadowed(currentTable.getUUID(idx), lowerCandidate))
+                {
+                    tableName = candidate;
+                    lowerTableName = lowerCandidate;
+                    break;
+                }
+                ++idx;
+            }
+
+            final @NonNull String name;
+            if (tableName == null && nextRecent == null)
+                break;
+            else if (tableName == null ||
+                (nextRecent != null && toLowerCase(nextRecent.getName()).compareTo(lowerTableName) < 0))
+            {
+                name = nextRecent.getName();
+                nextRecent = recentEntries.hasNext() ? recentEntries.next() : null;
+            }
+            else
+            {
+                name = tableName;
+                ++idx;
+            }
+            names.add(prefix + name.substring(prefix.length()));
+        }
+        return names;
+    }
+
+    /**
+     * Gets the number of players stored in the file of the index, ignoring any unsaved changes.
+     *
+     * @return The number of players stored in the file of the index.
+     */
+    public int getSavedSize()
+    {
+        return table.size;
+    }
+
+    /**
+     * Checks if there are any changes that have not been saved yet.
+     *
+     * @return True if there are changes that have not been saved yet.
+     */
+    public boolean hasUnsavedChanges()
+    {
+        return !recent.isEmpty();
+    }
+
+    /**
+     * Writes the index (including all changes that have not been saved yet) to a new generation of its file and maps
+     * the new generation.
+     * <p>
+     * The old generation is never overwritten, as it may still be mapped. It is deleted once it is no longer in use.
+     * See {@link GenerationalFile}.
+     *
+     * @throws IOException If the file could not be written.
+     */
+    public synchronized void save()
+        throws IOException
+    {
+        final @NonNull Map<@NonNull String, @NonNull Entry> saved = new TreeMap<>(recent);
+        final @NonNull Table currentTable = table;
+
+        final @NonNull TreeMap<@NonNull String, @NonNull Entry> entries = new TreeMap<>();
+        for (int idx = 0; idx < currentTable.size; ++idx)
+        {
+            final @NonNull String name = currentTable.getName(idx);
+            final @NonNull String lowerName = toLowerCase(name);
+            final @NonNull UUID uuid = currentTable.getUUID(idx);
+            if (!isShadowed(uuid, lowerName))
+                entries.put(lowerName, new Entry(name, uuid));
+        }
+        entries.putAll(saved);
+
+        final @Nullable Path oldFile = file.getCurrent();
+        final @NonNull Path newFile = file.write(
+            channel ->
+            {
+                final @NonNull ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + RECORD_SIZE * 1024);
+                buffer.putInt(MAGIC).putInt(VERSION).putInt(entries.size());
+                for (final @NonNull Entry entry : entries.values())
+                {
+                    if (buffer.remaining() < RECORD_SIZE)
+                        write(channel, buffer);
+                    final @NonNull byte[] name = entry.getName().getBytes(StandardCharsets.US_ASCII);
+                    buffer.put(name);
+                    for (int idx = name.length; idx < MAX_NAME_LENGTH; ++idx)
+                        buffer.put((byte) 0);
+                    buffer.putLong(entry.getUuid().getMostSignificantBits());
+                    buffer.putLong(entry.getUuid().getLeastSignificantBits());
+                }
+                write(channel, buffer);
+            });
+        table = Table.map(newFile);
+        if (oldFile != null)
+            file.retire(oldFile, currentTable.buffer);
+
+        // Only remove the entries that were saved; anything that was changed in the meantime stays in the overlay.
+        for (final @NonNull Map.Entry<@NonNull String, @NonNull Entry> entry : saved.entrySet())
+            if (recent.remove(entry.getKey(), entry.getValue()))
+                recentNames.remove(entry.getValue().getUuid(), entry.getKey());
+    }
+
+    private static void write(final @NonNull FileChannel channel, final @NonNull ByteBuffer buffer)
+        throws IOException
+    {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Checks if a UUID found in the {@link #table} has been given another name since the file was saved.
+     *
+     * @param uuid      The UUID to check.
+     * @param lowerName The lower case name stored with the UUID in the {@link #table}.
+     * @return True if the player with the UUID now has a different name.
+     */
+    private boolean isShadowed(final @NonNull UUID uuid, final @NonNull String lowerName)
+    {
+        final @Nullable String currentName = recentNames.get(uuid);
+        return currentName != null && !currentName.equals(lowerName);
+    }
+
+    /**
+     * Checks if a name can be stored in the index. This is the case for names of 1 to {@link #MAX_NAME_LENGTH} ASCII
+     * characters.
+     *
+     * @param name The name to check.
+     * @return True if the name can be stored in the index.
+     */
+    public static boolean isValidName(final @NonNull String name)
+    {
+        if (name.isEmpty() || name.length() > MAX_NAME_LENGTH)
+            return false;
+        for (int idx = 0; idx < name.length(); ++idx)
+        {
+            final char c = name.charAt(idx);
+            if (c == 0 || c > 127)
+                return false;
+        }
+        return true;
+    }
+
+    private static @NonNull String toLowerCase(final @NonNull String name)
+    {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static int toLowerCase(final int c)
+    {
+        return c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c;
+    }
+
+    /**
+     * Represents a player in the index.
+     */
+    @Value
+    private static class Entry
+    {
+        @NonNull String name;
+        @NonNull UUID uuid;
+    }
+
+    /**
+     * Represents the sorted records of a memory-mapped index file.
+     */
+    private static final class Table
+    {
+        private static final @NonNull Table EMPTY = new Table(ByteBuffer.allocate(HEADER_SIZE), 0);
+
+        private final @NonNull ByteBuffer buffer;
+        private final int size;
+
+        private Table(final @NonNull ByteBuffer buffer, final int size)
+        {
+            this.buffer = buffer;
+            this.size = size;
+        }
+
+        private static @NonNull Table map(final @NonNull Path file)
+            throws IOException
+        {
+            try (final @NonNull FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+            {
+                final long fileSize = channel.size();
+                if (fileSize < HEADER_SIZE)
+                    throw new IOException("Player name index " + file + " is too small: " + fileSize + " bytes!");
+
+                final @NonNull ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+                final int magic = buffer.getInt(0);
+                final int version = buffer.getInt(Integer.BYTES);
+                final int size = buffer.getInt(2 * Integer.BYTES);
+                if (magic != MAGIC || version != VERSION)
+                    throw new IOException("File " + file + " is not a player name index of version " + VERSION + "!");
+                if (size < 0 || HEADER_SIZE + (long) size * RECORD_SIZE != fileSize)
+                    throw new IOException("Player name index " + file + " is corrupted!");
+                return new Table(buffer, size);
+            }
+        }
+
+        private static int offset(final int idx)
+        {
+            return HEADER_SIZE + idx * RECORD_SIZE;
+        }
+
+        private @NonNull String getName(final int idx)
+        {
+            final int offset = offset(idx);
+            final @NonNull byte[] name = new byte[MAX_NAME_LENGTH];
+            int length = 0;
+            while (length < MAX_NAME_LENGTH && (name[length] = buffer.get(offset + length)) != 0)
+                ++length;
+            return new String(name, 0, length, StandardCharsets.US_ASCII);
+        }
+
+        private @NonNull UUID getUUID(final int idx)
+        {
+            final int offset = offset(idx) + MAX_NAME_LENGTH;
+            return new UUID(buffer.getLong(offset), buffer.getLong(offset + Long.BYTES));
+        }
+
+        /**
+         * Compares the lower case name of a record to a lower case name without copying the name of the record.
+         *
+         * @param idx       The index of the record.
+         * @param lowerName The lower case name to compare the name of the record to.
+         * @return A negative value, 0, or a positive value if the name of the record is smaller than, equal to, or
+         * larger than the provided name respectively.
+         */
+        private int compare(final int idx, final @NonNull String lowerName)
+        {
+            final int offset = offset(idx);
+            for (int pos = 0; pos < MAX_NAME_LENGTH; ++pos)
+            {
+                final int c = toLowerCase(buffer.get(offset + pos));
+                if (pos == lowerName.length())
+                    return c == 0 ? 0 : 1;
+                if (c == 0)
+                    return -1;
+                final int diff = c - lowerName.charAt(pos);
+                if (diff != 0)
+                    return diff;
+            }
+            return lowerName.length() > MAX_NAME_LENGTH ? -1 : 0;
+        }
+
+        /**
+         * Finds the index of the first record whose name is not smaller than a lower case name.
+         *
+         * @param lowerName The lower case name to search for.
+         * @return The index of the first record whose name is not smaller than the name, or {@link #size} if there is
+         * no such record.
+         */
+        private int lowerBound(final @NonNull String lowerName)
+        {
+            int low = 0;
+            int high = size;
+            while (low < high)
+            {
+                final int mid = (low + high) >>> 1;
+                if (compare(mid, lowerName) < 0)
+                    low = mid + 1;
+                else
+                    high = mid;
+            }
+            return low;
+        }
+
+        /**
+         * Finds the index of the record with a name.
+         *
+         * @param lowerName The lower case name to search for.
+         * @return The index of the record with the name, or -1 if it does not exist.
+         */
+        private int find(final @NonNull String lowerName)
+        {
+            final int idx = lowerBound(lowerName);
+            return idx < size && compare(idx, lowerName) == 0 ? idx : -1;
+        }
+    }
+}
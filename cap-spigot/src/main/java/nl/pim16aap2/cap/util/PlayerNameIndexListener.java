@@ -0,0 +1,151 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2020 Pim van der Loos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.pim16aap2.cap.util;
+
+import lombok.NonNull;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.logging.Level;
+
+/**
+ * Keeps a {@link PlayerNameIndex} up-to-date with the players on the server.
+ * <p>
+ * When the index is empty, it is seeded with all players who have ever played on the server. After that, the names
+ * of players are updated when they join. Any changes are saved asynchronously every {@link #SAVE_INTERVAL} ticks and
+ * when the plugin is disabled.
+ *
+ * @author Pim
+ */
+public final class PlayerNameIndexListener implements Listener
+{
+    /**
+     * The number of ticks between two attempts to save the index.
+     */
+    public static final long SAVE_INTERVAL = 20L * 60 * 5;
+
+    /**
+     * The name of the file the index is stored in by default. This file is placed in the data folder of the plugin.
+     */
+    public static final @NonNull String DEFAULT_FILE_NAME = "player-names.idx";
+
+    private final @NonNull JavaPlugin plugin;
+    private final @NonNull PlayerNameIndex index;
+
+    private PlayerNameIndexListener(final @NonNull JavaPlugin plugin, final @NonNull PlayerNameIndex index)
+    {
+        this.plugin = plugin;
+        this.index = index;
+    }
+
+    /**
+     * Opens the {@link PlayerNameIndex} stored in {@link #DEFAULT_FILE_NAME} in the data folder of a plugin and keeps
+     * it up-to-date. See {@link #register(JavaPlugin, PlayerNameIndex)}.
+     *
+     * @param plugin The {@link JavaPlugin} that owns the index.
+     * @return The opened {@link PlayerNameIndex}.
+     *
+     * @throws IOException If the file exists, but could not be read or is not a valid index.
+     */
+    public static @NonNull PlayerNameIndex register(final @NonNull JavaPlugin plugin)
+        throws IOException
+    {
+        final @NonNull Path dataFolder = plugin.getDataFolder().toPath();
+        Files.createDirectories(dataFolder);
+        final @NonNull PlayerNameIndex index = PlayerNameIndex.open(dataFolder.resolve(DEFAULT_FILE_NAME));
+        register(plugin, index);
+        return index;
+    }
+
+    /**
+     * Keeps a {@link PlayerNameIndex} up-to-date.
+     * <p>
+     * This should be called from the main thread. When the index is empty, seeding it requires reading the data of
+     * every player who has ever played on the server, which may take a while on large servers.
+     *
+     * @param plugin The {@link JavaPlugin} that owns the index.
+     * @param index  The {@link PlayerNameIndex} to keep up-to-date.
+     */
+    public static void register(final @NonNull JavaPlugin plugin, final @NonNull PlayerNameIndex index)
+    {
+        final @NonNull PlayerNameIndexListener listener = new PlayerNameIndexListener(plugin, index);
+        if (index.getSavedSize() == 0)
+            for (final @NonNull OfflinePlayer player : Bukkit.getOfflinePlayers())
+                listener.put(player);
+        for (final @NonNull Player player : Bukkit.getOnlinePlayers())
+            listener.put(player);
+
+        Bukkit.getPluginManager().registerEvents(listener, plugin);
+        Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, listener::save, 0L, SAVE_INTERVAL);
+    }
+
+    private void put(final @NonNull OfflinePlayer player)
+    {
+        final @Nullable String name = player.getName();
+        if (name != null)
+            index.put(name, player.getUniqueId());
+    }
+
+    /**
+     * Saves the index if there are any unsaved changes.
+     */
+    private void save()
+    {
+        if (!index.hasUnsavedChanges())
+            return;
+        try
+        {
+            index.save();
+        }
+        catch (IOException e)
+        {
+            plugin.getLogger().log(Level.SEVERE, "Failed to save the player name index!", e);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    void onPlayerJoin(final @NonNull PlayerJoinEvent event)
+    {
+        put(event.getPlayer());
+    }
+
+    @EventHandler
+    void onPluginDisable(final @NonNull PluginDisableEvent event)
+    {
+        if (event.getPlugin() == plugin)
+            save();
+    }
+}
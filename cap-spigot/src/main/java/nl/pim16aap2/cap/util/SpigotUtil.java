@@ -30,6 +30,7 @@ import nl.pim16aap2.cap.SpigotCAP;
 import nl.pim16aap2.cap.argument.Argument;
 import nl.pim16aap2.cap.command.Command;
 import nl.pim16aap2.cap.commandsender.AllowedCommandSenderType;
+import nl.pim16aap2.cap.commandsender.BufferedCommandSender;
 import nl.pim16aap2.cap.commandsender.ICommandSender;
 import nl.pim16aap2.cap.commandsender.SpigotPlayerCommandSender;
 import nl.pim16aap2.cap.commandsender.SpigotServerCommandSender;
@@ -58,7 +59,7 @@ public class SpigotUtil
      */
     public BiFunction<ICommandSender, Command, Boolean> getPermissionFunction()
     {
-        return (sender, cmd) -> sender instanceof SpigotServerCommandSender;
+        return (sender, cmd) -> BufferedCommandSender.unwrap(sender) instanceof SpigotServerCommandSender;
     }
 
     /**
@@ -101,16 +102,17 @@ public class SpigotUtil
     public static boolean hasPermission(final @NonNull ICommandSender commandSender, final @NonNull Command command,
                                         final @NonNull String node, final @NonNull AllowedCommandSenderType type)
     {
+        final @NonNull ICommandSender sender = BufferedCommandSender.unwrap(commandSender);
         if (type != AllowedCommandSenderType.BOTH)
         {
-            if (type == AllowedCommandSenderType.PLAYER_ONLY && commandSender instanceof SpigotServerCommandSender)
+            if (type == AllowedCommandSenderType.PLAYER_ONLY && sender instanceof SpigotServerCommandSender)
                 return false;
-            if (type == AllowedCommandSenderType.SERVER_ONLY && commandSender instanceof SpigotPlayerCommandSender)
+            if (type == AllowedCommandSenderType.SERVER_ONLY && sender instanceof SpigotPlayerCommandSender)
                 return false;
         }
 
-        if (commandSender instanceof SpigotPlayerCommandSender)
-            return ((SpigotPlayerCommandSender) commandSender).getPlayer().hasPermission(node);
+        if (sender instanceof SpigotPlayerCommandSender)
+            return ((SpigotPlayerCommandSender) sender).getPlayer().hasPermission(node);
 
         return true;
     }